@@ -27,6 +27,11 @@ import static org.umlg.sqlg.structure.topology.Topology.*;
  */
 public abstract class BaseSqlDialect implements SqlDialect, SqlBulkDialect, SqlSchemaChangeDialect {
 
+    /**
+     * The maximum number of rows of a multi row insert when flushing the batch mode's new vertices and edges.
+     */
+    public static final String BATCH_INSERT_ROWS = "batch.insert.rows";
+
     protected Logger logger = LoggerFactory.getLogger(getClass().getName());
 
     public BaseSqlDialect() {
@@ -139,6 +144,7 @@ public abstract class BaseSqlDialect implements SqlDialect, SqlBulkDialect, SqlS
             } else {
                 properties = sqlgGraph.getTopology().getPublicSchema().getTemporaryTable(VERTEX_PREFIX + schemaTable.getTable());
             }
+            int valuesIndex = -1;
             if (!columns.isEmpty()) {
                 Map<String, PropertyType> propertyTypeMap = new HashMap<>();
                 for (String column : columns) {
@@ -170,7 +176,9 @@ public abstract class BaseSqlDialect implements SqlDialect, SqlBulkDialect, SqlS
                         sql.append(", ");
                     }
                 }
-                sql.append(") VALUES ( ");
+                sql.append(") VALUES ");
+                valuesIndex = sql.length();
+                sql.append("( ");
 
                 i = 1;
                 //noinspection Duplicates
@@ -204,6 +212,27 @@ public abstract class BaseSqlDialect implements SqlDialect, SqlBulkDialect, SqlS
                 logger.debug(sql.toString());
             }
             Connection conn = sqlgGraph.tx().getConnection();
+            int rowsPerInsert = valuesIndex == -1 ? 1 : multiRowInsertRows(sqlgGraph, parameterCount(sql, valuesIndex));
+            if (rowsPerInsert > 1) {
+                Map<String, PropertyColumn> finalPropertyColumns = propertyColumns;
+                Map<String, PropertyType> finalProperties = properties;
+                multiRowInsert(conn, sql.substring(0, valuesIndex), rowParameters(sqlgGraph, sql, valuesIndex), rowsPerInsert,
+                        new ArrayList<>(rows.entrySet()),
+                        (preparedStatement, parameterIndex, rowEntry) -> {
+                            Map<String, Object> parameterValueMap = rowEntry.getValue();
+                            List<Pair<PropertyType, Object>> typeAndValues = new ArrayList<>();
+                            for (String column : columns) {
+                                if (!schemaTable.isTemporary()) {
+                                    typeAndValues.add(Pair.of(finalPropertyColumns.get(column).getPropertyType(), parameterValueMap.get(column)));
+                                } else {
+                                    typeAndValues.add(Pair.of(finalProperties.get(column), parameterValueMap.get(column)));
+                                }
+                            }
+                            return SqlgUtil.setKeyValuesAsParameterUsingPropertyColumn(sqlgGraph, true, parameterIndex, preparedStatement, typeAndValues);
+                        },
+                        (rowEntry, id) -> rowEntry.getKey().setInternalPrimaryKey(RecordId.from(schemaTable, id)));
+                continue;
+            }
             try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString(), Statement.RETURN_GENERATED_KEYS)) {
                 List<SqlgVertex> sqlgVertices = new ArrayList<>();
                 for (Map.Entry<SqlgVertex, Map<String, Object>> rowEntry : rows.entrySet()) {
@@ -281,7 +310,9 @@ public abstract class BaseSqlDialect implements SqlDialect, SqlBulkDialect, SqlS
             sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(metaEdge.getOutLabel() + OUT_VERTEX_COLUMN_END));
             sql.append(", ");
             sql.append(sqlgGraph.getSqlDialect().maybeWrapInQoutes(metaEdge.getInLabel() + IN_VERTEX_COLUMN_END));
-            sql.append(") VALUES (");
+            sql.append(") VALUES ");
+            int valuesIndex = sql.length();
+            sql.append("(");
 
             i = 1;
             for (String column : columns) {
@@ -315,6 +346,24 @@ public abstract class BaseSqlDialect implements SqlDialect, SqlBulkDialect, SqlS
                 logger.debug(sql.toString());
             }
             Connection conn = sqlgGraph.tx().getConnection();
+            int rowsPerInsert = multiRowInsertRows(sqlgGraph, parameterCount(sql, valuesIndex));
+            if (rowsPerInsert > 1) {
+                multiRowInsert(conn, sql.substring(0, valuesIndex), rowParameters(sqlgGraph, sql, valuesIndex), rowsPerInsert,
+                        new ArrayList<>(rows.entrySet()),
+                        (preparedStatement, parameterIndex, rowEntry) -> {
+                            Triple<SqlgVertex, SqlgVertex, Map<String, Object>> parameterValueMap = rowEntry.getValue();
+                            List<Pair<PropertyType, Object>> typeAndValues = new ArrayList<>();
+                            for (String column : columns) {
+                                typeAndValues.add(Pair.of(propertyColumns.get(column).getPropertyType(), parameterValueMap.getRight().get(column)));
+                            }
+                            parameterIndex = SqlgUtil.setKeyValuesAsParameterUsingPropertyColumn(sqlgGraph, true, parameterIndex, preparedStatement, typeAndValues);
+                            preparedStatement.setLong(parameterIndex++, ((RecordId) parameterValueMap.getLeft().id()).getId());
+                            preparedStatement.setLong(parameterIndex++, ((RecordId) parameterValueMap.getMiddle().id()).getId());
+                            return parameterIndex;
+                        },
+                        (rowEntry, id) -> rowEntry.getKey().setInternalPrimaryKey(RecordId.from(metaEdge.getSchemaTable(), id)));
+                continue;
+            }
             try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString(), Statement.RETURN_GENERATED_KEYS)) {
                 List<SqlgEdge> sqlgEdges = new ArrayList<>();
                 for (Map.Entry<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>> rowEntry : rows.entrySet()) {
@@ -345,6 +394,113 @@ public abstract class BaseSqlDialect implements SqlDialect, SqlBulkDialect, SqlS
         }
     }
 
+    /**
+     * @return the number of rows per multi row insert, 1 if the dialect or the configuration does not allow them.
+     */
+    private int multiRowInsertRows(SqlgGraph sqlgGraph, int parametersPerRow) {
+        if (!supportsMultiRowInsertGeneratedKeys()) {
+            return 1;
+        }
+        int rows = sqlgGraph.configuration().getInt(BATCH_INSERT_ROWS, 1000);
+        return Math.max(1, Math.min(rows, sqlInParameterLimit() / Math.max(1, parametersPerRow)));
+    }
+
+    private static int parameterCount(StringBuilder sql, int valuesIndex) {
+        int count = 0;
+        for (int i = valuesIndex; i < sql.length(); i++) {
+            if (sql.charAt(i) == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the "(?, ...)" of one row, i.e. the single row insert from valuesIndex without the semicolon.
+     */
+    private static String rowParameters(SqlgGraph sqlgGraph, StringBuilder sql, int valuesIndex) {
+        String rowParameters = sql.substring(valuesIndex);
+        if (sqlgGraph.getSqlDialect().needsSemicolon()) {
+            rowParameters = rowParameters.substring(0, rowParameters.length() - 1);
+        }
+        return rowParameters;
+    }
+
+    /**
+     * Inserts the rows with 'INSERT ... VALUES (..), (..)' statements of up to rowsPerInsert rows.
+     * The generated keys are handed to idSetter in the order of the rows.
+     */
+    private <R> void multiRowInsert(Connection conn, String insert, String rowParameters, int rowsPerInsert, List<R> rows, RowParameterSetter<R> rowParameterSetter, IdSetter<R> idSetter) {
+        PreparedStatement fullPreparedStatement = null;
+        try {
+            for (int from = 0; from < rows.size(); from += rowsPerInsert) {
+                List<R> chunk = rows.subList(from, Math.min(from + rowsPerInsert, rows.size()));
+                PreparedStatement preparedStatement;
+                if (chunk.size() == rowsPerInsert && fullPreparedStatement != null) {
+                    preparedStatement = fullPreparedStatement;
+                } else {
+                    StringBuilder sql = new StringBuilder(insert);
+                    for (int i = 0; i < chunk.size(); i++) {
+                        if (i > 0) {
+                            sql.append(", ");
+                        }
+                        sql.append(rowParameters);
+                    }
+                    if (needsSemicolon()) {
+                        sql.append(";");
+                    }
+                    if (logger.isDebugEnabled()) {
+                        logger.debug(sql.toString());
+                    }
+                    preparedStatement = conn.prepareStatement(sql.toString(), Statement.RETURN_GENERATED_KEYS);
+                    if (chunk.size() == rowsPerInsert) {
+                        fullPreparedStatement = preparedStatement;
+                    }
+                }
+                try {
+                    int parameterIndex = 1;
+                    for (R row : chunk) {
+                        parameterIndex = rowParameterSetter.set(preparedStatement, parameterIndex, row);
+                    }
+                    preparedStatement.executeUpdate();
+                    try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                        int i = 0;
+                        while (generatedKeys.next()) {
+                            idSetter.set(chunk.get(i++), generatedKeys.getLong(1));
+                        }
+                    }
+                } finally {
+                    if (preparedStatement != fullPreparedStatement) {
+                        preparedStatement.close();
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            if (fullPreparedStatement != null) {
+                try {
+                    fullPreparedStatement.close();
+                } catch (SQLException e) {
+                    logger.warn("failed to close the multi row insert statement", e);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowParameterSetter<R> {
+        /**
+         * @return the index of the next parameter.
+         */
+        int set(PreparedStatement preparedStatement, int parameterIndex, R row) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface IdSetter<R> {
+        void set(R row, long id);
+    }
+
     @Override
     public void flushVertexPropertyCache(SqlgGraph sqlgGraph, Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> vertexPropertyCache) {
         for (Map.Entry<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> entry : vertexPropertyCache.entrySet()) {
@@ -6,6 +6,7 @@ import org.umlg.sqlg.structure.*;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.sql.Connection;
 import java.util.*;
 
 import static javax.swing.JOptionPane.ERROR_MESSAGE;
@@ -20,6 +21,42 @@ public interface SqlBulkDialect extends SqlDialect {
 
     void flushEdgeCache(SqlgGraph sqlgGraph, Map<MetaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>>> edgeCache);
 
+    /**
+     * Flushes one label's new vertices on the given connection.
+     */
+    default void flushVertexCache(SqlgGraph sqlgGraph, Connection connection, SchemaTable schemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>> vertices) {
+        throw SqlgExceptions.batchModeNotSupported(dialectName());
+    }
+
+    /**
+     * Flushes one label's new edges on the given connection.
+     */
+    default void flushEdgeCache(SqlgGraph sqlgGraph, Connection connection, MetaEdge metaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>> edges) {
+        throw SqlgExceptions.batchModeNotSupported(dialectName());
+    }
+
+    /**
+     * @return true if the labels' new vertices and edges can be flushed concurrently on separate connections.
+     */
+    default boolean supportsParallelFlush() {
+        return false;
+    }
+
+    /**
+     * @return true if normal batch mode can give the new vertices and edges their ids when they are added,
+     * from blocks reserved with {@link #nextSequenceVals(SqlgGraph, SchemaTable, String, int)}.
+     */
+    default boolean supportsBatchIdAllocation() {
+        return false;
+    }
+
+    /**
+     * Reserves count ids of the label's sequence.
+     */
+    default long[] nextSequenceVals(SqlgGraph sqlgGraph, SchemaTable schemaTable, String prefix, int count) {
+        throw SqlgExceptions.batchModeNotSupported(dialectName());
+    }
+
     void flushVertexPropertyCache(SqlgGraph sqlgGraph, Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> vertexPropertyCache);
 
     void flushEdgePropertyCache(SqlgGraph sqlgGraph, Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgEdge, Map<String, Object>>>> edgePropertyCache);
@@ -90,4 +127,14 @@ public interface SqlBulkDialect extends SqlDialect {
         throw SqlgExceptions.batchModeNotSupported(dialectName());
     }
 
+    /**
+     * Opens the copy stream for the streamed vertices or edges of a label. The dialect may write the rows as the label's
+     * column types rather than the values' java types.
+     *
+     * @param schemaTable The label's prefixed table, temporary for temporary vertices.
+     */
+    default Writer streamSql(SqlgGraph sqlgGraph, String sql, SchemaTable schemaTable) {
+        return streamSql(sqlgGraph, sql);
+    }
+
 }
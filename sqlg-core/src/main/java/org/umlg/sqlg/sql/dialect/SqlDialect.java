@@ -7,6 +7,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Preconditions;
 import org.apache.commons.lang3.Range;
 import org.apache.commons.lang3.tuple.Triple;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.umlg.sqlg.predicate.FullText;
 import org.umlg.sqlg.sql.parse.SchemaTableTree;
@@ -702,6 +703,16 @@ public interface SqlDialect {
         return " DEFAULT VALUES";
     }
 
+    /**
+     * Batch mode inserts the new vertices and edges with multi row 'INSERT ... VALUES (..), (..)' statements if the
+     * driver returns the generated keys of all the rows of such a statement.
+     *
+     * @return true if the generated keys of a multi row insert are returned for every row, in order.
+     */
+    default boolean supportsMultiRowInsertGeneratedKeys() {
+        return false;
+    }
+
     /**
      * MariaDb can not index the LONGTEXT type. It needs to know how many characters to index.
      *
@@ -913,6 +924,17 @@ public interface SqlDialect {
         return sql.toString();
     }
 
+    /**
+     * Returns true if {@link #dropWithForeignKey(boolean, EdgeLabel, VertexLabel, Collection, boolean)} can return the
+     * rows of the edges it deletes, all of the edge table's columns. Then the edges of dropped vertices need not be
+     * loaded one vertex at a time to notify the mutating callbacks.
+     *
+     * @return true if a delete statement can return the deleted rows.
+     */
+    default boolean supportReturningDeletedRows() {
+        return false;
+    }
+
     default String dropWithForeignKey(boolean out, EdgeLabel edgeLabel, VertexLabel vertexLabel, Collection<Long> ids, boolean mutatingCallbacks) {
         StringBuilder sql = new StringBuilder();
         sql.append("DELETE FROM\n\t");
@@ -993,4 +1015,83 @@ public interface SqlDialect {
     default Integer getDefaultFetchSize(){
     	return null;
     }
+
+    /**
+     * Returns true if id lookups may bind all the ids as one sql array parameter, i.e. {@code "ID" = ANY(?)},
+     * instead of chunked {@code IN (?, ?, ...)} lists.
+     *
+     * @return true if the dialect supports an array parameter for id lookups.
+     */
+    default boolean supportsIdArrayParameter() {
+        return false;
+    }
+
+    /**
+     * Returns true if the values of a bulk within or without may be bound as one sql array parameter, see
+     * {@link #bulkWithinArrayParameterSql(Contains)}, instead of being joined as a {@code VALUES} list.
+     * The sql then does not depend on the values and is the same for any number of them.
+     *
+     * @return true if the dialect supports an array parameter for within and without.
+     */
+    default boolean supportsBulkWithinArrayParameter() {
+        return false;
+    }
+
+    /**
+     * @param contains within or without.
+     * @return the sql that follows the column to test it against the array parameter, i.e. {@code " = ANY(?)"}.
+     */
+    default String bulkWithinArrayParameterSql(Contains contains) {
+        throw new IllegalStateException(dialectName() + " does not support an array parameter for within and without");
+    }
+
+    /**
+     * Returns true if a transaction's snapshot can be shared with other connections, so that the queries of a read
+     * only traversal may run concurrently and still see the same data.
+     *
+     * @return true if the dialect implements {@link #exportSnapshot(Connection)} and {@link #importSnapshot(Connection, String)}.
+     */
+    default boolean supportsSnapshotExport() {
+        return false;
+    }
+
+    /**
+     * Exports the snapshot of the connection's transaction.
+     *
+     * @param connection The transaction's connection.
+     * @return The snapshot's id, valid until the transaction ends.
+     */
+    default String exportSnapshot(Connection connection) throws SQLException {
+        throw new IllegalStateException(dialectName() + " does not support exporting snapshots");
+    }
+
+    /**
+     * Starts a transaction on the connection that sees the snapshot exported by {@link #exportSnapshot(Connection)}.
+     *
+     * @param connection A connection with no transaction in progress.
+     * @param snapshot   The exported snapshot's id.
+     */
+    default void importSnapshot(Connection connection, String snapshot) throws SQLException {
+        throw new IllegalStateException(dialectName() + " does not support importing snapshots");
+    }
+
+    /**
+     * Returns true if the rdbms evaluates recursive common table expressions, i.e. {@code WITH RECURSIVE}, with an outer
+     * join in the recursive term and {@code ||} string concatenation.
+     *
+     * @return true if repeat steps may be evaluated by a recursive query.
+     */
+    default boolean supportsRecursiveQueries() {
+        return false;
+    }
+
+    /**
+     * Returns true if the rdbms groups strings by binary comparison by default, as java compares them.
+     * Case insensitive or space padding collations merge values that groupCount() keeps apart.
+     *
+     * @return true if string properties may be grouped by in the database.
+     */
+    default boolean supportsGroupByString() {
+        return false;
+    }
 }
@@ -0,0 +1,390 @@
+package org.umlg.sqlg.sql.parse;
+
+import com.google.common.base.Preconditions;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.RecordId;
+import org.umlg.sqlg.structure.SchemaTable;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.topology.*;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * The sql of a repeat(out()), repeat(in()) or repeat(both()) that evaluates all the loops in one recursive query.
+ * <p>
+ * The recursion carries the start's index, the vertex reached, the number of hops, whether the traverser halted and
+ * the path of vertices visited. A vertex label is carried as a number as the vertices of a label are in a table of
+ * their own. The edge tables the step may walk are joined as one derived table of (from, to) vertex pairs.
+ * A traverser halts when the until predicate holds, the recursion does not continue from a halted traverser.
+ * Without a loops() limit a traverser may not revisit a vertex on its path, such a traverser would repeat forever.
+ * Date: 2026/10/18
+ */
+public class RecursiveRepeatQuery {
+
+    //the property types that are a single column and compare as their java values do
+    private static final EnumSet<PropertyType> COMPARABLE_TYPES = EnumSet.of(
+            PropertyType.BOOLEAN, PropertyType.BYTE, PropertyType.SHORT, PropertyType.INTEGER, PropertyType.LONG,
+            PropertyType.FLOAT, PropertyType.DOUBLE, PropertyType.STRING,
+            PropertyType.LOCALDATE, PropertyType.LOCALDATETIME, PropertyType.LOCALTIME
+    );
+
+    private final SqlgGraph sqlgGraph;
+    private final SqlDialect sqlDialect;
+    private final Direction direction;
+    private final String[] edgeLabels;
+    private final List<HasContainer> untilHasContainers;
+    private final long maxLoops;
+    private final boolean untilFirst;
+    private final boolean emit;
+    private final boolean emitFirst;
+
+    private final List<SchemaTable> vertexLabels = new ArrayList<>();
+    private final Map<SchemaTable, Integer> vertexLabelCodes = new HashMap<>();
+    private final List<ImmutablePair<PropertyType, Object>> parameters = new ArrayList<>();
+
+    /**
+     * @param direction          The direction of the repeated vertex step.
+     * @param edgeLabels         The edge labels of the repeated vertex step, all edge labels if empty.
+     * @param untilHasContainers The until(has(...)) predicate, null if there is none.
+     * @param maxLoops           The until(loops) limit, -1 if there is none.
+     */
+    public RecursiveRepeatQuery(
+            SqlgGraph sqlgGraph,
+            Direction direction,
+            String[] edgeLabels,
+            List<HasContainer> untilHasContainers,
+            long maxLoops,
+            boolean untilFirst,
+            boolean emit,
+            boolean emitFirst) {
+
+        Preconditions.checkArgument(untilHasContainers == null || maxLoops == -1, "until is either a has or a loops predicate");
+        this.sqlgGraph = sqlgGraph;
+        this.sqlDialect = sqlgGraph.getSqlDialect();
+        this.direction = direction;
+        this.edgeLabels = edgeLabels;
+        this.untilHasContainers = untilHasContainers;
+        this.maxLoops = maxLoops;
+        this.untilFirst = untilFirst;
+        this.emit = emit;
+        this.emitFirst = emitFirst;
+    }
+
+    /**
+     * @return true if the has containers of an until(has(...)) can be evaluated in the recursive query.
+     */
+    public static boolean supportsUntil(List<HasContainer> hasContainers) {
+        for (HasContainer hasContainer : hasContainers) {
+            P<?> p = hasContainer.getPredicate();
+            if (p instanceof ConnectiveP) {
+                return false;
+            }
+            if (hasContainer.getKey().equals(T.label.getAccessor())) {
+                if (p.getBiPredicate() != Compare.eq && p.getBiPredicate() != Contains.within) {
+                    return false;
+                }
+            } else if (hasContainer.getKey().equals(T.id.getAccessor()) || hasContainer.getKey().equals(T.key.getAccessor()) ||
+                    hasContainer.getKey().equals(T.value.getAccessor())) {
+                return false;
+            } else if (p.getBiPredicate() instanceof Compare) {
+                if (!isComparable(p.getValue())) {
+                    return false;
+                }
+            } else if (p.getBiPredicate() instanceof Contains) {
+                for (Object value : (Collection<?>) p.getValue()) {
+                    if (!isComparable(value)) {
+                        return false;
+                    }
+                }
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isComparable(Object value) {
+        return value != null && !value.getClass().isArray() && COMPARABLE_TYPES.contains(PropertyType.from(value));
+    }
+
+    /**
+     * Constructs the sql for the start vertices. The query selects the start's index and the path of the traverser,
+     * in the order of the number of hops. The vertex label codes of the paths and the parameters are those of the
+     * last constructed sql.
+     */
+    public String constructSql(List<RecordId> startRecordIds) {
+        this.vertexLabels.clear();
+        this.vertexLabelCodes.clear();
+        this.parameters.clear();
+        StringBuilder seed = new StringBuilder("(VALUES ");
+        int startIndex = 0;
+        for (RecordId recordId : startRecordIds) {
+            if (startIndex > 0) {
+                seed.append(", ");
+            }
+            seed.append("(").append(startIndex++).append(", ").append(vertexLabelCode(recordId.getSchemaTable()))
+                    .append(", ").append(recordId.getId()).append(")");
+        }
+        seed.append(") AS s(start_index, label_code, vertex_id)");
+        String edges = constructEdgesSql();
+
+        List<ImmutablePair<PropertyType, Object>> untilParameters = new ArrayList<>();
+        Set<Integer> haltingCodes = new TreeSet<>();
+        String until = this.untilHasContainers != null ? constructUntilSql(haltingCodes, untilParameters) : null;
+
+        String text = this.sqlDialect.propertyTypeToSqlDefinition(PropertyType.STRING)[0];
+        StringBuilder sql = new StringBuilder("WITH RECURSIVE r(start_index, label_code, vertex_id, hops, halted, visited) AS (\n");
+        sql.append("SELECT s.start_index, s.label_code, CAST(s.vertex_id AS ")
+                .append(this.sqlDialect.propertyTypeToSqlDefinition(PropertyType.LONG)[0]).append("), 0, ");
+        boolean untilOnStart = this.untilFirst && this.untilHasContainers != null;
+        if (untilOnStart) {
+            sql.append(haltedSql("s", haltingCodes, until != null));
+        } else if (this.untilFirst && this.maxLoops == 0) {
+            sql.append("1");
+        } else {
+            sql.append("0");
+        }
+        sql.append(", CAST(',' || ").append(vertexSql("s")).append(" || ',' AS ").append(text).append(")\nFROM ").append(seed);
+        if (untilOnStart && until != null) {
+            sql.append(" LEFT JOIN ").append(until).append(" u ON u.label_code = s.label_code AND u.vertex_id = s.vertex_id");
+            this.parameters.addAll(untilParameters);
+        }
+        if (edges != null) {
+            String halted;
+            if (this.untilHasContainers != null) {
+                halted = haltedSql("e", haltingCodes, until != null);
+            } else if (this.maxLoops != -1) {
+                halted = "CASE WHEN r.hops + 1 >= " + this.maxLoops + " THEN 1 ELSE 0 END";
+            } else {
+                halted = "0";
+            }
+            String toVertex = vertexSql("e");
+            sql.append("\nUNION ALL\nSELECT r.start_index, e.to_code, e.to_id, r.hops + 1, ").append(halted);
+            sql.append(", CAST(r.visited || ").append(toVertex).append(" || ',' AS ").append(text).append(")");
+            sql.append("\nFROM r INNER JOIN ").append(edges).append(" e ON e.from_code = r.label_code AND e.from_id = r.vertex_id");
+            if (until != null) {
+                sql.append(" LEFT JOIN ").append(until).append(" u ON u.label_code = e.to_code AND u.vertex_id = e.to_id");
+                this.parameters.addAll(untilParameters);
+            }
+            sql.append("\nWHERE r.halted = 0");
+            if (this.maxLoops == -1) {
+                //a traverser that revisits a vertex without halting repeats forever
+                sql.append(" AND (").append(halted).append(" = 1 OR r.visited NOT LIKE ('%,' || ").append(toVertex).append(" || ',%'))");
+            }
+        }
+        sql.append("\n)\nSELECT r.start_index, r.visited FROM r");
+        if (this.emit) {
+            if (!this.emitFirst) {
+                sql.append(" WHERE r.halted = 1 OR r.hops > 0");
+            }
+        } else {
+            sql.append(" WHERE r.halted = 1");
+        }
+        sql.append(" ORDER BY r.hops, r.start_index");
+        return sql.toString();
+    }
+
+    public void setParametersOnStatement(PreparedStatement preparedStatement) throws SQLException {
+        SqlgUtil.setKeyValuesAsParameter(this.sqlgGraph, false, 1, preparedStatement, this.parameters);
+    }
+
+    /**
+     * @param visited The visited column of a row.
+     * @return the vertices on the traverser's path, starting with the start vertex.
+     */
+    public List<RecordId> parseVisited(String visited) {
+        List<RecordId> result = new ArrayList<>();
+        for (String vertex : visited.split(",")) {
+            if (!vertex.isEmpty()) {
+                int separator = vertex.indexOf(':');
+                SchemaTable schemaTable = this.vertexLabels.get(Integer.parseInt(vertex.substring(0, separator)));
+                result.add(RecordId.from(schemaTable, Long.valueOf(vertex.substring(separator + 1))));
+            }
+        }
+        return result;
+    }
+
+    private String vertexSql(String alias) {
+        String code = alias.equals("e") ? "e.to_code" : alias + ".label_code";
+        String id = alias.equals("e") ? "e.to_id" : alias + ".vertex_id";
+        return "CAST(" + code + " AS VARCHAR(10)) || ':' || CAST(" + id + " AS VARCHAR(20))";
+    }
+
+    private String haltedSql(String alias, Set<Integer> haltingCodes, boolean hasUntilTable) {
+        String code = alias.equals("e") ? "e.to_code" : alias + ".label_code";
+        List<String> conditions = new ArrayList<>();
+        if (!haltingCodes.isEmpty()) {
+            StringJoiner codes = new StringJoiner(", ", code + " IN (", ")");
+            haltingCodes.forEach(c -> codes.add(c.toString()));
+            conditions.add(codes.toString());
+        }
+        if (hasUntilTable) {
+            conditions.add("u.vertex_id IS NOT NULL");
+        }
+        if (conditions.isEmpty()) {
+            return "0";
+        }
+        return "CASE WHEN " + String.join(" OR ", conditions) + " THEN 1 ELSE 0 END";
+    }
+
+    private int vertexLabelCode(SchemaTable schemaTable) {
+        return this.vertexLabelCodes.computeIfAbsent(schemaTable, s -> {
+            this.vertexLabels.add(s);
+            return this.vertexLabels.size() - 1;
+        });
+    }
+
+    /**
+     * @return the derived table of the (from, to) vertices of the edges the step walks, null if there are none.
+     */
+    private String constructEdgesSql() {
+        List<String> selects = new ArrayList<>();
+        for (Schema schema : this.sqlgGraph.getTopology().getSchemas()) {
+            if (schema.getName().equals(Topology.SQLG_SCHEMA)) {
+                continue;
+            }
+            for (VertexLabel outVertexLabel : schema.getVertexLabels().values()) {
+                for (EdgeLabel edgeLabel : outVertexLabel.getOutEdgeLabels().values()) {
+                    if (!isWalked(edgeLabel)) {
+                        continue;
+                    }
+                    for (VertexLabel inVertexLabel : edgeLabel.getInVertexLabels()) {
+                        if (this.direction == Direction.OUT || this.direction == Direction.BOTH) {
+                            selects.add(edgeSql(edgeLabel, outVertexLabel, Topology.OUT_VERTEX_COLUMN_END, inVertexLabel, Topology.IN_VERTEX_COLUMN_END));
+                        }
+                        if (this.direction == Direction.IN || this.direction == Direction.BOTH) {
+                            selects.add(edgeSql(edgeLabel, inVertexLabel, Topology.IN_VERTEX_COLUMN_END, outVertexLabel, Topology.OUT_VERTEX_COLUMN_END));
+                        }
+                    }
+                }
+            }
+        }
+        if (selects.isEmpty()) {
+            return null;
+        }
+        return "(" + String.join("\nUNION ALL\n", selects) + ")";
+    }
+
+    private boolean isWalked(EdgeLabel edgeLabel) {
+        if (this.edgeLabels.length == 0) {
+            return true;
+        }
+        for (String label : this.edgeLabels) {
+            if (label.equals(edgeLabel.getLabel()) || label.equals(edgeLabel.getFullName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String edgeSql(EdgeLabel edgeLabel, VertexLabel from, String fromColumnEnd, VertexLabel to, String toColumnEnd) {
+        String fromColumn = this.sqlDialect.maybeWrapInQoutes(from.getSchema().getName() + "." + from.getLabel() + fromColumnEnd);
+        String toColumn = this.sqlDialect.maybeWrapInQoutes(to.getSchema().getName() + "." + to.getLabel() + toColumnEnd);
+        return "SELECT " + vertexLabelCode(SchemaTable.of(from.getSchema().getName(), from.getLabel())) + " AS from_code, " +
+                fromColumn + " AS from_id, " +
+                vertexLabelCode(SchemaTable.of(to.getSchema().getName(), to.getLabel())) + " AS to_code, " +
+                toColumn + " AS to_id FROM " +
+                this.sqlDialect.maybeWrapInQoutes(edgeLabel.getSchema().getName()) + "." +
+                this.sqlDialect.maybeWrapInQoutes(Topology.EDGE_PREFIX + edgeLabel.getLabel()) +
+                " WHERE " + fromColumn + " IS NOT NULL AND " + toColumn + " IS NOT NULL";
+    }
+
+    /**
+     * Sorts the vertex labels into those whose vertices all halt, collected in haltingCodes, and those whose vertices
+     * halt if their properties match. The latter's matching vertices are selected by the returned derived table.
+     *
+     * @return the derived table of the (label, id) of the vertices that halt, null if no label needs one.
+     */
+    private String constructUntilSql(Set<Integer> haltingCodes, List<ImmutablePair<PropertyType, Object>> untilParameters) {
+        List<String> selects = new ArrayList<>();
+        for (int code = 0; code < this.vertexLabels.size(); code++) {
+            SchemaTable schemaTable = this.vertexLabels.get(code);
+            Optional<VertexLabel> vertexLabelOptional = this.sqlgGraph.getTopology().getVertexLabel(schemaTable.getSchema(), schemaTable.getTable());
+            if (!vertexLabelOptional.isPresent()) {
+                continue;
+            }
+            VertexLabel vertexLabel = vertexLabelOptional.get();
+            Map<String, PropertyColumn> properties = vertexLabel.getProperties();
+            List<String> conditions = new ArrayList<>();
+            List<ImmutablePair<PropertyType, Object>> conditionParameters = new ArrayList<>();
+            boolean halts = true;
+            for (HasContainer hasContainer : this.untilHasContainers) {
+                P<?> p = hasContainer.getPredicate();
+                if (hasContainer.getKey().equals(T.label.getAccessor())) {
+                    halts = p.test(vertexLabel.getLabel()) || p.test(vertexLabel.getFullName());
+                } else if (!properties.containsKey(hasContainer.getKey())) {
+                    //has() does not match a vertex without the property
+                    halts = false;
+                } else {
+                    conditions.add(conditionSql(hasContainer, conditionParameters));
+                }
+                if (!halts) {
+                    break;
+                }
+            }
+            if (!halts) {
+                continue;
+            }
+            if (conditions.isEmpty()) {
+                haltingCodes.add(code);
+            } else {
+                selects.add("SELECT " + code + " AS label_code, " + this.sqlDialect.maybeWrapInQoutes(Topology.ID) + " AS vertex_id FROM " +
+                        this.sqlDialect.maybeWrapInQoutes(schemaTable.getSchema()) + "." +
+                        this.sqlDialect.maybeWrapInQoutes(Topology.VERTEX_PREFIX + schemaTable.getTable()) +
+                        " WHERE " + String.join(" AND ", conditions));
+                untilParameters.addAll(conditionParameters);
+            }
+        }
+        if (selects.isEmpty()) {
+            return null;
+        }
+        return "(" + String.join("\nUNION ALL\n", selects) + ")";
+    }
+
+    private String conditionSql(HasContainer hasContainer, List<ImmutablePair<PropertyType, Object>> conditionParameters) {
+        P<?> p = hasContainer.getPredicate();
+        String column = this.sqlDialect.maybeWrapInQoutes(hasContainer.getKey());
+        if (p.getBiPredicate() instanceof Compare) {
+            conditionParameters.add(ImmutablePair.of(PropertyType.from(p.getValue()), p.getValue()));
+            switch ((Compare) p.getBiPredicate()) {
+                case eq:
+                    return column + " = ?";
+                case neq:
+                    return column + " <> ?";
+                case gt:
+                    return column + " > ?";
+                case gte:
+                    return column + " >= ?";
+                case lt:
+                    return column + " < ?";
+                case lte:
+                    return column + " <= ?";
+                default:
+                    throw new IllegalStateException("Unhandled Compare " + p.getBiPredicate());
+            }
+        }
+        Collection<?> values = (Collection<?>) p.getValue();
+        boolean within = p.getBiPredicate() == Contains.within;
+        if (values.isEmpty()) {
+            return within ? "1 = 0" : column + " IS NOT NULL";
+        }
+        StringJoiner in = new StringJoiner(", ", column + (within ? " IN (" : " NOT IN ("), ")");
+        for (Object value : values) {
+            in.add("?");
+            conditionParameters.add(ImmutablePair.of(PropertyType.from(value), value));
+        }
+        return in.toString();
+    }
+}
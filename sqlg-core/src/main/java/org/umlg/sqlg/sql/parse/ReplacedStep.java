@@ -62,6 +62,8 @@ public class ReplacedStep<S, E> {
     private boolean fake;
     private boolean joinToLeftJoin;
     private boolean drop;
+    //The properties the rest of the traversal reads of the elements, null if unknown.
+    private Set<String> restrictedProperties;
 
     private ReplacedStep() {
     }
@@ -118,6 +120,14 @@ public class ReplacedStep<S, E> {
         return this.labels;
     }
 
+    public Set<String> getRestrictedProperties() {
+        return this.restrictedProperties;
+    }
+
+    public void restrictProperties(Set<String> restrictedProperties) {
+        this.restrictedProperties = restrictedProperties;
+    }
+
     private Set<SchemaTableTree> appendPath(SchemaTableTree schemaTableTree) {
         if (this.step instanceof VertexStep) {
             return appendPathForVertexStep(schemaTableTree);
@@ -512,6 +522,7 @@ public class ReplacedStep<S, E> {
                 replacedStepDepth,
                 ReplacedStep.this.labels
         );
+        schemaTableTree.restrictProperties(this.restrictedProperties);
 
         result.add(schemaTableTree);
     }
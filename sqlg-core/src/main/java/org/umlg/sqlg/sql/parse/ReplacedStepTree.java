@@ -94,6 +94,14 @@ public class ReplacedStepTree {
         return root().leafNodes();
     }
 
+    /**
+     * @return the leaf node's ReplacedStep if the tree has only one leaf node, else null.
+     */
+    public ReplacedStep<?, ?> singleLeafReplacedStep() {
+        List<TreeNode> leafNodes = this.leafNodes();
+        return leafNodes.size() == 1 ? leafNodes.get(0).getReplacedStep() : null;
+    }
+
     public void maybeAddLabelToLeafNodes() {
         List<TreeNode> leafNodes = this.leafNodes();
         for (TreeNode leafNode : leafNodes) {
@@ -15,6 +15,9 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.structure.*;
 import org.umlg.sqlg.predicate.Existence;
 import org.umlg.sqlg.predicate.FullText;
+import org.umlg.sqlg.predicate.PropertyReference;
+import org.umlg.sqlg.predicate.Text;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
 import org.umlg.sqlg.strategy.*;
 import org.umlg.sqlg.structure.PropertyType;
 import org.umlg.sqlg.structure.*;
@@ -26,6 +29,7 @@ import org.umlg.sqlg.util.SqlgUtil;
 
 import java.security.SecureRandom;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.function.Predicate;
@@ -87,12 +91,17 @@ public class SchemaTableTree {
 
     //Cached for query load performance
     private Map<String, Pair<String, PropertyType>> columnNamePropertyName;
+    //Resolves the columns of the ResultSet currently being loaded.
+    private ColumnDecoderPlan columnDecoderPlan;
     private String idProperty;
     private String labeledAliasId;
 
     private boolean localStep = false;
     private boolean fakeEmit = false;
 
+    //The properties the traversal needs of this element, null for all of them.
+    private Set<String> restrictedProperties;
+
     /**
      * Indicates the DropStep.
      */
@@ -112,6 +121,21 @@ public class SchemaTableTree {
         EDGE_VERTEX_STEP
     }
 
+    /**
+     * The aggregates that are calculated over the rows of a regular query.
+     * GROUP_COUNT counts the rows per value of the leaf element's property, rows without the property are not counted.
+     * GROUP_COUNT_BY does the same but every row must have the property.
+     */
+    public enum AGGREGATE {
+        COUNT,
+        SUM,
+        MIN,
+        MAX,
+        MEAN,
+        GROUP_COUNT,
+        GROUP_COUNT_BY
+    }
+
     SchemaTableTree(SqlgGraph sqlgGraph, SchemaTable schemaTable, int stepDepth, int replacedStepDepth) {
         this.sqlgGraph = sqlgGraph;
         this.schemaTable = schemaTable;
@@ -173,7 +197,7 @@ public class SchemaTableTree {
             ReplacedStep replacedStep,
             boolean isEdgeVertexStep,
             Set<String> labels) {
-        return addChild(
+        SchemaTableTree schemaTableTree = addChild(
                 schemaTable,
                 direction,
                 elementClass,
@@ -189,6 +213,8 @@ public class SchemaTableTree {
                 replacedStep.isLeftJoin(),
                 replacedStep.isDrop(),
                 labels);
+        schemaTableTree.restrictProperties(elementClass, replacedStep.getRestrictedProperties());
+        return schemaTableTree;
     }
 
     SchemaTableTree addChild(
@@ -209,7 +235,7 @@ public class SchemaTableTree {
             throw new IllegalStateException(String.format("BUG: Expected %s, instead found %s", "Edge or Vertex", elementClass.getSimpleName()));
         }
 
-        return addChild(
+        SchemaTableTree schemaTableTree = addChild(
                 schemaTable,
                 direction,
                 elementClass,
@@ -225,6 +251,8 @@ public class SchemaTableTree {
                 replacedStep.isLeftJoin(),
                 replacedStep.isDrop(),
                 labels);
+        schemaTableTree.restrictProperties(elementClass, replacedStep.getRestrictedProperties());
+        return schemaTableTree;
     }
 
     private SchemaTableTree addChild(
@@ -269,6 +297,37 @@ public class SchemaTableTree {
         return getRoot().filteredAllTables;
     }
 
+    /**
+     * Only the restricted properties are selected. Edge tables traversed to reach a vertex select all their properties.
+     */
+    private void restrictProperties(Class<? extends Element> elementClass, Set<String> restrictedProperties) {
+        if ((elementClass.isAssignableFrom(Edge.class) && this.schemaTable.isEdgeTable()) ||
+                (elementClass.isAssignableFrom(Vertex.class) && this.schemaTable.isVertexTable())) {
+            this.restrictedProperties = restrictedProperties;
+        }
+    }
+
+    void restrictProperties(Set<String> restrictedProperties) {
+        this.restrictedProperties = restrictedProperties;
+    }
+
+    /**
+     * @return the properties to select for this element, all of them unless the traversal only needs some.
+     */
+    private Map<String, PropertyType> getPropertiesToSelect() {
+        Map<String, PropertyType> propertyTypeMap = this.getFilteredAllTables().get(this.getSchemaTable().toString());
+        if (this.restrictedProperties == null) {
+            return propertyTypeMap;
+        }
+        Map<String, PropertyType> result = new LinkedHashMap<>();
+        for (Map.Entry<String, PropertyType> propertyTypeEntry : propertyTypeMap.entrySet()) {
+            if (this.restrictedProperties.contains(propertyTypeEntry.getKey())) {
+                result.put(propertyTypeEntry.getKey(), propertyTypeEntry.getValue());
+            }
+        }
+        return result;
+    }
+
     void initializeAliasColumnNameMaps() {
         this.aliasMapHolder = new AliasMapHolder();
     }
@@ -334,6 +393,18 @@ public class SchemaTableTree {
         this.optionalLeftJoin = optionalLeftJoin;
     }
 
+    AliasMapHolder getAliasMapHolder() {
+        return this.aliasMapHolder;
+    }
+
+    int getRootAliasCounter() {
+        return this.rootAliasCounter;
+    }
+
+    void setRootAliasCounter(int rootAliasCounter) {
+        this.rootAliasCounter = rootAliasCounter;
+    }
+
     public void resetColumnAliasMaps() {
         this.aliasMapHolder.clear();
         this.rootAliasCounter = 1;
@@ -357,6 +428,14 @@ public class SchemaTableTree {
 
     public String constructSql(LinkedList<SchemaTableTree> distinctQueryStack) {
         Preconditions.checkState(this.parent == null, CONSTRUCT_SQL_MAY_ONLY_BE_CALLED_ON_THE_ROOT_OBJECT);
+        return this.sqlgGraph.getSqlPlanCache().get(
+                this,
+                planKey("REGULAR", distinctQueryStack, Collections.emptySet()),
+                () -> internalConstructSql(distinctQueryStack)
+        );
+    }
+
+    private String internalConstructSql(LinkedList<SchemaTableTree> distinctQueryStack) {
         //If the same element occurs multiple times in the stack then the sql needs to be different.
         //This is because the same element can not be joined on more than once in sql
         //The way to overcome this is to break up the path in select sections with no duplicates and then join them together.
@@ -452,6 +531,14 @@ public class SchemaTableTree {
 
     public String constructSqlForOptional(LinkedList<SchemaTableTree> innerJoinStack, Set<SchemaTableTree> leftJoinOn) {
         Preconditions.checkState(this.parent == null, CONSTRUCT_SQL_MAY_ONLY_BE_CALLED_ON_THE_ROOT_OBJECT);
+        return this.sqlgGraph.getSqlPlanCache().get(
+                this,
+                planKey("OPTIONAL", innerJoinStack, leftJoinOn),
+                () -> internalConstructSqlForOptional(innerJoinStack, leftJoinOn)
+        );
+    }
+
+    private String internalConstructSqlForOptional(LinkedList<SchemaTableTree> innerJoinStack, Set<SchemaTableTree> leftJoinOn) {
         if (duplicatesInStack(innerJoinStack)) {
             List<LinkedList<SchemaTableTree>> subQueryStacks = splitIntoSubStacks(innerJoinStack);
             return constructDuplicatePathSql(this.sqlgGraph, subQueryStacks, leftJoinOn);
@@ -463,6 +550,95 @@ public class SchemaTableTree {
 
     public String constructSqlForEmit(LinkedList<SchemaTableTree> innerJoinStack) {
         Preconditions.checkState(this.parent == null, CONSTRUCT_SQL_MAY_ONLY_BE_CALLED_ON_THE_ROOT_OBJECT);
+        return this.sqlgGraph.getSqlPlanCache().get(
+                this,
+                planKey("EMIT", innerJoinStack, Collections.emptySet()),
+                () -> internalConstructSqlForEmit(innerJoinStack)
+        );
+    }
+
+    /**
+     * Constructs the sql that aggregates the rows of the regular query for the stack.
+     * COUNT counts the rows, the other aggregates aggregate the leaf element's property.
+     * MEAN selects the average and the number of values it is taken over.
+     *
+     * @return the sql or null if the leaf element does not have the property.
+     */
+    public String constructSqlForAggregate(LinkedList<SchemaTableTree> distinctQueryStack, AGGREGATE aggregate, String propertyKey) {
+        Preconditions.checkState(this.parent == null, CONSTRUCT_SQL_MAY_ONLY_BE_CALLED_ON_THE_ROOT_OBJECT);
+        String sql = constructSql(distinctQueryStack);
+        if (aggregate == AGGREGATE.COUNT) {
+            return "SELECT COUNT(*) FROM (" + sql + "\n) a";
+        }
+        SchemaTableTree leaf = distinctQueryStack.getLast();
+        PropertyType propertyType = leaf.getFilteredAllTables().get(leaf.getSchemaTable().toString()).get(propertyKey);
+        if (propertyType == null) {
+            return null;
+        }
+        if (!propertyType.isNumber()) {
+            throw new IllegalArgumentException(String.format("%s() requires numbers, '%s' of %s is a %s", aggregate.name().toLowerCase(), propertyKey, leaf.getSchemaTable(), propertyType.name()));
+        }
+        String alias = leaf.selectedPropertyAlias(propertyKey);
+        Preconditions.checkState(alias != null, "BUG: %s is not selected for %s", propertyKey, leaf.getSchemaTable());
+        SqlDialect sqlDialect = this.sqlgGraph.getSqlDialect();
+        String column = "a." + sqlDialect.maybeWrapInQoutes(alias);
+        String aggregateSql;
+        switch (aggregate) {
+            case SUM:
+                //the sum of small integers may not fit the column's type
+                PropertyType sumType = propertyType == PropertyType.FLOAT || propertyType == PropertyType.DOUBLE ? PropertyType.DOUBLE : PropertyType.LONG;
+                aggregateSql = "SUM(CAST(" + column + " AS " + sqlDialect.propertyTypeToSqlDefinition(sumType)[0] + "))";
+                break;
+            case MIN:
+                aggregateSql = "MIN(" + column + ")";
+                break;
+            case MAX:
+                aggregateSql = "MAX(" + column + ")";
+                break;
+            case MEAN:
+                //some databases average integers as integers
+                aggregateSql = "AVG(CAST(" + column + " AS " + sqlDialect.propertyTypeToSqlDefinition(PropertyType.DOUBLE)[0] + ")), COUNT(" + column + ")";
+                break;
+            default:
+                throw new IllegalStateException("Unhandled aggregate " + aggregate.name());
+        }
+        return "SELECT " + aggregateSql + " FROM (" + sql + "\n) a";
+    }
+
+    /**
+     * Constructs the sql that counts the rows of the regular query for the stack per value of the leaf element's property.
+     * The value is the first column and its count the second.
+     *
+     * @return the sql or null if the leaf element does not have the property.
+     */
+    public String constructSqlForGroupCount(LinkedList<SchemaTableTree> distinctQueryStack, String propertyKey) {
+        Preconditions.checkState(this.parent == null, CONSTRUCT_SQL_MAY_ONLY_BE_CALLED_ON_THE_ROOT_OBJECT);
+        String sql = constructSql(distinctQueryStack);
+        SchemaTableTree leaf = distinctQueryStack.getLast();
+        if (!leaf.getFilteredAllTables().get(leaf.getSchemaTable().toString()).containsKey(propertyKey)) {
+            return null;
+        }
+        String alias = leaf.selectedPropertyAlias(propertyKey);
+        Preconditions.checkState(alias != null, "BUG: %s is not selected for %s", propertyKey, leaf.getSchemaTable());
+        String column = "a." + this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(alias);
+        return "SELECT " + column + ", COUNT(*) FROM (" + sql + "\n) a GROUP BY " + column;
+    }
+
+    /**
+     * @return the alias the regular query selects the property as, null if it is not selected.
+     */
+    private String selectedPropertyAlias(String propertyKey) {
+        String prefix = this.stepDepth + ALIAS_SEPARATOR;
+        String suffix = ALIAS_SEPARATOR + getSchemaTable().getSchema() + ALIAS_SEPARATOR + getSchemaTable().getTable() + ALIAS_SEPARATOR + propertyKey;
+        for (Map.Entry<String, String> columnNameAlias : getColumnNameAliasMap().entrySet()) {
+            if (columnNameAlias.getKey().startsWith(prefix) && columnNameAlias.getKey().endsWith(suffix)) {
+                return columnNameAlias.getValue();
+            }
+        }
+        return null;
+    }
+
+    private String internalConstructSqlForEmit(LinkedList<SchemaTableTree> innerJoinStack) {
         if (duplicatesInStack(innerJoinStack)) {
             List<LinkedList<SchemaTableTree>> subQueryStacks = splitIntoSubStacks(innerJoinStack);
             return constructDuplicatePathSql(this.sqlgGraph, subQueryStacks);
@@ -472,6 +648,71 @@ public class SchemaTableTree {
         }
     }
 
+    /**
+     * The key for the {@link SqlPlanCache}. It describes everything that goes into the sql, except for the values that are
+     * set as parameters on the statement.
+     *
+     * @return the key or null if the sql for the stack may not be cached.
+     */
+    private String planKey(String queryType, LinkedList<SchemaTableTree> queryStack, Set<SchemaTableTree> leftJoinOn) {
+        StringBuilder key = new StringBuilder(queryType);
+        for (SchemaTableTree schemaTableTree : queryStack) {
+            if (!schemaTableTree.appendPlanKey(key)) {
+                return null;
+            }
+        }
+        key.append("\nLEFT JOIN");
+        for (SchemaTableTree schemaTableTree : leftJoinOn) {
+            if (!schemaTableTree.appendPlanKey(key)) {
+                return null;
+            }
+        }
+        return key.toString();
+    }
+
+    private boolean appendPlanKey(StringBuilder key) {
+        //bulk within joined as a VALUES list puts the values in the sql, bound as an array parameter it does not.
+        //the and/or containers are not taken apart here, rather not cache them.
+        //the parent ids of a vertex step are part of the sql, a plan keyed on them would never be hit again.
+        if (this.parentIdsAndIndexes != null || !this.andOrHasContainers.isEmpty() ||
+                this.sqlgGraph.getSqlDialect().supportsBulkWithinOut() && this.hasContainers.stream().anyMatch(h -> isBulkWithinJoin(this.sqlgGraph, h))) {
+            return false;
+        }
+        key.append("\n").append(this.stepDepth).append(ALIAS_SEPARATOR).append(this.schemaTable.toString())
+                .append(ALIAS_SEPARATOR).append(this.direction)
+                .append(ALIAS_SEPARATOR).append(this.stepType)
+                .append(ALIAS_SEPARATOR).append(new TreeSet<>(this.labels))
+                .append(ALIAS_SEPARATOR).append(this.emit).append(this.untilFirst).append(this.optionalLeftJoin)
+                .append(this.drop).append(this.localStep).append(this.fakeEmit).append(this.children.isEmpty())
+                .append(ALIAS_SEPARATOR).append(this.replacedStepDepth)
+                .append(ALIAS_SEPARATOR).append(this.restrictedProperties == null ? null : new TreeSet<>(this.restrictedProperties));
+        for (HasContainer hasContainer : this.hasContainers) {
+            key.append(ALIAS_SEPARATOR).append(hasContainer.getKey()).append(":");
+            P<?> p = hasContainer.getPredicate();
+            Object value = p.getValue();
+            if (!hasContainer.getKey().equals(T.label.getAccessor()) && (p.getBiPredicate() instanceof Compare || p.getBiPredicate() instanceof Text) && !(value instanceof PropertyReference)) {
+                key.append(p.getBiPredicate()).append("(").append(value == null ? null : value.getClass().getName()).append(")");
+            } else if (!hasContainer.getKey().equals(T.label.getAccessor()) && p.getBiPredicate() instanceof Contains && SqlgUtil.isBulkWithinArray(this.sqlgGraph, hasContainer)) {
+                //one array parameter whatever the number of values
+                key.append(p.getBiPredicate()).append("[array:").append(SqlgUtil.bulkWithinArray(hasContainer).getClass().getComponentType().getName()).append("]");
+            } else if (!hasContainer.getKey().equals(T.label.getAccessor()) && p.getBiPredicate() instanceof Contains && value instanceof Collection) {
+                Collection<?> values = (Collection<?>) value;
+                key.append(p.getBiPredicate()).append("[").append(values.size()).append("]");
+            } else {
+                //the value might end up in the sql
+                key.append(p.toString());
+            }
+        }
+        for (org.javatuples.Pair<Traversal.Admin<?, ?>, Comparator<?>> comparator : this.dbComparators) {
+            key.append(ALIAS_SEPARATOR).append(comparator.getValue0()).append(comparator.getValue1());
+        }
+        if (this.sqlgRangeHolder != null) {
+            key.append(ALIAS_SEPARATOR).append(this.sqlgRangeHolder.isApplyOnDb())
+                    .append(this.sqlgRangeHolder.getRange()).append(this.sqlgRangeHolder.getSkip());
+        }
+        return true;
+    }
+
     public List<LinkedList<SchemaTableTree>> constructDistinctQueries() {
         Preconditions.checkState(this.parent == null, "constructDistinctQueries may only be called on the root object");
         List<LinkedList<SchemaTableTree>> result = new ArrayList<>();
@@ -666,7 +907,7 @@ public class SchemaTableTree {
 
     private String printOuterFromClause(int count, Map<String, String> columnNameAliasMapCopy, SchemaTableTree previousSchemaTableTree) {
         String sql = "";
-        Map<String, PropertyType> propertyTypeMap = this.getFilteredAllTables().get(this.toString());
+        Map<String, PropertyType> propertyTypeMap = this.getPropertiesToSelect();
         Optional<String> optional = this.lastMappedAliasIdForOuterFrom(columnNameAliasMapCopy);
         if (optional.isPresent()) {
             sql = "a" + count + "." + this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(optional.get());
@@ -980,12 +1221,17 @@ public class SchemaTableTree {
 
 
     private boolean hasBulkWithinOrOut(SqlgGraph sqlgGraph) {
-        return this.hasContainers.stream().anyMatch(h -> SqlgUtil.isBulkWithinAndOut(sqlgGraph, h));
+        return this.hasContainers.stream().anyMatch(h -> isBulkWithinJoin(sqlgGraph, h));
+    }
+
+    //a bulk within or without whose values are not bound as one array parameter is joined as a VALUES list.
+    private static boolean isBulkWithinJoin(SqlgGraph sqlgGraph, HasContainer hasContainer) {
+        return SqlgUtil.isBulkWithinAndOut(sqlgGraph, hasContainer) && !SqlgUtil.isBulkWithinArray(sqlgGraph, hasContainer);
     }
 
     private String bulkWithJoin(SqlgGraph sqlgGraph) {
         StringBuilder sb = new StringBuilder();
-        List<HasContainer> bulkHasContainers = this.hasContainers.stream().filter(h -> SqlgUtil.isBulkWithinAndOut(sqlgGraph, h)).collect(Collectors.toList());
+        List<HasContainer> bulkHasContainers = this.hasContainers.stream().filter(h -> isBulkWithinJoin(sqlgGraph, h)).collect(Collectors.toList());
         for (HasContainer hasContainer : bulkHasContainers) {
             P<List<Object>> predicate = (P<List<Object>>) hasContainer.getPredicate();
             Collection<Object> withInList = predicate.getValue();
@@ -1103,7 +1349,7 @@ public class SchemaTableTree {
         final StringBuilder result = new StringBuilder();
         if (sqlgGraph.getSqlDialect().supportsBulkWithinOut()) {
             for (HasContainer hasContainer : this.hasContainers) {
-                if (!SqlgUtil.isBulkWithin(sqlgGraph, hasContainer)) {
+                if (!SqlgUtil.isBulkWithin(sqlgGraph, hasContainer) || SqlgUtil.isBulkWithinArray(sqlgGraph, hasContainer)) {
                     if (!printedWhere.booleanValue()) {
                         printedWhere.setTrue();
                         result.append("\nWHERE\n\t(");
@@ -1517,7 +1763,7 @@ public class SchemaTableTree {
 
     private String printLabeledOuterFromClause(String sql, int counter, Map<String, String> columnNameAliasMapCopy) {
         sql += " a" + counter + "." + this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(this.labeledMappedAliasIdForOuterFromClause(columnNameAliasMapCopy));
-        Map<String, PropertyType> propertyTypeMap = this.getFilteredAllTables().get(this.getSchemaTable().toString());
+        Map<String, PropertyType> propertyTypeMap = this.getPropertiesToSelect();
         if (!propertyTypeMap.isEmpty()) {
             sql += ", ";
         }
@@ -1577,7 +1823,7 @@ public class SchemaTableTree {
     }
 
     private static void printFromClauseFor(SchemaTableTree lastSchemaTableTree, ColumnList cols) {
-        Map<String, PropertyType> propertyTypeMap = lastSchemaTableTree.getFilteredAllTables().get(lastSchemaTableTree.getSchemaTable().toString());
+        Map<String, PropertyType> propertyTypeMap = lastSchemaTableTree.getPropertiesToSelect();
         for (Map.Entry<String, PropertyType> propertyTypeMapEntry : propertyTypeMap.entrySet()) {
             String alias = lastSchemaTableTree.calculateAliasPropertyName(propertyTypeMapEntry.getKey());
             cols.add(lastSchemaTableTree, propertyTypeMapEntry.getKey(), alias);
@@ -1589,7 +1835,7 @@ public class SchemaTableTree {
     }
 
     private String printLabeledOuterFromClauseFor(String sql, int counter, Map<String, String> columnNameAliasMapCopy) {
-        Map<String, PropertyType> propertyTypeMap = this.getFilteredAllTables().get(this.getSchemaTable().toString());
+        Map<String, PropertyType> propertyTypeMap = this.getPropertiesToSelect();
         int count = 1;
         for (Map.Entry<String, PropertyType> property : propertyTypeMap.entrySet()) {
             sql += " a" + counter + ".";
@@ -1619,7 +1865,7 @@ public class SchemaTableTree {
     }
 
     private static void printLabeledFromClauseFor(SchemaTableTree lastSchemaTableTree, ColumnList cols) {
-        Map<String, PropertyType> propertyTypeMap = lastSchemaTableTree.getFilteredAllTables().get(lastSchemaTableTree.getSchemaTable().toString());
+        Map<String, PropertyType> propertyTypeMap = lastSchemaTableTree.getPropertiesToSelect();
         for (Map.Entry<String, PropertyType> propertyTypeMapEntry : propertyTypeMap.entrySet()) {
             String col = propertyTypeMapEntry.getKey();
             String alias = cols.getAlias(lastSchemaTableTree, col);
@@ -2331,21 +2577,34 @@ public class SchemaTableTree {
     }
 
     public void loadProperty(ResultSet resultSet, SqlgElement sqlgElement) throws SQLException {
-        for (int ix = 1; ix <= resultSet.getMetaData().getColumnCount(); ix++) {
-            String columnName = resultSet.getMetaData().getColumnLabel(ix);//entry.getKey();
+        if (this.restrictedProperties != null) {
+            sqlgElement.loadedRestrictedProperties(this.restrictedProperties);
+        }
+        if (this.columnDecoderPlan == null || !this.columnDecoderPlan.isFor(resultSet)) {
+            this.columnDecoderPlan = columnDecoderPlan(resultSet);
+        }
+        this.columnDecoderPlan.load(resultSet, sqlgElement);
+    }
+
+    private ColumnDecoderPlan columnDecoderPlan(ResultSet resultSet) throws SQLException {
+        ColumnDecoderPlan columnDecoderPlan = new ColumnDecoderPlan(this.sqlgGraph, resultSet);
+        ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
+        for (int ix = 1; ix <= resultSetMetaData.getColumnCount(); ix++) {
+            String columnName = resultSetMetaData.getColumnLabel(ix);
             Pair<String, PropertyType> p = getColumnNamePropertyName().get(columnName);
             if (p != null) {
                 String propertyName = p.getKey();
                 PropertyType propertyType = p.getValue();
                 if (propertyName.endsWith(Topology.IN_VERTEX_COLUMN_END)) {
-                    ((SqlgEdge) sqlgElement).loadInVertex(resultSet, propertyName, ix);
+                    columnDecoderPlan.addInVertex(ix, propertyName);
                 } else if (propertyName.endsWith(Topology.OUT_VERTEX_COLUMN_END)) {
-                    ((SqlgEdge) sqlgElement).loadOutVertex(resultSet, propertyName, ix);
+                    columnDecoderPlan.addOutVertex(ix, propertyName);
                 } else {
-                    sqlgElement.loadProperty(resultSet, propertyName, ix, getColumnNameAliasMap(), this.stepDepth, propertyType);
+                    columnDecoderPlan.addProperty(ix, propertyName, propertyType, getColumnNameAliasMap(), this.stepDepth, this.schemaTable);
                 }
             }
         }
+        return columnDecoderPlan;
     }
 
     public void clearColumnNamePropertyNameMap() {
@@ -2353,6 +2612,7 @@ public class SchemaTableTree {
             this.columnNamePropertyName.clear();
             this.columnNamePropertyName = null;
         }
+        this.columnDecoderPlan = null;
     }
 
     public String idProperty() {
@@ -0,0 +1,129 @@
+package org.umlg.sqlg.sql.parse;
+
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.topology.Topology;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches the sql generated for a {@link SchemaTableTree} query stack.
+ * <p>
+ * The key is the shape of the query, i.e. everything that influences the generated sql except the values that are
+ * bound as parameters. Together with the sql the column alias maps that sql generation leaves on the root
+ * {@link SchemaTableTree} are cached, they are needed to read the ResultSet.
+ * Entries are only valid for the topology version they were generated for.
+ * <p>
+ * Only the sql generation is cached. The strategies, the {@link ReplacedStepTree} and the {@link SchemaTableTree} still
+ * run and are built per traversal, they hold the traversal's own steps, has container values and parent ids so reusing
+ * them would mean copying and rebinding them, which is about as much work as building them.
+ * Date: 2026/10/18
+ */
+public class SqlPlanCache {
+
+    public static final String PLAN_CACHE_SIZE = "plan.cache.size";
+
+    private final SqlgGraph sqlgGraph;
+    private final int maxSize;
+    private final Map<String, Plan> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public SqlPlanCache(SqlgGraph sqlgGraph, int maxSize) {
+        this.sqlgGraph = sqlgGraph;
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<String, Plan>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Plan> eldest) {
+                return size() > SqlPlanCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the sql for the key, generating it via sqlSupplier if it is not cached.
+     *
+     * @param root        The root {@link SchemaTableTree} whose alias maps the sql generation populates.
+     * @param key         The shape of the query. null if the query may not be cached.
+     * @param sqlSupplier Generates the sql.
+     * @return The sql.
+     */
+    String get(SchemaTableTree root, String key, Supplier<String> sqlSupplier) {
+        //uncommitted topology changes are only visible to the current thread, sql generated for them may not be shared.
+        Topology topology = this.sqlgGraph.getTopology();
+        if (key == null || this.maxSize <= 0 || topology == null || topology.isSqlWriteLockHeldByCurrentThread()) {
+            return sqlSupplier.get();
+        }
+        //the cached alias maps are only valid if sql generation starts from reset alias maps.
+        if (!root.getAliasMapHolder().getColumnNameAliasMap().isEmpty() || root.getRootAliasCounter() != 1) {
+            return sqlSupplier.get();
+        }
+        long version = topology.getVersion();
+        Plan plan;
+        synchronized (this.cache) {
+            plan = this.cache.get(key);
+        }
+        if (plan != null && plan.topologyVersion == version) {
+            this.hits.incrementAndGet();
+            AliasMapHolder aliasMapHolder = root.getAliasMapHolder();
+            aliasMapHolder.getColumnNameAliasMap().putAll(plan.columnNameAliasMap);
+            aliasMapHolder.getAliasColumnNameMap().putAll(plan.aliasColumnNameMap);
+            root.setRootAliasCounter(plan.rootAliasCounter);
+            return plan.sql;
+        }
+        this.misses.incrementAndGet();
+        String sql = sqlSupplier.get();
+        AliasMapHolder aliasMapHolder = root.getAliasMapHolder();
+        plan = new Plan(
+                version,
+                sql,
+                new HashMap<>(aliasMapHolder.getColumnNameAliasMap()),
+                new HashMap<>(aliasMapHolder.getAliasColumnNameMap()),
+                root.getRootAliasCounter()
+        );
+        synchronized (this.cache) {
+            this.cache.put(key, plan);
+        }
+        return sql;
+    }
+
+    public void clear() {
+        synchronized (this.cache) {
+            this.cache.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (this.cache) {
+            return this.cache.size();
+        }
+    }
+
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    private static class Plan {
+
+        private final long topologyVersion;
+        private final String sql;
+        private final Map<String, String> columnNameAliasMap;
+        private final Map<String, String> aliasColumnNameMap;
+        private final int rootAliasCounter;
+
+        private Plan(long topologyVersion, String sql, Map<String, String> columnNameAliasMap, Map<String, String> aliasColumnNameMap, int rootAliasCounter) {
+            this.topologyVersion = topologyVersion;
+            this.sql = sql;
+            this.columnNameAliasMap = columnNameAliasMap;
+            this.aliasColumnNameMap = aliasColumnNameMap;
+            this.rootAliasCounter = rootAliasCounter;
+        }
+    }
+}
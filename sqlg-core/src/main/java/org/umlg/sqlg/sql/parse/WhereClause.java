@@ -56,6 +56,14 @@ public class WhereClause {
             }
             result += compareToSql((Compare) p.getBiPredicate());
             return result;
+        } else if (p.getBiPredicate() instanceof Contains && SqlgUtil.isBulkWithinArray(sqlgGraph, hasContainer)) {
+            if (hasContainer.getKey().equals(T.id.getAccessor())) {
+                result += prefix + "." + sqlgGraph.getSqlDialect().maybeWrapInQoutes("ID");
+            } else {
+                result += prefix + "." + sqlgGraph.getSqlDialect().maybeWrapInQoutes(hasContainer.getKey());
+            }
+            result += sqlgGraph.getSqlDialect().bulkWithinArrayParameterSql((Contains) p.getBiPredicate());
+            return result;
         } else if ((!sqlgGraph.getSqlDialect().supportsBulkWithinOut() || (!SqlgUtil.isBulkWithinAndOut(sqlgGraph, hasContainer))) && p.getBiPredicate() instanceof Contains) {
             if (hasContainer.getKey().equals(T.id.getAccessor())) {
                 result += prefix + "." + sqlgGraph.getSqlDialect().maybeWrapInQoutes("ID");
@@ -1,6 +1,8 @@
 package org.umlg.sqlg.step;
 
 import com.google.common.base.Preconditions;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
@@ -9,11 +11,14 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.SackStep;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Property;
 import org.umlg.sqlg.sql.parse.ReplacedStep;
 import org.umlg.sqlg.sql.parse.ReplacedStepTree;
 import org.umlg.sqlg.sql.parse.SchemaTableTree;
 import org.umlg.sqlg.strategy.Emit;
 import org.umlg.sqlg.strategy.SqlgComparatorHolder;
+import org.umlg.sqlg.strategy.SqlgSqlExecutor;
+import org.umlg.sqlg.structure.PropertyType;
 import org.umlg.sqlg.structure.SqlgCompiledResultIterator;
 import org.umlg.sqlg.structure.SqlgElement;
 import org.umlg.sqlg.structure.SqlgGraph;
@@ -55,6 +60,16 @@ public class SqlgGraphStep<S, E extends SqlgElement> extends GraphStep implement
     private boolean requiresSack;
     private boolean requiresOneBulk;
 
+    /**
+     * Set by the strategy if the next step only aggregates the elements. Every query then calculates the aggregate
+     * and the step emits it with the number of traversers it stands for as its bulk.
+     * The aggregating step combines the partial aggregates of the different queries.
+     * For the group counts the step emits every value with its count as its bulk.
+     */
+    private SchemaTableTree.AGGREGATE aggregate;
+    private String aggregateKey;
+    private Iterator<Pair<Object, Long>> aggregates;
+
     public SqlgGraphStep(final SqlgGraph sqlgGraph, final Traversal.Admin traversal, final Class<E> returnClass, final boolean isStart, final Object... ids) {
         super(traversal, returnClass, isStart, ids);
         this.sqlgGraph = sqlgGraph;
@@ -64,6 +79,9 @@ public class SqlgGraphStep<S, E extends SqlgElement> extends GraphStep implement
 
     @Override
     protected Traverser.Admin<E> processNextStart() {
+        if (this.aggregate != null) {
+            return processNextAggregate();
+        }
         while (true) {
             if (this.traversersLstIter != null && this.traversersLstIter.hasNext()) {
                 Emit<E> emit = this.traversersLstIter.next();
@@ -107,6 +125,33 @@ public class SqlgGraphStep<S, E extends SqlgElement> extends GraphStep implement
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private Traverser.Admin<E> processNextAggregate() {
+        if (this.aggregates == null) {
+            this.aggregates = aggregates();
+        }
+        if (!this.aggregates.hasNext()) {
+            throw FastNoSuchElementException.instance();
+        }
+        Pair<Object, Long> aggregateAndBulk = this.aggregates.next();
+        return (Traverser.Admin) SqlgTraverserGenerator.instance().generate(aggregateAndBulk.getLeft(), (Step) this, aggregateAndBulk.getRight(), this.requiresSack, false);
+    }
+
+    /**
+     * The step emits the aggregate of every query instead of the elements.
+     *
+     * @param aggregate    The aggregate to calculate.
+     * @param aggregateKey The property to aggregate or group by, null for COUNT.
+     */
+    public void aggregate(SchemaTableTree.AGGREGATE aggregate, String aggregateKey) {
+        this.aggregate = aggregate;
+        this.aggregateKey = aggregateKey;
+    }
+
+    public SchemaTableTree.AGGREGATE getAggregate() {
+        return this.aggregate;
+    }
+
     private boolean applyRange(Emit<E> emit) {
         if (this.lastReplacedStep.hasRange() && this.lastReplacedStep.applyInStep() && this.lastReplacedStep.getDepth() == emit.getReplacedStepDepth()) {
             if (this.lastReplacedStep.getSqlgRangeHolder().hasRange()) {
@@ -180,6 +225,7 @@ public class SqlgGraphStep<S, E extends SqlgElement> extends GraphStep implement
     public void reset() {
         super.reset();
         this.previousHead = null;
+        this.aggregates = null;
     }
 
     @Override
@@ -198,6 +244,85 @@ public class SqlgGraphStep<S, E extends SqlgElement> extends GraphStep implement
         return new SqlgCompiledResultIterator<>(this.sqlgGraph, rootSchemaTableTrees);
     }
 
+    private Iterator<Pair<Object, Long>> aggregates() {
+        this.sqlgGraph.tx().readWrite();
+        if (this.sqlgGraph.getSqlDialect().supportsBatchMode() && this.sqlgGraph.tx().getBatchManager().isStreaming()) {
+            throw new IllegalStateException("streaming is in progress, first flush or commit before querying.");
+        }
+        Set<SchemaTableTree> rootSchemaTableTrees = doLast();
+        boolean groupCount = this.aggregate == SchemaTableTree.AGGREGATE.GROUP_COUNT || this.aggregate == SchemaTableTree.AGGREGATE.GROUP_COUNT_BY;
+        if (groupCount && !canGroupByInDatabase(rootSchemaTableTrees)) {
+            return groupCountInMemory(rootSchemaTableTrees);
+        }
+        List<Pair<Object, Long>> result = new ArrayList<>();
+        for (SchemaTableTree rootSchemaTableTree : rootSchemaTableTrees) {
+            try {
+                for (LinkedList<SchemaTableTree> distinctQueryStack : rootSchemaTableTree.constructDistinctQueries()) {
+                    rootSchemaTableTree.resetColumnAliasMaps();
+                    if (groupCount) {
+                        result.addAll(SqlgSqlExecutor.executeGroupCountQuery(
+                                this.sqlgGraph, rootSchemaTableTree, distinctQueryStack, this.aggregateKey,
+                                this.aggregate == SchemaTableTree.AGGREGATE.GROUP_COUNT_BY));
+                    } else {
+                        Pair<Number, Long> aggregateAndBulk = SqlgSqlExecutor.executeAggregateQuery(
+                                this.sqlgGraph, rootSchemaTableTree, distinctQueryStack, this.aggregate, this.aggregateKey);
+                        if (aggregateAndBulk != null) {
+                            result.add(Pair.of(aggregateAndBulk.getLeft(), aggregateAndBulk.getRight()));
+                        }
+                    }
+                }
+            } finally {
+                rootSchemaTableTree.resetColumnAliasMaps();
+            }
+        }
+        return result.iterator();
+    }
+
+    private boolean canGroupByInDatabase(Set<SchemaTableTree> rootSchemaTableTrees) {
+        for (SchemaTableTree rootSchemaTableTree : rootSchemaTableTrees) {
+            try {
+                for (LinkedList<SchemaTableTree> distinctQueryStack : rootSchemaTableTree.constructDistinctQueries()) {
+                    PropertyType propertyType = this.sqlgGraph.getTopology().getTableFor(distinctQueryStack.getLast().getSchemaTable()).get(this.aggregateKey);
+                    if (propertyType != null && !SqlgSqlExecutor.canGroupBy(this.sqlgGraph.getSqlDialect(), propertyType)) {
+                        return false;
+                    }
+                }
+            } finally {
+                rootSchemaTableTree.resetColumnAliasMaps();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Loads the elements and counts them per value of the property,
+     * for the properties whose values the database does not group as java does.
+     */
+    private Iterator<Pair<Object, Long>> groupCountInMemory(Set<SchemaTableTree> rootSchemaTableTrees) {
+        Map<Object, Long> groupCounts = new LinkedHashMap<>();
+        SqlgCompiledResultIterator<List<Emit<E>>> resultIterator = new SqlgCompiledResultIterator<>(this.sqlgGraph, rootSchemaTableTrees);
+        while (resultIterator.hasNext()) {
+            List<Emit<E>> emits = resultIterator.next();
+            E element = emits.get(emits.size() - 1).getElement();
+            Object value;
+            if (this.aggregate == SchemaTableTree.AGGREGATE.GROUP_COUNT_BY) {
+                value = element.value(this.aggregateKey);
+            } else {
+                Property<?> property = element.property(this.aggregateKey);
+                if (!property.isPresent()) {
+                    continue;
+                }
+                value = property.value();
+            }
+            groupCounts.merge(value, 1L, Long::sum);
+        }
+        List<Pair<Object, Long>> result = new ArrayList<>(groupCounts.size());
+        for (Map.Entry<Object, Long> groupCount : groupCounts.entrySet()) {
+            result.add(Pair.of(groupCount.getKey(), groupCount.getValue()));
+        }
+        return result.iterator();
+    }
+
     private Set<SchemaTableTree> doLast() {
         this.replacedStepTree.maybeAddLabelToLeafNodes();
         Set<SchemaTableTree> rootSchemaTableTrees = parseForStrategy();
@@ -1,14 +1,15 @@
 package org.umlg.sqlg.step.barrier;
 
 import com.google.common.base.Preconditions;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.MultiValuedMap;
 import org.apache.commons.collections4.multimap.HashSetValuedHashMap;
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.event.CallbackRegistry;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.event.Event;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.event.EventCallback;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.event.ListCallbackRegistry;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.EventStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
@@ -32,9 +33,6 @@ public class SqlgDropStepBarrier<S> extends SqlgFilterStep<S>  implements Mutati
     private CallbackRegistry<Event> callbackRegistry;
     private SqlgGraph sqlgGraph;
     private boolean first = true;
-    private Set<RecordId> idsToDelete = new HashSet<>();
-    private MultiValuedMap<Pair<EdgeLabel, VertexLabel>, Long> foreignKeyOutEdgesToDelete = new HashSetValuedHashMap<>();
-    private MultiValuedMap<Pair<EdgeLabel, VertexLabel>, Long> foreignKeyInEdgesToDelete = new HashSetValuedHashMap<>();
     private MultiValuedMap<EdgeLabel, Long> edgesToDelete = new HashSetValuedHashMap<>();
     private MultiValuedMap<VertexLabel, Long> verticesToDelete = new HashSetValuedHashMap<>();
 
@@ -46,12 +44,12 @@ public class SqlgDropStepBarrier<S> extends SqlgFilterStep<S>  implements Mutati
 
     @Override
     protected Traverser.Admin<S> processNextStart() {
+        EventStrategy eventStrategy = null;
+        if (!this.callbackRegistry.getCallbacks().isEmpty()) {
+            eventStrategy = getTraversal().getStrategies().getStrategy(EventStrategy.class).get();
+        }
         if (this.first) {
             this.first = false;
-            EventStrategy eventStrategy = null;
-            if (!this.callbackRegistry.getCallbacks().isEmpty()) {
-                eventStrategy = getTraversal().getStrategies().getStrategy(EventStrategy.class).get();
-            }
             while (this.starts.hasNext()) {
                 Traverser.Admin<S> start = this.starts.next();
                 Object object = start.get();
@@ -68,45 +66,20 @@ public class SqlgDropStepBarrier<S> extends SqlgFilterStep<S>  implements Mutati
                         if (added && eventStrategy != null) {
                             final Event removeEvent = new Event.VertexRemovedEvent(eventStrategy.detach(sqlgVertex));
                             this.callbackRegistry.getCallbacks().forEach(c -> c.accept(removeEvent));
-                        }
-                        for (EdgeLabel outEdgeLabel : vertexLabelOptional.get().getOutEdgeLabels().values()) {
-                            //If there are registered callBacks and the dialect does not support returning deleted rows we need to do it the slow way.
-                            //Get all the edges, register to the callBack and delete.
-                            if (eventStrategy != null) {
-                                Iterator<Edge> edges = sqlgVertex.edges(Direction.OUT);
-                                while (edges.hasNext()) {
-                                    Edge edge = edges.next();
-                                    SchemaTable schemaTableEdge = ((SqlgEdge)edge).getSchemaTablePrefixed().withOutPrefix();
-                                    Optional<EdgeLabel> edgeLabelOptional = this.sqlgGraph.getTopology().getEdgeLabel(schemaTableEdge.getSchema(), schemaTableEdge.getTable());
-                                    Preconditions.checkState(edgeLabelOptional.isPresent());
-                                    added = this.edgesToDelete.put(edgeLabelOptional.get(), ((RecordId)edge.id()).getId());
-                                    if (added) {
-                                        final Event removeEvent = new Event.EdgeRemovedEvent(eventStrategy.detach(edge));
-                                        this.callbackRegistry.getCallbacks().forEach(c -> c.accept(removeEvent));
-                                    }
-                                }
-                            } else {
-                                this.foreignKeyOutEdgesToDelete.put(Pair.of(outEdgeLabel, vertexLabelOptional.get()), id);
-                            }
-                        }
-                        for (EdgeLabel inEdgeLabel : vertexLabelOptional.get().getInEdgeLabels().values()) {
                             //If there are registered callBacks and the dialect does not support returning deleted rows we need to do it the slow way.
                             //Get all the edges, register to the callBack and delete.
-                            if (!this.callbackRegistry.getCallbacks().isEmpty()) {
-                                Iterator<Edge> edges = sqlgVertex.edges(Direction.IN);
+                            if (!this.sqlgGraph.getSqlDialect().supportReturningDeletedRows()) {
+                                Iterator<Edge> edges = sqlgVertex.edges(Direction.BOTH);
                                 while (edges.hasNext()) {
                                     Edge edge = edges.next();
                                     SchemaTable schemaTableEdge = ((SqlgEdge)edge).getSchemaTablePrefixed().withOutPrefix();
                                     Optional<EdgeLabel> edgeLabelOptional = this.sqlgGraph.getTopology().getEdgeLabel(schemaTableEdge.getSchema(), schemaTableEdge.getTable());
                                     Preconditions.checkState(edgeLabelOptional.isPresent());
-                                    added = this.edgesToDelete.put(edgeLabelOptional.get(), ((RecordId)edge.id()).getId());
-                                    if (added) {
-                                        final Event removeEvent = new Event.EdgeRemovedEvent(eventStrategy.detach(edge));
-                                        this.callbackRegistry.getCallbacks().forEach(c -> c.accept(removeEvent));
+                                    if (this.edgesToDelete.put(edgeLabelOptional.get(), ((RecordId)edge.id()).getId())) {
+                                        final Event edgeRemoveEvent = new Event.EdgeRemovedEvent(eventStrategy.detach(edge));
+                                        this.callbackRegistry.getCallbacks().forEach(c -> c.accept(edgeRemoveEvent));
                                     }
                                 }
-                            } else {
-                                this.foreignKeyInEdgesToDelete.put(Pair.of(inEdgeLabel, vertexLabelOptional.get()), id);
                             }
                         }
                     } else if (sqlgElement instanceof SqlgEdge) {
@@ -136,29 +109,39 @@ public class SqlgDropStepBarrier<S> extends SqlgFilterStep<S>  implements Mutati
                 }
             }
         }
-        for (Pair<EdgeLabel, VertexLabel> edgeLabelVertexLabelPair : this.foreignKeyOutEdgesToDelete.keySet()) {
-            EdgeLabel outEdgeLabel = edgeLabelVertexLabelPair.getKey();
-            VertexLabel vertexLabel = edgeLabelVertexLabelPair.getValue();
-            Collection<Long> ids = this.foreignKeyOutEdgesToDelete.get(edgeLabelVertexLabelPair);
-            String sql = this.sqlgGraph.getSqlDialect().dropWithForeignKey(true, outEdgeLabel, vertexLabel, ids, !this.callbackRegistry.getCallbacks().isEmpty());
-            SqlgSqlExecutor.executeDropEdges(this.sqlgGraph,  outEdgeLabel, sql, this.callbackRegistry.getCallbacks());
-        }
-        for (Pair<EdgeLabel, VertexLabel> edgeLabelVertexLabelPair : this.foreignKeyInEdgesToDelete.keySet()) {
-            EdgeLabel inEdgeLabel = edgeLabelVertexLabelPair.getKey();
-            VertexLabel vertexLabel = edgeLabelVertexLabelPair.getValue();
-            Collection<Long> ids = this.foreignKeyInEdgesToDelete.get(edgeLabelVertexLabelPair);
-            String sql = this.sqlgGraph.getSqlDialect().dropWithForeignKey(false, inEdgeLabel, vertexLabel, ids, !this.callbackRegistry.getCallbacks().isEmpty());
-            SqlgSqlExecutor.executeDropEdges(this.sqlgGraph, inEdgeLabel, sql, this.callbackRegistry.getCallbacks());
+        List<EventCallback<Event>> callbacks = this.callbackRegistry.getCallbacks();
+        //The edges of the vertices are deleted by their foreign key, unless they were already collected one by one for the callbacks.
+        //The edges that are also dropped by themselves are skipped when notifying the callbacks of the returned rows, they have been notified already.
+        boolean dropEdgesByForeignKey = callbacks.isEmpty() || this.sqlgGraph.getSqlDialect().supportReturningDeletedRows();
+        int chunkSize = this.sqlgGraph.getSqlDialect().sqlInParameterLimit();
+        if (dropEdgesByForeignKey) {
+            for (VertexLabel vertexLabel : this.verticesToDelete.keySet()) {
+                List<Long> ids = new ArrayList<>(this.verticesToDelete.get(vertexLabel));
+                for (EdgeLabel outEdgeLabel : vertexLabel.getOutEdgeLabels().values()) {
+                    for (List<Long> chunk : ListUtils.partition(ids, chunkSize)) {
+                        String sql = this.sqlgGraph.getSqlDialect().dropWithForeignKey(true, outEdgeLabel, vertexLabel, chunk, !callbacks.isEmpty());
+                        SqlgSqlExecutor.executeDropEdges(this.sqlgGraph, outEdgeLabel, sql, eventStrategy, callbacks, this.edgesToDelete.get(outEdgeLabel));
+                    }
+                }
+                for (EdgeLabel inEdgeLabel : vertexLabel.getInEdgeLabels().values()) {
+                    for (List<Long> chunk : ListUtils.partition(ids, chunkSize)) {
+                        String sql = this.sqlgGraph.getSqlDialect().dropWithForeignKey(false, inEdgeLabel, vertexLabel, chunk, !callbacks.isEmpty());
+                        SqlgSqlExecutor.executeDropEdges(this.sqlgGraph, inEdgeLabel, sql, eventStrategy, callbacks, this.edgesToDelete.get(inEdgeLabel));
+                    }
+                }
+            }
         }
         for (EdgeLabel edgeLabel : this.edgesToDelete.keySet()) {
-            Collection<Long> ids = this.edgesToDelete.get(edgeLabel);
-            String sql = this.sqlgGraph.getSqlDialect().drop(edgeLabel, ids);
-            SqlgSqlExecutor.executeDrop(this.sqlgGraph, sql);
+            for (List<Long> chunk : ListUtils.partition(new ArrayList<>(this.edgesToDelete.get(edgeLabel)), chunkSize)) {
+                String sql = this.sqlgGraph.getSqlDialect().drop(edgeLabel, chunk);
+                SqlgSqlExecutor.executeDrop(this.sqlgGraph, sql);
+            }
         }
         for (VertexLabel vertexLabel : this.verticesToDelete.keySet()) {
-            Collection<Long> ids = this.verticesToDelete.get(vertexLabel);
-            String sql = this.sqlgGraph.getSqlDialect().drop(vertexLabel, ids);
-            SqlgSqlExecutor.executeDrop(this.sqlgGraph, sql);
+            for (List<Long> chunk : ListUtils.partition(new ArrayList<>(this.verticesToDelete.get(vertexLabel)), chunkSize)) {
+                String sql = this.sqlgGraph.getSqlDialect().drop(vertexLabel, chunk);
+                SqlgSqlExecutor.executeDrop(this.sqlgGraph, sql);
+            }
         }
         //The standard TraversalFilterStep.filter calls TraversalUtil.test which normally resets the traversal for every incoming start.
         reset();
@@ -174,7 +157,8 @@ public class SqlgDropStepBarrier<S> extends SqlgFilterStep<S>  implements Mutati
     public void reset() {
         super.reset();
         this.first = true;
-        this.idsToDelete.clear();
+        this.edgesToDelete.clear();
+        this.verticesToDelete.clear();
     }
 
     @Override
@@ -0,0 +1,120 @@
+package org.umlg.sqlg.step.barrier;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.umlg.sqlg.sql.parse.RecursiveRepeatQuery;
+import org.umlg.sqlg.step.SqlgAbstractStep;
+import org.umlg.sqlg.strategy.SqlgSqlExecutor;
+import org.umlg.sqlg.structure.RecordId;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.SqlgVertex;
+
+import java.util.*;
+
+/**
+ * Replaces a repeat(out()), repeat(in()) or repeat(both()) whose until and emit the database can evaluate.
+ * All the loops of all the starts are evaluated by one {@link RecursiveRepeatQuery}.
+ * The traversers are rebuilt from the paths the query returns, the vertices between the start and the end are only
+ * loaded if their properties are read.
+ * Date: 2026/10/18
+ */
+public class SqlgRecursiveRepeatStepBarrier<S> extends SqlgAbstractStep<S, S> {
+
+    private final SqlgGraph sqlgGraph;
+    private final VertexStep<Vertex> repeatVertexStep;
+    private final RecursiveRepeatQuery recursiveRepeatQuery;
+    private boolean first = true;
+    private Iterator<Traverser.Admin<S>> resultIterator;
+
+    public SqlgRecursiveRepeatStepBarrier(
+            final Traversal.Admin traversal,
+            VertexStep<Vertex> repeatVertexStep,
+            RecursiveRepeatQuery recursiveRepeatQuery) {
+
+        super(traversal);
+        this.sqlgGraph = (SqlgGraph) traversal.getGraph().orElseThrow(IllegalStateException::new);
+        this.repeatVertexStep = repeatVertexStep;
+        this.recursiveRepeatQuery = recursiveRepeatQuery;
+    }
+
+    @Override
+    protected Traverser.Admin<S> processNextStart() throws NoSuchElementException {
+        if (this.first) {
+            this.first = false;
+            List<Traverser.Admin<S>> starts = new ArrayList<>();
+            List<RecordId> startRecordIds = new ArrayList<>();
+            while (this.starts.hasNext()) {
+                Traverser.Admin<S> start = this.starts.next();
+                starts.add(start);
+                startRecordIds.add((RecordId) ((Vertex) start.get()).id());
+            }
+            List<Traverser.Admin<S>> results = new ArrayList<>();
+            if (!starts.isEmpty()) {
+                List<Pair<Integer, List<RecordId>>> paths = SqlgSqlExecutor.executeRecursiveRepeatQuery(this.sqlgGraph, this.recursiveRepeatQuery, startRecordIds);
+                Map<RecordId, Vertex> ends = loadEnds(paths);
+                for (Pair<Integer, List<RecordId>> path : paths) {
+                    results.add(traverser(starts.get(path.getLeft()), path.getRight(), ends));
+                }
+            }
+            this.resultIterator = results.iterator();
+        }
+        if (this.resultIterator.hasNext()) {
+            return this.resultIterator.next();
+        } else {
+            throw FastNoSuchElementException.instance();
+        }
+    }
+
+    //the vertices the traversers end on are loaded with their properties, in one query per label.
+    private Map<RecordId, Vertex> loadEnds(List<Pair<Integer, List<RecordId>>> paths) {
+        Set<RecordId> endRecordIds = new LinkedHashSet<>();
+        for (Pair<Integer, List<RecordId>> path : paths) {
+            List<RecordId> recordIds = path.getRight();
+            if (recordIds.size() > 1) {
+                endRecordIds.add(recordIds.get(recordIds.size() - 1));
+            }
+        }
+        Map<RecordId, Vertex> result = new HashMap<>();
+        if (!endRecordIds.isEmpty()) {
+            Iterator<Vertex> vertices = this.sqlgGraph.vertices(endRecordIds.toArray());
+            while (vertices.hasNext()) {
+                Vertex vertex = vertices.next();
+                result.put((RecordId) vertex.id(), vertex);
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Traverser.Admin<S> traverser(Traverser.Admin<S> start, List<RecordId> recordIds, Map<RecordId, Vertex> ends) {
+        Traverser.Admin<S> traverser = start.split();
+        for (int i = 1; i < recordIds.size(); i++) {
+            RecordId recordId = recordIds.get(i);
+            Vertex vertex = i == recordIds.size() - 1 ? ends.get(recordId) : null;
+            if (vertex == null) {
+                vertex = SqlgVertex.of(this.sqlgGraph, recordId.getId(), recordId.getSchemaTable().getSchema(), recordId.getSchemaTable().getTable());
+            }
+            traverser = traverser.split((S) vertex, (Step) this.repeatVertexStep);
+        }
+        traverser.resetLoops();
+        return traverser;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.first = true;
+        this.resultIterator = null;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.repeatVertexStep);
+    }
+}
@@ -0,0 +1,119 @@
+package org.umlg.sqlg.step.barrier;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.umlg.sqlg.step.SqlgAbstractStep;
+import org.umlg.sqlg.strategy.ShortestPathSearch;
+import org.umlg.sqlg.structure.RecordId;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.SqlgVertex;
+
+import java.util.*;
+
+/**
+ * Replaces repeat(both().simplePath()).until(hasId(...)).limit(1), and its out() and in() variants.
+ * Instead of repeating the vertex step for every path from the starts it searches a shortest path from every start to
+ * the until's vertices with a {@link ShortestPathSearch} and emits the shortest of them.
+ * Date: 2026/10/18
+ */
+public class SqlgShortestPathStepBarrier<S> extends SqlgAbstractStep<S, S> {
+
+    private final SqlgGraph sqlgGraph;
+    private final VertexStep<Vertex> repeatVertexStep;
+    private final Set<RecordId> targets;
+    private final boolean untilFirst;
+    private boolean first = true;
+    private Traverser.Admin<S> result;
+
+    public SqlgShortestPathStepBarrier(
+            final Traversal.Admin traversal,
+            VertexStep<Vertex> repeatVertexStep,
+            Set<RecordId> targets,
+            boolean untilFirst) {
+
+        super(traversal);
+        this.sqlgGraph = (SqlgGraph) traversal.getGraph().orElseThrow(IllegalStateException::new);
+        this.repeatVertexStep = repeatVertexStep;
+        this.targets = targets;
+        this.untilFirst = untilFirst;
+    }
+
+    @Override
+    protected Traverser.Admin<S> processNextStart() throws NoSuchElementException {
+        if (this.first) {
+            this.first = false;
+            ShortestPathSearch shortestPathSearch = new ShortestPathSearch(
+                    this.sqlgGraph,
+                    this.repeatVertexStep.getDirection(),
+                    this.repeatVertexStep.getEdgeLabels()
+            );
+            Traverser.Admin<S> shortestStart = null;
+            List<RecordId> shortestPath = null;
+            while (this.starts.hasNext()) {
+                Traverser.Admin<S> start = this.starts.next();
+                RecordId startRecordId = (RecordId) ((Vertex) start.get()).id();
+                if (this.untilFirst && this.targets.contains(startRecordId)) {
+                    shortestStart = start;
+                    shortestPath = Collections.singletonList(startRecordId);
+                    break;
+                }
+                //a later start's path is only of interest if it is shorter
+                int maxHops = shortestPath == null ? -1 : shortestPath.size() - 2;
+                if (maxHops == 0) {
+                    continue;
+                }
+                Set<RecordId> startTargets = this.targets;
+                if (this.targets.contains(startRecordId)) {
+                    //the until is only tested after the first loop and a simple path does not return to the start
+                    startTargets = new HashSet<>(this.targets);
+                    startTargets.remove(startRecordId);
+                }
+                List<RecordId> path = shortestPathSearch.search(startRecordId, startTargets, maxHops);
+                if (path != null) {
+                    shortestStart = start;
+                    shortestPath = path;
+                }
+            }
+            if (shortestPath != null) {
+                this.result = traverser(shortestStart, shortestPath);
+            }
+        }
+        if (this.result != null) {
+            Traverser.Admin<S> traverser = this.result;
+            this.result = null;
+            return traverser;
+        } else {
+            throw FastNoSuchElementException.instance();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Traverser.Admin<S> traverser(Traverser.Admin<S> start, List<RecordId> path) {
+        Traverser.Admin<S> traverser = start.split();
+        traverser.setBulk(1L);
+        for (int i = 1; i < path.size(); i++) {
+            RecordId recordId = path.get(i);
+            Vertex vertex = SqlgVertex.of(this.sqlgGraph, recordId.getId(), recordId.getSchemaTable().getSchema(), recordId.getSchemaTable().getTable());
+            traverser = traverser.split((S) vertex, (Step) this.repeatVertexStep);
+        }
+        traverser.resetLoops();
+        return traverser;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.first = true;
+        this.result = null;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.repeatVertexStep, this.targets);
+    }
+}
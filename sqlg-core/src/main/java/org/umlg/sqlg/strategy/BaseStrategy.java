@@ -4,6 +4,7 @@ import com.google.common.base.Preconditions;
 import org.apache.commons.lang3.Range;
 import org.apache.commons.lang3.mutable.MutableInt;
 import org.apache.tinkerpop.gremlin.process.traversal.*;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.ElementValueTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.LoopTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.branch.ChooseStep;
@@ -187,6 +188,76 @@ public abstract class BaseStrategy {
         this.currentReplacedStep.markAsDrop(dropStep.getMutatingCallbackRegistry().getCallbacks());
     }
 
+    /**
+     * If the steps following the optimized steps only read some properties of the elements, or none at all,
+     * then only those properties are selected. Properties that are accessed after all are loaded lazily.
+     */
+    void restrictProperties() {
+        if (this.sqlgStep == null || this.currentTreeNodeNode == null) {
+            return;
+        }
+        ReplacedStepTree replacedStepTree = this.currentTreeNodeNode.getReplacedStepTree();
+        ReplacedStep<?, ?> leaf = replacedStepTree.singleLeafReplacedStep();
+        if (leaf == null || leaf != this.currentReplacedStep || leaf.isEmit() || leaf.isDrop() || replacedStepTree.hasOrderBy() ||
+                !(leaf.getStep() instanceof GraphStep || leaf.getStep() instanceof VertexStep || leaf.getStep() instanceof EdgeVertexStep)) {
+            return;
+        }
+        Set<String> properties = new HashSet<>();
+        Step<?, ?> step = ((Step<?, ?>) this.sqlgStep).getNextStep();
+        while (step instanceof HasStep) {
+            for (HasContainer hasContainer : ((HasStep<?>) step).getHasContainers()) {
+                properties.add(hasContainer.getKey());
+            }
+            step = step.getNextStep();
+        }
+        if (step instanceof PropertiesStep) {
+            String[] propertyKeys = ((PropertiesStep<?>) step).getPropertyKeys();
+            if (propertyKeys.length == 0) {
+                return;
+            }
+            properties.addAll(Arrays.asList(propertyKeys));
+        } else if (step instanceof PropertyMapStep) {
+            String[] propertyKeys = ((PropertyMapStep<?, ?>) step).getPropertyKeys();
+            if (propertyKeys.length == 0) {
+                return;
+            }
+            properties.addAll(Arrays.asList(propertyKeys));
+        } else if (groupCountByKey(step) != null) {
+            properties.add(groupCountByKey(step));
+        } else if (!(step instanceof IdStep || step instanceof LabelStep || step instanceof CountGlobalStep)) {
+            return;
+        }
+        leaf.restrictProperties(properties);
+    }
+
+    /**
+     * @return the property key of a groupCount().by(key) or group().by(key).by(count()) step, else null.
+     */
+    static String groupCountByKey(Step<?, ?> step) {
+        List<? extends Traversal.Admin<?, ?>> localChildren;
+        if (step instanceof GroupCountStep) {
+            localChildren = ((GroupCountStep<?, ?>) step).getLocalChildren();
+            if (localChildren.size() != 1) {
+                return null;
+            }
+        } else if (step instanceof GroupStep) {
+            localChildren = ((GroupStep<?, ?, ?>) step).getLocalChildren();
+            if (localChildren.size() != 2) {
+                return null;
+            }
+            List<Step> valueSteps = localChildren.get(1).getSteps();
+            if (valueSteps.size() != 1 || !(valueSteps.get(0) instanceof CountGlobalStep)) {
+                return null;
+            }
+        } else {
+            return null;
+        }
+        if (localChildren.get(0) instanceof ElementValueTraversal) {
+            return ((ElementValueTraversal<?>) localChildren.get(0)).getPropertyKey();
+        }
+        return null;
+    }
+
     protected abstract boolean doFirst(ListIterator<Step<?, ?>> stepIterator, Step<?, ?> step, MutableInt pathCount);
 
     private void handleVertexStep(ListIterator<Step<?, ?>> stepIterator, AbstractStep<?, ?> step, MutableInt pathCount) {
@@ -5,13 +5,19 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.commons.lang3.mutable.MutableInt;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
-import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.*;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.PropertyType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.umlg.sqlg.sql.parse.ReplacedStep;
+import org.umlg.sqlg.sql.parse.ReplacedStepTree;
+import org.umlg.sqlg.sql.parse.SchemaTableTree;
 import org.umlg.sqlg.step.SqlgGraphStep;
 import org.umlg.sqlg.step.SqlgStep;
 
@@ -80,6 +86,92 @@ public class GraphStrategy extends BaseStrategy {
                 break;
             }
         }
+        restrictProperties();
+        aggregate();
+    }
+
+    /**
+     * If the traversal counts the elements, or sums, mins, maxes or averages one of their properties, right after the
+     * optimized steps then the database calculates the aggregate. The {@link SqlgGraphStep} emits one aggregate per
+     * query that the aggregating step combines.
+     * groupCount().by(key), group().by(key).by(count()) and values(key).groupCount() are grouped by the database,
+     * the step emits every value with its count as bulk to a group step that groups the values as they are.
+     */
+    @SuppressWarnings("unchecked")
+    private void aggregate() {
+        if (!(this.sqlgStep instanceof SqlgGraphStep) || this.currentTreeNodeNode == null ||
+                !((SqlgGraphStep) this.sqlgStep).isStartStep() || !(this.traversal.getParent() instanceof EmptyStep) ||
+                otherStepRequiresOneBulk()) {
+            return;
+        }
+        ReplacedStepTree replacedStepTree = this.currentTreeNodeNode.getReplacedStepTree();
+        ReplacedStep<?, ?> leaf = replacedStepTree.singleLeafReplacedStep();
+        if (leaf == null || leaf != this.currentReplacedStep || leaf.isDrop() || replacedStepTree.hasOrderBy() || replacedStepTree.hasRange()) {
+            return;
+        }
+        for (ReplacedStep<?, ?> replacedStep : this.sqlgStep.getReplacedSteps()) {
+            if (replacedStep.isEmit() || replacedStep.isLeftJoin()) {
+                return;
+            }
+        }
+        SqlgGraphStep<?, ?> sqlgGraphStep = (SqlgGraphStep<?, ?>) this.sqlgStep;
+        Step<?, ?> step = sqlgGraphStep.getNextStep();
+        String groupCountByKey = groupCountByKey(step);
+        if (step instanceof CountGlobalStep) {
+            sqlgGraphStep.aggregate(SchemaTableTree.AGGREGATE.COUNT, null);
+        } else if (groupCountByKey != null) {
+            sqlgGraphStep.aggregate(SchemaTableTree.AGGREGATE.GROUP_COUNT_BY, groupCountByKey);
+            //the step emits the property's values, the replacement groups them as they are.
+            TraversalHelper.replaceStep((Step) step, groupValues(step), this.traversal);
+        } else if (step instanceof PropertiesStep &&
+                ((PropertiesStep<?>) step).getReturnType() == PropertyType.VALUE &&
+                ((PropertiesStep<?>) step).getPropertyKeys().length == 1) {
+
+            Step<?, ?> aggregateStep = step.getNextStep();
+            SchemaTableTree.AGGREGATE aggregate;
+            if (aggregateStep instanceof GroupCountStep && ((GroupCountStep<?, ?>) aggregateStep).getLocalChildren().isEmpty()) {
+                aggregate = SchemaTableTree.AGGREGATE.GROUP_COUNT;
+            } else if (aggregateStep instanceof SumGlobalStep) {
+                aggregate = SchemaTableTree.AGGREGATE.SUM;
+            } else if (aggregateStep instanceof MinGlobalStep) {
+                aggregate = SchemaTableTree.AGGREGATE.MIN;
+            } else if (aggregateStep instanceof MaxGlobalStep) {
+                aggregate = SchemaTableTree.AGGREGATE.MAX;
+            } else if (aggregateStep instanceof MeanGlobalStep) {
+                aggregate = SchemaTableTree.AGGREGATE.MEAN;
+            } else {
+                return;
+            }
+            //the step emits the property's aggregate, not the elements.
+            sqlgGraphStep.aggregate(aggregate, ((PropertiesStep<?>) step).getPropertyKeys()[0]);
+            this.traversal.removeStep(step);
+        }
+    }
+
+    private Step<?, ?> groupValues(Step<?, ?> step) {
+        Step<?, ?> groupValues;
+        if (step instanceof GroupCountStep) {
+            groupValues = new GroupCountStep<>(this.traversal);
+        } else {
+            GroupStep<?, ?, ?> groupStep = new GroupStep<>(this.traversal);
+            groupStep.modulateBy(__.identity().asAdmin());
+            groupStep.modulateBy(__.count().asAdmin());
+            groupValues = groupStep;
+        }
+        for (String label : step.getLabels()) {
+            groupValues.addLabel(label);
+        }
+        return groupValues;
+    }
+
+    //the aggregates are emitted with a bulk
+    private boolean otherStepRequiresOneBulk() {
+        for (Step<?, ?> step : TraversalHelper.getStepsOfAssignableClassRecursively(Step.class, this.traversal)) {
+            if (step != this.sqlgStep && step.getRequirements().contains(TraverserRequirement.ONE_BULK)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
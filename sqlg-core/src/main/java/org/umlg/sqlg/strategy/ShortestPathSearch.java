@@ -0,0 +1,260 @@
+package org.umlg.sqlg.strategy;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
+import org.umlg.sqlg.structure.RecordId;
+import org.umlg.sqlg.structure.SchemaTable;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.topology.EdgeLabel;
+import org.umlg.sqlg.structure.topology.Topology;
+import org.umlg.sqlg.structure.topology.VertexLabel;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Finds a shortest path from a start vertex to any of the target vertices by a breadth first search from both ends.
+ * <p>
+ * Every level of the search expands the smaller of the two frontiers, with one query per edge table and vertex label
+ * of the frontier. The search stops at the first level on which the frontiers meet.
+ * Every vertex is visited at most once from either end, the vertices visited are remembered with the vertex they were
+ * reached from.
+ * Date: 2026/10/18
+ */
+public class ShortestPathSearch {
+
+    private static Logger logger = LoggerFactory.getLogger(ShortestPathSearch.class);
+
+    private final SqlgGraph sqlgGraph;
+    private final SqlDialect sqlDialect;
+    private final Direction direction;
+    private final String[] edgeLabels;
+
+    /**
+     * @param direction  The direction of the edges from the start to the targets.
+     * @param edgeLabels The edge labels the path may use, all edge labels if empty.
+     */
+    public ShortestPathSearch(SqlgGraph sqlgGraph, Direction direction, String[] edgeLabels) {
+        this.sqlgGraph = sqlgGraph;
+        this.sqlDialect = sqlgGraph.getSqlDialect();
+        this.direction = direction;
+        this.edgeLabels = edgeLabels;
+    }
+
+    /**
+     * @param targets  The vertices the path may end on.
+     * @param maxHops  The length beyond which no path is searched for, -1 if there is no such length.
+     * @return the vertices of a shortest path from the start to a target, null if there is no path.
+     */
+    public List<RecordId> search(RecordId start, Set<RecordId> targets, int maxHops) {
+        if (targets.contains(start)) {
+            return Collections.singletonList(start);
+        }
+        if (targets.isEmpty()) {
+            return null;
+        }
+        if (this.sqlgGraph.tx().isInBatchMode()) {
+            this.sqlgGraph.tx().flush();
+        }
+        //the vertices visited and the vertex they were reached from.
+        Map<RecordId, RecordId> forwardVisited = new HashMap<>();
+        Map<RecordId, RecordId> backwardVisited = new HashMap<>();
+        //the levels of the vertices visited, the frontiers may meet at vertices of different levels.
+        Map<RecordId, Integer> forwardLevels = new HashMap<>();
+        Map<RecordId, Integer> backwardLevels = new HashMap<>();
+        forwardVisited.put(start, null);
+        forwardLevels.put(start, 0);
+        List<RecordId> forwardFrontier = Collections.singletonList(start);
+        List<RecordId> backwardFrontier = new ArrayList<>(targets);
+        for (RecordId target : targets) {
+            backwardVisited.put(target, null);
+            backwardLevels.put(target, 0);
+        }
+        int forwardLevel = 0;
+        int backwardLevel = 0;
+        while (!forwardFrontier.isEmpty() && !backwardFrontier.isEmpty() && (maxHops == -1 || forwardLevel + backwardLevel < maxHops)) {
+            RecordId meeting = null;
+            if (forwardFrontier.size() <= backwardFrontier.size()) {
+                forwardLevel++;
+                List<RecordId> next = new ArrayList<>();
+                for (Map.Entry<RecordId, RecordId> neighbour : neighbours(forwardFrontier, this.direction)) {
+                    RecordId vertex = neighbour.getKey();
+                    if (!forwardVisited.containsKey(vertex)) {
+                        forwardVisited.put(vertex, neighbour.getValue());
+                        forwardLevels.put(vertex, forwardLevel);
+                        next.add(vertex);
+                        meeting = nearer(vertex, meeting, backwardLevels);
+                    }
+                }
+                forwardFrontier = next;
+            } else {
+                backwardLevel++;
+                List<RecordId> next = new ArrayList<>();
+                for (Map.Entry<RecordId, RecordId> neighbour : neighbours(backwardFrontier, this.direction.opposite())) {
+                    RecordId vertex = neighbour.getKey();
+                    if (!backwardVisited.containsKey(vertex)) {
+                        backwardVisited.put(vertex, neighbour.getValue());
+                        backwardLevels.put(vertex, backwardLevel);
+                        next.add(vertex);
+                        meeting = nearer(vertex, meeting, forwardLevels);
+                    }
+                }
+                backwardFrontier = next;
+            }
+            if (meeting != null) {
+                return path(meeting, forwardVisited, backwardVisited);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the vertex if the other end visited it nearer than the meeting vertex, else the meeting vertex.
+     */
+    private RecordId nearer(RecordId vertex, RecordId meeting, Map<RecordId, Integer> otherLevels) {
+        Integer level = otherLevels.get(vertex);
+        if (level != null && (meeting == null || level < otherLevels.get(meeting))) {
+            return vertex;
+        }
+        return meeting;
+    }
+
+    private List<RecordId> path(RecordId meeting, Map<RecordId, RecordId> forwardVisited, Map<RecordId, RecordId> backwardVisited) {
+        LinkedList<RecordId> result = new LinkedList<>();
+        for (RecordId vertex = meeting; vertex != null; vertex = forwardVisited.get(vertex)) {
+            result.addFirst(vertex);
+        }
+        for (RecordId vertex = backwardVisited.get(meeting); vertex != null; vertex = backwardVisited.get(vertex)) {
+            result.addLast(vertex);
+        }
+        return result;
+    }
+
+    /**
+     * @return the vertices adjacent to the frontier in the direction, each with the frontier vertex it is adjacent to.
+     */
+    private List<Map.Entry<RecordId, RecordId>> neighbours(List<RecordId> frontier, Direction direction) {
+        List<Map.Entry<RecordId, RecordId>> result = new ArrayList<>();
+        Map<SchemaTable, List<Long>> frontierIds = new HashMap<>();
+        for (RecordId recordId : frontier) {
+            frontierIds.computeIfAbsent(recordId.getSchemaTable(), k -> new ArrayList<>()).add(recordId.getId());
+        }
+        for (Map.Entry<SchemaTable, List<Long>> frontierIdsEntry : frontierIds.entrySet()) {
+            SchemaTable schemaTable = frontierIdsEntry.getKey();
+            Optional<VertexLabel> vertexLabelOptional = this.sqlgGraph.getTopology().getVertexLabel(schemaTable.getSchema(), schemaTable.getTable());
+            if (!vertexLabelOptional.isPresent()) {
+                continue;
+            }
+            VertexLabel vertexLabel = vertexLabelOptional.get();
+            if (direction == Direction.OUT || direction == Direction.BOTH) {
+                for (EdgeLabel edgeLabel : vertexLabel.getOutEdgeLabels().values()) {
+                    if (isWalked(edgeLabel)) {
+                        for (VertexLabel inVertexLabel : edgeLabel.getInVertexLabels()) {
+                            neighbours(edgeLabel, vertexLabel, Topology.OUT_VERTEX_COLUMN_END, inVertexLabel, Topology.IN_VERTEX_COLUMN_END, frontierIdsEntry.getValue(), result);
+                        }
+                    }
+                }
+            }
+            if (direction == Direction.IN || direction == Direction.BOTH) {
+                for (EdgeLabel edgeLabel : vertexLabel.getInEdgeLabels().values()) {
+                    if (isWalked(edgeLabel)) {
+                        for (VertexLabel outVertexLabel : edgeLabel.getOutVertexLabels()) {
+                            neighbours(edgeLabel, vertexLabel, Topology.IN_VERTEX_COLUMN_END, outVertexLabel, Topology.OUT_VERTEX_COLUMN_END, frontierIdsEntry.getValue(), result);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private boolean isWalked(EdgeLabel edgeLabel) {
+        if (this.edgeLabels.length == 0) {
+            return true;
+        }
+        for (String label : this.edgeLabels) {
+            if (label.equals(edgeLabel.getLabel()) || label.equals(edgeLabel.getFullName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Selects the other end of the edges of one edge table between the frontier's vertices and the other vertex label.
+     * With an array parameter all the ids are bound to {@code = ANY(?)}, else they are bound in chunks of
+     * {@code IN (?, ...)} lists whose size is rounded up to a power of two to limit the number of distinct statements.
+     */
+    private void neighbours(
+            EdgeLabel edgeLabel,
+            VertexLabel from,
+            String fromColumnEnd,
+            VertexLabel to,
+            String toColumnEnd,
+            List<Long> ids,
+            List<Map.Entry<RecordId, RecordId>> result) {
+
+        String fromColumn = this.sqlDialect.maybeWrapInQoutes(from.getSchema().getName() + "." + from.getLabel() + fromColumnEnd);
+        String toColumn = this.sqlDialect.maybeWrapInQoutes(to.getSchema().getName() + "." + to.getLabel() + toColumnEnd);
+        SchemaTable fromSchemaTable = SchemaTable.of(from.getSchema().getName(), from.getLabel());
+        SchemaTable toSchemaTable = SchemaTable.of(to.getSchema().getName(), to.getLabel());
+        String select = "SELECT " + fromColumn + ", " + toColumn + " FROM " +
+                this.sqlDialect.maybeWrapInQoutes(edgeLabel.getSchema().getName()) + "." +
+                this.sqlDialect.maybeWrapInQoutes(Topology.EDGE_PREFIX + edgeLabel.getLabel()) +
+                " WHERE " + toColumn + " IS NOT NULL AND " + fromColumn;
+        boolean idArray = this.sqlDialect.supportsIdArrayParameter();
+        int limit = idArray ? ids.size() : this.sqlDialect.sqlInParameterLimit();
+        for (int i = 0; i < ids.size(); i += limit) {
+            List<Long> chunk = ids.subList(i, Math.min(i + limit, ids.size()));
+            StringBuilder sql = new StringBuilder(select);
+            int parameterCount = 1;
+            if (idArray) {
+                sql.append(" = ANY(?)");
+            } else {
+                while (parameterCount < chunk.size()) {
+                    parameterCount <<= 1;
+                }
+                parameterCount = Math.min(parameterCount, limit);
+                sql.append(" IN (");
+                for (int j = 0; j < parameterCount; j++) {
+                    sql.append(j == 0 ? "?" : ", ?");
+                }
+                sql.append(")");
+            }
+            if (this.sqlDialect.needsSemicolon()) {
+                sql.append(";");
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug(sql.toString());
+            }
+            try {
+                PreparedStatement preparedStatement = this.sqlgGraph.tx().prepareStatement(sql.toString());
+                try {
+                    if (idArray) {
+                        preparedStatement.setArray(1, this.sqlgGraph.tx().getConnection().createArrayOf("bigint", chunk.toArray(new Long[chunk.size()])));
+                    } else {
+                        for (int j = 0; j < parameterCount; j++) {
+                            preparedStatement.setLong(j + 1, chunk.get(Math.min(j, chunk.size() - 1)));
+                        }
+                    }
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        while (resultSet.next()) {
+                            result.add(new AbstractMap.SimpleImmutableEntry<>(
+                                    RecordId.from(toSchemaTable, resultSet.getLong(2)),
+                                    RecordId.from(fromSchemaTable, resultSet.getLong(1))
+                            ));
+                        }
+                    }
+                } finally {
+                    this.sqlgGraph.tx().release(preparedStatement);
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
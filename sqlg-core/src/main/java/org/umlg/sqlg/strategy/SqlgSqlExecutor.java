@@ -5,16 +5,26 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.event.Event;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.event.EventCallback;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.EventStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
+import org.umlg.sqlg.sql.parse.RecursiveRepeatQuery;
 import org.umlg.sqlg.sql.parse.SchemaTableTree;
+import org.umlg.sqlg.structure.ColumnDecoderPlan;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.RecordId;
 import org.umlg.sqlg.structure.SchemaTable;
 import org.umlg.sqlg.structure.SqlgEdge;
 import org.umlg.sqlg.structure.SqlgGraph;
 import org.umlg.sqlg.structure.topology.EdgeLabel;
+import org.umlg.sqlg.structure.topology.Topology;
 import org.umlg.sqlg.util.SqlgUtil;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
@@ -94,6 +104,180 @@ public class SqlgSqlExecutor {
         return executeQuery(sqlgGraph, sql, leftJoinQuery);
     }
 
+    /**
+     * Executes the aggregate over the rows of the regular query for the stack.
+     *
+     * @return the aggregate and the number of traversers it stands for, null if the query has nothing to aggregate.
+     */
+    public static Pair<Number, Long> executeAggregateQuery(
+            SqlgGraph sqlgGraph, SchemaTableTree rootSchemaTableTree,
+            LinkedList<SchemaTableTree> distinctQueryStack,
+            SchemaTableTree.AGGREGATE aggregate,
+            String propertyKey) {
+
+        String sql = rootSchemaTableTree.constructSqlForAggregate(distinctQueryStack, aggregate, propertyKey);
+        if (sql == null) {
+            return null;
+        }
+        Triple<ResultSet, ResultSetMetaData, PreparedStatement> queryResult = executeQuery(sqlgGraph, sql, distinctQueryStack);
+        try {
+            ResultSet resultSet = queryResult.getLeft();
+            Preconditions.checkState(resultSet.next(), "BUG: an aggregate query returns one row.");
+            switch (aggregate) {
+                case COUNT:
+                    long count = resultSet.getLong(1);
+                    return count == 0 ? null : Pair.of(count, count);
+                case MEAN:
+                    double mean = resultSet.getDouble(1);
+                    long meanCount = resultSet.getLong(2);
+                    return meanCount == 0 ? null : Pair.of(mean, meanCount);
+                default:
+                    Number number = (Number) resultSet.getObject(1);
+                    if (number == null) {
+                        return null;
+                    }
+                    PropertyType propertyType = sqlgGraph.getTopology().getTableFor(distinctQueryStack.getLast().getSchemaTable()).get(propertyKey);
+                    return Pair.of(toPropertyType(number, propertyType), 1L);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            try {
+                queryResult.getLeft().close();
+                sqlgGraph.tx().release(queryResult.getRight());
+            } catch (SQLException e) {
+                logger.warn("Failed to close an aggregate query's result set", e);
+            }
+        }
+    }
+
+    /**
+     * Counts the rows of the regular query for the stack per value of the leaf element's property.
+     *
+     * @param everyElementHasKey If true a row without the property is an error, else it is not counted.
+     * @return the values and their counts.
+     */
+    public static List<Pair<Object, Long>> executeGroupCountQuery(
+            SqlgGraph sqlgGraph, SchemaTableTree rootSchemaTableTree,
+            LinkedList<SchemaTableTree> distinctQueryStack,
+            String propertyKey,
+            boolean everyElementHasKey) {
+
+        SchemaTable schemaTable = distinctQueryStack.getLast().getSchemaTable();
+        String sql = rootSchemaTableTree.constructSqlForGroupCount(distinctQueryStack, propertyKey);
+        if (sql == null) {
+            if (everyElementHasKey && executeAggregateQuery(sqlgGraph, rootSchemaTableTree, distinctQueryStack, SchemaTableTree.AGGREGATE.COUNT, null) != null) {
+                throw propertyDoesNotExist(schemaTable, propertyKey);
+            }
+            return Collections.emptyList();
+        }
+        PropertyType propertyType = sqlgGraph.getTopology().getTableFor(schemaTable).get(propertyKey);
+        Preconditions.checkState(canGroupBy(sqlgGraph.getSqlDialect(), propertyType), "BUG: %s can not be grouped by in the database", propertyType.name());
+        Triple<ResultSet, ResultSetMetaData, PreparedStatement> queryResult = executeQuery(sqlgGraph, sql, distinctQueryStack);
+        try {
+            ResultSet resultSet = queryResult.getLeft();
+            List<Pair<Object, Long>> result = new ArrayList<>();
+            while (resultSet.next()) {
+                Object value = resultSet.getObject(1);
+                if (value == null) {
+                    if (everyElementHasKey) {
+                        throw propertyDoesNotExist(schemaTable, propertyKey);
+                    }
+                    continue;
+                }
+                switch (propertyType) {
+                    case BOOLEAN:
+                        value = resultSet.getBoolean(1);
+                        break;
+                    case STRING:
+                        value = resultSet.getString(1);
+                        break;
+                    default:
+                        value = toPropertyType((Number) value, propertyType);
+                }
+                result.add(Pair.of(value, resultSet.getLong(2)));
+            }
+            return result;
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            try {
+                queryResult.getLeft().close();
+                sqlgGraph.tx().release(queryResult.getRight());
+            } catch (SQLException e) {
+                logger.warn("Failed to close a group count query's result set", e);
+            }
+        }
+    }
+
+    /**
+     * Executes the recursive query of a repeat step for the start vertices.
+     *
+     * @return the index of the start and the path of every traverser the repeat emits, in the order of their loops.
+     */
+    public static List<Pair<Integer, List<RecordId>>> executeRecursiveRepeatQuery(
+            SqlgGraph sqlgGraph,
+            RecursiveRepeatQuery recursiveRepeatQuery,
+            List<RecordId> startRecordIds) {
+
+        if (sqlgGraph.tx().isInBatchMode()) {
+            sqlgGraph.tx().flush();
+        }
+        String sql = recursiveRepeatQuery.constructSql(startRecordIds);
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql);
+        }
+        try {
+            PreparedStatement preparedStatement = sqlgGraph.tx().prepareStatement(sql);
+            try {
+                recursiveRepeatQuery.setParametersOnStatement(preparedStatement);
+                List<Pair<Integer, List<RecordId>>> result = new ArrayList<>();
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        result.add(Pair.of(resultSet.getInt(1), recursiveRepeatQuery.parseVisited(resultSet.getString(2))));
+                    }
+                }
+                return result;
+            } finally {
+                sqlgGraph.tx().release(preparedStatement);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return true if the database groups the values of the property type as the elements' values are grouped.
+     */
+    public static boolean canGroupBy(SqlDialect sqlDialect, PropertyType propertyType) {
+        return propertyType == PropertyType.BOOLEAN || propertyType.isNumber() ||
+                propertyType == PropertyType.STRING && sqlDialect.supportsGroupByString();
+    }
+
+    private static IllegalStateException propertyDoesNotExist(SchemaTable schemaTable, String propertyKey) {
+        return new IllegalStateException(String.format("The property does not exist as the key has no associated value for an element of %s: %s", schemaTable, propertyKey));
+    }
+
+    //the aggregating steps combine the values as the property's java type, as they would the element's values.
+    private static Number toPropertyType(Number number, PropertyType propertyType) {
+        switch (propertyType) {
+            case BYTE:
+                return number.byteValue();
+            case SHORT:
+                return number.shortValue();
+            case INTEGER:
+                return number.intValue();
+            case LONG:
+                return number.longValue();
+            case FLOAT:
+                return number.floatValue();
+            case DOUBLE:
+                return number.doubleValue();
+            default:
+                throw new IllegalStateException("Unhandled number type " + propertyType.name());
+        }
+    }
+
     private static Triple<ResultSet, ResultSetMetaData, PreparedStatement> executeQuery(SqlgGraph sqlgGraph, String sql, LinkedList<SchemaTableTree> distinctQueryStack) {
         if (sqlgGraph.tx().isInBatchMode()) {
             sqlgGraph.tx().flush();
@@ -102,7 +286,6 @@ public class SqlgSqlExecutor {
             if (distinctQueryStack.peekFirst().getStepType() != SchemaTableTree.STEP_TYPE.GRAPH_STEP) {
                 Preconditions.checkState(!distinctQueryStack.peekFirst().getParentIdsAndIndexes().isEmpty());
             }
-            Connection conn = sqlgGraph.tx().getConnection();
             if (logger.isDebugEnabled()) {
                 logger.debug(sql);
             }
@@ -130,8 +313,7 @@ public class SqlgSqlExecutor {
 //            		logger.warn(sqle.getMessage());
 //            	}
 //            }
-            PreparedStatement preparedStatement = conn.prepareStatement(sql);
-            sqlgGraph.tx().add(preparedStatement);
+            PreparedStatement preparedStatement = sqlgGraph.tx().prepareStatement(sql);
             int parameterCount = 1;
             SqlgUtil.setParametersOnStatement(sqlgGraph, distinctQueryStack, preparedStatement, parameterCount);
             // https://jdbc.postgresql.org/documentation/head/query.html#query-with-cursor
@@ -151,29 +333,34 @@ public class SqlgSqlExecutor {
         if (sqlgGraph.tx().isInBatchMode()) {
             sqlgGraph.tx().flush();
         }
+        sqlgGraph.tx().bulkWritten();
         try {
             if (!distinctQueryStack.isEmpty() && distinctQueryStack.peekFirst().getStepType() != SchemaTableTree.STEP_TYPE.GRAPH_STEP) {
                 Preconditions.checkState(!distinctQueryStack.peekFirst().getParentIdsAndIndexes().isEmpty());
             }
-            Connection conn = sqlgGraph.tx().getConnection();
             if (logger.isDebugEnabled()) {
                 logger.debug(sql);
             }
-            PreparedStatement preparedStatement = conn.prepareStatement(sql);
-            sqlgGraph.tx().add(preparedStatement);
-            int parameterCount = 1;
-            SqlgUtil.setParametersOnStatement(sqlgGraph, distinctQueryStack, preparedStatement, parameterCount);
-            if (distinctQueryStack.isEmpty()) {
-                preparedStatement.execute();
-            } else {
+            PreparedStatement preparedStatement = sqlgGraph.tx().prepareStatement(sql);
+            try {
+                int parameterCount = 1;
+                SqlgUtil.setParametersOnStatement(sqlgGraph, distinctQueryStack, preparedStatement, parameterCount);
                 preparedStatement.execute();
+            } finally {
+                sqlgGraph.tx().release(preparedStatement);
             }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
-    public static void executeDropEdges(SqlgGraph sqlgGraph, EdgeLabel edgeLabel, String sql, List<EventCallback<Event>> mutatingCallbacks) {
+    /**
+     * Deletes the edges of dropped vertices. With mutating callbacks the statement returns the deleted rows, every
+     * edge is detached from its row and notified, except for the edges in edgesToSkip as they are dropped and notified
+     * by themselves.
+     */
+    public static void executeDropEdges(SqlgGraph sqlgGraph, EdgeLabel edgeLabel, String sql, EventStrategy eventStrategy, List<EventCallback<Event>> mutatingCallbacks, Collection<Long> edgesToSkip) {
+        sqlgGraph.tx().bulkWritten();
         try {
             Connection conn = sqlgGraph.tx().getConnection();
             if (logger.isDebugEnabled()) {
@@ -184,10 +371,17 @@ public class SqlgSqlExecutor {
                     statement.execute(sql);
                 } else {
                     ResultSet resultSet = statement.executeQuery(sql);
+                    ColumnDecoderPlan columnDecoderPlan = null;
                     while (resultSet.next()) {
-                        Long id = resultSet.getLong(1);
-                        final Event removeEvent;
-                        removeEvent = new Event.EdgeRemovedEvent(SqlgEdge.of(sqlgGraph, id, edgeLabel.getSchema().getName(), edgeLabel.getName()));
+                        long id = resultSet.getLong(Topology.ID);
+                        if (edgesToSkip.contains(id)) {
+                            continue;
+                        }
+                        if (columnDecoderPlan == null) {
+                            columnDecoderPlan = ColumnDecoderPlan.of(sqlgGraph, SchemaTable.of(edgeLabel.getSchema().getName(), Topology.EDGE_PREFIX + edgeLabel.getName()), resultSet);
+                        }
+                        SqlgEdge sqlgEdge = SqlgEdge.ofDeletedRow(sqlgGraph, id, edgeLabel.getSchema().getName(), edgeLabel.getName(), columnDecoderPlan, resultSet);
+                        final Event removeEvent = new Event.EdgeRemovedEvent(eventStrategy.detach(sqlgEdge));
                         for (EventCallback<Event> eventCallback : mutatingCallbacks) {
                             eventCallback.accept(removeEvent);
                         }
@@ -201,6 +395,7 @@ public class SqlgSqlExecutor {
     }
 
     public static void executeDrop(SqlgGraph sqlgGraph, String sql) {
+        sqlgGraph.tx().bulkWritten();
         try {
             Connection conn = sqlgGraph.tx().getConnection();
             if (logger.isDebugEnabled()) {
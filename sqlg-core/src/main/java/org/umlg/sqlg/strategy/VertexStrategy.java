@@ -71,6 +71,7 @@ public class VertexStrategy extends BaseStrategy {
                 }
             } else {
                 //restart
+                restrictProperties();
                 this.sqlgStep = null;
             }
         }
@@ -78,6 +79,7 @@ public class VertexStrategy extends BaseStrategy {
             ReplacedStepTree replacedStepTree = this.currentTreeNodeNode.getReplacedStepTree();
             replacedStepTree.maybeAddLabelToLeafNodes();
         }
+        restrictProperties();
     }
 
     /**
@@ -1,24 +1,37 @@
 package org.umlg.sqlg.strategy.barrier;
 
 import org.apache.commons.lang3.Range;
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.LoopTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.lambda.TrueTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.PathFilterStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.SampleGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.CountStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.umlg.sqlg.sql.parse.RecursiveRepeatQuery;
+import org.umlg.sqlg.step.barrier.SqlgRecursiveRepeatStepBarrier;
 import org.umlg.sqlg.step.barrier.SqlgRepeatStepBarrier;
+import org.umlg.sqlg.step.barrier.SqlgShortestPathStepBarrier;
 import org.umlg.sqlg.strategy.SqlgGraphStepStrategy;
 import org.umlg.sqlg.strategy.SqlgRangeHolder;
+import org.umlg.sqlg.structure.RecordId;
 import org.umlg.sqlg.structure.SqlgGraph;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -71,6 +84,29 @@ public class SqlgRepeatStepStrategy extends AbstractTraversalStrategy<TraversalS
                     }
                 }
 
+                SqlgShortestPathStepBarrier<?> sqlgShortestPathStepBarrier = shortestPathStepBarrier(traversal, repeatStep);
+                if (sqlgShortestPathStepBarrier != null) {
+                    for (String label : repeatStep.getLabels()) {
+                        sqlgShortestPathStepBarrier.addLabel(label);
+                    }
+                    int indexOfRepeatStep = traversal.getSteps().indexOf(repeatStep);
+                    for (String label : traversal.getSteps().get(indexOfRepeatStep + 1).getLabels()) {
+                        sqlgShortestPathStepBarrier.addLabel(label);
+                    }
+                    traversal.removeStep(indexOfRepeatStep + 1);
+                    TraversalHelper.replaceStep((Step) repeatStep, sqlgShortestPathStepBarrier, traversal);
+                    continue;
+                }
+
+                SqlgRecursiveRepeatStepBarrier<?> sqlgRecursiveRepeatStepBarrier = recursiveRepeatStepBarrier(traversal, repeatStep);
+                if (sqlgRecursiveRepeatStepBarrier != null) {
+                    for (String label : repeatStep.getLabels()) {
+                        sqlgRecursiveRepeatStepBarrier.addLabel(label);
+                    }
+                    TraversalHelper.replaceStep((Step) repeatStep, sqlgRecursiveRepeatStepBarrier, traversal);
+                    continue;
+                }
+
                 SqlgRepeatStepBarrier<?> sqlgRepeatStepBarrier = new SqlgRepeatStepBarrier<>(traversal, repeatStep);
                 for (String label : repeatStep.getLabels()) {
                     sqlgRepeatStepBarrier.addLabel(label);
@@ -98,6 +134,124 @@ public class SqlgRepeatStepStrategy extends AbstractTraversalStrategy<TraversalS
         }
     }
 
+    /**
+     * repeat(both().simplePath()).until(hasId(...)).limit(1), with out() or in() instead of both() and with the until
+     * before or after the repeat, is the idiomatic shortest path.
+     *
+     * @return the step to replace the repeat and limit steps with, null if the repeat step is not a shortest path.
+     */
+    @SuppressWarnings("unchecked")
+    private SqlgShortestPathStepBarrier<?> shortestPathStepBarrier(Traversal.Admin<?, ?> traversal, RepeatStep<?> repeatStep) {
+        if (repeatStep.getClass() != RepeatStep.class || repeatStep.getEmitTraversal() != null || repeatStep.getUntilTraversal() == null) {
+            return null;
+        }
+        int indexOfRepeatStep = traversal.getSteps().indexOf(repeatStep);
+        if (traversal.getSteps().size() <= indexOfRepeatStep + 1 || !(traversal.getSteps().get(indexOfRepeatStep + 1) instanceof RangeGlobalStep)) {
+            return null;
+        }
+        RangeGlobalStep<?> rangeGlobalStep = (RangeGlobalStep<?>) traversal.getSteps().get(indexOfRepeatStep + 1);
+        if (rangeGlobalStep.getLowRange() != 0 || rangeGlobalStep.getHighRange() != 1) {
+            return null;
+        }
+        List<Step> repeatSteps = repeatStep.getRepeatTraversal().getSteps();
+        if (repeatSteps.size() != 3 ||
+                !(repeatSteps.get(0) instanceof VertexStep) ||
+                !(repeatSteps.get(1) instanceof PathFilterStep) ||
+                !(repeatSteps.get(2) instanceof RepeatStep.RepeatEndStep)) {
+            return null;
+        }
+        VertexStep<Vertex> vertexStep = (VertexStep<Vertex>) repeatSteps.get(0);
+        PathFilterStep<?> pathFilterStep = (PathFilterStep<?>) repeatSteps.get(1);
+        if (!vertexStep.returnsVertex() || !pathFilterStep.isSimple() || !pathFilterStep.getLocalChildren().isEmpty() || !pathFilterStep.getLabels().isEmpty()) {
+            return null;
+        }
+        List<Step> untilSteps = repeatStep.getUntilTraversal().getSteps();
+        if (untilSteps.size() != 1 || !(untilSteps.get(0) instanceof HasStep) || !untilSteps.get(0).getLabels().isEmpty()) {
+            return null;
+        }
+        List<HasContainer> hasContainers = ((HasStep<?>) untilSteps.get(0)).getHasContainers();
+        if (hasContainers.size() != 1 || !hasContainers.get(0).getKey().equals(T.id.getAccessor())) {
+            return null;
+        }
+        P<?> predicate = hasContainers.get(0).getPredicate();
+        Set<RecordId> targets = new HashSet<>();
+        if (predicate.getBiPredicate() == Compare.eq) {
+            targets.add(RecordId.from(predicate.getValue()));
+        } else if (predicate.getBiPredicate() == Contains.within) {
+            for (Object id : (Collection<?>) predicate.getValue()) {
+                targets.add(RecordId.from(id));
+            }
+        } else {
+            return null;
+        }
+        return new SqlgShortestPathStepBarrier<>(traversal, vertexStep, targets, repeatStep.untilFirst);
+    }
+
+    /**
+     * A repeat of a single out(), in() or both() whose until is a loops limit or a has() on the vertex reached and
+     * whose emit, if any, is unconditional is evaluated by one recursive query.
+     * A limit after the repeat is left to the {@link SqlgRepeatStepBarrier}, it stops repeating once the limit is reached.
+     *
+     * @return the step to replace the repeat step with, null if the repeat step can not be evaluated recursively.
+     */
+    @SuppressWarnings("unchecked")
+    private SqlgRecursiveRepeatStepBarrier<?> recursiveRepeatStepBarrier(Traversal.Admin<?, ?> traversal, RepeatStep<?> repeatStep) {
+        SqlgGraph sqlgGraph = (SqlgGraph) traversal.getGraph().orElseThrow(IllegalStateException::new);
+        if (!sqlgGraph.getSqlDialect().supportsRecursiveQueries() || repeatStep.getClass() != RepeatStep.class) {
+            return null;
+        }
+        int indexOfRepeatStep = traversal.getSteps().indexOf(repeatStep);
+        if (traversal.getSteps().size() > indexOfRepeatStep + 1 && traversal.getSteps().get(indexOfRepeatStep + 1) instanceof RangeGlobalStep) {
+            return null;
+        }
+        List<Step> repeatSteps = repeatStep.getRepeatTraversal().getSteps();
+        if (repeatSteps.size() != 2 || !(repeatSteps.get(0) instanceof VertexStep) || !(repeatSteps.get(1) instanceof RepeatStep.RepeatEndStep)) {
+            return null;
+        }
+        VertexStep<Vertex> vertexStep = (VertexStep<Vertex>) repeatSteps.get(0);
+        if (!vertexStep.returnsVertex()) {
+            return null;
+        }
+        Traversal.Admin<?, ?> untilTraversal = repeatStep.getUntilTraversal();
+        Traversal.Admin<?, ?> emitTraversal = repeatStep.getEmitTraversal();
+        if (untilTraversal == null && emitTraversal == null) {
+            return null;
+        }
+        if (emitTraversal != null && !(emitTraversal instanceof TrueTraversal)) {
+            return null;
+        }
+        long maxLoops = -1;
+        List<HasContainer> untilHasContainers = null;
+        if (untilTraversal instanceof LoopTraversal) {
+            maxLoops = ((LoopTraversal) untilTraversal).getMaxLoops();
+        } else if (untilTraversal != null) {
+            if (untilTraversal.getSteps().isEmpty()) {
+                return null;
+            }
+            untilHasContainers = new ArrayList<>();
+            for (Step step : untilTraversal.getSteps()) {
+                if (!(step instanceof HasStep) || !step.getLabels().isEmpty()) {
+                    return null;
+                }
+                untilHasContainers.addAll(((HasStep<?>) step).getHasContainers());
+            }
+            if (!RecursiveRepeatQuery.supportsUntil(untilHasContainers)) {
+                return null;
+            }
+        }
+        RecursiveRepeatQuery recursiveRepeatQuery = new RecursiveRepeatQuery(
+                sqlgGraph,
+                vertexStep.getDirection(),
+                vertexStep.getEdgeLabels(),
+                untilHasContainers,
+                maxLoops,
+                repeatStep.untilFirst,
+                emitTraversal != null,
+                repeatStep.emitFirst
+        );
+        return new SqlgRecursiveRepeatStepBarrier<>(traversal, vertexStep, recursiveRepeatQuery);
+    }
+
     @Override
     public Set<Class<? extends OptimizationStrategy>> applyPost() {
         return Stream.of(
@@ -0,0 +1,145 @@
+package org.umlg.sqlg.structure;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.*;
+
+/**
+ * Coalesces the {@link SqlgVertex#vertices(Direction, String...)} and {@link SqlgVertex#edges(Direction, String...)}
+ * calls of the vertices loaded in a transaction.
+ * <p>
+ * The most recently loaded vertices of every label are remembered. When the adjacent elements of a vertex are
+ * requested they are fetched with one traversal for the vertex and the other remembered vertices of its label.
+ * The results of the other vertices are kept until they are requested.
+ * Adding or removing an edge forgets the results of its vertices, removing a vertex or bulk writes forget all results.
+ * Date: 2026/10/18
+ */
+class AdjacencyBatch {
+
+    private static final String SOURCE = "source";
+    private static final String ADJACENT = "adjacent";
+
+    private final SqlgGraph sqlgGraph;
+    private final int batchSize;
+    private final Map<SchemaTable, Map<RecordId, SqlgVertex>> loaded = new HashMap<>();
+    private final Map<Key, Map<RecordId, List<Element>>> fetched = new HashMap<>();
+
+    AdjacencyBatch(SqlgGraph sqlgGraph, int batchSize) {
+        this.sqlgGraph = sqlgGraph;
+        this.batchSize = batchSize;
+    }
+
+    void register(SqlgVertex sqlgVertex) {
+        RecordId recordId = (RecordId) sqlgVertex.id();
+        this.loaded.computeIfAbsent(recordId.getSchemaTable(), k -> lruMap(this.batchSize)).put(recordId, sqlgVertex);
+    }
+
+    @SuppressWarnings("unchecked")
+    <E extends Element> Iterator<E> adjacent(SqlgVertex sqlgVertex, boolean edges, Direction direction, String... labels) {
+        Map<RecordId, List<Element>> results = this.fetched.computeIfAbsent(new Key(edges, direction, labels), k -> lruMap(this.batchSize));
+        RecordId recordId = (RecordId) sqlgVertex.id();
+        List<Element> result = results.remove(recordId);
+        if (result == null) {
+            fetch(sqlgVertex, edges, direction, labels, results);
+            result = results.remove(recordId);
+        }
+        return (Iterator<E>) result.iterator();
+    }
+
+    /**
+     * An edge was added or removed, the results of its vertices are forgotten.
+     */
+    void edgeWritten(RecordId outVertex, RecordId inVertex) {
+        if (outVertex == null || inVertex == null) {
+            clear();
+        } else {
+            for (Map<RecordId, List<Element>> results : this.fetched.values()) {
+                results.remove(outVertex);
+                results.remove(inVertex);
+            }
+        }
+    }
+
+    void clear() {
+        this.fetched.clear();
+    }
+
+    private void fetch(SqlgVertex sqlgVertex, boolean edges, Direction direction, String[] labels, Map<RecordId, List<Element>> results) {
+        List<SqlgVertex> batch = new ArrayList<>();
+        batch.add(sqlgVertex);
+        Map<RecordId, SqlgVertex> sameLabel = this.loaded.get(((RecordId) sqlgVertex.id()).getSchemaTable());
+        if (sameLabel != null) {
+            for (SqlgVertex other : sameLabel.values()) {
+                if (batch.size() == this.batchSize) {
+                    break;
+                }
+                if (other != sqlgVertex && !other.removed && !results.containsKey((RecordId) other.id())) {
+                    batch.add(other);
+                }
+            }
+        }
+        for (SqlgVertex vertex : batch) {
+            results.put((RecordId) vertex.id(), new ArrayList<>());
+        }
+        GraphTraversal<Vertex, Vertex> source = this.sqlgGraph.traversal().V(batch.toArray()).as(SOURCE);
+        GraphTraversal<Vertex, ? extends Element> adjacent;
+        switch (direction) {
+            case OUT:
+                adjacent = edges ? source.outE(labels) : source.out(labels);
+                break;
+            case IN:
+                adjacent = edges ? source.inE(labels) : source.in(labels);
+                break;
+            case BOTH:
+                adjacent = edges ? source.bothE(labels) : source.both(labels);
+                break;
+            default:
+                throw new IllegalStateException("Unhandled direction " + direction.name());
+        }
+        List<Map<String, Element>> rows = adjacent.as(ADJACENT).<Element>select(SOURCE, ADJACENT).toList();
+        for (Map<String, Element> row : rows) {
+            results.get((RecordId) row.get(SOURCE).id()).add(row.get(ADJACENT));
+        }
+    }
+
+    private static <V> Map<RecordId, V> lruMap(int maxSize) {
+        return new LinkedHashMap<RecordId, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RecordId, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    private static final class Key {
+        private final boolean edges;
+        private final Direction direction;
+        private final List<String> labels;
+
+        private Key(boolean edges, Direction direction, String[] labels) {
+            this.edges = edges;
+            this.direction = direction;
+            this.labels = Arrays.asList(labels);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return this.edges == other.edges && this.direction == other.direction && this.labels.equals(other.labels);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.edges, this.direction, this.labels);
+        }
+    }
+}
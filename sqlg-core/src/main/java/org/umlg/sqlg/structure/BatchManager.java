@@ -7,19 +7,67 @@ import org.umlg.sqlg.sql.dialect.SqlBulkDialect;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.lang.reflect.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.umlg.sqlg.structure.topology.Topology.EDGE_PREFIX;
 import static org.umlg.sqlg.structure.topology.Topology.VERTEX_PREFIX;
 
 /**
+ * Caches the elements added, updated and removed in batch mode until they are flushed.
+ * <p>
+ * Normal batch mode flushes on the transaction's connection, the flushed elements are part of the transaction.
+ * <p>
+ * Bulk load mode, see {@link SqlgTransaction#bulkLoadBatchModeOn()}, is normal batch mode with a non transactional
+ * flush. With a flush parallelism greater than one the new vertices and edges of the different labels are flushed
+ * concurrently, each label on its own connection. The vertices are flushed before the edges. These connections commit
+ * when their label is flushed. The flushed elements are not rolled back with the transaction, and if the flush fails
+ * part way the labels already flushed stay committed.
+ * The flush is sequential, on the transaction's connection, if the transaction has uncommitted topology changes or
+ * anything else the new elements might depend on or wait for. That is if it wrote on its connection before or outside
+ * of batch mode, or if an earlier flush wrote on it.
+ * <p>
+ * In normal batch mode the caches are flushed automatically once a label holds {@link #FLUSH_ROWS} new elements or an
+ * estimated {@link #FLUSH_BYTES} of new property values. The flushed vertices have their ids and may be used by the
+ * edges added after the flush.
+ * <p>
+ * If the dialect supports it the new vertices and edges get their ids when they are added. The ids come from blocks
+ * reserved from the label's sequence, the blocks double in size up to {@link #ID_BLOCK_SIZE}. The ids left over at the
+ * end of the transaction are not used.
+ * <p>
+ * The property values of the new elements are cached as {@link BatchRow}s that share the label's property layout.
  * Date: 2014/09/12
  * Time: 5:08 PM
  */
 public class BatchManager {
 
+    public static final String FLUSH_PARALLELISM = "batch.flush.parallelism";
+    public static final String FLUSH_ROWS = "batch.flush.rows";
+    public static final String FLUSH_BYTES = "batch.flush.bytes";
+    public static final String ID_BLOCK_SIZE = "batch.id.block.size";
+    private static final int FIRST_ID_BLOCK_SIZE = 64;
+    //The estimated overhead of a cached element, i.e. its map entries, the element and its property map.
+    private static final int ELEMENT_OVERHEAD = 256;
+    private static final int PROPERTY_OVERHEAD = 48;
+
     private SqlgGraph sqlgGraph;
     private SqlBulkDialect sqlDialect;
+    private final int flushParallelism;
+    //0 means no limit
+    private final int flushRows;
+    private final long flushBytes;
+    private final int idBlockSize;
+    //true in bulk load mode, the new elements are flushed outside of the transaction.
+    private boolean bulkLoad;
+    //true once a flush wrote on the transaction's connection, its locks and uncommitted rows are not seen by a parallel flush.
+    private boolean flushedOnTransaction;
 
     //map per label/keys, contains a map of vertices with a triple representing outLabels, inLabels and vertex properties
     private Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> vertexCache = new HashMap<>();
@@ -36,6 +84,14 @@ public class BatchManager {
     //map per label's edges to delete
     private Map<SchemaTable, List<SqlgEdge>> removeEdgeCache = new LinkedHashMap<>();
 
+    //the estimated size of the new elements per label, only maintained when flushBytes is set.
+    private Map<SchemaTable, Long> vertexCacheBytes = new HashMap<>();
+    private Map<MetaEdge, Long> edgeCacheBytes = new HashMap<>();
+
+    //the ids reserved per label for normal batch mode, they outlive the flushes.
+    private Map<SchemaTable, IdBlock> vertexIdBlocks = new HashMap<>();
+    private Map<SchemaTable, IdBlock> edgeIdBlocks = new HashMap<>();
+
     private Map<SchemaTable, Writer> streamingVertexOutputStreamCache = new LinkedHashMap<>();
     private Map<SchemaTable, Writer> streamingEdgeOutputStreamCache = new LinkedHashMap<>();
 
@@ -58,6 +114,10 @@ public class BatchManager {
     BatchManager(SqlgGraph sqlgGraph, SqlBulkDialect sqlDialect) {
         this.sqlgGraph = sqlgGraph;
         this.sqlDialect = sqlDialect;
+        this.flushParallelism = sqlgGraph.getConfiguration().getInt(FLUSH_PARALLELISM, 1);
+        this.flushRows = sqlgGraph.getConfiguration().getInt(FLUSH_ROWS, 0);
+        this.flushBytes = sqlgGraph.getConfiguration().getLong(FLUSH_BYTES, 0L);
+        this.idBlockSize = sqlgGraph.getConfiguration().getInt(ID_BLOCK_SIZE, 10_000);
     }
 
     public boolean isInNormalMode() {
@@ -81,7 +141,21 @@ public class BatchManager {
     }
 
     void batchModeOn(BatchModeType batchModeType) {
+        //a batch flush writes the label's keys for every element, the write behind updates are written as they were updated.
+        if (!isInBatchMode() && hasPropertyUpdates()) {
+            flushPropertyUpdates();
+        }
         this.batchModeType = batchModeType;
+        this.bulkLoad = false;
+    }
+
+    void bulkLoadModeOn() {
+        batchModeOn(BatchModeType.NORMAL);
+        this.bulkLoad = true;
+    }
+
+    boolean isInBulkLoadMode() {
+        return this.bulkLoad;
     }
 
     void addTemporaryVertex(SqlgVertex sqlgVertex, Map<String, Object> keyValueMap) {
@@ -89,7 +163,7 @@ public class BatchManager {
         Writer writer = this.streamingVertexOutputStreamCache.get(schemaTable);
         if (writer == null) {
             String sql = this.sqlDialect.constructCompleteCopyCommandTemporarySqlVertex(sqlgGraph, sqlgVertex, keyValueMap);
-            writer = this.sqlDialect.streamSql(this.sqlgGraph, sql);
+            writer = this.sqlDialect.streamSql(this.sqlgGraph, sql, SchemaTable.of(sqlgVertex.getSchema(), VERTEX_PREFIX + sqlgVertex.getTable(), true));
             this.streamingVertexOutputStreamCache.put(schemaTable, writer);
         }
         this.sqlDialect.writeStreamingVertex(writer, keyValueMap);
@@ -99,14 +173,22 @@ public class BatchManager {
     void addVertex(boolean temporary, boolean streaming, SqlgVertex sqlgVertex, Map<String, Object> keyValueMap) {
         SchemaTable schemaTable = SchemaTable.of(sqlgVertex.getSchema(), sqlgVertex.getTable(), temporary);
         if (!streaming) {
+            //the id must be set before the vertex is cached as it is the vertex's hashCode.
+            if (!temporary && this.sqlDialect.supportsBatchIdAllocation()) {
+                sqlgVertex.setInternalPrimaryKey(RecordId.from(schemaTable, nextId(this.vertexIdBlocks, schemaTable, VERTEX_PREFIX)));
+            }
+            BatchRow row = new BatchRow(this.sqlgGraph.getPropertyLayout(true, sqlgVertex.getSchema(), sqlgVertex.getTable()), keyValueMap);
             Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>> pairs = this.vertexCache.get(schemaTable);
             if (pairs == null) {
                 pairs = Pair.of(new TreeSet<>(keyValueMap.keySet()), new LinkedHashMap<>());
-                pairs.getRight().put(sqlgVertex, keyValueMap);
+                pairs.getRight().put(sqlgVertex, row);
                 this.vertexCache.put(schemaTable, pairs);
             } else {
                 pairs.getLeft().addAll(keyValueMap.keySet());
-                pairs.getRight().put(sqlgVertex, keyValueMap);
+                pairs.getRight().put(sqlgVertex, row);
+            }
+            if (isFlushDue(this.vertexCacheBytes, schemaTable, pairs.getRight().size(), keyValueMap)) {
+                flush();
             }
         } else {
             if (this.streamingBatchModeVertexSchemaTable == null) {
@@ -129,7 +211,7 @@ public class BatchManager {
             Writer writer = this.streamingVertexOutputStreamCache.get(schemaTable);
             if (writer == null) {
                 String sql = this.sqlDialect.constructCompleteCopyCommandSqlVertex(sqlgGraph, sqlgVertex, keyValueMap);
-                writer = this.sqlDialect.streamSql(this.sqlgGraph, sql);
+                writer = this.sqlDialect.streamSql(this.sqlgGraph, sql, SchemaTable.of(schemaTable.getSchema(), VERTEX_PREFIX + schemaTable.getTable(), temporary));
                 this.streamingVertexOutputStreamCache.put(schemaTable, writer);
             }
             this.sqlDialect.writeStreamingVertex(writer, keyValueMap);
@@ -143,14 +225,21 @@ public class BatchManager {
         SchemaTable outSchemaTable = SchemaTable.of(outVertex.getSchema(), sqlgEdge.getTable());
         MetaEdge metaEdge = MetaEdge.from(outSchemaTable, outVertex, inVertex);
         if (!streaming) {
+            if (this.sqlDialect.supportsBatchIdAllocation()) {
+                sqlgEdge.setInternalPrimaryKey(RecordId.from(outSchemaTable, nextId(this.edgeIdBlocks, outSchemaTable, EDGE_PREFIX)));
+            }
+            BatchRow row = new BatchRow(this.sqlgGraph.getPropertyLayout(false, sqlgEdge.getSchema(), sqlgEdge.getTable()), keyValueMap);
             Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>> triples = this.edgeCache.get(metaEdge);
             if (triples == null) {
                 triples = Pair.of(new TreeSet<>(keyValueMap.keySet()), new LinkedHashMap<>());
-                triples.getRight().put(sqlgEdge, Triple.of(outVertex, inVertex, keyValueMap));
+                triples.getRight().put(sqlgEdge, Triple.of(outVertex, inVertex, row));
                 this.edgeCache.put(metaEdge, triples);
             } else {
                 triples.getLeft().addAll(keyValueMap.keySet());
-                triples.getRight().put(sqlgEdge, Triple.of(outVertex, inVertex, keyValueMap));
+                triples.getRight().put(sqlgEdge, Triple.of(outVertex, inVertex, row));
+            }
+            if (isFlushDue(this.edgeCacheBytes, metaEdge, triples.getRight().size(), keyValueMap)) {
+                flush();
             }
         } else {
             if (this.streamingBatchModeEdgeSchemaTable == null) {
@@ -173,7 +262,7 @@ public class BatchManager {
             Writer writer = this.streamingEdgeOutputStreamCache.get(outSchemaTable);
             if (writer == null) {
                 String sql = this.sqlDialect.constructCompleteCopyCommandSqlEdge(sqlgGraph, sqlgEdge, outVertex, inVertex, keyValueMap);
-                writer = this.sqlDialect.streamSql(this.sqlgGraph, sql);
+                writer = this.sqlDialect.streamSql(this.sqlgGraph, sql, outSchemaTable.withPrefix(EDGE_PREFIX));
                 this.streamingEdgeOutputStreamCache.put(outSchemaTable, writer);
             }
             try {
@@ -187,10 +276,91 @@ public class BatchManager {
         }
     }
 
+    private long nextId(Map<SchemaTable, IdBlock> idBlocks, SchemaTable schemaTable, String prefix) {
+        IdBlock idBlock = idBlocks.get(schemaTable);
+        if (idBlock == null || idBlock.index == idBlock.ids.length) {
+            int size = idBlock == null ? Math.min(FIRST_ID_BLOCK_SIZE, this.idBlockSize) : Math.min(idBlock.ids.length * 2, this.idBlockSize);
+            idBlock = new IdBlock(this.sqlDialect.nextSequenceVals(this.sqlgGraph, schemaTable, prefix, Math.max(size, 1)));
+            idBlocks.put(schemaTable, idBlock);
+        }
+        return idBlock.ids[idBlock.index++];
+    }
+
+    private static final class IdBlock {
+        private final long[] ids;
+        private int index;
+
+        private IdBlock(long[] ids) {
+            this.ids = ids;
+        }
+    }
+
+    /**
+     * Records the new element's estimated size against its label.
+     *
+     * @return true if the label reached one of the flush thresholds.
+     */
+    private <K> boolean isFlushDue(Map<K, Long> cacheBytes, K label, int rows, Map<String, Object> keyValueMap) {
+        if (this.isBusyFlushing) {
+            return false;
+        }
+        if (this.flushRows > 0 && rows >= this.flushRows) {
+            return true;
+        }
+        if (this.flushBytes > 0) {
+            long bytes = cacheBytes.merge(label, estimateSize(keyValueMap), Long::sum);
+            return bytes >= this.flushBytes;
+        }
+        return false;
+    }
+
+    private static long estimateSize(Map<String, Object> keyValueMap) {
+        long size = ELEMENT_OVERHEAD;
+        for (Map.Entry<String, Object> entry : keyValueMap.entrySet()) {
+            size += PROPERTY_OVERHEAD + 2L * entry.getKey().length() + estimateSize(entry.getValue());
+        }
+        return size;
+    }
+
+    private static long estimateSize(Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof String) {
+            return 40 + 2L * ((String) value).length();
+        } else if (value instanceof byte[]) {
+            return 16 + ((byte[]) value).length;
+        } else if (value instanceof boolean[]) {
+            return 16 + ((boolean[]) value).length;
+        } else if (value instanceof short[]) {
+            return 16 + 2L * ((short[]) value).length;
+        } else if (value instanceof int[] || value instanceof float[]) {
+            return 16 + 4L * Array.getLength(value);
+        } else if (value instanceof long[] || value instanceof double[]) {
+            return 16 + 8L * Array.getLength(value);
+        } else if (value instanceof Object[]) {
+            long size = 16;
+            for (Object element : (Object[]) value) {
+                size += 8 + estimateSize(element);
+            }
+            return size;
+        } else {
+            return 24;
+        }
+    }
+
     public void flush() {
         this.isBusyFlushing = true;
-        this.sqlDialect.flushVertexCache(this.sqlgGraph, this.vertexCache);
-        this.sqlDialect.flushEdgeCache(this.sqlgGraph, this.edgeCache);
+        if (this.bulkLoad && this.flushParallelism > 1 && this.sqlDialect.supportsParallelFlush() && !this.flushedOnTransaction &&
+                !this.sqlgGraph.tx().isWrittenOnConnection() && !this.sqlgGraph.getTopology().isSqlWriteLockHeldByCurrentThread()) {
+            parallelFlush();
+        } else {
+            this.flushedOnTransaction = this.flushedOnTransaction || !this.vertexCache.isEmpty() || !this.edgeCache.isEmpty();
+            this.sqlDialect.flushVertexCache(this.sqlgGraph, this.vertexCache);
+            this.sqlDialect.flushEdgeCache(this.sqlgGraph, this.edgeCache);
+        }
+        //the updates and removals below are written on the transaction's connection.
+        this.flushedOnTransaction = this.flushedOnTransaction || !this.vertexPropertyCache.isEmpty() || !this.edgePropertyCache.isEmpty() ||
+                !this.removeVertexCache.isEmpty() || !this.removeEdgeCache.isEmpty();
         this.sqlDialect.flushVertexPropertyCache(this.sqlgGraph, this.vertexPropertyCache);
         this.sqlDialect.flushEdgePropertyCache(this.sqlgGraph, this.edgePropertyCache);
         this.sqlDialect.flushRemovedEdges(this.sqlgGraph, this.removeEdgeCache);
@@ -205,6 +375,76 @@ public class BatchManager {
         this.clear();
     }
 
+    private void parallelFlush() {
+        //temporary tables only exist for the transaction's connection.
+        Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> temporaryVertexCache = new HashMap<>();
+        List<FlushTask> vertexTasks = new ArrayList<>();
+        for (Map.Entry<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> entry : this.vertexCache.entrySet()) {
+            if (entry.getKey().isTemporary()) {
+                temporaryVertexCache.put(entry.getKey(), entry.getValue());
+            } else {
+                vertexTasks.add(connection -> this.sqlDialect.flushVertexCache(this.sqlgGraph, connection, entry.getKey(), entry.getValue()));
+            }
+        }
+        if (!temporaryVertexCache.isEmpty()) {
+            this.flushedOnTransaction = true;
+            this.sqlDialect.flushVertexCache(this.sqlgGraph, temporaryVertexCache);
+        }
+        List<FlushTask> edgeTasks = new ArrayList<>();
+        for (Map.Entry<MetaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>>> entry : this.edgeCache.entrySet()) {
+            edgeTasks.add(connection -> this.sqlDialect.flushEdgeCache(this.sqlgGraph, connection, entry.getKey(), entry.getValue()));
+        }
+        //the edges reference the vertices, they are flushed once the vertices are committed.
+        flushInParallel(vertexTasks);
+        flushInParallel(edgeTasks);
+    }
+
+    private void flushInParallel(List<FlushTask> flushTasks) {
+        if (flushTasks.isEmpty()) {
+            return;
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(Math.min(this.flushParallelism, flushTasks.size()), r -> {
+            Thread thread = new Thread(r, "sqlg-batch-flush-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (FlushTask flushTask : flushTasks) {
+                futures.add(executorService.submit(() -> {
+                    try (Connection connection = this.sqlgGraph.getConnection()) {
+                        connection.setAutoCommit(false);
+                        try {
+                            flushTask.flush(connection);
+                            connection.commit();
+                        } catch (RuntimeException e) {
+                            connection.rollback();
+                            throw e;
+                        }
+                    } catch (SQLException e) {
+                        throw new RuntimeException(e);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface FlushTask {
+        void flush(Connection connection);
+    }
+
     public void close() {
         this.streamingVertexOutputStreamCache.values().forEach(o -> {
             try {
@@ -294,6 +534,59 @@ public class BatchManager {
         return false;
     }
 
+    /**
+     * @return true if property updates of elements that are not in the insert caches are waiting to be flushed.
+     */
+    boolean hasPropertyUpdates() {
+        return !this.vertexPropertyCache.isEmpty() || !this.edgePropertyCache.isEmpty();
+    }
+
+    /**
+     * Flushes only the property updates, as one multi-column update per label and set of updated keys.
+     * Used by write behind transactions that buffer property updates outside of batch mode.
+     * <p>
+     * The flush writes the label's keys for every element of the label. Here an element's other values may be stale,
+     * writing them would revert what other transactions committed since, so the elements are flushed per set of keys
+     * they updated.
+     */
+    void flushPropertyUpdates() {
+        Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> vertexPropertyCache = this.vertexPropertyCache;
+        Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgEdge, Map<String, Object>>>> edgePropertyCache = this.edgePropertyCache;
+        //taken out first as the flush itself gets the transaction's connection, which flushes pending property updates.
+        this.vertexPropertyCache = new LinkedHashMap<>();
+        this.edgePropertyCache = new LinkedHashMap<>();
+        for (Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> vertices : splitByUpdatedKeys(vertexPropertyCache)) {
+            this.sqlDialect.flushVertexPropertyCache(this.sqlgGraph, vertices);
+            this.sqlDialect.flushVertexGlobalUniqueIndexPropertyCache(this.sqlgGraph, vertices);
+        }
+        for (Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgEdge, Map<String, Object>>>> edges : splitByUpdatedKeys(edgePropertyCache)) {
+            this.sqlDialect.flushEdgePropertyCache(this.sqlgGraph, edges);
+            this.sqlDialect.flushEdgeGlobalUniqueIndexPropertyCache(this.sqlgGraph, edges);
+        }
+    }
+
+    /**
+     * @return a property cache per label and set of updated keys, each holding the elements that updated exactly those keys.
+     */
+    private static <E extends SqlgElement> List<Map<SchemaTable, Pair<SortedSet<String>, Map<E, Map<String, Object>>>>> splitByUpdatedKeys(
+            Map<SchemaTable, Pair<SortedSet<String>, Map<E, Map<String, Object>>>> propertyCache) {
+
+        List<Map<SchemaTable, Pair<SortedSet<String>, Map<E, Map<String, Object>>>>> result = new ArrayList<>();
+        for (Map.Entry<SchemaTable, Pair<SortedSet<String>, Map<E, Map<String, Object>>>> entry : propertyCache.entrySet()) {
+            Map<SortedSet<String>, Map<E, Map<String, Object>>> elementsPerKeys = new LinkedHashMap<>();
+            for (Map.Entry<E, Map<String, Object>> elementEntry : entry.getValue().getRight().entrySet()) {
+                elementsPerKeys.computeIfAbsent(new TreeSet<>(elementEntry.getValue().keySet()), k -> new LinkedHashMap<>())
+                        .put(elementEntry.getKey(), elementEntry.getValue());
+            }
+            for (Map.Entry<SortedSet<String>, Map<E, Map<String, Object>>> elementsPerKey : elementsPerKeys.entrySet()) {
+                Map<SchemaTable, Pair<SortedSet<String>, Map<E, Map<String, Object>>>> split = new LinkedHashMap<>();
+                split.put(entry.getKey(), Pair.of(elementsPerKey.getKey(), elementsPerKey.getValue()));
+                result.add(split);
+            }
+        }
+        return result;
+    }
+
     boolean removeProperty(SqlgProperty sqlgProperty, String key) {
         SqlgElement sqlgElement = (SqlgElement) sqlgProperty.element();
         SchemaTable schemaTable = SchemaTable.of(sqlgElement.getSchema(), sqlgElement.getTable());
@@ -326,6 +619,12 @@ public class BatchManager {
         return map != null && map.getRight().containsKey(vertex);
     }
 
+    boolean edgeIsCached(SqlgEdge edge, SqlgVertex outVertex, SqlgVertex inVertex) {
+        MetaEdge metaEdge = MetaEdge.from(SchemaTable.of(outVertex.getSchema(), edge.getTable()), outVertex, inVertex);
+        Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>> map = this.edgeCache.get(metaEdge);
+        return map != null && map.getRight().containsKey(edge);
+    }
+
     public void clear() {
         this.vertexCache.clear();
         this.edgeCache.clear();
@@ -333,6 +632,8 @@ public class BatchManager {
         this.removeVertexCache.clear();
         this.edgePropertyCache.clear();
         this.vertexPropertyCache.clear();
+        this.vertexCacheBytes.clear();
+        this.edgeCacheBytes.clear();
     }
 
     void removeVertex(String schema, String table, SqlgVertex vertex) {
@@ -0,0 +1,155 @@
+package org.umlg.sqlg.structure;
+
+import com.google.common.base.Preconditions;
+
+import java.util.*;
+
+/**
+ * The property values of a new element cached by the {@link BatchManager}.
+ * <p>
+ * The rows of a label share the label's {@link SqlgElementProperties.Layout}, a row only holds a flat array of values
+ * indexed by slot instead of a hash map with an entry per property.
+ * Unlike the element's properties a row keeps the keys whose value is null, they are columns of the copy/insert.
+ * A row is only accessed by the transaction's thread.
+ * <p>
+ * The values are not copied into typed column arrays per label. The cached element holds the same boxed values in its
+ * own properties until the flush, so unboxed columns only replace the row's reference array and save next to nothing.
+ * Date: 2026/10/18
+ */
+class BatchRow extends AbstractMap<String, Object> {
+
+    //marks a key that is present with a null value
+    private static final Object NULL = new Object();
+    private static final Object[] EMPTY = new Object[0];
+
+    private final SqlgElementProperties.Layout layout;
+    private Object[] values = EMPTY;
+    private int size;
+
+    BatchRow(SqlgElementProperties.Layout layout, Map<String, Object> keyValueMap) {
+        this.layout = layout;
+        for (Map.Entry<String, Object> entry : keyValueMap.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return slotValue(key) != null;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object value = slotValue(key);
+        return value == NULL ? null : value;
+    }
+
+    private Object slotValue(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        int slot = this.layout.slot((String) key);
+        return slot >= 0 && slot < this.values.length ? this.values[slot] : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Preconditions.checkNotNull(key, "key may not be null");
+        int slot = this.layout.slotOrAdd(key);
+        if (slot >= this.values.length) {
+            this.values = Arrays.copyOf(this.values, Math.max(slot + 1, this.layout.size()));
+        }
+        Object previous = this.values[slot];
+        this.values[slot] = value == null ? NULL : value;
+        if (previous == null) {
+            this.size++;
+            return null;
+        }
+        return previous == NULL ? null : previous;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        int slot = this.layout.slot((String) key);
+        if (slot < 0 || slot >= this.values.length || this.values[slot] == null) {
+            return null;
+        }
+        Object previous = this.values[slot];
+        this.values[slot] = null;
+        this.size--;
+        return previous == NULL ? null : previous;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(this.values, null);
+        this.size = 0;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return BatchRow.this.size;
+            }
+        };
+    }
+
+    private class EntryIterator implements Iterator<Entry<String, Object>> {
+
+        private int nextSlot = advance(0);
+        private String lastKey;
+
+        private int advance(int from) {
+            int i = from;
+            while (i < BatchRow.this.values.length && BatchRow.this.values[i] == null) {
+                i++;
+            }
+            return i;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.nextSlot < BatchRow.this.values.length;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int slot = this.nextSlot;
+            this.nextSlot = advance(slot + 1);
+            this.lastKey = BatchRow.this.layout.key(slot);
+            Object value = BatchRow.this.values[slot];
+            return new SimpleEntry<String, Object>(this.lastKey, value == NULL ? null : value) {
+                @Override
+                public Object setValue(Object value) {
+                    super.setValue(value);
+                    return BatchRow.this.put(getKey(), value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            Preconditions.checkState(this.lastKey != null, "next() has not been called");
+            BatchRow.this.remove(this.lastKey);
+            this.lastKey = null;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package org.umlg.sqlg.structure;
+
+import org.umlg.sqlg.structure.topology.Topology;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.umlg.sqlg.sql.parse.SchemaTableTree.ALIAS_SEPARATOR;
+import static org.umlg.sqlg.structure.topology.Topology.VERTEX_SCHEMA;
+import static org.umlg.sqlg.structure.topology.Topology.VERTEX_TABLE;
+
+/**
+ * The columns of a ResultSet resolved to an element's properties and in/out vertices.
+ * <p>
+ * The plan is built once per ResultSet, loading a row then only reads the columns. The ResultSetMetaData, the
+ * topology and the column names are not consulted again for every row.
+ * Date: 2026/10/18
+ */
+public class ColumnDecoderPlan {
+
+    private enum Kind {
+        PROPERTY,
+        IN_VERTEX,
+        OUT_VERTEX
+    }
+
+    private static class Column {
+        private final Kind kind;
+        private final int index;
+        private final String propertyName;
+        private final PropertyType propertyType;
+        //The labels of the extra columns of ZONEDDATETIME, PERIOD and DURATION properties.
+        private final String[] postFixLabels;
+        //The in or out vertex's schema and un-prefixed label.
+        private final SchemaTable vertexSchemaTable;
+
+        private Column(Kind kind, int index, String propertyName, PropertyType propertyType, String[] postFixLabels, SchemaTable vertexSchemaTable) {
+            this.kind = kind;
+            this.index = index;
+            this.propertyName = propertyName;
+            this.propertyType = propertyType;
+            this.postFixLabels = postFixLabels;
+            this.vertexSchemaTable = vertexSchemaTable;
+        }
+    }
+
+    private final SqlgGraph sqlgGraph;
+    private final ResultSet resultSet;
+    private final List<Column> columns = new ArrayList<>();
+
+    public ColumnDecoderPlan(SqlgGraph sqlgGraph, ResultSet resultSet) {
+        this.sqlgGraph = sqlgGraph;
+        this.resultSet = resultSet;
+    }
+
+    /**
+     * Resolves the columns of a ResultSet that selects the element's table, i.e. the columns are not aliased.
+     *
+     * @param sqlgGraph           The graph.
+     * @param schemaTablePrefixed The element's table.
+     * @param resultSet           The ResultSet.
+     * @return The plan.
+     * @throws SQLException
+     */
+    public static ColumnDecoderPlan of(SqlgGraph sqlgGraph, SchemaTable schemaTablePrefixed, ResultSet resultSet) throws SQLException {
+        ColumnDecoderPlan plan = new ColumnDecoderPlan(sqlgGraph, resultSet);
+        boolean vertex = schemaTablePrefixed.isVertexTable();
+        Map<String, PropertyType> propertyTypeMap = sqlgGraph.getTopology().getTableFor(schemaTablePrefixed);
+        List<String> columnsToIgnore = sqlgGraph.getSqlDialect().columnsToIgnore();
+        ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
+        boolean inVertex = false;
+        boolean outVertex = false;
+        for (int i = 1; i <= resultSetMetaData.getColumnCount(); i++) {
+            String columnName = resultSetMetaData.getColumnLabel(i);
+            if (columnName.equals(Topology.ID)) {
+                continue;
+            }
+            if (vertex) {
+                if (!columnName.equals(VERTEX_SCHEMA) && !columnName.equals(VERTEX_TABLE) && !columnsToIgnore.contains(columnName)) {
+                    plan.addProperty(i, columnName, propertyTypeMap.get(columnName), Collections.emptyMap(), -1, schemaTablePrefixed);
+                }
+            } else if (columnName.endsWith(Topology.IN_VERTEX_COLUMN_END)) {
+                plan.addInVertex(i, columnName);
+                inVertex = true;
+            } else if (columnName.endsWith(Topology.OUT_VERTEX_COLUMN_END)) {
+                plan.addOutVertex(i, columnName);
+                outVertex = true;
+            } else {
+                plan.addProperty(i, columnName, propertyTypeMap.get(columnName), Collections.emptyMap(), -1, schemaTablePrefixed);
+            }
+        }
+        if (!vertex && (!inVertex || !outVertex)) {
+            throw new IllegalStateException("in or out vertex id not set!!!!");
+        }
+        return plan;
+    }
+
+    /**
+     * @param resultSet A ResultSet.
+     * @return true if the plan was built for the ResultSet.
+     */
+    public boolean isFor(ResultSet resultSet) {
+        return this.resultSet == resultSet;
+    }
+
+    /**
+     * Adds a property column, the extra columns of ZONEDDATETIME, PERIOD and DURATION properties are ignored as they are
+     * read together with the property's column.
+     */
+    public void addProperty(int index, String propertyName, PropertyType propertyType, Map<String, String> columnNameAliasMap, int stepDepth, SchemaTable schemaTablePrefixed) {
+        if (!isPostFixColumn(propertyName)) {
+            this.columns.add(new Column(
+                    Kind.PROPERTY,
+                    index,
+                    propertyName,
+                    propertyType,
+                    postFixLabels(schemaTablePrefixed, propertyName, propertyType, columnNameAliasMap, stepDepth),
+                    null
+            ));
+        }
+    }
+
+    public void addInVertex(int index, String columnName) {
+        SchemaTable schemaTable = SchemaTable.from(this.sqlgGraph, columnName);
+        this.columns.add(new Column(Kind.IN_VERTEX, index, columnName, null, null,
+                SchemaTable.of(schemaTable.getSchema(), SqlgUtil.removeTrailingInId(schemaTable.getTable()))));
+    }
+
+    public void addOutVertex(int index, String columnName) {
+        SchemaTable schemaTable = SchemaTable.from(this.sqlgGraph, columnName);
+        this.columns.add(new Column(Kind.OUT_VERTEX, index, columnName, null, null,
+                SchemaTable.of(schemaTable.getSchema(), SqlgUtil.removeTrailingOutId(schemaTable.getTable()))));
+    }
+
+    /**
+     * Loads the current row of the ResultSet into the element.
+     */
+    public void load(ResultSet resultSet, SqlgElement sqlgElement) throws SQLException {
+        for (Column column : this.columns) {
+            switch (column.kind) {
+                case PROPERTY:
+                    sqlgElement.loadProperty(resultSet, column.propertyName, column.index, column.propertyType, column.postFixLabels);
+                    break;
+                case IN_VERTEX:
+                    ((SqlgEdge) sqlgElement).loadInVertex(resultSet, column.index, column.vertexSchemaTable);
+                    break;
+                case OUT_VERTEX:
+                    ((SqlgEdge) sqlgElement).loadOutVertex(resultSet, column.index, column.vertexSchemaTable);
+                    break;
+                default:
+                    throw new IllegalStateException("Unhandled column kind " + column.kind.name());
+            }
+        }
+    }
+
+    static boolean isPostFixColumn(String propertyName) {
+        return propertyName.endsWith(Topology.ZONEID) ||
+                propertyName.endsWith(Topology.MONTHS) ||
+                propertyName.endsWith(Topology.DAYS) ||
+                propertyName.endsWith(Topology.DURATION_NANOS);
+    }
+
+    static String[] postFixLabels(SchemaTable schemaTablePrefixed, String propertyName, PropertyType propertyType, Map<String, String> columnNameAliasMap, int stepDepth) {
+        if (propertyType == null || propertyType.getPostFixes().length == 0) {
+            return null;
+        }
+        String[] postFixes = propertyType.getPostFixes();
+        String[] labels = new String[postFixes.length];
+        for (int i = 0; i < postFixes.length; i++) {
+            String column = stepDepth + ALIAS_SEPARATOR + schemaTablePrefixed.toString().replace(".", ALIAS_SEPARATOR) + ALIAS_SEPARATOR + propertyName + postFixes[i];
+            String alias = columnNameAliasMap.get(column);
+            labels[i] = alias != null ? alias : propertyName + postFixes[i];
+        }
+        return labels;
+    }
+}
@@ -0,0 +1,88 @@
+package org.umlg.sqlg.structure;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A transaction's identity cache of vertices or edges, keyed by {@link RecordId}.
+ * <p>
+ * The most recently used elements, up to maxSize, are held strongly. All other elements are held weakly, an element
+ * is only dropped from the cache once nothing else references it. As long as the application holds on to an element
+ * the cache returns that same instance.
+ * Date: 2026/10/18
+ */
+class ElementCache<E extends SqlgElement> {
+
+    private final CacheStatistics statistics;
+    private final Map<RecordId, E> recent;
+    private final Map<RecordId, ElementReference<E>> referenced = new HashMap<>();
+    private final ReferenceQueue<E> referenceQueue = new ReferenceQueue<>();
+
+    ElementCache(int maxSize, CacheStatistics statistics) {
+        this.statistics = statistics;
+        this.recent = new LinkedHashMap<RecordId, E>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RecordId, E> eldest) {
+                if (size() > maxSize) {
+                    ElementCache.this.statistics.evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    E get(RecordId recordId) {
+        E element = this.recent.get(recordId);
+        if (element == null) {
+            ElementReference<E> elementReference = this.referenced.get(recordId);
+            if (elementReference != null) {
+                element = elementReference.get();
+                if (element != null) {
+                    this.recent.put(recordId, element);
+                }
+            }
+        }
+        return element;
+    }
+
+    void put(RecordId recordId, E element) {
+        expungeStaleReferences();
+        this.recent.put(recordId, element);
+        this.referenced.put(recordId, new ElementReference<>(recordId, element, this.referenceQueue));
+    }
+
+    boolean containsKey(RecordId recordId) {
+        return get(recordId) != null;
+    }
+
+    void clear() {
+        this.recent.clear();
+        this.referenced.clear();
+        //noinspection StatementWithEmptyBody
+        while (this.referenceQueue.poll() != null) {
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void expungeStaleReferences() {
+        ElementReference<E> elementReference;
+        while ((elementReference = (ElementReference<E>) this.referenceQueue.poll()) != null) {
+            //the element might have been put again since its reference was cleared.
+            this.referenced.remove(elementReference.recordId, elementReference);
+        }
+    }
+
+    private static class ElementReference<E> extends WeakReference<E> {
+
+        private final RecordId recordId;
+
+        private ElementReference(RecordId recordId, E element, ReferenceQueue<E> referenceQueue) {
+            super(element, referenceQueue);
+            this.recordId = recordId;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.umlg.sqlg.structure;
+
+import com.google.common.base.Preconditions;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.umlg.sqlg.sql.parse.SchemaTableTree;
+import org.umlg.sqlg.util.SqlgUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the distinct queries of a read only traversal concurrently for the {@link SqlgCompiledResultIterator}.
+ * <p>
+ * Every query runs on a pooled connection of its own whose transaction imports the snapshot exported by the
+ * traversal's transaction. The queries are submitted in the order the iterator reads them. At most the parallelism of
+ * them hold a connection at a time, the next query is submitted when the iterator releases a query's results.
+ * Date: 2026/10/18
+ */
+class ParallelQueries {
+
+    private static Logger logger = LoggerFactory.getLogger(ParallelQueries.class);
+
+    private final SqlgGraph sqlgGraph;
+    private final String snapshot;
+    private final Integer fetchSize;
+    private final ExecutorService executorService;
+    //the queries not yet submitted
+    private final Deque<Pair<String, LinkedList<SchemaTableTree>>> pending;
+    //the submitted queries in the order they are read
+    private final Deque<Pair<String, Future<Triple<ResultSet, ResultSetMetaData, PreparedStatement>>>> running = new ArrayDeque<>();
+    //the results handed to the iterator and not yet released
+    private final Set<Triple<ResultSet, ResultSetMetaData, PreparedStatement>> taken = new HashSet<>();
+
+    ParallelQueries(SqlgGraph sqlgGraph, String snapshot, Integer fetchSize, int parallelism, List<Pair<String, LinkedList<SchemaTableTree>>> queries) {
+        this.sqlgGraph = sqlgGraph;
+        this.snapshot = snapshot;
+        this.fetchSize = fetchSize;
+        this.pending = new ArrayDeque<>(queries);
+        int threads = Math.min(parallelism, queries.size());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executorService = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "sqlg-query-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < threads; i++) {
+            submitNext();
+        }
+    }
+
+    /**
+     * @param sql The sql of the query the iterator reads next.
+     * @return The query's results, to be handed back via {@link #release(Triple)}.
+     */
+    Triple<ResultSet, ResultSetMetaData, PreparedStatement> take(String sql) {
+        Pair<String, Future<Triple<ResultSet, ResultSetMetaData, PreparedStatement>>> query = this.running.poll();
+        Preconditions.checkState(query != null && query.getLeft().equals(sql), "BUG: the queries must be read in the order they are submitted.");
+        try {
+            Triple<ResultSet, ResultSetMetaData, PreparedStatement> result = query.getRight().get();
+            this.taken.add(result);
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Closes the query's results and its connection and submits the next query.
+     */
+    void release(Triple<ResultSet, ResultSetMetaData, PreparedStatement> result) {
+        this.taken.remove(result);
+        close(result);
+        submitNext();
+    }
+
+    /**
+     * Releases the results the iterator did not read and waits for the running queries to release theirs.
+     */
+    void close() {
+        this.pending.clear();
+        for (Triple<ResultSet, ResultSetMetaData, PreparedStatement> result : this.taken) {
+            close(result);
+        }
+        this.taken.clear();
+        for (Pair<String, Future<Triple<ResultSet, ResultSetMetaData, PreparedStatement>>> query : this.running) {
+            try {
+                close(query.getRight().get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                //the query closed its connection when it failed
+            }
+        }
+        this.running.clear();
+        this.executorService.shutdownNow();
+    }
+
+    private void submitNext() {
+        Pair<String, LinkedList<SchemaTableTree>> query = this.pending.poll();
+        if (query != null) {
+            this.running.add(Pair.of(query.getLeft(), this.executorService.submit(() -> execute(query.getLeft(), query.getRight()))));
+        }
+    }
+
+    private Triple<ResultSet, ResultSetMetaData, PreparedStatement> execute(String sql, LinkedList<SchemaTableTree> distinctQueryStack) throws SQLException {
+        Connection connection = this.sqlgGraph.getConnection();
+        try {
+            this.sqlgGraph.getSqlDialect().importSnapshot(connection, this.snapshot);
+            if (logger.isDebugEnabled()) {
+                logger.debug(sql);
+            }
+            PreparedStatement preparedStatement = connection.prepareStatement(sql);
+            SqlgUtil.setParametersOnStatement(this.sqlgGraph, distinctQueryStack, preparedStatement, 1);
+            if (this.fetchSize != null) {
+                preparedStatement.setFetchSize(this.fetchSize);
+            }
+            ResultSet resultSet = preparedStatement.executeQuery();
+            return Triple.of(resultSet, resultSet.getMetaData(), preparedStatement);
+        } catch (SQLException | RuntimeException e) {
+            closeConnection(connection);
+            throw e;
+        }
+    }
+
+    private void close(Triple<ResultSet, ResultSetMetaData, PreparedStatement> result) {
+        Connection connection = null;
+        try {
+            connection = result.getRight().getConnection();
+            result.getLeft().close();
+            result.getRight().close();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            if (connection != null) {
+                closeConnection(connection);
+            }
+        }
+    }
+
+    private void closeConnection(Connection connection) {
+        try {
+            try {
+                //the transaction only read
+                connection.rollback();
+            } finally {
+                connection.close();
+            }
+        } catch (SQLException e) {
+            logger.warn("Failed to close a parallel query's connection", e);
+        }
+    }
+}
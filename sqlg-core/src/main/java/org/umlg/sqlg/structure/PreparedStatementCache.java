@@ -1,39 +1,192 @@
 package org.umlg.sqlg.structure;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Cache all statements to close them when iteration is done
+ * Cache all statements to close them when iteration is done.
+ * <p>
+ * Statements that have been released are kept, keyed by their sql, in a bounded least recently used cache so that
+ * identical sql executed again on the same connection reuses the already prepared statement.
+ * A statement is only ever handed out to one caller at a time, a statement that is still busy with a ResultSet is never
+ * returned from the cache.
+ * <p>
+ * There is one cache per physical connection. Released statements are prepared on the physical connection, not on the
+ * pool's proxy, so they survive the transaction and are reused by the next transaction that gets the same connection.
+ * The released statements are stamped with the topology version they were prepared at, a borrow at a different version
+ * closes them first as their sql might reference dropped or altered tables.
  * Date: 2016/05/15
  * Time: 2:24 PM
  */
 public class PreparedStatementCache {
 
-    private Map<PreparedStatement,Boolean> cache = new IdentityHashMap<>();
+    //statements currently in use, mapped to their sql.
+    private Map<PreparedStatement, String> cache = new IdentityHashMap<>();
+    //released statements available for reuse, in access order.
+    private LinkedHashMap<String, PreparedStatement> idle;
+    //the physical connection the released statements are prepared on.
+    private final Connection connection;
+    private final int maxSize;
+    private final Statistics statistics;
+    //the topology version the released statements were prepared at.
+    private long topologyVersion;
+
+    public PreparedStatementCache() {
+        this(null, 0, new Statistics());
+    }
+
+    PreparedStatementCache(Connection connection, int maxSize, Statistics statistics) {
+        this.connection = connection;
+        this.maxSize = maxSize;
+        this.statistics = statistics;
+        this.idle = new LinkedHashMap<>(16, 0.75f, true);
+    }
 
     void add(PreparedStatement preparedStatement) {
-        this.cache.put(preparedStatement,Boolean.TRUE);
+        this.cache.put(preparedStatement, null);
     }
-    
+
     void remove(PreparedStatement preparedStatement) {
         this.cache.remove(preparedStatement);
     }
-    
-    public void close() throws SQLException {
-        for (PreparedStatement preparedStatement : this.cache.keySet()) {
+
+    /**
+     * Returns a prepared statement for the sql, reusing a released statement if one is available.
+     * The statement must be handed back via {@link #release(PreparedStatement)}.
+     *
+     * @param sql             The sql to prepare.
+     * @param topologyVersion The current version of the topology.
+     * @return A statement ready to have its parameters set.
+     * @throws SQLException from the jdbc driver.
+     */
+    PreparedStatement borrow(String sql, long topologyVersion) throws SQLException {
+        if (this.topologyVersion != topologyVersion) {
+            clearIdle();
+            this.topologyVersion = topologyVersion;
+        }
+        PreparedStatement preparedStatement = this.idle.remove(sql);
+        //the pool might have closed the physical connection since the statement was released.
+        if (preparedStatement != null && !preparedStatement.isClosed()) {
+            this.statistics.hits.incrementAndGet();
+        } else {
+            this.statistics.misses.incrementAndGet();
+            preparedStatement = this.connection.prepareStatement(sql);
+        }
+        this.cache.put(preparedStatement, sql);
+        return preparedStatement;
+    }
+
+    /**
+     * Hands a statement back. Statements obtained via {@link #borrow(String, long)} are kept for reuse,
+     * all others are closed.
+     *
+     * @param preparedStatement The statement to release.
+     * @throws SQLException from the jdbc driver.
+     */
+    void release(PreparedStatement preparedStatement) throws SQLException {
+        String sql = this.cache.remove(preparedStatement);
+        if (sql == null || this.maxSize <= 0 || this.idle.containsKey(sql) || preparedStatement.isClosed()) {
             preparedStatement.close();
+            return;
+        }
+        preparedStatement.clearParameters();
+        this.idle.put(sql, preparedStatement);
+        if (this.idle.size() > this.maxSize) {
+            Iterator<PreparedStatement> iterator = this.idle.values().iterator();
+            PreparedStatement eldest = iterator.next();
+            iterator.remove();
+            this.statistics.evictions.incrementAndGet();
+            eldest.close();
+        }
+    }
+
+    /**
+     * Closes all released statements.
+     */
+    public void clearIdle() {
+        try {
+            for (PreparedStatement preparedStatement : this.idle.values()) {
+                preparedStatement.close();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            this.idle.clear();
+        }
+    }
+
+    /**
+     * Closes the statements still in use. Called when the transaction ends, the released statements are kept.
+     *
+     * @throws SQLException from the jdbc driver.
+     */
+    void closeInUse() throws SQLException {
+        try {
+            for (PreparedStatement preparedStatement : this.cache.keySet()) {
+                preparedStatement.close();
+            }
+        } finally {
+            this.cache.clear();
+        }
+    }
+
+    public void close() throws SQLException {
+        try {
+            closeInUse();
+        } finally {
+            clearIdle();
         }
-        this.cache.clear();
     }
 
+    /**
+     * @return true if no statement is in use. Released statements waiting for reuse are not counted.
+     */
     public boolean isEmpty() {
         return this.cache.isEmpty();
     }
-    
+
     public int size() {
-    	return this.cache.size();
+        return this.cache.size();
+    }
+
+    public int idleSize() {
+        return this.idle.size();
+    }
+
+    int getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * Hit, miss and eviction counts, shared by all the transactions of a {@link SqlgGraph}.
+     */
+    public static class Statistics {
+
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong evictions = new AtomicLong();
+
+        public long getHits() {
+            return this.hits.get();
+        }
+
+        public long getMisses() {
+            return this.misses.get();
+        }
+
+        public long getEvictions() {
+            return this.evictions.get();
+        }
+
+        @Override
+        public String toString() {
+            return "hits: " + getHits() + ", misses: " + getMisses() + ", evictions: " + getEvictions();
+        }
     }
 }
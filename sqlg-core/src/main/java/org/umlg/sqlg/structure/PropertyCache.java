@@ -0,0 +1,217 @@
+package org.umlg.sqlg.structure;
+
+import com.google.common.base.Preconditions;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cross transaction cache of the committed properties of vertices and edges, keyed by {@link RecordId}.
+ * <p>
+ * Entries are evicted least recently used first and expire after a time to live. They are invalidated when the
+ * element is written to locally, and all of them when a transaction did bulk writes (batch mode, drop steps) or the
+ * topology changes, which includes changes notified by other graphs. Invalidating a vertex also invalidates the cached
+ * edges of the vertex, removing a vertex removes its edges. Writes by other graphs to the same database are only seen
+ * once the entry expires.
+ * <p>
+ * Transactions that wrote anything neither read nor populate the cache, it only ever holds committed data.
+ * Date: 2026/10/18
+ */
+public class PropertyCache {
+
+    public static final String PROPERTY_CACHE_SIZE = "cache.properties.size";
+    public static final String PROPERTY_CACHE_TTL = "cache.properties.ttl";
+
+    private final SqlgGraph sqlgGraph;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<RecordId, Entry> cache;
+    //The cached edges of each vertex.
+    private final Map<RecordId, Set<RecordId>> edgesByVertex = new HashMap<>();
+    //Incremented on every invalidation, a load that started before an invalidation is not cached.
+    private final AtomicLong sequence = new AtomicLong();
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    /**
+     * @param sqlgGraph The graph.
+     * @param maxSize   The maximum number of cached elements, 0 disables the cache.
+     * @param ttlMillis The time in milliseconds an entry is valid for, 0 for no expiry.
+     */
+    PropertyCache(SqlgGraph sqlgGraph, int maxSize, long ttlMillis) {
+        Preconditions.checkArgument(maxSize >= 0, "%s may not be negative", PROPERTY_CACHE_SIZE);
+        Preconditions.checkArgument(ttlMillis >= 0, "%s may not be negative", PROPERTY_CACHE_TTL);
+        this.sqlgGraph = sqlgGraph;
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.cache = new LinkedHashMap<RecordId, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RecordId, Entry> eldest) {
+                if (size() > PropertyCache.this.maxSize) {
+                    PropertyCache.this.statistics.evictions.incrementAndGet();
+                    unindex(eldest.getKey(), eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return this.maxSize > 0;
+    }
+
+    public CacheStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    public synchronized int size() {
+        return this.cache.size();
+    }
+
+    /**
+     * @return the sequence to pass to {@link #put(SqlgElement, long)} for an element loaded after this call.
+     */
+    long sequence() {
+        return this.sequence.get();
+    }
+
+    /**
+     * Copies the cached properties, and for edges the in and out vertices, into the element.
+     *
+     * @return false if the element is not cached.
+     */
+    boolean load(SqlgElement sqlgElement) {
+        RecordId recordId = (RecordId) sqlgElement.id();
+        Entry entry;
+        synchronized (this) {
+            entry = this.cache.get(recordId);
+            if (entry != null && !isValid(entry)) {
+                this.cache.remove(recordId);
+                unindex(recordId, entry);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            this.statistics.misses.incrementAndGet();
+            return false;
+        }
+        this.statistics.hits.incrementAndGet();
+        sqlgElement.properties.putAll(entry.properties);
+        if (sqlgElement instanceof SqlgEdge) {
+            ((SqlgEdge) sqlgElement).loadVertices(entry.inVertex, entry.outVertex);
+        }
+        return true;
+    }
+
+    /**
+     * Caches the properties of a fully loaded element.
+     *
+     * @param sequence The {@link #sequence()} taken before the element was loaded.
+     */
+    void put(SqlgElement sqlgElement, long sequence) {
+        RecordId inVertex = null;
+        RecordId outVertex = null;
+        if (sqlgElement instanceof SqlgEdge) {
+            SqlgEdge sqlgEdge = (SqlgEdge) sqlgElement;
+            inVertex = sqlgEdge.loadedInVertexId();
+            outVertex = sqlgEdge.loadedOutVertexId();
+            if (inVertex == null || outVertex == null) {
+                return;
+            }
+        }
+        Entry entry = new Entry(
+                new SqlgElementProperties((SqlgElementProperties) sqlgElement.properties),
+                inVertex,
+                outVertex,
+                this.sqlgGraph.getTopology().getVersion(),
+                System.nanoTime()
+        );
+        synchronized (this) {
+            if (this.sequence.get() == sequence) {
+                RecordId recordId = (RecordId) sqlgElement.id();
+                Entry previous = this.cache.put(recordId, entry);
+                if (previous != null) {
+                    unindex(recordId, previous);
+                }
+                index(recordId, entry);
+            }
+        }
+    }
+
+    /**
+     * Invalidates the element's entry, and for a vertex the entries of its cached edges.
+     */
+    synchronized void invalidate(RecordId recordId) {
+        this.sequence.incrementAndGet();
+        remove(recordId);
+        Set<RecordId> edges = this.edgesByVertex.remove(recordId);
+        if (edges != null) {
+            for (RecordId edge : edges) {
+                remove(edge);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        this.sequence.incrementAndGet();
+        this.cache.clear();
+        this.edgesByVertex.clear();
+    }
+
+    private void remove(RecordId recordId) {
+        Entry entry = this.cache.remove(recordId);
+        if (entry != null) {
+            unindex(recordId, entry);
+        }
+    }
+
+    private void index(RecordId recordId, Entry entry) {
+        if (entry.inVertex != null) {
+            this.edgesByVertex.computeIfAbsent(entry.inVertex, k -> new HashSet<>()).add(recordId);
+            this.edgesByVertex.computeIfAbsent(entry.outVertex, k -> new HashSet<>()).add(recordId);
+        }
+    }
+
+    private void unindex(RecordId recordId, Entry entry) {
+        if (entry.inVertex != null) {
+            unindex(entry.inVertex, recordId);
+            unindex(entry.outVertex, recordId);
+        }
+    }
+
+    private void unindex(RecordId vertex, RecordId edge) {
+        Set<RecordId> edges = this.edgesByVertex.get(vertex);
+        if (edges != null) {
+            edges.remove(edge);
+            if (edges.isEmpty()) {
+                this.edgesByVertex.remove(vertex);
+            }
+        }
+    }
+
+    private boolean isValid(Entry entry) {
+        return entry.topologyVersion == this.sqlgGraph.getTopology().getVersion() &&
+                (this.ttlNanos == 0 || System.nanoTime() - entry.loadedAt < this.ttlNanos);
+    }
+
+    private static class Entry {
+        private final Map<String, Object> properties;
+        private final RecordId inVertex;
+        private final RecordId outVertex;
+        private final long topologyVersion;
+        private final long loadedAt;
+
+        private Entry(Map<String, Object> properties, RecordId inVertex, RecordId outVertex, long topologyVersion, long loadedAt) {
+            this.properties = properties;
+            this.inVertex = inVertex;
+            this.outVertex = outVertex;
+            this.topologyVersion = topologyVersion;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -104,4 +104,8 @@ public enum PropertyType {
     public boolean isString() {
         return this == PropertyType.STRING;
     }
+
+    public boolean isNumber() {
+        return this == BYTE || this == SHORT || this == INTEGER || this == LONG || this == FLOAT || this == DOUBLE;
+    }
 }
@@ -15,6 +15,10 @@ import java.sql.SQLException;
 import java.util.*;
 
 /**
+ * With a {@link SqlgTransaction#QUERY_PARALLELISM} greater than one the distinct queries of a read only traversal run
+ * concurrently via {@link ParallelQueries}, if the dialect can share the transaction's snapshot and the transaction has
+ * not written anything. The results are read in the same order as when the queries run one after the other, all of
+ * them at once as in non lazy mode.
  * Date: 2015/07/01
  * Time: 2:03 PM
  */
@@ -49,6 +53,16 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
      * are we reading the query results lazily?
      */
     private boolean lazy = true;
+    /**
+     * when not lazy, the number of results read ahead at a time, 0 for all of them.
+     */
+    private final int chunkSize;
+    private boolean exhausted = false;
+    /**
+     * the number of queries to run concurrently, set to 1 once the results are first asked for.
+     */
+    private int parallelism;
+    private ParallelQueries parallelQueries;
 
     private boolean first = true;
     private Map<String, Integer> lastElementIdCountMap = new HashMap<>();
@@ -69,26 +83,112 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
         this.rootSchemaTableTrees = rootSchemaTableTrees;
         this.rootSchemaTableTreeIterator = rootSchemaTableTrees.iterator();
         this.lazy = sqlgGraph.tx().isLazyQueries();
+        this.chunkSize = sqlgGraph.getConfiguration().getInt(SqlgTransaction.QUERY_CHUNK_SIZE, 0);
+        this.parallelism = sqlgGraph.getConfiguration().getInt(SqlgTransaction.QUERY_PARALLELISM, 1);
         this.forParent = forParent;
     }
 
     @Override
     public boolean hasNext() {
+        if (this.parallelism > 1) {
+            int parallelism = this.parallelism;
+            this.parallelism = 1;
+            if (startParallelQueries(parallelism)) {
+                this.lazy = false;
+                try {
+                    readAllElements();
+                } finally {
+                    this.parallelQueries.close();
+                }
+            }
+        }
         if (this.lazy) {
             return hasNextLazy();
         }
         // eager mode: just read everything about this step and collect it
-        if (this.allElements == null) {
-            List<List<Emit<SqlgElement>>> allList = new LinkedList<>();
-            while (hasNextLazy()) {
-                allList.add(this.elements);
-                this.elements = null;
+        if (this.chunkSize <= 0 || this.parallelQueries != null) {
+            if (this.allElements == null) {
+                readAllElements();
+            }
+            return this.allElements.hasNext();
+        }
+        // chunked mode: read the next chunk once the previous one is consumed.
+        // The statement is released when the chunk reaching the end of its results is read.
+        if ((this.allElements == null || !this.allElements.hasNext()) && !this.exhausted) {
+            List<List<Emit<SqlgElement>>> chunk = new ArrayList<>(this.chunkSize);
+            while (chunk.size() < this.chunkSize && !this.exhausted) {
+                if (hasNextLazy()) {
+                    chunk.add(this.elements);
+                    this.elements = null;
+                } else {
+                    this.exhausted = true;
+                }
             }
-            this.allElements = allList.iterator();
+            this.allElements = chunk.iterator();
         }
         return this.allElements.hasNext();
     }
 
+    private void readAllElements() {
+        List<List<Emit<SqlgElement>>> allList = new LinkedList<>();
+        while (hasNextLazy()) {
+            allList.add(this.elements);
+            this.elements = null;
+        }
+        this.allElements = allList.iterator();
+    }
+
+    /**
+     * Starts running the distinct queries concurrently if the traversal only reads, there is more than one query and
+     * other connections can see what the transaction sees.
+     * The queries are listed in the order {@link #hasNextLazy()} executes them.
+     *
+     * @return true if the queries are running concurrently.
+     */
+    private boolean startParallelQueries(int parallelism) {
+        if (!this.sqlgGraph.getSqlDialect().supportsSnapshotExport() || this.sqlgGraph.tx().isDirty() ||
+                this.sqlgGraph.getTopology().isSqlWriteLockHeldByCurrentThread()) {
+            return false;
+        }
+        List<Pair<String, LinkedList<SchemaTableTree>>> queries = new ArrayList<>();
+        for (SchemaTableTree rootSchemaTableTree : this.rootSchemaTableTrees) {
+            for (LinkedList<SchemaTableTree> distinctQueryStack : rootSchemaTableTree.constructDistinctQueries()) {
+                if (distinctQueryStack.getLast().isDrop()) {
+                    return false;
+                }
+                rootSchemaTableTree.resetColumnAliasMaps();
+                queries.add(Pair.of(rootSchemaTableTree.constructSql(distinctQueryStack), distinctQueryStack));
+            }
+        }
+        for (SchemaTableTree rootSchemaTableTree : this.rootSchemaTableTrees) {
+            List<Pair<LinkedList<SchemaTableTree>, Set<SchemaTableTree>>> leftJoinResult = new ArrayList<>();
+            SchemaTableTree.constructDistinctOptionalQueries(rootSchemaTableTree, leftJoinResult);
+            for (Pair<LinkedList<SchemaTableTree>, Set<SchemaTableTree>> leftJoinQuery : leftJoinResult) {
+                rootSchemaTableTree.resetColumnAliasMaps();
+                queries.add(Pair.of(rootSchemaTableTree.constructSqlForOptional(leftJoinQuery.getLeft(), leftJoinQuery.getRight()), leftJoinQuery.getLeft()));
+            }
+        }
+        for (SchemaTableTree rootSchemaTableTree : this.rootSchemaTableTrees) {
+            List<LinkedList<SchemaTableTree>> leftJoinResult = new ArrayList<>();
+            SchemaTableTree.constructDistinctEmitBeforeQueries(rootSchemaTableTree, leftJoinResult);
+            for (LinkedList<SchemaTableTree> leftJoinQuery : leftJoinResult) {
+                rootSchemaTableTree.resetColumnAliasMaps();
+                queries.add(Pair.of(rootSchemaTableTree.constructSqlForEmit(leftJoinQuery), leftJoinQuery));
+            }
+            rootSchemaTableTree.resetColumnAliasMaps();
+        }
+        if (queries.size() < 2) {
+            return false;
+        }
+        try {
+            String snapshot = this.sqlgGraph.getSqlDialect().exportSnapshot(this.sqlgGraph.tx().getConnection());
+            this.parallelQueries = new ParallelQueries(this.sqlgGraph, snapshot, this.sqlgGraph.tx().getFetchSize(), parallelism, queries);
+            return true;
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     /**
      * lazy evaluation of next results
      *
@@ -245,16 +345,30 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
         SqlgSqlExecutor.executeDropQuery(this.sqlgGraph, this.currentRootSchemaTableTree, this.currentDistinctQueryStack);
     }
 
+    //The parallel queries' sql is constructed again to populate the column alias maps the results are read with.
     private void executeRegularQuery() {
-        this.queryResult = SqlgSqlExecutor.executeRegularQuery(this.sqlgGraph, this.currentRootSchemaTableTree, this.currentDistinctQueryStack);
+        if (this.parallelQueries != null) {
+            this.queryResult = this.parallelQueries.take(this.currentRootSchemaTableTree.constructSql(this.currentDistinctQueryStack));
+        } else {
+            this.queryResult = SqlgSqlExecutor.executeRegularQuery(this.sqlgGraph, this.currentRootSchemaTableTree, this.currentDistinctQueryStack);
+        }
     }
 
     private void executeOptionalQuery() {
-        this.queryResult = SqlgSqlExecutor.executeOptionalQuery(this.sqlgGraph, this.currentRootSchemaTableTree, this.optionalCurrentLeftJoinResult);
+        if (this.parallelQueries != null) {
+            this.queryResult = this.parallelQueries.take(this.currentRootSchemaTableTree.constructSqlForOptional(
+                    this.optionalCurrentLeftJoinResult.getLeft(), this.optionalCurrentLeftJoinResult.getRight()));
+        } else {
+            this.queryResult = SqlgSqlExecutor.executeOptionalQuery(this.sqlgGraph, this.currentRootSchemaTableTree, this.optionalCurrentLeftJoinResult);
+        }
     }
 
     private void executeEmitQuery() {
-        this.queryResult = SqlgSqlExecutor.executeEmitQuery(this.sqlgGraph, this.currentRootSchemaTableTree, this.emitCurrentLeftJoinResult);
+        if (this.parallelQueries != null) {
+            this.queryResult = this.parallelQueries.take(this.currentRootSchemaTableTree.constructSqlForEmit(this.emitCurrentLeftJoinResult));
+        } else {
+            this.queryResult = SqlgSqlExecutor.executeEmitQuery(this.sqlgGraph, this.currentRootSchemaTableTree, this.emitCurrentLeftJoinResult);
+        }
     }
 
     private void iterateRegularQueries() throws SQLException {
@@ -347,9 +461,14 @@ public class SqlgCompiledResultIterator<E> implements Iterator<E> {
 
     private void closePreparedStatement() {
         if (this.queryResult != null) {
+            if (this.parallelQueries != null) {
+                this.parallelQueries.release(this.queryResult);
+                this.queryResult = null;
+                return;
+            }
             try {
-                this.queryResult.getRight().close();
-                this.sqlgGraph.tx().getPreparedStatementCache().remove(this.queryResult.getRight());
+                this.queryResult.getLeft().close();
+                this.sqlgGraph.tx().release(this.queryResult.getRight());
                 this.queryResult = null;
             } catch (SQLException e) {
                 throw new RuntimeException(e);
@@ -47,10 +47,30 @@ public class SqlgEdge extends SqlgElement implements Edge {
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
+        if (!sqlgGraph.tx().isInBatchMode()) {
+            sqlgGraph.tx().add(this);
+            sqlgGraph.tx().written(this);
+        }
     }
 
     public static SqlgEdge of(SqlgGraph sqlgGraph, Long id, String schema, String table) {
-        return new SqlgEdge(sqlgGraph, id, schema, table);
+        //no transaction on the current thread, i.e. a parallel full scan thread, the edge is not cached.
+        if (sqlgGraph.tx().isOpen() && !sqlgGraph.tx().isInBatchMode()) {
+            return sqlgGraph.tx().putEdgeIfAbsent(sqlgGraph, schema, table, id);
+        } else {
+            return new SqlgEdge(sqlgGraph, id, schema, table);
+        }
+    }
+
+    /**
+     * Loads an edge from the row returned by the statement that deleted it. The row is gone from the db, the edge is
+     * fully loaded from the row and not cached in the transaction.
+     */
+    public static SqlgEdge ofDeletedRow(SqlgGraph sqlgGraph, Long id, String schema, String table, ColumnDecoderPlan columnDecoderPlan, ResultSet resultSet) throws SQLException {
+        SqlgEdge sqlgEdge = new SqlgEdge(sqlgGraph, id, schema, table);
+        columnDecoderPlan.load(resultSet, sqlgEdge);
+        sqlgEdge.fullyLoaded();
+        return sqlgEdge;
     }
 
     /**
@@ -191,12 +211,18 @@ public class SqlgEdge extends SqlgElement implements Edge {
     //TODO this needs optimizing, an edge created in the transaction need not go to the db to load itself again
     @Override
     protected void load() {
-        //recordId can be null when in batchMode
-        if (this.recordId != null && this.properties.isEmpty()) {
+        //a new edge in batch mode is not in the database before it is flushed, but then all its properties are cached.
+        //Its recordId is null if the dialect does not allocate the ids when the edge is added.
+        if (this.recordId != null && isNotFullyLoaded() && !isCachedInBatchMode()) {
             this.sqlgGraph.tx().readWrite();
             if (this.sqlgGraph.getSqlDialect().supportsBatchMode() && this.sqlgGraph.tx().getBatchManager().isStreaming()) {
                 throw new IllegalStateException("streaming is in progress, first flush or commit before querying.");
             }
+            if (this.sqlgGraph.tx().loadFromPropertyCache(this)) {
+                fullyLoaded();
+                return;
+            }
+            long propertyCacheSequence = this.sqlgGraph.tx().propertyCacheSequence();
 
             //Generate the columns to prevent 'ERROR: cached plan must not change result type" error'
             //This happens when the schema changes after the statement is prepared.
@@ -234,15 +260,22 @@ public class SqlgEdge extends SqlgElement implements Edge {
             if (this.sqlgGraph.getSqlDialect().needsSemicolon()) {
                 sql.append(";");
             }
-            Connection conn = this.sqlgGraph.tx().getConnection();
             if (logger.isDebugEnabled()) {
                 logger.debug(sql.toString());
             }
-            try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
-                preparedStatement.setLong(1, this.recordId.getId());
-                ResultSet resultSet = preparedStatement.executeQuery();
-                if (resultSet.next()) {
-                    loadResultSet(resultSet);
+            try {
+                PreparedStatement preparedStatement = this.sqlgGraph.tx().prepareStatement(sql.toString());
+                try {
+                    preparedStatement.setLong(1, this.recordId.getId());
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        if (resultSet.next()) {
+                            loadResultSet(resultSet);
+                            fullyLoaded();
+                            this.sqlgGraph.tx().putInPropertyCache(this, propertyCacheSequence);
+                        }
+                    }
+                } finally {
+                    this.sqlgGraph.tx().release(preparedStatement);
                 }
             } catch (SQLException e) {
                 throw new RuntimeException(e);
@@ -250,53 +283,61 @@ public class SqlgEdge extends SqlgElement implements Edge {
         }
     }
 
+    private boolean isCachedInBatchMode() {
+        //only a new edge has its vertices before it is loaded.
+        return this.outVertex != null && this.inVertex != null &&
+                this.sqlgGraph.getSqlDialect().supportsBatchMode() && this.sqlgGraph.tx().isInBatchMode() &&
+                this.sqlgGraph.tx().getBatchManager().edgeIsCached(this, this.outVertex, this.inVertex);
+    }
+
     public void loadInVertex(ResultSet resultSet, String label, int columnIdx) throws SQLException {
         SchemaTable inVertexColumnName = SchemaTable.from(this.sqlgGraph, label);
-        Long inId = resultSet.getLong(columnIdx);
-        if (!resultSet.wasNull()) {
-            this.inVertex = SqlgVertex.of(this.sqlgGraph, inId, inVertexColumnName.getSchema(), SqlgUtil.removeTrailingInId(inVertexColumnName.getTable()));
-        }
+        loadInVertex(resultSet, columnIdx, SchemaTable.of(inVertexColumnName.getSchema(), SqlgUtil.removeTrailingInId(inVertexColumnName.getTable())));
     }
 
     public void loadOutVertex(ResultSet resultSet, String label, int columnIdx) throws SQLException {
         SchemaTable outVertexColumnName = SchemaTable.from(this.sqlgGraph, label);
-        Long outId = resultSet.getLong(columnIdx);
+        loadOutVertex(resultSet, columnIdx, SchemaTable.of(outVertexColumnName.getSchema(), SqlgUtil.removeTrailingOutId(outVertexColumnName.getTable())));
+    }
+
+    /**
+     * @param vertexSchemaTable The in vertex's schema and un-prefixed label.
+     */
+    void loadInVertex(ResultSet resultSet, int columnIdx, SchemaTable vertexSchemaTable) throws SQLException {
+        long inId = resultSet.getLong(columnIdx);
         if (!resultSet.wasNull()) {
-            this.outVertex = SqlgVertex.of(this.sqlgGraph, outId, outVertexColumnName.getSchema(), SqlgUtil.removeTrailingOutId(outVertexColumnName.getTable()));
+            this.inVertex = SqlgVertex.of(this.sqlgGraph, inId, vertexSchemaTable.getSchema(), vertexSchemaTable.getTable());
         }
     }
 
-    @Override
-    public void loadResultSet(ResultSet resultSet) throws SQLException {
-        SchemaTable inVertexColumnName = null;
-        SchemaTable outVertexColumnName = null;
-        int inVertexColumnIndex = 0;
-        int outVertexColumnIndex = 0;
-        ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
-        for (int i = 1; i <= resultSetMetaData.getColumnCount(); i++) {
-            String columnName = resultSetMetaData.getColumnLabel(i);
-            if (!columnName.equals("ID") &&
-                    !columnName.endsWith(Topology.OUT_VERTEX_COLUMN_END) &&
-                    !columnName.endsWith(Topology.IN_VERTEX_COLUMN_END)) {
-
-                loadProperty(resultSet, columnName, i);
-            }
-            if (columnName.endsWith(Topology.IN_VERTEX_COLUMN_END)) {
-                inVertexColumnName = SchemaTable.from(this.sqlgGraph, columnName);
-                inVertexColumnIndex = i;
-            } else if (columnName.endsWith(Topology.OUT_VERTEX_COLUMN_END)) {
-                outVertexColumnName = SchemaTable.from(this.sqlgGraph, columnName);
-                outVertexColumnIndex = i;
-            }
-        }
-        if (inVertexColumnName == null || inVertexColumnIndex == 0 || outVertexColumnName == null || outVertexColumnIndex == 0) {
-            throw new IllegalStateException("in or out vertex id not set!!!!");
+    /**
+     * @param vertexSchemaTable The out vertex's schema and un-prefixed label.
+     */
+    void loadOutVertex(ResultSet resultSet, int columnIdx, SchemaTable vertexSchemaTable) throws SQLException {
+        long outId = resultSet.getLong(columnIdx);
+        if (!resultSet.wasNull()) {
+            this.outVertex = SqlgVertex.of(this.sqlgGraph, outId, vertexSchemaTable.getSchema(), vertexSchemaTable.getTable());
         }
-        Long inId = resultSet.getLong(inVertexColumnIndex);
-        Long outId = resultSet.getLong(outVertexColumnIndex);
+    }
 
-        this.inVertex = SqlgVertex.of(this.sqlgGraph, inId, inVertexColumnName.getSchema(), SqlgUtil.removeTrailingInId(inVertexColumnName.getTable()));
-        this.outVertex = SqlgVertex.of(this.sqlgGraph, outId, outVertexColumnName.getSchema(), SqlgUtil.removeTrailingOutId(outVertexColumnName.getTable()));
+    //The in vertex's id if it is loaded, does not load the edge.
+    RecordId loadedInVertexId() {
+        return this.inVertex != null ? (RecordId) this.inVertex.id() : null;
+    }
+
+    //The out vertex's id if it is loaded, does not load the edge.
+    RecordId loadedOutVertexId() {
+        return this.outVertex != null ? (RecordId) this.outVertex.id() : null;
+    }
+
+    void loadVertices(RecordId inVertex, RecordId outVertex) {
+        this.inVertex = SqlgVertex.of(this.sqlgGraph, inVertex.getId(), inVertex.getSchemaTable().getSchema(), inVertex.getSchemaTable().getTable());
+        this.outVertex = SqlgVertex.of(this.sqlgGraph, outVertex.getId(), outVertex.getSchemaTable().getSchema(), outVertex.getSchemaTable().getTable());
+    }
+
+    @Override
+    public void loadResultSet(ResultSet resultSet) throws SQLException {
+        ColumnDecoderPlan.of(this.sqlgGraph, getSchemaTablePrefixed(), resultSet).load(resultSet, this);
     }
 
 
@@ -16,9 +16,7 @@ import org.umlg.sqlg.util.SqlgUtil;
 import java.sql.*;
 import java.time.*;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
-import static org.umlg.sqlg.sql.parse.SchemaTableTree.ALIAS_SEPARATOR;
 import static org.umlg.sqlg.structure.topology.Topology.EDGE_PREFIX;
 import static org.umlg.sqlg.structure.topology.Topology.VERTEX_PREFIX;
 
@@ -35,7 +33,9 @@ public abstract class SqlgElement implements Element {
     RecordId recordId;
     protected final SqlgGraph sqlgGraph;
     //Multiple threads can access the same element
-    protected Map<String, Object> properties = new ConcurrentHashMap<>();
+    protected Map<String, Object> properties;
+    //The properties loaded by a query that only selected some of them, null if all of them are loaded.
+    private volatile Set<String> restrictedProperties;
     private SqlgElementElementPropertyRollback elementPropertyRollback;
     boolean removed = false;
     //Used in the SqlgBranchStepBarrier to sort the results by the start elements.
@@ -45,6 +45,7 @@ public abstract class SqlgElement implements Element {
         this.sqlgGraph = sqlgGraph;
         this.schema = schema;
         this.table = table;
+        this.properties = new SqlgElementProperties(sqlgGraph.getPropertyLayout(this instanceof Vertex, schema, table));
         this.elementPropertyRollback = new SqlgElementElementPropertyRollback();
 //        if (!this.graph.tx().isInStreamingBatchMode() && !this.graph.tx().isInStreamingWithLockBatchMode()) {
 //            graph.tx().addElementPropertyRollback(this.elementPropertyRollback);
@@ -59,6 +60,7 @@ public abstract class SqlgElement implements Element {
         this.schema = schema;
         this.table = table;
         this.recordId = RecordId.from(SchemaTable.of(this.schema, this.table), id);
+        this.properties = new SqlgElementProperties(sqlgGraph.getPropertyLayout(this instanceof Vertex, schema, table));
         this.elementPropertyRollback = new SqlgElementElementPropertyRollback();
 //        if (!this.graph.tx().isInStreamingBatchMode() && !this.graph.tx().isInStreamingWithLockBatchMode()) {
 //            graph.tx().addElementPropertyRollback(this.elementPropertyRollback);
@@ -118,14 +120,19 @@ public abstract class SqlgElement implements Element {
         if (logger.isDebugEnabled()) {
             logger.debug(sql.toString());
         }
-        Connection conn = this.sqlgGraph.tx().getConnection();
-        try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
-            preparedStatement.setLong(1, ((RecordId) this.id()).getId());
-            preparedStatement.executeUpdate();
+        try {
+            PreparedStatement preparedStatement = this.sqlgGraph.tx().prepareStatement(sql.toString());
+            try {
+                preparedStatement.setLong(1, ((RecordId) this.id()).getId());
+                preparedStatement.executeUpdate();
+            } finally {
+                this.sqlgGraph.tx().release(preparedStatement);
+            }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
         this.removed = true;
+        this.sqlgGraph.tx().written(this);
         removeGlobalUniqueIndex();
     }
 
@@ -173,7 +180,9 @@ public abstract class SqlgElement implements Element {
         if (this.removed) {
             throw Element.Exceptions.elementAlreadyRemoved(this.getClass(), this.id());
         } else {
-            load();
+            if (!isLoaded(key)) {
+                load();
+            }
             V propertyValue = (V) this.properties.get(key);
             if (propertyValue != null) {
                 return instantiateProperty(key, propertyValue);
@@ -216,6 +225,7 @@ public abstract class SqlgElement implements Element {
         }
         load();
         updateRow(key, value);
+        this.sqlgGraph.tx().written(this);
         return instantiateProperty(key, value);
     }
 
@@ -228,6 +238,39 @@ public abstract class SqlgElement implements Element {
      */
     protected abstract void load();
 
+    /**
+     * Called before loading a row from a query that only selected some of the element's properties.
+     * The other properties are loaded on first access.
+     *
+     * @param restrictedProperties The properties the query selected.
+     */
+    public void loadedRestrictedProperties(Set<String> restrictedProperties) {
+        Set<String> loaded = this.restrictedProperties;
+        if (loaded != null) {
+            Set<String> union = new HashSet<>(loaded);
+            union.addAll(restrictedProperties);
+            this.restrictedProperties = union;
+        } else if (this.properties.isEmpty()) {
+            this.restrictedProperties = new HashSet<>(restrictedProperties);
+        }
+    }
+
+    /**
+     * @return true if not loaded or only some of the properties are loaded.
+     */
+    protected boolean isNotFullyLoaded() {
+        return this.properties.isEmpty() || this.restrictedProperties != null;
+    }
+
+    protected void fullyLoaded() {
+        this.restrictedProperties = null;
+    }
+
+    private boolean isLoaded(String... propertyKeys) {
+        Set<String> loaded = this.restrictedProperties;
+        return loaded != null && propertyKeys.length > 0 && loaded.containsAll(Arrays.asList(propertyKeys));
+    }
+
     public String getSchema() {
         return schema;
     }
@@ -241,6 +284,13 @@ public abstract class SqlgElement implements Element {
         boolean elementInInsertedCache = false;
         if (this.sqlgGraph.getSqlDialect().supportsBatchMode() && this.sqlgGraph.tx().isInBatchMode()) {
             elementInInsertedCache = this.sqlgGraph.tx().getBatchManager().updateProperty(this, key, value);
+        } else if (this.sqlgGraph.tx().isWriteBehind()) {
+            Object oldValue = this.property(key).orElse(null);
+            if (oldValue != null && oldValue.equals(value)) {
+                return;
+            }
+            //written together with the element's other updated properties, before the next statement or at commit.
+            elementInInsertedCache = this.sqlgGraph.tx().getBatchManager().updateProperty(this, key, value);
         }
 
         if (!elementInInsertedCache) {
@@ -299,15 +349,18 @@ public abstract class SqlgElement implements Element {
             if (logger.isDebugEnabled()) {
                 logger.debug(sql.toString());
             }
-            Connection conn = this.sqlgGraph.tx().getConnection();
-            try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
-                Map<String, Object> keyValue = new HashMap<>();
-                keyValue.put(key, value);
-                // the index of the id column in the statement depend on how many columns we had to use to store that data type
-                int idx = setKeyValuesAsParameter(this.sqlgGraph, 1, preparedStatement, keyValue);
-                preparedStatement.setLong(idx, ((RecordId) this.id()).getId());
-                preparedStatement.executeUpdate();
-                preparedStatement.close();
+            try {
+                PreparedStatement preparedStatement = this.sqlgGraph.tx().prepareStatement(sql.toString());
+                try {
+                    Map<String, Object> keyValue = new HashMap<>();
+                    keyValue.put(key, value);
+                    // the index of the id column in the statement depend on how many columns we had to use to store that data type
+                    int idx = setKeyValuesAsParameter(this.sqlgGraph, 1, preparedStatement, keyValue);
+                    preparedStatement.setLong(idx, ((RecordId) this.id()).getId());
+                    preparedStatement.executeUpdate();
+                } finally {
+                    this.sqlgGraph.tx().release(preparedStatement);
+                }
             } catch (SQLException e) {
                 throw new RuntimeException(e);
             }
@@ -356,7 +409,9 @@ public abstract class SqlgElement implements Element {
     }
 
     protected <V> Map<String, ? extends Property<V>> internalGetProperties(final String... propertyKeys) {
-        load();
+        if (!isLoaded(propertyKeys)) {
+            load();
+        }
         Map<String, SqlgProperty<V>> properties = new HashMap<>();
 
         //Check the propertyKeys parameter
@@ -493,13 +548,17 @@ public abstract class SqlgElement implements Element {
     }
 
     public void loadProperty(ResultSet resultSet, String propertyName, int columnIndex, Map<String, String> columnNameAliasMap, int stepDepth, PropertyType propertyType) throws SQLException {
-        if (propertyName.endsWith(Topology.ZONEID) ||
-                propertyName.endsWith(Topology.MONTHS) ||
-                propertyName.endsWith(Topology.DAYS) ||
-                propertyName.endsWith(Topology.DURATION_NANOS)
-                ) {
+        if (ColumnDecoderPlan.isPostFixColumn(propertyName)) {
             return;
         }
+        loadProperty(resultSet, propertyName, columnIndex, propertyType,
+                ColumnDecoderPlan.postFixLabels(getSchemaTablePrefixed(), propertyName, propertyType, columnNameAliasMap, stepDepth));
+    }
+
+    /**
+     * @param postFixLabels The labels of the extra columns of ZONEDDATETIME, PERIOD and DURATION properties.
+     */
+    void loadProperty(ResultSet resultSet, String propertyName, int columnIndex, PropertyType propertyType, String[] postFixLabels) throws SQLException {
         switch (propertyType) {
 
             case BOOLEAN:
@@ -565,11 +624,7 @@ public abstract class SqlgElement implements Element {
             case ZONEDDATETIME:
                 Timestamp timestamp1 = resultSet.getTimestamp(columnIndex);
                 if (timestamp1 != null) {
-                    String zoneIdColumn = stepDepth + ALIAS_SEPARATOR + getSchemaTablePrefixed().toString().replace(".", ALIAS_SEPARATOR) + ALIAS_SEPARATOR + propertyName + propertyType.getPostFixes()[0];
-                    String zonedId = columnNameAliasMap.get(zoneIdColumn);
-                    if (zonedId == null) {
-                        zonedId = propertyName + propertyType.getPostFixes()[0];
-                    }
+                    String zonedId = postFixLabels[0];
                     String zoneId = resultSet.getString(zonedId);
                     ZoneId zoneId1 = ZoneId.of(zoneId);
                     ZonedDateTime zonedDateTimeAGT = ZonedDateTime.of(timestamp1.toLocalDateTime(), zoneId1);
@@ -585,17 +640,9 @@ public abstract class SqlgElement implements Element {
             case PERIOD:
                 int years = resultSet.getInt(columnIndex);
                 if (!resultSet.wasNull()) {
-                    String monthColumn = stepDepth + ALIAS_SEPARATOR + getSchemaTablePrefixed().toString().replace(".", ALIAS_SEPARATOR) + ALIAS_SEPARATOR + propertyName + propertyType.getPostFixes()[0];
-                    String aliasedMonth = columnNameAliasMap.get(monthColumn);
-                    if (aliasedMonth == null) {
-                        aliasedMonth = propertyName + propertyType.getPostFixes()[0];
-                    }
+                    String aliasedMonth = postFixLabels[0];
                     int months = resultSet.getInt(aliasedMonth);
-                    String dayColumn = stepDepth + ALIAS_SEPARATOR + getSchemaTablePrefixed().toString().replace(".", ALIAS_SEPARATOR) + ALIAS_SEPARATOR + propertyName + propertyType.getPostFixes()[1];
-                    String aliasedDay = columnNameAliasMap.get(dayColumn);
-                    if (aliasedDay == null) {
-                        aliasedDay = propertyName + propertyType.getPostFixes()[1];
-                    }
+                    String aliasedDay = postFixLabels[1];
                     int days = resultSet.getInt(aliasedDay);
                     this.properties.put(propertyName, Period.of(years, months, days));
                 }
@@ -604,11 +651,7 @@ public abstract class SqlgElement implements Element {
                 long seconds = resultSet.getLong(columnIndex);
                 if (!resultSet.wasNull()) {
                     //load the months and days as its needed to construct the Period
-                    String nanosColumn = stepDepth + ALIAS_SEPARATOR + getSchemaTablePrefixed().toString().replace(".", ALIAS_SEPARATOR) + ALIAS_SEPARATOR + propertyName + propertyType.getPostFixes()[0];
-                    String aliasedNanos = columnNameAliasMap.get(nanosColumn);
-                    if (aliasedNanos == null) {
-                        aliasedNanos = propertyName + propertyType.getPostFixes()[0];
-                    }
+                    String aliasedNanos = postFixLabels[0];
                     int nanos = resultSet.getInt(aliasedNanos);
                     this.properties.put(propertyName, Duration.ofSeconds(seconds, nanos));
                 }
@@ -760,11 +803,7 @@ public abstract class SqlgElement implements Element {
             case ZONEDDATETIME_ARRAY:
                 array = resultSet.getArray(columnIndex);
                 if (array != null) {
-                    String zoneIdColumn = stepDepth + ALIAS_SEPARATOR + getSchemaTablePrefixed().toString().replace(".", ALIAS_SEPARATOR) + ALIAS_SEPARATOR + propertyName + propertyType.getPostFixes()[0];
-                    String zonedId = columnNameAliasMap.get(zoneIdColumn);
-                    if (zonedId == null) {
-                        zonedId = propertyName + propertyType.getPostFixes()[0];
-                    }
+                    String zonedId = postFixLabels[0];
                     java.sql.Array zoneIdArray = resultSet.getArray(zonedId);
                     String[] objectZoneIdArray = (String[]) this.sqlgGraph.getSqlDialect().convertArray(PropertyType.STRING_ARRAY, zoneIdArray);
                     LocalDateTime[] localDateTimes = (LocalDateTime[]) this.sqlgGraph.getSqlDialect().convertArray(PropertyType.LOCALDATETIME_ARRAY, array);
@@ -781,11 +820,7 @@ public abstract class SqlgElement implements Element {
             case DURATION_ARRAY:
                 array = resultSet.getArray(columnIndex);
                 if (array != null) {
-                    String nanosColumn = stepDepth + ALIAS_SEPARATOR + getSchemaTablePrefixed().toString().replace(".", ALIAS_SEPARATOR) + ALIAS_SEPARATOR + propertyName + propertyType.getPostFixes()[0];
-                    String aliasedNanos = columnNameAliasMap.get(nanosColumn);
-                    if (aliasedNanos == null) {
-                        aliasedNanos = propertyName + propertyType.getPostFixes()[0];
-                    }
+                    String aliasedNanos = postFixLabels[0];
                     long[] secondsArray = (long[]) this.sqlgGraph.getSqlDialect().convertArray(PropertyType.long_ARRAY, array);
                     java.sql.Array nanosArray = resultSet.getArray(aliasedNanos);
                     int[] nanoArray = (int[]) this.sqlgGraph.getSqlDialect().convertArray(PropertyType.int_ARRAY, nanosArray);
@@ -800,16 +835,8 @@ public abstract class SqlgElement implements Element {
             case PERIOD_ARRAY:
                 array = resultSet.getArray(columnIndex);
                 if (array != null) {
-                    String monthsColumn = stepDepth + ALIAS_SEPARATOR + getSchemaTablePrefixed().toString().replace(".", ALIAS_SEPARATOR) + ALIAS_SEPARATOR + propertyName + propertyType.getPostFixes()[0];
-                    String aliasedMonths = columnNameAliasMap.get(monthsColumn);
-                    if (aliasedMonths == null) {
-                        aliasedMonths = propertyName + propertyType.getPostFixes()[0];
-                    }
-                    String daysColumn = stepDepth + ALIAS_SEPARATOR + getSchemaTablePrefixed().toString().replace(".", ALIAS_SEPARATOR) + ALIAS_SEPARATOR + propertyName + propertyType.getPostFixes()[1];
-                    String aliasedDays = columnNameAliasMap.get(daysColumn);
-                    if (aliasedDays == null) {
-                        aliasedDays = propertyName + propertyType.getPostFixes()[1];
-                    }
+                    String aliasedMonths = postFixLabels[0];
+                    String aliasedDays = postFixLabels[1];
                     Integer[] yearsIntegers = (Integer[]) this.sqlgGraph.getSqlDialect().convertArray(PropertyType.INTEGER_ARRAY, array);
                     java.sql.Array monthsArray = resultSet.getArray(aliasedMonths);
                     Integer[] monthsIntegers = (Integer[]) this.sqlgGraph.getSqlDialect().convertArray(PropertyType.INTEGER_ARRAY, monthsArray);
@@ -835,18 +862,6 @@ public abstract class SqlgElement implements Element {
 
     }
 
-    void loadProperty(ResultSet resultSet, String propertyName, int columnIndex) throws SQLException {
-        if (propertyName.endsWith(Topology.ZONEID) ||
-                propertyName.endsWith(Topology.MONTHS) ||
-                propertyName.endsWith(Topology.DAYS) ||
-                propertyName.endsWith(Topology.DURATION_NANOS)
-                ) {
-            return;
-        }
-        PropertyType propertyType = this.sqlgGraph.getTopology().getTableFor(getSchemaTablePrefixed()).get(propertyName);
-        loadProperty(resultSet, propertyName, columnIndex, Collections.emptyMap(), -1, propertyType);
-    }
-
     public abstract void loadResultSet(ResultSet resultSet) throws SQLException;
 
     public long getInternalStartTraverserIndex() {
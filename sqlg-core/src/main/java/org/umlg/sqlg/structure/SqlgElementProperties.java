@@ -0,0 +1,219 @@
+package org.umlg.sqlg.structure;
+
+import com.google.common.base.Preconditions;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The properties of an element.
+ * <p>
+ * All the elements of a label share a {@link Layout} that assigns every property name a slot. An element only holds
+ * a flat array of values indexed by slot, not a hash map with an entry per property.
+ * As with the {@link ConcurrentHashMap} it replaces null keys and values are not allowed and multiple threads may
+ * access the same element.
+ * Date: 2026/10/18
+ */
+class SqlgElementProperties extends AbstractMap<String, Object> {
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private final Layout layout;
+    private Object[] values = EMPTY;
+    private int size;
+
+    SqlgElementProperties(Layout layout) {
+        this.layout = layout;
+    }
+
+    /**
+     * A copy of the properties sharing the same layout.
+     */
+    SqlgElementProperties(SqlgElementProperties properties) {
+        this.layout = properties.layout;
+        synchronized (properties) {
+            this.values = Arrays.copyOf(properties.values, properties.values.length);
+            this.size = properties.size;
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        return this.size;
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public synchronized Object get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        int slot = this.layout.slot((String) key);
+        return slot >= 0 && slot < this.values.length ? this.values[slot] : null;
+    }
+
+    @Override
+    public synchronized Object put(String key, Object value) {
+        Preconditions.checkNotNull(key, "key may not be null");
+        Preconditions.checkNotNull(value, "value may not be null");
+        int slot = this.layout.slotOrAdd(key);
+        if (slot >= this.values.length) {
+            this.values = Arrays.copyOf(this.values, Math.max(slot + 1, this.layout.size()));
+        }
+        Object previous = this.values[slot];
+        this.values[slot] = value;
+        if (previous == null) {
+            this.size++;
+        }
+        return previous;
+    }
+
+    @Override
+    public synchronized Object remove(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        int slot = this.layout.slot((String) key);
+        if (slot < 0 || slot >= this.values.length) {
+            return null;
+        }
+        Object previous = this.values[slot];
+        this.values[slot] = null;
+        if (previous != null) {
+            this.size--;
+        }
+        return previous;
+    }
+
+    @Override
+    public synchronized void clear() {
+        Arrays.fill(this.values, null);
+        this.size = 0;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return SqlgElementProperties.this.size();
+            }
+        };
+    }
+
+    /**
+     * Iterates over a snapshot of the values, like the {@link ConcurrentHashMap} iterators it never throws a
+     * {@link ConcurrentModificationException}.
+     */
+    private class EntryIterator implements Iterator<Entry<String, Object>> {
+
+        private final Object[] snapshot;
+        private int slot = -1;
+        private int nextSlot;
+        private String lastKey;
+
+        EntryIterator() {
+            synchronized (SqlgElementProperties.this) {
+                this.snapshot = Arrays.copyOf(SqlgElementProperties.this.values, SqlgElementProperties.this.values.length);
+            }
+            this.nextSlot = advance(0);
+        }
+
+        private int advance(int from) {
+            int i = from;
+            while (i < this.snapshot.length && this.snapshot[i] == null) {
+                i++;
+            }
+            return i;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.nextSlot < this.snapshot.length;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.slot = this.nextSlot;
+            this.nextSlot = advance(this.slot + 1);
+            this.lastKey = SqlgElementProperties.this.layout.key(this.slot);
+            return new SimpleEntry<String, Object>(this.lastKey, this.snapshot[this.slot]) {
+                @Override
+                public Object setValue(Object value) {
+                    super.setValue(value);
+                    return SqlgElementProperties.this.put(getKey(), value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            Preconditions.checkState(this.lastKey != null, "next() has not been called");
+            SqlgElementProperties.this.remove(this.lastKey);
+            this.lastKey = null;
+        }
+    }
+
+    /**
+     * Maps the property names of a label to slots. Shared by all the elements of the label, slots are only ever added.
+     */
+    static final class Layout {
+
+        private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+        private volatile String[] keys = new String[0];
+
+        Layout(Collection<String> keys) {
+            for (String key : keys) {
+                slotOrAdd(key);
+            }
+        }
+
+        int slot(String key) {
+            Integer slot = this.slots.get(key);
+            return slot == null ? -1 : slot;
+        }
+
+        int slotOrAdd(String key) {
+            Integer slot = this.slots.get(key);
+            if (slot != null) {
+                return slot;
+            }
+            synchronized (this) {
+                slot = this.slots.get(key);
+                if (slot == null) {
+                    String[] keys = Arrays.copyOf(this.keys, this.keys.length + 1);
+                    slot = this.keys.length;
+                    keys[slot] = key;
+                    this.keys = keys;
+                    this.slots.put(key, slot);
+                }
+                return slot;
+            }
+        }
+
+        String key(int slot) {
+            return this.keys[slot];
+        }
+
+        int size() {
+            return this.keys.length;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package org.umlg.sqlg.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.umlg.sqlg.structure.topology.Topology.EDGE_PREFIX;
+import static org.umlg.sqlg.structure.topology.Topology.VERTEX_PREFIX;
+
+/**
+ * Iterates all the vertices or all the edges of the graph, one label at a time.
+ * <p>
+ * Rows are read lazily through a cursor using the transaction's fetch size, only one label's ResultSet is open at a
+ * time. With a parallelism greater than one the labels are scanned concurrently, each on its own connection, and
+ * handed over through a bounded queue. The parallel scans run outside the current transaction and so only see
+ * committed data, a transaction that has written anything or is in batch mode scans sequentially on its own
+ * connection.
+ * Date: 2026/10/18
+ */
+public class SqlgFullScanIterator<T extends Element> implements CloseableIterator<T> {
+
+    public static final String FULL_SCAN_PARALLELISM = "full.scan.parallelism";
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlgFullScanIterator.class);
+    private static final Object DONE = new Object();
+    private static final int QUEUE_SIZE = 1000;
+
+    private final SqlgGraph sqlgGraph;
+    private final boolean returnVertices;
+    private final Iterator<SchemaTable> schemaTables;
+    private T next;
+
+    //sequential scan
+    private SchemaTable current;
+    private PreparedStatement preparedStatement;
+    private ResultSet resultSet;
+    private ColumnDecoderPlan columnDecoderPlan;
+
+    //parallel scan
+    private ExecutorService executorService;
+    private BlockingQueue<Object> queue;
+    private int running;
+    private volatile boolean closed = false;
+
+    SqlgFullScanIterator(SqlgGraph sqlgGraph, boolean returnVertices, int parallelism) {
+        this.sqlgGraph = sqlgGraph;
+        this.returnVertices = returnVertices;
+        List<SchemaTable> tables = new ArrayList<>();
+        for (String table : sqlgGraph.getTopology().getAllTables().keySet()) {
+            SchemaTable schemaTable = SchemaTable.from(sqlgGraph, table);
+            if (returnVertices == schemaTable.isVertexTable()) {
+                tables.add(schemaTable);
+            }
+        }
+        this.schemaTables = tables.iterator();
+        if (parallelism > 1 && tables.size() > 1 && !sqlgGraph.tx().isDirty() && !sqlgGraph.tx().isInBatchMode() &&
+                !sqlgGraph.getTopology().isSqlWriteLockHeldByCurrentThread()) {
+            startParallelScan(tables, parallelism);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.next != null) {
+            return true;
+        }
+        if (this.queue != null) {
+            this.next = takeNext();
+        } else {
+            this.next = readNext();
+        }
+        return this.next != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T result = this.next;
+        this.next = null;
+        return result;
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        if (this.executorService != null) {
+            this.executorService.shutdownNow();
+        }
+        closeCurrent();
+    }
+
+    private String sql(SchemaTable schemaTable) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM ");
+        sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(schemaTable.getSchema()));
+        sql.append(".");
+        sql.append(this.sqlgGraph.getSqlDialect().maybeWrapInQoutes(schemaTable.getTable()));
+        if (this.sqlgGraph.getSqlDialect().needsSemicolon()) {
+            sql.append(";");
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql.toString());
+        }
+        return sql.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private T readNext() {
+        try {
+            while (true) {
+                if (this.resultSet == null) {
+                    if (this.closed || !this.schemaTables.hasNext()) {
+                        return null;
+                    }
+                    this.current = this.schemaTables.next();
+                    this.preparedStatement = this.sqlgGraph.tx().prepareStatement(sql(this.current));
+                    if (this.sqlgGraph.tx().getFetchSize() != null) {
+                        this.preparedStatement.setFetchSize(this.sqlgGraph.tx().getFetchSize());
+                    }
+                    this.resultSet = this.preparedStatement.executeQuery();
+                    this.columnDecoderPlan = ColumnDecoderPlan.of(this.sqlgGraph, this.current, this.resultSet);
+                }
+                if (this.resultSet.next()) {
+                    long id = this.resultSet.getLong("ID");
+                    SqlgElement sqlgElement;
+                    if (this.returnVertices) {
+                        sqlgElement = SqlgVertex.of(this.sqlgGraph, id, this.current.getSchema(), this.current.getTable().substring(VERTEX_PREFIX.length()));
+                    } else {
+                        sqlgElement = SqlgEdge.of(this.sqlgGraph, id, this.current.getSchema(), this.current.getTable().substring(EDGE_PREFIX.length()));
+                    }
+                    this.columnDecoderPlan.load(this.resultSet, sqlgElement);
+                    return (T) sqlgElement;
+                } else {
+                    closeCurrent();
+                }
+            }
+        } catch (SQLException e) {
+            closeCurrent();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void closeCurrent() {
+        try {
+            if (this.resultSet != null) {
+                this.resultSet.close();
+            }
+            if (this.preparedStatement != null) {
+                this.sqlgGraph.tx().release(this.preparedStatement);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            this.resultSet = null;
+            this.preparedStatement = null;
+            this.columnDecoderPlan = null;
+            this.current = null;
+        }
+    }
+
+    private void startParallelScan(List<SchemaTable> tables, int parallelism) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executorService = Executors.newFixedThreadPool(Math.min(parallelism, tables.size()), r -> {
+            Thread thread = new Thread(r, "sqlg-full-scan-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+        this.running = tables.size();
+        Integer fetchSize = this.sqlgGraph.tx().getFetchSize();
+        for (SchemaTable schemaTable : tables) {
+            this.executorService.submit(() -> scan(schemaTable, fetchSize));
+        }
+        this.executorService.shutdown();
+    }
+
+    private void scan(SchemaTable schemaTable, Integer fetchSize) {
+        try (Connection connection = this.sqlgGraph.getConnection()) {
+            //postgres only uses a cursor when not in auto commit mode
+            connection.setAutoCommit(false);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql(schemaTable))) {
+                if (fetchSize != null) {
+                    preparedStatement.setFetchSize(fetchSize);
+                }
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    ColumnDecoderPlan columnDecoderPlan = ColumnDecoderPlan.of(this.sqlgGraph, schemaTable, resultSet);
+                    while (!this.closed && resultSet.next()) {
+                        long id = resultSet.getLong("ID");
+                        SqlgElement sqlgElement;
+                        //the transaction's vertex cache is thread local, the consuming thread adds the vertex to it.
+                        if (this.returnVertices) {
+                            sqlgElement = new SqlgVertex(this.sqlgGraph, id, schemaTable.getSchema(), schemaTable.getTable().substring(VERTEX_PREFIX.length()));
+                        } else {
+                            sqlgElement = new SqlgEdge(this.sqlgGraph, id, schemaTable.getSchema(), schemaTable.getTable().substring(EDGE_PREFIX.length()));
+                        }
+                        columnDecoderPlan.load(resultSet, sqlgElement);
+                        put(sqlgElement);
+                    }
+                }
+            } finally {
+                connection.rollback();
+            }
+        } catch (Exception e) {
+            put(e);
+        } finally {
+            put(DONE);
+        }
+    }
+
+    private void put(Object o) {
+        try {
+            while (!this.closed && !this.queue.offer(o, 100, TimeUnit.MILLISECONDS)) {
+                //wait for the consumer
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T takeNext() {
+        try {
+            while (this.running > 0) {
+                Object o = this.queue.take();
+                if (o == DONE) {
+                    this.running--;
+                } else if (o instanceof Exception) {
+                    close();
+                    throw new RuntimeException((Exception) o);
+                } else if (o instanceof SqlgVertex && !this.sqlgGraph.tx().isInBatchMode()) {
+                    return (T) this.sqlgGraph.tx().putVertexIfAbsent((SqlgVertex) o);
+                } else {
+                    return (T) o;
+                }
+            }
+            return null;
+        } catch (InterruptedException e) {
+            close();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -26,6 +26,7 @@ import org.umlg.sqlg.SqlgPlugin;
 import org.umlg.sqlg.sql.dialect.SqlBulkDialect;
 import org.umlg.sqlg.sql.dialect.SqlDialect;
 import org.umlg.sqlg.sql.parse.GremlinParser;
+import org.umlg.sqlg.sql.parse.SqlPlanCache;
 import org.umlg.sqlg.strategy.*;
 import org.umlg.sqlg.strategy.barrier.*;
 import org.umlg.sqlg.structure.SqlgDataSourceFactory.SqlgDataSource;
@@ -39,6 +40,7 @@ import org.umlg.sqlg.util.SqlgUtil;
 
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import static org.umlg.sqlg.structure.topology.Topology.EDGE_PREFIX;
@@ -194,6 +196,12 @@ public class SqlgGraph implements Graph {
     private final SqlgDataSource sqlgDataSource;
     private static Logger logger = LoggerFactory.getLogger(SqlgGraph.class);
     private final SqlgTransaction sqlgTransaction;
+    private final SqlPlanCache sqlPlanCache;
+    private final PropertyCache propertyCache;
+    private final int fullScanParallelism;
+    //The property layouts of the labels, keyed by schema and then by the un-prefixed table.
+    private final Map<String, Map<String, SqlgElementProperties.Layout>> vertexPropertyLayouts = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, SqlgElementProperties.Layout>> edgePropertyLayouts = new ConcurrentHashMap<>();
     private Topology topology;
     private GremlinParser gremlinParser;
     private SqlDialect sqlDialect;
@@ -304,6 +312,14 @@ public class SqlgGraph implements Graph {
             throw new RuntimeException(e);
         }
         this.sqlgTransaction = new SqlgTransaction(this, this.configuration.getBoolean("cache.vertices", false));
+        this.sqlgTransaction.setStatementCacheSize(this.configuration.getInt(SqlgTransaction.STATEMENT_CACHE_SIZE, 100));
+        this.sqlgTransaction.setCacheEdges(this.configuration.getBoolean(SqlgTransaction.CACHE_EDGES, false));
+        this.sqlgTransaction.setElementCacheSize(this.configuration.getInt(SqlgTransaction.ELEMENT_CACHE_SIZE, 10000));
+        this.sqlgTransaction.setAdjacencyBatchSize(this.configuration.getInt(SqlgTransaction.ADJACENCY_BATCH_SIZE, 0));
+        this.sqlgTransaction.setWriteBehind(this.configuration.getBoolean(SqlgTransaction.WRITE_BEHIND, false));
+        this.propertyCache = new PropertyCache(this, this.configuration.getInt(PropertyCache.PROPERTY_CACHE_SIZE, 0), this.configuration.getLong(PropertyCache.PROPERTY_CACHE_TTL, 60000L));
+        this.sqlPlanCache = new SqlPlanCache(this, this.configuration.getInt(SqlPlanCache.PLAN_CACHE_SIZE, 1000));
+        this.fullScanParallelism = this.configuration.getInt(SqlgFullScanIterator.FULL_SCAN_PARALLELISM, 1);
         
         // read fetch size from configuration, use default as specified in the dialect
         // this can be very useful for Postgres since according to < https://jdbc.postgresql.org/documentation/head/query.html#query-with-cursor>
@@ -521,7 +537,7 @@ public class SqlgGraph implements Graph {
 
     private <T extends Element> Iterator<T> createElementIterator(final Class<T> clazz, final Object... ids) {
         if (0 == ids.length) {
-            return (Iterator<T>) elements(Vertex.class.isAssignableFrom(clazz), Collections.EMPTY_LIST).iterator();
+            return new SqlgFullScanIterator<>(this, Vertex.class.isAssignableFrom(clazz), this.fullScanParallelism);
         } else {
             if (clazz.isAssignableFrom(ids[0].getClass())) {
                 // based on the first item assume all vertices in the argument list
@@ -546,6 +562,43 @@ public class SqlgGraph implements Graph {
         return this.sqlgTransaction;
     }
 
+    public SqlPlanCache getSqlPlanCache() {
+        return this.sqlPlanCache;
+    }
+
+    /**
+     * @return the cross transaction cache of the committed properties of vertices and edges.
+     */
+    public PropertyCache getPropertyCache() {
+        return this.propertyCache;
+    }
+
+    /**
+     * The property layout shared by all the elements of a label. It starts out with the label's properties as known to
+     * the topology.
+     *
+     * @param vertex True for a vertex label, false for an edge label.
+     * @param schema The label's schema.
+     * @param table  The label, not prefixed.
+     * @return The label's layout.
+     */
+    SqlgElementProperties.Layout getPropertyLayout(boolean vertex, String schema, String table) {
+        Map<String, Map<String, SqlgElementProperties.Layout>> schemaLayouts = vertex ? this.vertexPropertyLayouts : this.edgePropertyLayouts;
+        Map<String, SqlgElementProperties.Layout> layouts = schemaLayouts.get(schema);
+        if (layouts == null) {
+            layouts = schemaLayouts.computeIfAbsent(schema, k -> new ConcurrentHashMap<>());
+        }
+        SqlgElementProperties.Layout layout = layouts.get(table);
+        if (layout == null) {
+            //the topology is still loading while the graph is being opened
+            Collection<String> keys = this.topology != null ?
+                    this.topology.getPropertiesFor(SchemaTable.of(schema, (vertex ? VERTEX_PREFIX : EDGE_PREFIX) + table)).keySet() :
+                    Collections.emptySet();
+            layout = layouts.computeIfAbsent(table, k -> new SqlgElementProperties.Layout(keys));
+        }
+        return layout;
+    }
+
     @Override
     public Variables variables() {
         throw Graph.Exceptions.variablesNotSupported();
@@ -1189,92 +1242,106 @@ public class SqlgGraph implements Graph {
                 String tableName = (returnVertices ? VERTEX_PREFIX : EDGE_PREFIX) + schemaTable.getTable();
                 if (this.getTopology().getAllTables().containsKey(schemaTable.getSchema() + "." + tableName)) {
                     List<Long> schemaTableIds = schemaTableListEntry.getValue();
-                    StringBuilder sql = new StringBuilder("SELECT * FROM ");
-                    sql.append(this.sqlDialect.maybeWrapInQoutes(schemaTable.getSchema()));
-                    sql.append(".");
-                    String table = "";
-                    if (returnVertices) {
-                        table += VERTEX_PREFIX;
+                    if (this.sqlDialect.supportsIdArrayParameter()) {
+                        loadElementsById(returnVertices, schemaTable, schemaTableIds, true, sqlgElements);
                     } else {
-                        table += EDGE_PREFIX;
-                    }
-                    table += schemaTable.getTable();
-                    sql.append(this.sqlDialect.maybeWrapInQoutes(table));
-                    sql.append(" WHERE ");
-                    sql.append(this.sqlDialect.maybeWrapInQoutes("ID"));
-                    sql.append(" IN (");
-                    int count = 1;
-                    for (Long id : schemaTableIds) {
-                        sql.append(id.toString());
-                        if (count++ < schemaTableIds.size()) {
-                            sql.append(",");
-                        }
-                    }
-                    sql.append(")");
-                    if (this.getSqlDialect().needsSemicolon()) {
-                        sql.append(";");
-                    }
-                    Connection conn = this.tx().getConnection();
-                    if (logger.isDebugEnabled()) {
-                        logger.debug(sql.toString());
-                    }
-                    try (Statement statement = conn.createStatement()) {
-                        statement.execute(sql.toString());
-                        ResultSet resultSet = statement.getResultSet();
-                        while (resultSet.next()) {
-                            long id = resultSet.getLong("ID");
-                            SqlgElement sqlgElement;
-                            if (returnVertices) {
-                                sqlgElement = SqlgVertex.of(this, id, schemaTable.getSchema(), schemaTable.getTable());
-                            } else {
-                                sqlgElement = new SqlgEdge(this, id, schemaTable.getSchema(), schemaTable.getTable());
-                            }
-                            sqlgElement.loadResultSet(resultSet);
-                            sqlgElements.add((T) sqlgElement);
+                        int limit = this.sqlDialect.sqlInParameterLimit();
+                        for (int i = 0; i < schemaTableIds.size(); i += limit) {
+                            loadElementsById(returnVertices, schemaTable, schemaTableIds.subList(i, Math.min(i + limit, schemaTableIds.size())), false, sqlgElements);
                         }
-                    } catch (SQLException e) {
-                        throw new RuntimeException(e);
                     }
                 }
             }
+        }
+        return sqlgElements;
+    }
+
+    /**
+     * Loads the elements of one label by id with bind parameters so that the statement can be reused.
+     * With an array parameter all the ids are bound to {@code "ID" = ANY(?)}.
+     * Else the number of parameters is rounded up to a power of two, padded by repeating the last id,
+     * to limit the number of distinct statements.
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends Element> void loadElementsById(boolean returnVertices, SchemaTable schemaTable, List<Long> ids, boolean idArray, List<T> sqlgElements) {
+        //Elements in the property cache need not be queried.
+        if (this.propertyCache.isEnabled()) {
+            List<Long> notCached = new ArrayList<>();
+            for (Long id : ids) {
+                SqlgElement sqlgElement = returnVertices ?
+                        SqlgVertex.of(this, id, schemaTable.getSchema(), schemaTable.getTable()) :
+                        SqlgEdge.of(this, id, schemaTable.getSchema(), schemaTable.getTable());
+                if (this.tx().loadFromPropertyCache(sqlgElement)) {
+                    sqlgElement.fullyLoaded();
+                    sqlgElements.add((T) sqlgElement);
+                } else {
+                    notCached.add(id);
+                }
+            }
+            if (notCached.isEmpty()) {
+                return;
+            }
+            ids = notCached;
+        }
+        long propertyCacheSequence = this.tx().propertyCacheSequence();
+        SchemaTable prefixedSchemaTable = SchemaTable.of(schemaTable.getSchema(), (returnVertices ? VERTEX_PREFIX : EDGE_PREFIX) + schemaTable.getTable());
+        StringBuilder sql = new StringBuilder("SELECT * FROM ");
+        sql.append(this.sqlDialect.maybeWrapInQoutes(prefixedSchemaTable.getSchema()));
+        sql.append(".");
+        sql.append(this.sqlDialect.maybeWrapInQoutes(prefixedSchemaTable.getTable()));
+        sql.append(" WHERE ");
+        sql.append(this.sqlDialect.maybeWrapInQoutes("ID"));
+        int parameterCount = 1;
+        if (idArray) {
+            sql.append(" = ANY(?)");
         } else {
-            //TODO use a union query
-            Set<String> tables = this.getTopology().getAllTables().keySet();
-            for (String table : tables) {
-                SchemaTable schemaTable = SchemaTable.from(this, table);
-                if (returnVertices ? schemaTable.isVertexTable() : !schemaTable.isVertexTable()) {
-                    StringBuilder sql = new StringBuilder("SELECT * FROM ");
-                    sql.append(sqlDialect.maybeWrapInQoutes(schemaTable.getSchema()));
-                    sql.append(".");
-                    sql.append(sqlDialect.maybeWrapInQoutes(schemaTable.getTable()));
-                    if (this.getSqlDialect().needsSemicolon()) {
-                        sql.append(";");
-                    }
-                    Connection conn = this.tx().getConnection();
-                    if (logger.isDebugEnabled()) {
-                        logger.debug(sql.toString());
+            while (parameterCount < ids.size()) {
+                parameterCount <<= 1;
+            }
+            parameterCount = Math.min(parameterCount, this.sqlDialect.sqlInParameterLimit());
+            sql.append(" IN (");
+            for (int i = 0; i < parameterCount; i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(")");
+        }
+        if (this.sqlDialect.needsSemicolon()) {
+            sql.append(";");
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql.toString());
+        }
+        try {
+            PreparedStatement preparedStatement = this.tx().prepareStatement(sql.toString());
+            try {
+                if (idArray) {
+                    preparedStatement.setArray(1, this.tx().getConnection().createArrayOf("bigint", ids.toArray(new Long[ids.size()])));
+                } else {
+                    for (int i = 0; i < parameterCount; i++) {
+                        preparedStatement.setLong(i + 1, ids.get(Math.min(i, ids.size() - 1)));
                     }
-                    try (Statement statement = conn.createStatement()) {
-                        statement.execute(sql.toString());
-                        ResultSet resultSet = statement.getResultSet();
-                        while (resultSet.next()) {
-                            long id = resultSet.getLong("ID");
-                            SqlgElement sqlgElement;
-                            if (returnVertices) {
-                                sqlgElement = SqlgVertex.of(this, id, schemaTable.getSchema(), schemaTable.getTable().substring(VERTEX_PREFIX.length()));
-                            } else {
-                                sqlgElement = new SqlgEdge(this, id, schemaTable.getSchema(), schemaTable.getTable().substring(EDGE_PREFIX.length()));
-                            }
-                            sqlgElement.loadResultSet(resultSet);
-                            sqlgElements.add((T) sqlgElement);
+                }
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    ColumnDecoderPlan columnDecoderPlan = ColumnDecoderPlan.of(this, prefixedSchemaTable, resultSet);
+                    while (resultSet.next()) {
+                        long id = resultSet.getLong("ID");
+                        SqlgElement sqlgElement;
+                        if (returnVertices) {
+                            sqlgElement = SqlgVertex.of(this, id, schemaTable.getSchema(), schemaTable.getTable());
+                        } else {
+                            sqlgElement = SqlgEdge.of(this, id, schemaTable.getSchema(), schemaTable.getTable());
                         }
-                    } catch (SQLException e) {
-                        throw new RuntimeException(e);
+                        columnDecoderPlan.load(resultSet, sqlgElement);
+                        this.tx().putInPropertyCache(sqlgElement, propertyCacheSequence);
+                        sqlgElements.add((T) sqlgElement);
                     }
                 }
+            } finally {
+                this.tx().release(preparedStatement);
             }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
         }
-        return sqlgElements;
     }
 
     public Connection getConnection() throws SQLException {
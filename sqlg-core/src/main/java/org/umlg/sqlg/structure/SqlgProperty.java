@@ -104,6 +104,7 @@ public class SqlgProperty<V> implements Property<V>, Serializable {
             } catch (SQLException e) {
                 throw new RuntimeException(e);
             }
+            this.sqlgGraph.tx().written(this.element);
         }
     }
 
@@ -12,6 +12,9 @@ import org.umlg.sqlg.sql.dialect.SqlBulkDialect;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
 
 /**
  * This class is a singleton. Instantiated and owned by SqlGraph.
@@ -24,6 +27,32 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
     private static final String BATCH_MODE_NOT_SUPPORTED = "Batch mode not supported!";
     @SuppressWarnings("WeakerAccess")
     public static final String QUERY_LAZY = "query.lazy";
+    /**
+     * The number of results read ahead at a time when queries are not lazy, 0 reads all of a query's results at once.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final String QUERY_CHUNK_SIZE = "query.chunk.size";
+    /**
+     * The number of a read only traversal's distinct queries that run concurrently, each on a pooled connection that
+     * shares the transaction's snapshot. 1 runs them one after the other on the transaction's connection.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final String QUERY_PARALLELISM = "query.parallelism";
+    @SuppressWarnings("WeakerAccess")
+    public static final String STATEMENT_CACHE_SIZE = "statement.cache.size";
+    @SuppressWarnings("WeakerAccess")
+    public static final String CACHE_EDGES = "cache.edges";
+    @SuppressWarnings("WeakerAccess")
+    public static final String ELEMENT_CACHE_SIZE = "cache.elements.size";
+    @SuppressWarnings("WeakerAccess")
+    public static final String ADJACENCY_BATCH_SIZE = "adjacency.batch.size";
+    /**
+     * Buffers property updates outside of batch mode and writes them as one update per element, or per label and set of
+     * updated keys where the dialect supports it, before the transaction's next statement or at commit. Only the updated
+     * keys are written.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final String WRITE_BEHIND = "write.behind";
     
     private SqlgGraph sqlgGraph;
     private BeforeCommit beforeCommitFunction;
@@ -31,11 +60,28 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
     private AfterRollback afterRollbackFunction;
     private static Logger logger = LoggerFactory.getLogger(SqlgTransaction.class);
     private boolean cacheVertices = false;
+    private boolean cacheEdges = false;
+    private int elementCacheSize = 10000;
+    private int adjacencyBatchSize = 0;
+    private boolean writeBehind = false;
+    private final CacheStatistics elementCacheStatistics = new CacheStatistics();
 
     private final ThreadLocal<TransactionCache> threadLocalTx = ThreadLocal.withInitial(() -> null);
 
+    private final PreparedStatementCache.Statistics statementCacheStatistics = new PreparedStatementCache.Statistics();
+
     private final ThreadLocal<PreparedStatementCache> threadLocalPreparedStatementTx = ThreadLocal.withInitial(PreparedStatementCache::new);
 
+    /**
+     * The statement caches, one per physical connection so that the released statements outlive the transaction.
+     */
+    private final Map<Connection, PreparedStatementCache> statementCaches = new IdentityHashMap<>();
+
+    /**
+     * The maximum number of released prepared statements kept per connection for reuse.
+     */
+    private int statementCacheSize = 0;
+
     /**
      * default fetch size
      */
@@ -63,12 +109,19 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
                 boolean lazy=this.sqlgGraph.getConfiguration().getBoolean(QUERY_LAZY,true);
                 TransactionCache tc=null;
                 if (supportsBatchMode()) {
-                   tc = TransactionCache.of(this.cacheVertices, connection, new BatchManager(this.sqlgGraph, ((SqlBulkDialect)this.sqlgGraph.getSqlDialect())),lazy);
+                   tc = TransactionCache.of(this.cacheVertices, this.cacheEdges, this.elementCacheSize, this.elementCacheStatistics, connection, new BatchManager(this.sqlgGraph, ((SqlBulkDialect)this.sqlgGraph.getSqlDialect())),lazy);
                 } else {
-                   tc = TransactionCache.of(this.cacheVertices, connection, lazy);
+                   tc = TransactionCache.of(this.cacheVertices, this.cacheEdges, this.elementCacheSize, this.elementCacheStatistics, connection, lazy);
                 }
                 tc.setFetchSize(getDefaultFetchSize());
+                if (this.adjacencyBatchSize > 0) {
+                    tc.setAdjacencyBatch(new AdjacencyBatch(this.sqlgGraph, this.adjacencyBatchSize));
+                }
+                //the property updates are buffered in the batch manager.
+                tc.setWriteBehind(this.writeBehind && supportsBatchMode());
+                PreparedStatementCache preparedStatementCache = statementCache(connection);
                 this.threadLocalTx.set(tc);
+                this.threadLocalPreparedStatementTx.set(preparedStatementCache);
             } catch (SQLException e) {
                 throw new RuntimeException(e);
             }
@@ -83,6 +136,8 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
         try {
             if (supportsBatchMode() && this.threadLocalTx.get().getBatchManager().isInBatchMode()) {
                 getBatchManager().flush();
+            } else if (isWriteBehind() && getBatchManager().hasPropertyUpdates()) {
+                getBatchManager().flushPropertyUpdates();
             }
             Connection connection = this.threadLocalTx.get().getConnection();
             if (this.beforeCommitFunction != null) {
@@ -90,10 +145,11 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
             }
             connection.commit();
             connection.setAutoCommit(true);
+            invalidatePropertyCache();
             if (this.afterCommitFunction != null) {
                 this.afterCommitFunction.doAfterCommit();
             }
-            this.threadLocalPreparedStatementTx.get().close();
+            this.threadLocalPreparedStatementTx.get().closeInUse();
             connection.close();
         } catch (Exception e) {
             this.rollback();
@@ -128,6 +184,7 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
             Connection connection = threadLocalTx.get().getConnection();
             connection.setAutoCommit(false);
             connection.rollback();
+            invalidatePropertyCache();
             if (this.afterRollbackFunction != null) {
                 this.afterRollbackFunction.doAfterRollback();
             }
@@ -135,7 +192,7 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
             for (ElementPropertyRollback elementPropertyRollback : threadLocalTx.get().getElementPropertyRollback().keySet()) {
                 elementPropertyRollback.clearProperties();
             }
-            this.threadLocalPreparedStatementTx.get().close();
+            this.threadLocalPreparedStatementTx.get().closeInUse();
             connection.close();
         } catch (SQLException e) {
             throw new RuntimeException(e);
@@ -152,6 +209,7 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
         if (supportsBatchMode()) {
             readWrite();
             this.threadLocalTx.get().getBatchManager().batchModeOn(BatchManager.BatchModeType.STREAMING_WITH_LOCK);
+            this.threadLocalTx.get().bulkWritten();
         } else {
             throw new IllegalStateException(BATCH_MODE_NOT_SUPPORTED);
         }
@@ -161,6 +219,7 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
         if (supportsBatchMode()) {
             readWrite();
             this.threadLocalTx.get().getBatchManager().batchModeOn(BatchManager.BatchModeType.STREAMING);
+            this.threadLocalTx.get().bulkWritten();
         } else {
             throw new IllegalStateException(BATCH_MODE_NOT_SUPPORTED);
         }
@@ -192,6 +251,24 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
         if (supportsBatchMode()) {
             readWrite();
             this.threadLocalTx.get().getBatchManager().batchModeOn(BatchManager.BatchModeType.NORMAL);
+            this.threadLocalTx.get().bulkWritten();
+        } else {
+            throw new IllegalStateException(BATCH_MODE_NOT_SUPPORTED);
+        }
+    }
+
+    /**
+     * Normal batch mode for bulk loads. The new vertices and edges are not flushed as part of the transaction: with a
+     * {@link BatchManager#FLUSH_PARALLELISM} greater than one the labels are flushed concurrently, each committed on its
+     * own connection. A rollback does not undo them and a failed flush leaves the labels already flushed committed.
+     * Updates and removals are still flushed on the transaction's connection. A topology change in the transaction
+     * returns it to normal batch mode.
+     */
+    public void bulkLoadBatchModeOn() {
+        if (supportsBatchMode()) {
+            readWrite();
+            this.threadLocalTx.get().getBatchManager().bulkLoadModeOn();
+            this.threadLocalTx.get().bulkWritten();
         } else {
             throw new IllegalStateException(BATCH_MODE_NOT_SUPPORTED);
         }
@@ -206,6 +283,10 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
         return supportsBatchMode() && isOpen() && this.threadLocalTx.get().getBatchManager().isInNormalMode();
     }
 
+    public boolean isInBulkLoadBatchMode() {
+        return supportsBatchMode() && isOpen() && this.threadLocalTx.get().getBatchManager().isInBulkLoadMode();
+    }
+
     public boolean isInStreamingBatchMode() {
         return supportsBatchMode() && isOpen() && this.threadLocalTx.get().getBatchManager().isInStreamingMode();
     }
@@ -235,9 +316,21 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
         if (!isOpen()) {
             readWrite();
         }
+        //whatever the connection is used for next may depend on the buffered property updates.
+        if (isWriteBehind() && getBatchManager().hasPropertyUpdates()) {
+            getBatchManager().flushPropertyUpdates();
+        }
         return this.threadLocalTx.get().getConnection();
     }
 
+    /**
+     * @return true if the transaction buffers property updates, see {@link #WRITE_BEHIND}. Not in batch mode, where
+     * the batch manager buffers the updates anyhow.
+     */
+    boolean isWriteBehind() {
+        return isOpen() && this.threadLocalTx.get().isWriteBehind() && !getBatchManager().isInBatchMode();
+    }
+
     public void flush() {
         if (!this.isInBatchMode()) {
             throw new IllegalStateException("Transaction must be in batch mode to flush");
@@ -286,14 +379,243 @@ public class SqlgTransaction extends AbstractThreadLocalTransaction {
         this.threadLocalTx.get().add(sqlgVertex);
     }
 
+    /**
+     * @return the batch that coalesces the adjacency requests of the transaction's vertices, null if not batching.
+     */
+    AdjacencyBatch getAdjacencyBatch() {
+        TransactionCache transactionCache = this.threadLocalTx.get();
+        return transactionCache != null && !isInBatchMode() ? transactionCache.getAdjacencyBatch() : null;
+    }
+
+    SqlgEdge putEdgeIfAbsent(SqlgGraph sqlgGraph, String schema, String table, Long id) {
+        return this.threadLocalTx.get().putEdgeIfAbsent(sqlgGraph, schema, table, id);
+    }
+
+    //Called for new edges
+    void add(SqlgEdge sqlgEdge) {
+        this.threadLocalTx.get().add(sqlgEdge);
+    }
+
+    /**
+     * Records that the element was written to. It is removed from the graph's {@link PropertyCache} now and when the
+     * transaction ends. With the cache disabled only the transaction is marked as dirty.
+     */
+    void written(SqlgElement sqlgElement) {
+        readWrite();
+        boolean propertyCacheEnabled = this.sqlgGraph.getPropertyCache().isEnabled();
+        this.threadLocalTx.get().written(sqlgElement, propertyCacheEnabled);
+        if (!isInBatchMode()) {
+            this.threadLocalTx.get().writtenOnConnection();
+        }
+        if (propertyCacheEnabled && sqlgElement.id() != null) {
+            this.sqlgGraph.getPropertyCache().invalidate((RecordId) sqlgElement.id());
+        }
+    }
+
+    /**
+     * Records that the transaction wrote without going through the elements, the graph's {@link PropertyCache} is
+     * cleared now and when the transaction ends.
+     */
+    public void bulkWritten() {
+        readWrite();
+        this.threadLocalTx.get().bulkWritten();
+        this.threadLocalTx.get().writtenOnConnection();
+        if (this.sqlgGraph.getPropertyCache().isEnabled()) {
+            this.sqlgGraph.getPropertyCache().clear();
+        }
+    }
+
+    /**
+     * @return true if the transaction wrote on its connection other than by flushing the batch manager's caches, i.e.
+     * before or outside of batch mode or with a drop step. Batch mode on its own does not count.
+     */
+    boolean isWrittenOnConnection() {
+        readWrite();
+        return this.threadLocalTx.get().isWrittenOnConnection();
+    }
+
+    /**
+     * @return true if the transaction has written anything, other connections do not see its writes.
+     */
+    boolean isDirty() {
+        readWrite();
+        return this.threadLocalTx.get().isDirty();
+    }
+
+    /**
+     * @return true if the element was loaded from the graph's {@link PropertyCache}.
+     * Opens the transaction if the cache is enabled.
+     */
+    boolean loadFromPropertyCache(SqlgElement sqlgElement) {
+        return usePropertyCache() && this.sqlgGraph.getPropertyCache().load(sqlgElement);
+    }
+
+    /**
+     * @return the sequence to pass to {@link #putInPropertyCache(SqlgElement, long)}, -1 if the cache is not used.
+     */
+    long propertyCacheSequence() {
+        return usePropertyCache() ? this.sqlgGraph.getPropertyCache().sequence() : -1;
+    }
+
+    void putInPropertyCache(SqlgElement sqlgElement, long sequence) {
+        if (sequence != -1 && usePropertyCache()) {
+            this.sqlgGraph.getPropertyCache().put(sqlgElement, sequence);
+        }
+    }
+
+    //Only transactions that have not written anything read committed data.
+    private boolean usePropertyCache() {
+        if (!this.sqlgGraph.getPropertyCache().isEnabled()) {
+            return false;
+        }
+        readWrite();
+        return !this.threadLocalTx.get().isDirty();
+    }
+
+    private void invalidatePropertyCache() {
+        TransactionCache transactionCache = this.threadLocalTx.get();
+        PropertyCache propertyCache = this.sqlgGraph.getPropertyCache();
+        if (!propertyCache.isEnabled()) {
+            return;
+        }
+        if (transactionCache.isBulkWritten()) {
+            propertyCache.clear();
+        } else {
+            for (RecordId recordId : transactionCache.getWritten()) {
+                propertyCache.invalidate(recordId);
+            }
+        }
+    }
+
     public void add(PreparedStatement preparedStatement) {
         this.threadLocalPreparedStatementTx.get().add(preparedStatement);
     }
 
+    /**
+     * Prepares the sql on the transaction's connection, reusing a previously released statement for the same sql if
+     * one is available. The statement must be handed back via {@link #release(PreparedStatement)}.
+     *
+     * @param sql The sql to prepare.
+     * @return The prepared statement.
+     * @throws SQLException from the jdbc driver.
+     */
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        //opens the transaction if needed
+        getConnection();
+        //the topology is still being created while sqlg's own tables are loaded.
+        long topologyVersion = this.sqlgGraph.getTopology() != null ? this.sqlgGraph.getTopology().getVersion() : 0;
+        return this.threadLocalPreparedStatementTx.get().borrow(sql, topologyVersion);
+    }
+
+    /**
+     * Returns the statement cache of the connection's physical connection.
+     * The pool's connection proxy closes its statements when the connection goes back to the pool, the cached
+     * statements are prepared on the physical connection instead.
+     * Caches whose physical connection the pool has closed are dropped whenever a new physical connection shows up.
+     *
+     * @param connection The transaction's connection.
+     * @return the statement cache.
+     * @throws SQLException from the jdbc driver.
+     */
+    private PreparedStatementCache statementCache(Connection connection) throws SQLException {
+        Connection physicalConnection = connection.isWrapperFor(Connection.class) ? connection.unwrap(Connection.class) : connection;
+        synchronized (this.statementCaches) {
+            PreparedStatementCache preparedStatementCache = this.statementCaches.get(physicalConnection);
+            if (preparedStatementCache != null && preparedStatementCache.getMaxSize() == this.statementCacheSize) {
+                return preparedStatementCache;
+            }
+            if (preparedStatementCache != null) {
+                preparedStatementCache.clearIdle();
+            }
+            for (Iterator<Map.Entry<Connection, PreparedStatementCache>> iterator = this.statementCaches.entrySet().iterator(); iterator.hasNext(); ) {
+                if (iterator.next().getKey().isClosed()) {
+                    iterator.remove();
+                }
+            }
+            preparedStatementCache = new PreparedStatementCache(physicalConnection, this.statementCacheSize, this.statementCacheStatistics);
+            this.statementCaches.put(physicalConnection, preparedStatementCache);
+            return preparedStatementCache;
+        }
+    }
+
+    /**
+     * Hand back a statement obtained via {@link #prepareStatement(String)} or registered via {@link #add(PreparedStatement)}.
+     *
+     * @param preparedStatement The statement.
+     */
+    public void release(PreparedStatement preparedStatement) {
+        try {
+            this.threadLocalPreparedStatementTx.get().release(preparedStatement);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     // only used for tests
     public PreparedStatementCache getPreparedStatementCache() {
         return threadLocalPreparedStatementTx.get();
     }
+
+    public PreparedStatementCache.Statistics getStatementCacheStatistics() {
+        return this.statementCacheStatistics;
+    }
+
+    /**
+     * @return the statistics of the transactions' vertex and edge caches.
+     */
+    public CacheStatistics getElementCacheStatistics() {
+        return this.elementCacheStatistics;
+    }
+
+    /**
+     * Caches the edges loaded in a transaction, like cache.vertices does for vertices.
+     * Only transactions started after the call are affected.
+     */
+    public void setCacheEdges(boolean cacheEdges) {
+        this.cacheEdges = cacheEdges;
+    }
+
+    /**
+     * Only transactions started after the call are affected.
+     * @param elementCacheSize the maximum number of vertices and of edges cached per transaction.
+     */
+    public void setElementCacheSize(int elementCacheSize) {
+        Preconditions.checkArgument(elementCacheSize > 0, "elementCacheSize must be positive");
+        this.elementCacheSize = elementCacheSize;
+    }
+
+    /**
+     * Batches the adjacency requests, {@link SqlgVertex#vertices} and {@link SqlgVertex#edges}, of the vertices loaded
+     * in a transaction. Only transactions started after the call are affected.
+     * @param adjacencyBatchSize the maximum number of vertices fetched together, 0 to not batch.
+     */
+    public void setAdjacencyBatchSize(int adjacencyBatchSize) {
+        Preconditions.checkArgument(adjacencyBatchSize >= 0, "adjacencyBatchSize may not be negative");
+        this.adjacencyBatchSize = adjacencyBatchSize;
+    }
+
+    /**
+     * Buffers property updates outside of batch mode, see {@link #WRITE_BEHIND}.
+     * Only transactions started after the call are affected. Ignored by dialects that do not support batch mode.
+     * @param writeBehind true to buffer property updates.
+     */
+    public void setWriteBehind(boolean writeBehind) {
+        this.writeBehind = writeBehind;
+    }
+
+    public int getStatementCacheSize() {
+        return this.statementCacheSize;
+    }
+
+    /**
+     * set the maximum number of released prepared statements kept per connection, 0 disables reuse.
+     * Only transactions started after the call are affected, the connection's cached statements are then closed.
+     * @param statementCacheSize the maximum number of cached statements.
+     */
+    public void setStatementCacheSize(int statementCacheSize) {
+        Preconditions.checkArgument(statementCacheSize >= 0, "statementCacheSize may not be negative");
+        this.statementCacheSize = statementCacheSize;
+    }
     
     /**
      * are we reading the SQL query results lazily?
@@ -41,6 +41,7 @@ public class SqlgVertex extends SqlgElement implements Vertex {
         insertVertex(temporary, streaming, keyValueMapPair);
         if (!sqlgGraph.tx().isInBatchMode()) {
             sqlgGraph.tx().add(this);
+            sqlgGraph.tx().written(this);
         }
     }
 
@@ -54,7 +55,8 @@ public class SqlgVertex extends SqlgElement implements Vertex {
     }
 
     public static SqlgVertex of(SqlgGraph sqlgGraph, Long id, String schema, String table) {
-        if (!sqlgGraph.tx().isInBatchMode()) {
+        //no transaction on the current thread, i.e. a parallel full scan thread, the vertex is not cached.
+        if (sqlgGraph.tx().isOpen() && !sqlgGraph.tx().isInBatchMode()) {
             return sqlgGraph.tx().putVertexIfAbsent(sqlgGraph, schema, table, id);
         } else {
             return new SqlgVertex(sqlgGraph, id, schema, table);
@@ -215,6 +217,10 @@ public class SqlgVertex extends SqlgElement implements Vertex {
         if (this.sqlgGraph.getSqlDialect().supportsBatchMode() && this.sqlgGraph.tx().isInBatchMode() && this.sqlgGraph.tx().getBatchManager().vertexIsCached(this)) {
             this.sqlgGraph.tx().flush();
         }
+        AdjacencyBatch adjacencyBatch = adjacencyBatch();
+        if (adjacencyBatch != null) {
+            return adjacencyBatch.adjacent(this, true, direction, labels);
+        }
         // need topology when we're a topology vertex
         GraphTraversalSource gts = Topology.SQLG_SCHEMA.equals(schema) ?
                 this.sqlgGraph.topology()
@@ -230,6 +236,11 @@ public class SqlgVertex extends SqlgElement implements Vertex {
         return Collections.emptyIterator();
     }
 
+    //Topology vertices are not batched, they are queried with the topology's traversal.
+    private AdjacencyBatch adjacencyBatch() {
+        return Topology.SQLG_SCHEMA.equals(this.schema) ? null : this.sqlgGraph.tx().getAdjacencyBatch();
+    }
+
     @Override
     public void remove() {
         this.sqlgGraph.tx().readWrite();
@@ -250,6 +261,7 @@ public class SqlgVertex extends SqlgElement implements Vertex {
             for (SchemaTable schemaTable : foreignKeys.getRight()) {
                 deleteEdgesWithOutKey(schemaTable, this.id());
             }
+            //Invalidating the vertex in the PropertyCache invalidates its cached edges too.
             super.remove();
         }
     }
@@ -276,10 +288,14 @@ public class SqlgVertex extends SqlgElement implements Vertex {
         if (logger.isDebugEnabled()) {
             logger.debug(sql.toString());
         }
-        Connection conn = this.sqlgGraph.tx().getConnection();
-        try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
-            preparedStatement.setLong(1, ((RecordId) this.id()).getId());
-            preparedStatement.executeUpdate();
+        try {
+            PreparedStatement preparedStatement = this.sqlgGraph.tx().prepareStatement(sql.toString());
+            try {
+                preparedStatement.setLong(1, ((RecordId) this.id()).getId());
+                preparedStatement.executeUpdate();
+            } finally {
+                this.sqlgGraph.tx().release(preparedStatement);
+            }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -379,13 +395,18 @@ public class SqlgVertex extends SqlgElement implements Vertex {
     protected void load() {
         //if in batch mode, only load vertexes that are not new.
         //new vertexes have no id, impossible to load, but then all its properties are already cached.
-        if ((this.properties.isEmpty() && !this.sqlgGraph.tx().isInBatchMode()) ||
-                (this.properties.isEmpty() && this.sqlgGraph.getSqlDialect().supportsBatchMode() && this.sqlgGraph.tx().isInBatchMode() &&
+        if ((isNotFullyLoaded() && !this.sqlgGraph.tx().isInBatchMode()) ||
+                (isNotFullyLoaded() && this.sqlgGraph.getSqlDialect().supportsBatchMode() && this.sqlgGraph.tx().isInBatchMode() &&
                         !this.sqlgGraph.tx().getBatchManager().vertexIsCached(this))) {
 
             if (this.sqlgGraph.getSqlDialect().supportsBatchMode() && this.sqlgGraph.tx().isOpen() && this.sqlgGraph.tx().getBatchManager().isStreaming()) {
                 throw new IllegalStateException("streaming is in progress, first flush or commit before querying.");
             }
+            if (this.sqlgGraph.tx().loadFromPropertyCache(this)) {
+                fullyLoaded();
+                return;
+            }
+            long propertyCacheSequence = this.sqlgGraph.tx().propertyCacheSequence();
 
             //Generate the columns to prevent 'ERROR: cached plan must not change result type" error'
             //This happens when the schema changes after the statement is prepared.
@@ -415,17 +436,24 @@ public class SqlgVertex extends SqlgElement implements Vertex {
             if (this.sqlgGraph.getSqlDialect().needsSemicolon()) {
                 sql.append(";");
             }
-            Connection conn = this.sqlgGraph.tx().getConnection();
             if (logger.isDebugEnabled()) {
                 logger.debug(sql.toString());
             }
-            try (PreparedStatement preparedStatement = conn.prepareStatement(sql.toString())) {
-                preparedStatement.setLong(1, this.recordId.getId());
-                ResultSet resultSet = preparedStatement.executeQuery();
-                if (resultSet.next()) {
-                    loadResultSet(resultSet);
-                } else {
-                    throw new IllegalStateException(String.format("Vertex with label %s and id %d does not exist.", new Object[]{this.schema + "." + this.table, this.recordId.getId()}));
+            try {
+                PreparedStatement preparedStatement = this.sqlgGraph.tx().prepareStatement(sql.toString());
+                try {
+                    preparedStatement.setLong(1, this.recordId.getId());
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        if (resultSet.next()) {
+                            loadResultSet(resultSet);
+                            fullyLoaded();
+                            this.sqlgGraph.tx().putInPropertyCache(this, propertyCacheSequence);
+                        } else {
+                            throw new IllegalStateException(String.format("Vertex with label %s and id %d does not exist.", new Object[]{this.schema + "." + this.table, this.recordId.getId()}));
+                        }
+                    }
+                } finally {
+                    this.sqlgGraph.tx().release(preparedStatement);
                 }
             } catch (SQLException e) {
                 throw new RuntimeException(e);
@@ -433,19 +461,9 @@ public class SqlgVertex extends SqlgElement implements Vertex {
         }
     }
 
-    //TODO optimize the if statement here to be outside the main ResultSet loop
     @Override
     public void loadResultSet(ResultSet resultSet) throws SQLException {
-        ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
-        for (int i = 1; i <= resultSetMetaData.getColumnCount(); i++) {
-            String columnName = resultSetMetaData.getColumnLabel(i);
-            if (!columnName.equals("ID")
-                    && !columnName.equals(Topology.VERTEX_SCHEMA)
-                    && !columnName.equals(VERTEX_TABLE)
-                    && !this.sqlgGraph.getSqlDialect().columnsToIgnore().contains(columnName)) {
-                loadProperty(resultSet, columnName, i);
-            }
-        }
+        ColumnDecoderPlan.of(this.sqlgGraph, getSchemaTablePrefixed(), resultSet).load(resultSet, this);
     }
 
     @Override
@@ -463,6 +481,10 @@ public class SqlgVertex extends SqlgElement implements Vertex {
         if (this.sqlgGraph.getSqlDialect().supportsBatchMode() && this.sqlgGraph.tx().getBatchManager().isStreaming()) {
             throw new IllegalStateException("streaming is in progress, first flush or commit before querying.");
         }
+        AdjacencyBatch adjacencyBatch = adjacencyBatch();
+        if (adjacencyBatch != null) {
+            return adjacencyBatch.adjacent(this, false, direction, edgeLabels);
+        }
         // need topology when we're a topology vertex
         GraphTraversalSource gts = Topology.SQLG_SCHEMA.equals(schema) ?
                 this.sqlgGraph.topology()
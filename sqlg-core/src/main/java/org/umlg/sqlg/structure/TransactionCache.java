@@ -2,8 +2,7 @@ package org.umlg.sqlg.structure;
 
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.*;
 
 /**
  * A transaction scoped cache.
@@ -15,8 +14,22 @@ class TransactionCache {
     private Connection connection;
     private Map<ElementPropertyRollback, Object> elementPropertyRollbackFunctions = new WeakHashMap<>();
     private BatchManager batchManager;
-    private boolean cacheVertices = false;
-    private Map<RecordId, SqlgVertex> vertexCache = new WeakHashMap<>();
+    private final boolean cacheVertices;
+    private final boolean cacheEdges;
+    private final CacheStatistics statistics;
+    private final ElementCache<SqlgVertex> vertexCache;
+    private final ElementCache<SqlgEdge> edgeCache;
+    //The elements written to, they are invalidated in the graph's PropertyCache when the transaction ends.
+    private final Set<RecordId> written = new HashSet<>();
+    //true once the transaction wrote anything.
+    private boolean dirty = false;
+    //true if the transaction wrote without going through the elements, i.e. batch mode or drop steps.
+    private boolean bulkWritten = false;
+    //true if the transaction wrote on its connection other than by flushing the batch manager's caches.
+    private boolean writtenOnConnection = false;
+    private AdjacencyBatch adjacencyBatch;
+    //true if property updates are buffered in the batch manager's property caches outside of batch mode.
+    private boolean writeBehind = false;
 
     /**
      * are query result processed lazily or not?
@@ -29,32 +42,31 @@ class TransactionCache {
     private Integer fetchSize = null;
     
 
-	static TransactionCache of(boolean cacheVertices, Connection connection, BatchManager batchManager,boolean lazyQueries) {
-        return new TransactionCache(cacheVertices, connection, batchManager,lazyQueries);
+    static TransactionCache of(boolean cacheVertices, boolean cacheEdges, int cacheSize, CacheStatistics statistics, Connection connection, BatchManager batchManager, boolean lazyQueries) {
+        return new TransactionCache(cacheVertices, cacheEdges, cacheSize, statistics, connection, batchManager, lazyQueries);
     }
 
-    static TransactionCache of(boolean cacheVertices, Connection connection,boolean lazyQueries) {
-        return new TransactionCache(cacheVertices, connection, lazyQueries);
+    static TransactionCache of(boolean cacheVertices, boolean cacheEdges, int cacheSize, CacheStatistics statistics, Connection connection, boolean lazyQueries) {
+        return new TransactionCache(cacheVertices, cacheEdges, cacheSize, statistics, connection, null, lazyQueries);
     }
 
     private TransactionCache(
             boolean cacheVertices,
+            boolean cacheEdges,
+            int cacheSize,
+            CacheStatistics statistics,
             Connection connection,
+            BatchManager batchManager,
             boolean lazyQueries) {
 
         this.cacheVertices = cacheVertices;
+        this.cacheEdges = cacheEdges;
+        this.statistics = statistics;
+        this.vertexCache = new ElementCache<>(cacheSize, statistics);
+        this.edgeCache = new ElementCache<>(cacheSize, statistics);
         this.connection = connection;
-        this.lazyQueries = lazyQueries;
-    }
-
-    private TransactionCache(
-            boolean cacheVertices,
-            Connection connection,
-            BatchManager batchManager,
-            boolean lazyQueries) {
-
-	    this(cacheVertices, connection, lazyQueries);
         this.batchManager = batchManager;
+        this.lazyQueries = lazyQueries;
     }
 
     Connection getConnection() {
@@ -74,9 +86,8 @@ class TransactionCache {
         if (this.batchManager != null) {
             this.batchManager.clear();
         }
-        if (this.cacheVertices) {
-            this.vertexCache.clear();
-        }
+        this.vertexCache.clear();
+        this.edgeCache.clear();
         try {
             this.connection.close();
         } catch (SQLException e) {
@@ -85,61 +96,150 @@ class TransactionCache {
     }
 
     /**
-     * The recordId is not referenced in the SqlgVertex.
-     * It is important that the value of the WeakHashMap does not reference the key.
-     *
-     * @param sqlgGraph The graph
      * @return the vertex. If cacheVertices is true and the vertex is cached then the cached vertex will be returned else
      * a the vertex will be instantiated.
-     *
      */
     SqlgVertex putVertexIfAbsent(SqlgGraph sqlgGraph, String schema, String table, Long id) {
-        RecordId recordId = RecordId.from(SchemaTable.of(schema, table), id);
-        SqlgVertex sqlgVertex;
         if (this.cacheVertices) {
-            sqlgVertex = this.vertexCache.get(recordId);
+            RecordId recordId = RecordId.from(SchemaTable.of(schema, table), id);
+            SqlgVertex sqlgVertex = this.vertexCache.get(recordId);
             if (sqlgVertex == null) {
+                this.statistics.misses.incrementAndGet();
                 sqlgVertex = new SqlgVertex(sqlgGraph, id, schema, table);
                 this.vertexCache.put(recordId, sqlgVertex);
-                return sqlgVertex;
+            } else {
+                this.statistics.hits.incrementAndGet();
             }
+            return loaded(sqlgVertex);
         } else {
-            sqlgVertex = new SqlgVertex(sqlgGraph, id, schema, table);
+            return loaded(new SqlgVertex(sqlgGraph, id, schema, table));
         }
-        return sqlgVertex;
     }
 
     SqlgVertex putVertexIfAbsent(SqlgVertex sqlgVertex) {
-        RecordId vertexRecordId = (RecordId)sqlgVertex.id();
-        SqlgVertex sqlgVertexFromCache;
         if (this.cacheVertices) {
-            sqlgVertexFromCache = this.vertexCache.get(vertexRecordId);
+            RecordId recordId = (RecordId) sqlgVertex.id();
+            SqlgVertex sqlgVertexFromCache = this.vertexCache.get(recordId);
             if (sqlgVertexFromCache == null) {
-                //copy the RecordId so that the WeakHashMap value does not reference the key
-                SchemaTable schemaTable = vertexRecordId.getSchemaTable();
-                RecordId recordId = RecordId.from(SchemaTable.of(schemaTable.getSchema(), schemaTable.getTable()), vertexRecordId.getId());
+                this.statistics.misses.incrementAndGet();
                 this.vertexCache.put(recordId, sqlgVertex);
-                return sqlgVertex;
+                return loaded(sqlgVertex);
             } else {
-                return sqlgVertexFromCache;
+                this.statistics.hits.incrementAndGet();
+                return loaded(sqlgVertexFromCache);
             }
-
         } else {
-            return sqlgVertex;
+            return loaded(sqlgVertex);
         }
     }
 
+    private SqlgVertex loaded(SqlgVertex sqlgVertex) {
+        if (this.adjacencyBatch != null) {
+            this.adjacencyBatch.register(sqlgVertex);
+        }
+        return sqlgVertex;
+    }
+
     void add(SqlgVertex sqlgVertex) {
-        RecordId vertexRecordId = (RecordId) sqlgVertex.id();
-        if (this.vertexCache.containsKey(vertexRecordId)) {
+        RecordId recordId = (RecordId) sqlgVertex.id();
+        if (this.vertexCache.containsKey(recordId)) {
             throw new IllegalStateException("The vertex cache should never already contain a new vertex!");
-        } else {
-            SchemaTable schemaTable = vertexRecordId.getSchemaTable();
-            RecordId recordId = RecordId.from(SchemaTable.of(schemaTable.getSchema(), schemaTable.getTable()), vertexRecordId.getId());
+        } else if (this.cacheVertices) {
             this.vertexCache.put(recordId, sqlgVertex);
         }
     }
-    
+
+    /**
+     * @return the edge. If cacheEdges is true and the edge is cached then the cached edge will be returned else
+     * the edge will be instantiated.
+     */
+    SqlgEdge putEdgeIfAbsent(SqlgGraph sqlgGraph, String schema, String table, Long id) {
+        if (this.cacheEdges) {
+            RecordId recordId = RecordId.from(SchemaTable.of(schema, table), id);
+            SqlgEdge sqlgEdge = this.edgeCache.get(recordId);
+            if (sqlgEdge == null) {
+                this.statistics.misses.incrementAndGet();
+                sqlgEdge = new SqlgEdge(sqlgGraph, id, schema, table);
+                this.edgeCache.put(recordId, sqlgEdge);
+            } else {
+                this.statistics.hits.incrementAndGet();
+            }
+            return sqlgEdge;
+        } else {
+            return new SqlgEdge(sqlgGraph, id, schema, table);
+        }
+    }
+
+    void add(SqlgEdge sqlgEdge) {
+        if (this.cacheEdges) {
+            this.edgeCache.put((RecordId) sqlgEdge.id(), sqlgEdge);
+        }
+        if (this.adjacencyBatch != null) {
+            this.adjacencyBatch.edgeWritten(sqlgEdge.loadedOutVertexId(), sqlgEdge.loadedInVertexId());
+        }
+    }
+
+    /**
+     * @param trackWritten false if the graph's PropertyCache is disabled, there is nothing to invalidate then.
+     */
+    void written(SqlgElement sqlgElement, boolean trackWritten) {
+        this.dirty = true;
+        if (trackWritten && sqlgElement.id() != null) {
+            this.written.add((RecordId) sqlgElement.id());
+        }
+        if (this.adjacencyBatch != null && sqlgElement.removed) {
+            if (sqlgElement instanceof SqlgEdge) {
+                this.adjacencyBatch.edgeWritten(((SqlgEdge) sqlgElement).loadedOutVertexId(), ((SqlgEdge) sqlgElement).loadedInVertexId());
+            } else {
+                this.adjacencyBatch.clear();
+            }
+        }
+    }
+
+    void bulkWritten() {
+        this.dirty = true;
+        this.bulkWritten = true;
+        if (this.adjacencyBatch != null) {
+            this.adjacencyBatch.clear();
+        }
+    }
+
+    AdjacencyBatch getAdjacencyBatch() {
+        return this.adjacencyBatch;
+    }
+
+    void setAdjacencyBatch(AdjacencyBatch adjacencyBatch) {
+        this.adjacencyBatch = adjacencyBatch;
+    }
+
+    boolean isWriteBehind() {
+        return this.writeBehind;
+    }
+
+    void setWriteBehind(boolean writeBehind) {
+        this.writeBehind = writeBehind;
+    }
+
+    void writtenOnConnection() {
+        this.writtenOnConnection = true;
+    }
+
+    boolean isWrittenOnConnection() {
+        return this.writtenOnConnection;
+    }
+
+    boolean isDirty() {
+        return this.dirty;
+    }
+
+    boolean isBulkWritten() {
+        return this.bulkWritten;
+    }
+
+    Set<RecordId> getWritten() {
+        return this.written;
+    }
+
     /**
      * are we reading the SQL query results laszily?
      * @return true if we are processing the results lazily, false otherwise
@@ -29,6 +29,8 @@ public class C3p0DataSourceFactory implements SqlgDataSourceFactory {
 //        comboPooledDataSource.setMinPoolSize(1);
 //        comboPooledDataSource.setMaxPoolSize(1);
         comboPooledDataSource.setMaxIdleTime(configuration.getInt("maxIdleTime", 3600));
+        //sqlg keeps its own statement cache per physical connection, see statement.cache.size.
+        comboPooledDataSource.setMaxStatementsPerConnection(configuration.getInt("maxStatementsPerConnection", 0));
         comboPooledDataSource.setForceUseNamedDriverClass(true);
         if (!StringUtils.isEmpty(username)) {
             comboPooledDataSource.setUser(username);
@@ -22,6 +22,7 @@ import java.sql.Statement;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -57,7 +58,11 @@ public class Topology {
     //The maps are only updated during afterCommit.
     //afterCommit locks access to the map
     //allTableCache, schemaTableForeignKeyCache, edgeForeignKeyCache, metaSchemas and schemas are protected by the topologyMapLock.
+    //Only threads holding the topologySqlWriteLock or the topologyMapLock's write lock read them,
+    //all other threads read the committedSnapshot.
     private ReentrantReadWriteLock topologyMapLock;
+    //An immutable copy of the committed topology maps. Republished whenever they change so that readers never lock or copy.
+    private volatile Snapshot committedSnapshot;
 
     private Map<String, Map<String, PropertyType>> allTableCache = new HashMap<>();
     //This cache is needed as to much time is taken building it on the fly.
@@ -89,6 +94,10 @@ public class Topology {
 
     private static final int LOCK_TIMEOUT = 2;
 
+    //Incremented on every change to the topology, committed, uncommitted, rolled back or notified.
+    //Caches derived from the topology use it to detect that they are stale.
+    private final AtomicLong version = new AtomicLong();
+
     @SuppressWarnings("WeakerAccess")
     public static final String CREATED_ON = "createdOn";
 
@@ -361,6 +370,7 @@ public class Topology {
         });
 
         this.edgeForeignKeyCache = sqlgSchema.getAllEdgeForeignKeys();
+        publishSnapshot();
 
         if (this.distributed) {
             ((SqlSchemaChangeDialect) this.sqlgGraph.getSqlDialect()).registerListener(sqlgGraph);
@@ -493,7 +503,7 @@ public class Topology {
     /**
      * @return true if the current thread owns the sql write lock.
      */
-    boolean isSqlWriteLockHeldByCurrentThread() {
+    public boolean isSqlWriteLockHeldByCurrentThread() {
         return this.topologySqlWriteLock.isHeldByCurrentThread();
     }
 
@@ -501,6 +511,13 @@ public class Topology {
         return this.topologyMapLock.writeLock().isHeldByCurrentThread();
     }
 
+    /**
+     * @return true if the current thread is not changing the topology and only needs to see the committed snapshot.
+     */
+    private boolean readsCommittedSnapshot() {
+        return !isSqlWriteLockHeldByCurrentThread() && !isTopologyMapWriteLockHeldByCurrentThread();
+    }
+
     /**
      * Ensures that the schema exists.
      *
@@ -764,6 +781,7 @@ public class Topology {
         if (this.isSqlWriteLockHeldByCurrentThread()) {
             z_internalTopologyMapWriteLock();
             try {
+                this.version.incrementAndGet();
                 getPublicSchema().removeTemporaryTables();
                 for (Iterator<Map.Entry<String, Schema>> it = this.uncommittedSchemas.entrySet().iterator(); it.hasNext(); ) {
                     Map.Entry<String, Schema> entry = it.next();
@@ -807,6 +825,7 @@ public class Topology {
                 for (Schema schema : this.schemas.values()) {
                     schema.afterCommit();
                 }
+                publishSnapshot();
             } finally {
                 z_internalInternalTopologyMapWriteUnLock();
                 z_internalSqlWriteUnlock();
@@ -816,6 +835,7 @@ public class Topology {
 
     private void afterRollback() {
         if (this.isSqlWriteLockHeldByCurrentThread()) {
+            this.version.incrementAndGet();
             getPublicSchema().removeTemporaryTables();
             for (Iterator<Map.Entry<String, Schema>> it = this.uncommittedSchemas.entrySet().iterator(); it.hasNext(); ) {
                 Map.Entry<String, Schema> entry = it.next();
@@ -956,6 +976,7 @@ public class Topology {
         this.schemaTableForeignKeyCache.putAll(loadTableLabels());
         //populate the edgeForeignKey cache
         this.edgeForeignKeyCache.putAll(loadAllEdgeForeignKeys());
+        publishSnapshot();
     }
 
     public void validateTopology() {
@@ -1140,6 +1161,8 @@ public class Topology {
             }
 
             this.notificationTimestamps.add(timestamp);
+            this.version.incrementAndGet();
+            publishSnapshot();
         } finally {
             z_internalInternalTopologyMapWriteUnLock();
 
@@ -1191,6 +1214,9 @@ public class Topology {
     }
 
     public Set<Schema> getSchemas() {
+        if (readsCommittedSnapshot()) {
+            return this.committedSnapshot.schemaSet;
+        }
         z_internalTopologyMapReadLock();
         try {
             Set<Schema> result = new HashSet<>();
@@ -1227,6 +1253,13 @@ public class Topology {
     }
 
     public Optional<Schema> getSchema(String schema) {
+        if (readsCommittedSnapshot()) {
+            Schema result = this.committedSnapshot.schemas.get(schema);
+            if (result == null) {
+                result = this.metaSchemas.get(schema);
+            }
+            return Optional.ofNullable(result);
+        }
         if (isSqlWriteLockHeldByCurrentThread() && this.uncommittedRemovedSchemas.contains(schema)) {
             return Optional.empty();
         }
@@ -1347,6 +1380,10 @@ public class Topology {
      * @return
      */
     public Map<String, Map<String, PropertyType>> getAllTables(boolean withSqlgSchema) {
+        if (readsCommittedSnapshot()) {
+            Snapshot snapshot = this.committedSnapshot;
+            return withSqlgSchema ? snapshot.allTables : snapshot.allTablesWithoutSqlgSchema;
+        }
         z_internalTopologyMapReadLock();
         try {
             //Need to make a copy so as not to corrupt the allTableCache with uncommitted schema elements
@@ -1466,6 +1503,9 @@ public class Topology {
     }
 
     public Map<SchemaTable, Pair<Set<SchemaTable>, Set<SchemaTable>>> getTableLabels() {
+        if (readsCommittedSnapshot()) {
+            return this.committedSnapshot.tableLabels;
+        }
         z_internalTopologyMapReadLock();
         try {
             if (this.isSqlWriteLockHeldByCurrentThread()) {
@@ -1513,6 +1553,9 @@ public class Topology {
     }
 
     public Map<String, Set<String>> getAllEdgeForeignKeys() {
+        if (readsCommittedSnapshot()) {
+            return this.committedSnapshot.edgeForeignKeys;
+        }
         z_internalTopologyMapReadLock();
         try {
             if (this.isSqlWriteLockHeldByCurrentThread()) {
@@ -1673,11 +1716,35 @@ public class Topology {
         this.uncommittedGlobalUniqueIndexes.add(globalUniqueIndex);
     }*/
 
+    /**
+     * Publishes an immutable copy of the committed topology maps.
+     * Called whenever the committed maps change, i.e. on construction, {@link Topology#cacheTopology()},
+     * {@link Topology#afterCommit()} and {@link Topology#fromNotifyJson(LocalDateTime, ObjectNode)}.
+     */
+    private void publishSnapshot() {
+        this.committedSnapshot = new Snapshot(this.version.get(), this.schemas, this.allTableCache, this.schemaTableForeignKeyCache, this.edgeForeignKeyCache);
+    }
+
+    /**
+     * @return the version of the committed topology that threads not changing the topology see.
+     */
+    public long getCommittedVersion() {
+        return this.committedSnapshot.version;
+    }
+
+    /**
+     * @return the topology's version. It changes whenever the topology changes.
+     */
+    public long getVersion() {
+        return this.version.get();
+    }
+
     public void registerListener(TopologyListener topologyListener) {
         this.topologyListeners.add(topologyListener);
     }
 
     void fire(TopologyInf topologyInf, String oldValue, TopologyChangeAction action) {
+        this.version.incrementAndGet();
         for (TopologyListener topologyListener : this.topologyListeners) {
             topologyListener.change(topologyInf, oldValue, action);
         }
@@ -1722,6 +1789,55 @@ public class Topology {
         }
     }
 
+    /**
+     * The committed topology maps as seen by all threads that do not hold the sql write lock.
+     * Never modified after construction, a new snapshot replaces it instead.
+     */
+    private static final class Snapshot {
+
+        private final long version;
+        private final Map<String, Schema> schemas;
+        private final Set<Schema> schemaSet;
+        private final Map<String, Map<String, PropertyType>> allTables;
+        private final Map<String, Map<String, PropertyType>> allTablesWithoutSqlgSchema;
+        private final Map<SchemaTable, Pair<Set<SchemaTable>, Set<SchemaTable>>> tableLabels;
+        private final Map<String, Set<String>> edgeForeignKeys;
+
+        private Snapshot(
+                long version,
+                Map<String, Schema> schemas,
+                Map<String, Map<String, PropertyType>> allTables,
+                Map<SchemaTable, Pair<Set<SchemaTable>, Set<SchemaTable>>> tableLabels,
+                Map<String, Set<String>> edgeForeignKeys) {
+
+            this.version = version;
+            this.schemas = Collections.unmodifiableMap(new HashMap<>(schemas));
+            this.schemaSet = Collections.unmodifiableSet(new HashSet<>(schemas.values()));
+            Map<String, Map<String, PropertyType>> tables = new HashMap<>();
+            for (Map.Entry<String, Map<String, PropertyType>> entry : allTables.entrySet()) {
+                tables.put(entry.getKey(), Collections.unmodifiableMap(new HashMap<>(entry.getValue())));
+            }
+            this.allTables = Collections.unmodifiableMap(tables);
+            Map<String, Map<String, PropertyType>> tablesWithoutSqlgSchema = new HashMap<>(tables);
+            for (String sqlgSchemaSchemaTable : SQLG_SCHEMA_SCHEMA_TABLES) {
+                tablesWithoutSqlgSchema.remove(sqlgSchemaSchemaTable);
+            }
+            this.allTablesWithoutSqlgSchema = Collections.unmodifiableMap(tablesWithoutSqlgSchema);
+            Map<SchemaTable, Pair<Set<SchemaTable>, Set<SchemaTable>>> labels = new HashMap<>();
+            for (Map.Entry<SchemaTable, Pair<Set<SchemaTable>, Set<SchemaTable>>> entry : tableLabels.entrySet()) {
+                labels.put(entry.getKey(), Pair.of(
+                        Collections.unmodifiableSet(new HashSet<>(entry.getValue().getLeft())),
+                        Collections.unmodifiableSet(new HashSet<>(entry.getValue().getRight()))));
+            }
+            this.tableLabels = Collections.unmodifiableMap(labels);
+            Map<String, Set<String>> foreignKeys = new HashMap<>();
+            for (Map.Entry<String, Set<String>> entry : edgeForeignKeys.entrySet()) {
+                foreignKeys.put(entry.getKey(), Collections.unmodifiableSet(new HashSet<>(entry.getValue())));
+            }
+            this.edgeForeignKeys = Collections.unmodifiableMap(foreignKeys);
+        }
+    }
+
     public static class TopologyValidationError {
         private TopologyInf error;
 
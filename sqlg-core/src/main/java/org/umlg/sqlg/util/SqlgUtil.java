@@ -191,7 +191,7 @@ public class SqlgUtil {
                         sqlgElement = (E) SqlgVertex.of(sqlgGraph, id, schemaTableTree.getSchemaTable().getSchema(), rawLabel);
                     } else {
                         String rawLabel = schemaTableTree.getSchemaTable().getTable().substring(EDGE_PREFIX.length());
-                        sqlgElement = (E) new SqlgEdge(sqlgGraph, id, schemaTableTree.getSchemaTable().getSchema(), rawLabel);
+                        sqlgElement = (E) SqlgEdge.of(sqlgGraph, id, schemaTableTree.getSchemaTable().getSchema(), rawLabel);
                     }
                     schemaTableTree.loadProperty(resultSet, sqlgElement);
 
@@ -241,7 +241,7 @@ public class SqlgUtil {
             sqlgElement = SqlgVertex.of(sqlgGraph, id, schemaTable.getSchema(), rawLabel);
         } else {
             String rawLabel = schemaTable.getTable().substring(EDGE_PREFIX.length());
-            sqlgElement = new SqlgEdge(sqlgGraph, id, schemaTable.getSchema(), rawLabel);
+            sqlgElement = SqlgEdge.of(sqlgGraph, id, schemaTable.getSchema(), rawLabel);
         }
         leafSchemaTableTree.loadProperty(resultSet, sqlgElement);
         return (E) sqlgElement;
@@ -257,11 +257,62 @@ public class SqlgUtil {
         return p == Contains.within && ((Collection) hasContainer.getPredicate().getValue()).size() > sqlgGraph.configuration().getInt("bulk.within.count", BULK_WITHIN_COUNT);
     }
 
+    /**
+     * A bulk within or without is bound as one array parameter if the dialect supports it and all the values are of the
+     * same type that the array can hold.
+     */
+    public static boolean isBulkWithinArray(SqlgGraph sqlgGraph, HasContainer hasContainer) {
+        return sqlgGraph.getSqlDialect().supportsBulkWithinArrayParameter() &&
+                isBulkWithinAndOut(sqlgGraph, hasContainer) &&
+                bulkWithinArray(hasContainer) != null;
+    }
+
+    /**
+     * @return the distinct values of the bulk within or without as a typed array, i.e. Long[] for ids,
+     * null if they are not all of the same type or of a type the array parameter does not support.
+     */
+    public static Object[] bulkWithinArray(HasContainer hasContainer) {
+        Collection<?> values = (Collection<?>) hasContainer.getPredicate().getValue();
+        Set<Object> distinctValues = new LinkedHashSet<>();
+        Class<?> valueClass = null;
+        for (Object value : values) {
+            if (hasContainer.getKey().equals(T.id.getAccessor())) {
+                if (value instanceof RecordId) {
+                    value = ((RecordId) value).getId();
+                } else if (!(value instanceof Long)) {
+                    value = RecordId.from(value).getId();
+                }
+            }
+            if (value == null || (valueClass != null && valueClass != value.getClass())) {
+                return null;
+            }
+            valueClass = value.getClass();
+            distinctValues.add(value);
+        }
+        if (valueClass == Long.class) {
+            return distinctValues.toArray(new Long[distinctValues.size()]);
+        } else if (valueClass == Integer.class) {
+            return distinctValues.toArray(new Integer[distinctValues.size()]);
+        } else if (valueClass == Short.class) {
+            return distinctValues.toArray(new Short[distinctValues.size()]);
+        } else if (valueClass == Double.class) {
+            return distinctValues.toArray(new Double[distinctValues.size()]);
+        } else if (valueClass == Float.class) {
+            return distinctValues.toArray(new Float[distinctValues.size()]);
+        } else if (valueClass == String.class) {
+            return distinctValues.toArray(new String[distinctValues.size()]);
+        } else {
+            return null;
+        }
+    }
+
     public static void setParametersOnStatement(SqlgGraph sqlgGraph, LinkedList<SchemaTableTree> schemaTableTreeStack, PreparedStatement preparedStatement, int parameterIndex) throws SQLException {
         Multimap<String, Object> keyValueMap = LinkedListMultimap.create();
         for (SchemaTableTree schemaTableTree : schemaTableTreeStack) {
             for (HasContainer hasContainer : schemaTableTree.getHasContainers()) {
-                if (!sqlgGraph.getSqlDialect().supportsBulkWithinOut() || !isBulkWithinAndOut(sqlgGraph, hasContainer)) {
+                if (isBulkWithinArray(sqlgGraph, hasContainer)) {
+                    keyValueMap.put(hasContainer.getKey().equals(T.id.getAccessor()) ? "ID" : hasContainer.getKey(), bulkWithinArray(hasContainer));
+                } else if (!sqlgGraph.getSqlDialect().supportsBulkWithinOut() || !isBulkWithinAndOut(sqlgGraph, hasContainer)) {
                     WhereClause whereClause = WhereClause.from(hasContainer.getPredicate());
                     whereClause.putKeyValueMap(hasContainer, keyValueMap);
                 }
@@ -692,6 +743,9 @@ public class SqlgUtil {
             if (key.equals(T.id.getAccessor()) || "ID".equals(key)) {
                 if (value instanceof Long) {
                     result.add(ImmutablePair.of(PropertyType.LONG, (Long) value));
+                } else if (value instanceof Long[]) {
+                    //a bulk within's ids
+                    result.add(ImmutablePair.of(PropertyType.LONG_ARRAY, value));
                 } else {
                     RecordId id;
                     if (!(value instanceof RecordId)) {
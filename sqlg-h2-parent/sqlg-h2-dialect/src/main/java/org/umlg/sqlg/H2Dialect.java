@@ -773,4 +773,9 @@ public class H2Dialect extends BaseSqlDialect {
     public String sqlToTurnOnReferentialConstraintCheck(String tableName) {
         return "SET REFERENTIAL_INTEGRITY TRUE";
     }
+
+    @Override
+    public boolean supportsGroupByString() {
+        return true;
+    }
 }
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Preconditions;
 import org.apache.commons.lang3.tuple.Triple;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.hsqldb.jdbc.JDBCArrayBasic;
 import org.hsqldb.lib.StringConverter;
@@ -727,6 +728,16 @@ public class HsqldbDialect extends BaseSqlDialect implements SqlBulkDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsBulkWithinArrayParameter() {
+        return true;
+    }
+
+    @Override
+    public String bulkWithinArrayParameterSql(Contains contains) {
+        return contains == Contains.within ? " IN (UNNEST(?))" : " NOT IN (UNNEST(?))";
+    }
+
     @Override
     public String createTemporaryTableStatement() {
         return "DECLARE LOCAL TEMPORARY TABLE ";
@@ -995,6 +1006,11 @@ public class HsqldbDialect extends BaseSqlDialect implements SqlBulkDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsRecursiveQueries() {
+        return true;
+    }
+
     @Override
     public String sqlToTurnOffReferentialConstraintCheck(String tableName) {
         return "SET DATABASE REFERENTIAL INTEGRITY FALSE";
@@ -78,6 +78,11 @@ public class MariadbDialect extends BaseSqlDialect {
         return " VALUES ()";
     }
 
+    @Override
+    public boolean supportsMultiRowInsertGeneratedKeys() {
+        return true;
+    }
+
     @Override
     public List<Triple<String, String, String>> getVertexTables(DatabaseMetaData metaData) {
         List<Triple<String, String, String>> vertexTables = new ArrayList<>();
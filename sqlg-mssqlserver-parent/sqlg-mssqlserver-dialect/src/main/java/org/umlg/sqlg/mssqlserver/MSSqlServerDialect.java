@@ -1087,6 +1087,11 @@ public class MSSqlServerDialect extends BaseSqlDialect {
         return sqls;
     }
 
+    @Override
+    public boolean supportReturningDeletedRows() {
+        return true;
+    }
+
     @Override
     public String dropWithForeignKey(boolean out, EdgeLabel edgeLabel, VertexLabel vertexLabel, Collection<Long> ids, boolean mutatingCallbacks) {
         StringBuilder sql = new StringBuilder();
@@ -1095,8 +1100,7 @@ public class MSSqlServerDialect extends BaseSqlDialect {
         sql.append(".");
         sql.append(maybeWrapInQoutes(Topology.EDGE_PREFIX + edgeLabel.getName()));
         if (mutatingCallbacks) {
-            sql.append("\nOUTPUT DELETED.");
-            sql.append(maybeWrapInQoutes("ID"));
+            sql.append("\nOUTPUT DELETED.*");
         }
         sql.append(" WHERE ");
         sql.append(maybeWrapInQoutes(
@@ -0,0 +1,348 @@
+package org.umlg.sqlg.sql.dialect;
+
+import com.google.common.base.Preconditions;
+import org.umlg.sqlg.structure.PropertyType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.umlg.sqlg.structure.PropertyType.*;
+
+/**
+ * Writes rows in postgresql's binary copy format, i.e. for 'COPY ... FROM stdin (FORMAT binary)'.
+ * <p>
+ * Values are encoded from their java type straight into a buffer that is written to the copy stream when full,
+ * there is no intermediate String per value.
+ * It is a {@link Writer} so that it fits the streaming batch mode api, only the typed methods may be used.
+ * Date: 2026/10/18
+ */
+class PostgresBinaryCopyWriter extends Writer {
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final int BUFFER_SIZE = 64 * 1024;
+    //postgres counts dates and timestamps from 2000-01-01
+    private static final long POSTGRES_EPOCH_DAY = LocalDate.of(2000, 1, 1).toEpochDay();
+    private static final long POSTGRES_EPOCH_SECOND = LocalDate.of(2000, 1, 1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+
+    private static final int BOOL_OID = 16;
+    private static final int INT8_OID = 20;
+    private static final int INT2_OID = 21;
+    private static final int INT4_OID = 23;
+    private static final int TEXT_OID = 25;
+    private static final int FLOAT4_OID = 700;
+    private static final int FLOAT8_OID = 701;
+    private static final int DATE_OID = 1082;
+    private static final int TIMESTAMPTZ_OID = 1184;
+
+    //The types that map to a single column with a binary representation written here.
+    private static final Set<PropertyType> SUPPORTED = EnumSet.of(
+            BOOLEAN, SHORT, INTEGER, LONG, FLOAT, DOUBLE, STRING, LOCALDATE, LOCALDATETIME,
+            byte_ARRAY, BYTE_ARRAY,
+            boolean_ARRAY, BOOLEAN_ARRAY, short_ARRAY, SHORT_ARRAY, int_ARRAY, INTEGER_ARRAY, long_ARRAY, LONG_ARRAY,
+            float_ARRAY, FLOAT_ARRAY, double_ARRAY, DOUBLE_ARRAY, STRING_ARRAY, LOCALDATE_ARRAY, LOCALDATETIME_ARRAY
+    );
+
+    private final OutputStream out;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    //LOCALDATETIME is stored as a 'TIMESTAMP WITH TIME ZONE', the text format leaves it to the session's time zone,
+    //which the jdbc driver sets to the jvm's.
+    private final ZoneId zoneId = ZoneId.systemDefault();
+    //the column types of the label that is streamed to, columns not in it are written as their value's java type.
+    private Map<String, PropertyType> propertyTypeMap = Collections.emptyMap();
+
+    PostgresBinaryCopyWriter(OutputStream out) {
+        this.out = out;
+        this.buffer.put(SIGNATURE);
+        //flags and header extension length
+        this.buffer.putInt(0);
+        this.buffer.putInt(0);
+    }
+
+    /**
+     * @return true if every one of the propertyTypes can be written in the binary format.
+     */
+    static boolean supports(Iterable<PropertyType> propertyTypes) {
+        for (PropertyType propertyType : propertyTypes) {
+            if (propertyType == null || !SUPPORTED.contains(propertyType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    Map<String, PropertyType> getPropertyTypeMap() {
+        return this.propertyTypeMap;
+    }
+
+    void setPropertyTypeMap(Map<String, PropertyType> propertyTypeMap) {
+        this.propertyTypeMap = propertyTypeMap;
+    }
+
+    void startRow(int columnCount) throws IOException {
+        ensure(2);
+        this.buffer.putShort((short) columnCount);
+    }
+
+    /**
+     * Writes the value as the column's type, numbers are converted to the column's width.
+     */
+    void write(PropertyType columnType, Object value) throws IOException {
+        if (value == null) {
+            ensure(4);
+            this.buffer.putInt(-1);
+            return;
+        }
+        Preconditions.checkArgument(SUPPORTED.contains(columnType), "binary copy does not support %s", columnType.name());
+        switch (columnType) {
+            case BOOLEAN:
+                ensure(5);
+                this.buffer.putInt(1).put((byte) ((Boolean) value ? 1 : 0));
+                break;
+            case SHORT:
+                ensure(6);
+                this.buffer.putInt(2).putShort(((Number) value).shortValue());
+                break;
+            case INTEGER:
+                ensure(8);
+                this.buffer.putInt(4).putInt(((Number) value).intValue());
+                break;
+            case LONG:
+                ensure(12);
+                this.buffer.putInt(8).putLong(((Number) value).longValue());
+                break;
+            case FLOAT:
+                ensure(8);
+                this.buffer.putInt(4).putFloat(((Number) value).floatValue());
+                break;
+            case DOUBLE:
+                ensure(12);
+                this.buffer.putInt(8).putDouble(((Number) value).doubleValue());
+                break;
+            case STRING:
+                writeBytes(((String) value).getBytes(StandardCharsets.UTF_8));
+                break;
+            case LOCALDATE:
+                ensure(8);
+                this.buffer.putInt(4).putInt(toPostgresDate((LocalDate) value));
+                break;
+            case LOCALDATETIME:
+                ensure(12);
+                this.buffer.putInt(8).putLong(toPostgresTimestamp((LocalDateTime) value));
+                break;
+            case byte_ARRAY:
+                writeBytes((byte[]) value);
+                break;
+            case BYTE_ARRAY:
+                Byte[] bytes = (Byte[]) value;
+                ensure(4);
+                this.buffer.putInt(bytes.length);
+                for (Byte b : bytes) {
+                    ensure(1);
+                    this.buffer.put(b);
+                }
+                break;
+            case boolean_ARRAY:
+                boolean[] booleans = (boolean[]) value;
+                startArray(BOOL_OID, booleans.length, booleans.length * 5, false);
+                for (boolean b : booleans) {
+                    ensure(5);
+                    this.buffer.putInt(1).put((byte) (b ? 1 : 0));
+                }
+                break;
+            case short_ARRAY:
+                short[] shorts = (short[]) value;
+                startArray(INT2_OID, shorts.length, shorts.length * 6, false);
+                for (short s : shorts) {
+                    ensure(6);
+                    this.buffer.putInt(2).putShort(s);
+                }
+                break;
+            case int_ARRAY:
+                int[] ints = (int[]) value;
+                startArray(INT4_OID, ints.length, ints.length * 8, false);
+                for (int i : ints) {
+                    ensure(8);
+                    this.buffer.putInt(4).putInt(i);
+                }
+                break;
+            case long_ARRAY:
+                long[] longs = (long[]) value;
+                startArray(INT8_OID, longs.length, longs.length * 12, false);
+                for (long l : longs) {
+                    ensure(12);
+                    this.buffer.putInt(8).putLong(l);
+                }
+                break;
+            case float_ARRAY:
+                float[] floats = (float[]) value;
+                startArray(FLOAT4_OID, floats.length, floats.length * 8, false);
+                for (float f : floats) {
+                    ensure(8);
+                    this.buffer.putInt(4).putFloat(f);
+                }
+                break;
+            case double_ARRAY:
+                double[] doubles = (double[]) value;
+                startArray(FLOAT8_OID, doubles.length, doubles.length * 12, false);
+                for (double d : doubles) {
+                    ensure(12);
+                    this.buffer.putInt(8).putDouble(d);
+                }
+                break;
+            case BOOLEAN_ARRAY:
+                writeFixedWidthArray(BOOL_OID, BOOLEAN, 1, (Object[]) value);
+                break;
+            case SHORT_ARRAY:
+                writeFixedWidthArray(INT2_OID, SHORT, 2, (Object[]) value);
+                break;
+            case INTEGER_ARRAY:
+                writeFixedWidthArray(INT4_OID, INTEGER, 4, (Object[]) value);
+                break;
+            case LONG_ARRAY:
+                writeFixedWidthArray(INT8_OID, LONG, 8, (Object[]) value);
+                break;
+            case FLOAT_ARRAY:
+                writeFixedWidthArray(FLOAT4_OID, FLOAT, 4, (Object[]) value);
+                break;
+            case DOUBLE_ARRAY:
+                writeFixedWidthArray(FLOAT8_OID, DOUBLE, 8, (Object[]) value);
+                break;
+            case LOCALDATE_ARRAY:
+                writeFixedWidthArray(DATE_OID, LOCALDATE, 4, (Object[]) value);
+                break;
+            case LOCALDATETIME_ARRAY:
+                writeFixedWidthArray(TIMESTAMPTZ_OID, LOCALDATETIME, 8, (Object[]) value);
+                break;
+            case STRING_ARRAY:
+                String[] strings = (String[]) value;
+                byte[][] encoded = new byte[strings.length][];
+                int size = 0;
+                boolean hasNull = false;
+                for (int i = 0; i < strings.length; i++) {
+                    if (strings[i] == null) {
+                        hasNull = true;
+                        size += 4;
+                    } else {
+                        encoded[i] = strings[i].getBytes(StandardCharsets.UTF_8);
+                        size += 4 + encoded[i].length;
+                    }
+                }
+                startArray(TEXT_OID, strings.length, size, hasNull);
+                for (byte[] element : encoded) {
+                    if (element == null) {
+                        ensure(4);
+                        this.buffer.putInt(-1);
+                    } else {
+                        writeBytes(element);
+                    }
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unhandled binary copy type " + columnType.name());
+        }
+    }
+
+    private void writeFixedWidthArray(int elementOid, PropertyType elementType, int width, Object[] values) throws IOException {
+        int size = 0;
+        boolean hasNull = false;
+        for (Object element : values) {
+            if (element == null) {
+                hasNull = true;
+                size += 4;
+            } else {
+                size += 4 + width;
+            }
+        }
+        startArray(elementOid, values.length, size, hasNull);
+        for (Object element : values) {
+            write(elementType, element);
+        }
+    }
+
+    /**
+     * Writes the field length and the array header, elementsSize is the size of all the elements with their lengths.
+     */
+    private void startArray(int elementOid, int length, int elementsSize, boolean hasNull) throws IOException {
+        ensure(24);
+        if (length == 0) {
+            this.buffer.putInt(12);
+            //no dimensions
+            this.buffer.putInt(0);
+            this.buffer.putInt(0);
+            this.buffer.putInt(elementOid);
+        } else {
+            this.buffer.putInt(20 + elementsSize);
+            this.buffer.putInt(1);
+            this.buffer.putInt(hasNull ? 1 : 0);
+            this.buffer.putInt(elementOid);
+            this.buffer.putInt(length);
+            //lower bound
+            this.buffer.putInt(1);
+        }
+    }
+
+    private int toPostgresDate(LocalDate localDate) {
+        return (int) (localDate.toEpochDay() - POSTGRES_EPOCH_DAY);
+    }
+
+    private long toPostgresTimestamp(LocalDateTime localDateTime) {
+        long epochSecond = localDateTime.atZone(this.zoneId).toEpochSecond();
+        return (epochSecond - POSTGRES_EPOCH_SECOND) * 1_000_000L + localDateTime.getNano() / 1_000;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        ensure(4);
+        this.buffer.putInt(bytes.length);
+        if (bytes.length <= this.buffer.remaining()) {
+            this.buffer.put(bytes);
+        } else {
+            //Large payloads skip the buffer.
+            drain();
+            this.out.write(bytes);
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (this.buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        if (this.buffer.position() > 0) {
+            this.out.write(this.buffer.array(), 0, this.buffer.position());
+            this.buffer.clear();
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+        throw new UnsupportedOperationException("The binary copy format only accepts typed values.");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        this.out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        ensure(2);
+        //the file trailer
+        this.buffer.putShort((short) -1);
+        drain();
+        this.out.close();
+    }
+}
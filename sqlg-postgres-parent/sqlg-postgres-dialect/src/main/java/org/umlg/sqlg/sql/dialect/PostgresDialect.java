@@ -8,6 +8,7 @@ import org.apache.commons.text.StringEscapeUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.util.tools.MultiMap;
@@ -48,6 +49,11 @@ import static org.umlg.sqlg.structure.topology.Topology.*;
 @SuppressWarnings("unused")
 public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
 
+    /**
+     * Use the binary copy format for the batch modes when all of a label's property types have a binary representation.
+     */
+    public static final String COPY_BINARY = "copy.binary";
+
     private static final String BATCH_NULL = "";
     private static final String COPY_COMMAND_DELIMITER = "\t";
     //this strange character is apparently an illegal json char so its good as a quote
@@ -56,6 +62,7 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
     private static final char ESCAPE = '\\';
     private static final int PARAMETER_LIMIT = 32767;
     private static final String COPY_DUMMY = "_copy_dummy";
+    private static final String COPY_FROM_STDIN_BINARY = " FROM stdin (FORMAT binary);";
     private PropertyType postGisType;
 
     private ScheduledFuture<?> future;
@@ -207,51 +214,62 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
     public void flushVertexCache(SqlgGraph sqlgGraph, Map<SchemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>>> vertexCache) {
         Connection con = sqlgGraph.tx().getConnection();
         for (SchemaTable schemaTable : vertexCache.keySet()) {
-            Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>> vertices = vertexCache.get(schemaTable);
-            List<Long> ids = new LinkedList<>();
-            if (!schemaTable.isTemporary()) {
-                // get all ids from sequence first
-                String sql = "SELECT NEXTVAL('" + maybeWrapInQoutes(schemaTable.getSchema()) + "." + maybeWrapInQoutes(VERTEX_PREFIX + schemaTable.getTable() + "_ID_seq") + "') from generate_series(1," + vertices.getRight().values().size() + ") ;";
-                if (logger.isDebugEnabled()) {
-                    logger.debug(sql);
-                }
-
-                try (PreparedStatement preparedStatement = con.prepareStatement(sql)) {
-                    ResultSet resultSet = preparedStatement.executeQuery();
-                    while (resultSet.next()) {
-                        ids.add(resultSet.getLong(1));
-                    }
+            flushVertexCache(sqlgGraph, con, schemaTable, vertexCache.get(schemaTable));
+        }
+    }
 
-                    resultSet.close();
-                } catch (SQLException e) {
-                    throw new RuntimeException(e);
+    @Override
+    public void flushVertexCache(SqlgGraph sqlgGraph, Connection con, SchemaTable schemaTable, Pair<SortedSet<String>, Map<SqlgVertex, Map<String, Object>>> vertices) {
+        long[] ids = new long[0];
+        if (!schemaTable.isTemporary()) {
+            //the vertices added in normal batch mode already have their ids.
+            int withoutId = 0;
+            for (SqlgVertex sqlgVertex : vertices.getRight().keySet()) {
+                if (sqlgVertex.id() == null) {
+                    withoutId++;
                 }
             }
-            Iterator<Long> it = ids.iterator();
+            if (withoutId > 0) {
+                ids = nextSequenceVals(con, schemaTable, VERTEX_PREFIX, withoutId);
+            }
+        }
+        int idIndex = 0;
 
-            String sql = internalConstructCompleteCopyCommandSqlVertex(sqlgGraph, schemaTable.isTemporary(), schemaTable.getSchema(), schemaTable.getTable(), !schemaTable.isTemporary(), vertices.getLeft());
+        String sql = internalConstructCompleteCopyCommandSqlVertex(sqlgGraph, schemaTable.isTemporary(), schemaTable.getSchema(), schemaTable.getTable(), !schemaTable.isTemporary(), vertices.getLeft());
 
-            try (Writer writer = streamSql(sqlgGraph, sql)) {
+        Map<String, PropertyType> propertyTypeMap = Collections.emptyMap();
+        if (isBinaryCopy(sql)) {
+            if (schemaTable.isTemporary()) {
+                propertyTypeMap = sqlgGraph.getTopology().getPublicSchema().getTemporaryTable(VERTEX_PREFIX + schemaTable.getTable());
+            } else {
+                propertyTypeMap = sqlgGraph.getTopology().getTableFor(schemaTable.withPrefix(VERTEX_PREFIX));
+            }
+        }
+        try (Writer writer = streamSql(con, sql)) {
 
-                for (SqlgVertex sqlgVertex : vertices.getRight().keySet()) {
-                    Map<String, Object> keyValueMap = vertices.getRight().get(sqlgVertex);
+            for (SqlgVertex sqlgVertex : vertices.getRight().keySet()) {
+                Map<String, Object> keyValueMap = vertices.getRight().get(sqlgVertex);
 
-                    //The map must contain all the keys, so make a copy with it all.
-                    LinkedHashMap<String, Object> values = new LinkedHashMap<>();
-                    if (!schemaTable.isTemporary()) {
-                        long id = it.next();
-                        sqlgVertex.setInternalPrimaryKey(RecordId.from(schemaTable, id));
-                        values.put("ID", id);
-                    }
-                    for (String key : vertices.getLeft()) {
-                        values.put(key, keyValueMap.get(key));
+                //The map must contain all the keys, so make a copy with it all.
+                LinkedHashMap<String, Object> values = new LinkedHashMap<>();
+                if (!schemaTable.isTemporary()) {
+                    if (sqlgVertex.id() == null) {
+                        sqlgVertex.setInternalPrimaryKey(RecordId.from(schemaTable, ids[idIndex++]));
                     }
+                    values.put("ID", ((RecordId) sqlgVertex.id()).getId());
+                }
+                for (String key : vertices.getLeft()) {
+                    values.put(key, keyValueMap.get(key));
+                }
 
+                if (writer instanceof PostgresBinaryCopyWriter) {
+                    writeBinaryCopyRow((PostgresBinaryCopyWriter) writer, propertyTypeMap, values);
+                } else {
                     writeStreamingVertex(writer, values);
                 }
-            } catch (IOException e) {
-                throw new RuntimeException(e);
             }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
     }
 
@@ -346,59 +364,55 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
     @Override
     public void flushEdgeCache(SqlgGraph sqlgGraph, Map<MetaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>>> edgeCache) {
         Connection con = sqlgGraph.tx().getConnection();
-        try {
-            for (MetaEdge metaEdge : edgeCache.keySet()) {
-                Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>> triples = edgeCache.get(metaEdge);
-
-                List<Long> ids = new LinkedList<>();
-
-                // get all ids from sequence first
-                String seqsql = "SELECT NEXTVAL('" + maybeWrapInQoutes(metaEdge.getSchemaTable().getSchema()) + "." + maybeWrapInQoutes(EDGE_PREFIX + metaEdge.getSchemaTable().getTable() + "_ID_seq") + "') from generate_series(1," + triples.getRight().values().size() + ") ;";
-                if (logger.isDebugEnabled()) {
-                    logger.debug(seqsql);
-                }
-
-                try (PreparedStatement preparedStatement = con.prepareStatement(seqsql)) {
-                    ResultSet resultSet = preparedStatement.executeQuery();
-                    while (resultSet.next()) {
-                        ids.add(resultSet.getLong(1));
-                    }
+        for (MetaEdge metaEdge : edgeCache.keySet()) {
+            flushEdgeCache(sqlgGraph, con, metaEdge, edgeCache.get(metaEdge));
+        }
+    }
 
-                    resultSet.close();
-                } catch (SQLException e) {
-                    throw new RuntimeException(e);
+    @Override
+    public void flushEdgeCache(SqlgGraph sqlgGraph, Connection con, MetaEdge metaEdge, Pair<SortedSet<String>, Map<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>>> triples) {
+        try {
+            //the edges added in normal batch mode already have their ids.
+            int withoutId = 0;
+            for (SqlgEdge sqlgEdge : triples.getRight().keySet()) {
+                if (sqlgEdge.id() == null) {
+                    withoutId++;
                 }
-
-                Iterator<Long> it = ids.iterator();
+            }
+            long[] ids = withoutId > 0 ? nextSequenceVals(con, metaEdge.getSchemaTable(), EDGE_PREFIX, withoutId) : new long[0];
+            int idIndex = 0;
 
 
-                Map<String, PropertyType> propertyTypeMap = sqlgGraph.getTopology().getTableFor(metaEdge.getSchemaTable().withPrefix(EDGE_PREFIX));
+            Map<String, PropertyType> propertyTypeMap = sqlgGraph.getTopology().getTableFor(metaEdge.getSchemaTable().withPrefix(EDGE_PREFIX));
 
-                StringBuilder sql = new StringBuilder();
-                sql.append("COPY ");
-                sql.append(maybeWrapInQoutes(metaEdge.getSchemaTable().getSchema()));
-                sql.append(".");
-                sql.append(maybeWrapInQoutes(EDGE_PREFIX + metaEdge.getSchemaTable().getTable()));
-                sql.append(" (");
+            StringBuilder sql = new StringBuilder();
+            sql.append("COPY ");
+            sql.append(maybeWrapInQoutes(metaEdge.getSchemaTable().getSchema()));
+            sql.append(".");
+            sql.append(maybeWrapInQoutes(EDGE_PREFIX + metaEdge.getSchemaTable().getTable()));
+            sql.append(" (");
 
-                for (Triple<SqlgVertex, SqlgVertex, Map<String, Object>> triple : triples.getRight().values()) {
-                    int count = 1;
-                    sql.append(maybeWrapInQoutes(triple.getLeft().getSchema() + "." + triple.getLeft().getTable() + Topology.OUT_VERTEX_COLUMN_END));
-                    sql.append(", ");
-                    sql.append(maybeWrapInQoutes(triple.getMiddle().getSchema() + "." + triple.getMiddle().getTable() + Topology.IN_VERTEX_COLUMN_END));
-                    sql.append(", ");
-                    sql.append("\"ID\"");
-                    for (String key : triples.getLeft()) {
-                        if (count <= triples.getLeft().size()) {
-                            sql.append(", ");
-                        }
-                        count++;
-                        appendKeyForStream(propertyTypeMap.get(key), sql, key);
+            for (Triple<SqlgVertex, SqlgVertex, Map<String, Object>> triple : triples.getRight().values()) {
+                int count = 1;
+                sql.append(maybeWrapInQoutes(triple.getLeft().getSchema() + "." + triple.getLeft().getTable() + Topology.OUT_VERTEX_COLUMN_END));
+                sql.append(", ");
+                sql.append(maybeWrapInQoutes(triple.getMiddle().getSchema() + "." + triple.getMiddle().getTable() + Topology.IN_VERTEX_COLUMN_END));
+                sql.append(", ");
+                sql.append("\"ID\"");
+                for (String key : triples.getLeft()) {
+                    if (count <= triples.getLeft().size()) {
+                        sql.append(", ");
                     }
-                    break;
+                    count++;
+                    appendKeyForStream(propertyTypeMap.get(key), sql, key);
                 }
-                sql.append(") ");
+                break;
+            }
+            sql.append(") ");
 
+            if (useBinaryCopy(sqlgGraph, propertyTypeMap, triples.getLeft())) {
+                sql.append(COPY_FROM_STDIN_BINARY);
+            } else {
                 sql.append(" FROM stdin CSV DELIMITER '");
                 sql.append(COPY_COMMAND_DELIMITER);
                 sql.append("' ");
@@ -407,44 +421,50 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
                 sql.append(" ESCAPE '");
                 sql.append(ESCAPE);
                 sql.append("';");
-                if (logger.isDebugEnabled()) {
-                    logger.debug(sql.toString());
-                }
-                long numberInserted = 0;
-                try (Writer writer = streamSql(sqlgGraph, sql.toString())) {
-                    for (Map.Entry<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>> sqlgEdgeTripleEntry : triples.getRight().entrySet()) {
-                        SqlgEdge sqlgEdge = sqlgEdgeTripleEntry.getKey();
-                        long id = it.next();
-                        sqlgEdge.setInternalPrimaryKey(RecordId.from(metaEdge.getSchemaTable(), id));
-
-                        Triple<SqlgVertex, SqlgVertex, Map<String, Object>> outInVertexKeyValueMap = sqlgEdgeTripleEntry.getValue();
-                        LinkedHashMap<String, Object> values = new LinkedHashMap<>();
-                        values.put("ID", id);
-                        for (String key : triples.getLeft()) {
-                            values.put(key, outInVertexKeyValueMap.getRight().get(key));
-                        }
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug(sql.toString());
+            }
+            long numberInserted = 0;
+            try (Writer writer = streamSql(con, sql.toString())) {
+                for (Map.Entry<SqlgEdge, Triple<SqlgVertex, SqlgVertex, Map<String, Object>>> sqlgEdgeTripleEntry : triples.getRight().entrySet()) {
+                    SqlgEdge sqlgEdge = sqlgEdgeTripleEntry.getKey();
+                    if (sqlgEdge.id() == null) {
+                        sqlgEdge.setInternalPrimaryKey(RecordId.from(metaEdge.getSchemaTable(), ids[idIndex++]));
+                    }
+                    long id = ((RecordId) sqlgEdge.id()).getId();
+
+                    Triple<SqlgVertex, SqlgVertex, Map<String, Object>> outInVertexKeyValueMap = sqlgEdgeTripleEntry.getValue();
+                    LinkedHashMap<String, Object> values = new LinkedHashMap<>();
+                    values.put("ID", id);
+                    for (String key : triples.getLeft()) {
+                        values.put(key, outInVertexKeyValueMap.getRight().get(key));
+                    }
+                    if (writer instanceof PostgresBinaryCopyWriter) {
+                        writeBinaryCopyEdge((PostgresBinaryCopyWriter) writer, outInVertexKeyValueMap.getLeft(), outInVertexKeyValueMap.getMiddle(), propertyTypeMap, values);
+                    } else {
                         writeStreamingEdge(writer, sqlgEdge, outInVertexKeyValueMap.getLeft(), outInVertexKeyValueMap.getMiddle(), values);
-                        numberInserted++;
                     }
+                    numberInserted++;
                 }
-                /*long endHigh;
-                sql.setLength(0);
-                sql.append("SELECT CURRVAL('" + maybeWrapInQoutes(metaEdge.getSchemaTable().getSchema()) + "." + maybeWrapInQoutes(EDGE_PREFIX + metaEdge.getSchemaTable().getTable() + "_ID_seq") + "');");
-                if(logger.isDebugEnabled()) {
-                    logger.debug(sql.toString());
-                }
-                try (PreparedStatement preparedStatement = con.prepareStatement(sql.toString())) {
-                    ResultSet resultSet = preparedStatement.executeQuery();
-                    resultSet.next();
-                    endHigh = resultSet.getLong(1);
-                    resultSet.close();
-                }
-                //set the id on the vertex
-                long id = endHigh - numberInserted + 1;
-                for (SqlgEdge sqlgEdge : triples.getRight().keySet()) {
-                    sqlgEdge.setInternalPrimaryKey(RecordId.from(metaEdge.getSchemaTable(), id++));
-                }*/
             }
+            /*long endHigh;
+            sql.setLength(0);
+            sql.append("SELECT CURRVAL('" + maybeWrapInQoutes(metaEdge.getSchemaTable().getSchema()) + "." + maybeWrapInQoutes(EDGE_PREFIX + metaEdge.getSchemaTable().getTable() + "_ID_seq") + "');");
+            if(logger.isDebugEnabled()) {
+                logger.debug(sql.toString());
+            }
+            try (PreparedStatement preparedStatement = con.prepareStatement(sql.toString())) {
+                ResultSet resultSet = preparedStatement.executeQuery();
+                resultSet.next();
+                endHigh = resultSet.getLong(1);
+                resultSet.close();
+            }
+            //set the id on the vertex
+            long id = endHigh - numberInserted + 1;
+            for (SqlgEdge sqlgEdge : triples.getRight().keySet()) {
+                sqlgEdge.setInternalPrimaryKey(RecordId.from(metaEdge.getSchemaTable(), id++));
+            }*/
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -1340,17 +1360,21 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
             }
         }
         sql.append(")");
-        sql.append(" FROM stdin CSV DELIMITER '");
-        sql.append(COPY_COMMAND_DELIMITER);
-        sql.append("' ");
-        sql.append("QUOTE ");
-        sql.append(COPY_COMMAND_QUOTE);
-        sql.append(" ESCAPE '");
-        sql.append(ESCAPE);
-        sql.append("'");
-        sql.append(" NULL'");
-        sql.append(BATCH_NULL);
-        sql.append("';");
+        if (useBinaryCopy(sqlgGraph, propertyTypeMap, keys)) {
+            sql.append(COPY_FROM_STDIN_BINARY);
+        } else {
+            sql.append(" FROM stdin CSV DELIMITER '");
+            sql.append(COPY_COMMAND_DELIMITER);
+            sql.append("' ");
+            sql.append("QUOTE ");
+            sql.append(COPY_COMMAND_QUOTE);
+            sql.append(" ESCAPE '");
+            sql.append(ESCAPE);
+            sql.append("'");
+            sql.append(" NULL'");
+            sql.append(BATCH_NULL);
+            sql.append("';");
+        }
         if (logger.isDebugEnabled()) {
             logger.debug(sql.toString());
         }
@@ -1379,12 +1403,16 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
         }
         sql.append(") ");
 
-        sql.append(" FROM stdin CSV DELIMITER '");
-        sql.append(COPY_COMMAND_DELIMITER);
-        sql.append("' ");
-        sql.append("QUOTE ");
-        sql.append(COPY_COMMAND_QUOTE);
-        sql.append(";");
+        if (useBinaryCopy(sqlgGraph, propertyTypeMap, keyValueMap.keySet())) {
+            sql.append(COPY_FROM_STDIN_BINARY);
+        } else {
+            sql.append(" FROM stdin CSV DELIMITER '");
+            sql.append(COPY_COMMAND_DELIMITER);
+            sql.append("' ");
+            sql.append("QUOTE ");
+            sql.append(COPY_COMMAND_QUOTE);
+            sql.append(";");
+        }
         if (logger.isDebugEnabled()) {
             logger.debug(sql.toString());
         }
@@ -1470,6 +1498,10 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
 
     @Override
     public void writeStreamingVertex(Writer writer, Map<String, Object> keyValueMap) {
+        if (writer instanceof PostgresBinaryCopyWriter) {
+            writeBinaryCopyRow((PostgresBinaryCopyWriter) writer, ((PostgresBinaryCopyWriter) writer).getPropertyTypeMap(), keyValueMap);
+            return;
+        }
         try {
             int countKeys = 1;
             if (keyValueMap.isEmpty()) {
@@ -1498,6 +1530,10 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
 
     @Override
     public void writeStreamingEdge(Writer writer, SqlgEdge sqlgEdge, SqlgVertex outVertex, SqlgVertex inVertex, Map<String, Object> keyValueMap) {
+        if (writer instanceof PostgresBinaryCopyWriter) {
+            writeBinaryCopyEdge((PostgresBinaryCopyWriter) writer, outVertex, inVertex, ((PostgresBinaryCopyWriter) writer).getPropertyTypeMap(), keyValueMap);
+            return;
+        }
         try {
             String encoding = "UTF-8";
             writer.write(((RecordId) outVertex.id()).getId().toString());
@@ -1523,6 +1559,61 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
         }
     }
 
+    /**
+     * Writes a row in the binary copy format. A column's type is taken from propertyTypeMap,
+     * columns not in it, like "ID", take the value's type.
+     */
+    private void writeBinaryCopyRow(PostgresBinaryCopyWriter writer, Map<String, PropertyType> propertyTypeMap, Map<String, Object> keyValueMap) {
+        try {
+            if (keyValueMap.isEmpty()) {
+                writer.startRow(1);
+                writer.write(PropertyType.INTEGER, 1);
+            } else {
+                writer.startRow(keyValueMap.size());
+                writeBinaryCopyValues(writer, propertyTypeMap, keyValueMap);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void writeBinaryCopyEdge(PostgresBinaryCopyWriter writer, SqlgVertex outVertex, SqlgVertex inVertex, Map<String, PropertyType> propertyTypeMap, Map<String, Object> keyValueMap) {
+        try {
+            writer.startRow(2 + keyValueMap.size());
+            writer.write(PropertyType.LONG, ((RecordId) outVertex.id()).getId());
+            writer.write(PropertyType.LONG, ((RecordId) inVertex.id()).getId());
+            writeBinaryCopyValues(writer, propertyTypeMap, keyValueMap);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void writeBinaryCopyValues(PostgresBinaryCopyWriter writer, Map<String, PropertyType> propertyTypeMap, Map<String, Object> keyValueMap) throws IOException {
+        for (Map.Entry<String, Object> entry : keyValueMap.entrySet()) {
+            Object value = entry.getValue();
+            PropertyType propertyType = propertyTypeMap.get(entry.getKey());
+            if (propertyType == null && value != null) {
+                propertyType = PropertyType.from(value);
+            }
+            writer.write(propertyType, value);
+        }
+    }
+
+    private boolean useBinaryCopy(SqlgGraph sqlgGraph, Map<String, PropertyType> propertyTypeMap, Collection<String> keys) {
+        if (!sqlgGraph.configuration().getBoolean(COPY_BINARY, false)) {
+            return false;
+        }
+        List<PropertyType> propertyTypes = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            propertyTypes.add(propertyTypeMap.get(key));
+        }
+        return PostgresBinaryCopyWriter.supports(propertyTypes);
+    }
+
+    private boolean isBinaryCopy(String sql) {
+        return sql.endsWith(COPY_FROM_STDIN_BINARY);
+    }
+
     private void valueToStreamBytes(Writer outputStream, PropertyType propertyType, Object value) throws UnsupportedEncodingException {
         String s = valueToStringForBulkLoad(propertyType, value);
         try {
@@ -2589,11 +2680,69 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
 
     @Override
     public Writer streamSql(SqlgGraph sqlgGraph, String sql) {
-        Connection conn = sqlgGraph.tx().getConnection();
+        return streamSql(sqlgGraph.tx().getConnection(), sql);
+    }
+
+    @Override
+    public Writer streamSql(SqlgGraph sqlgGraph, String sql, SchemaTable schemaTable) {
+        Writer writer = streamSql(sqlgGraph, sql);
+        if (writer instanceof PostgresBinaryCopyWriter) {
+            //a binary field must have the column's width, i.e. an int streamed to a bigint column is written as a long.
+            ((PostgresBinaryCopyWriter) writer).setPropertyTypeMap(schemaTable.isTemporary() ?
+                    sqlgGraph.getTopology().getPublicSchema().getTemporaryTable(schemaTable.getTable()) :
+                    sqlgGraph.getTopology().getTableFor(schemaTable));
+        }
+        return writer;
+    }
+
+    @Override
+    public boolean supportsParallelFlush() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsBatchIdAllocation() {
+        return true;
+    }
+
+    @Override
+    public long[] nextSequenceVals(SqlgGraph sqlgGraph, SchemaTable schemaTable, String prefix, int count) {
+        return nextSequenceVals(sqlgGraph.tx().getConnection(), schemaTable, prefix, count);
+    }
+
+    /**
+     * Takes count values from the label's sequence in one round trip.
+     * They are not necessarily consecutive as other transactions may use the sequence concurrently.
+     */
+    private long[] nextSequenceVals(Connection con, SchemaTable schemaTable, String prefix, int count) {
+        Preconditions.checkArgument(prefix.equals(VERTEX_PREFIX) || prefix.equals(EDGE_PREFIX), "prefix must be " + VERTEX_PREFIX + " or " + EDGE_PREFIX);
+        String sql = "SELECT NEXTVAL('" + maybeWrapInQoutes(schemaTable.getSchema()) + "." + maybeWrapInQoutes(prefix + schemaTable.getTable() + "_ID_seq") + "') from generate_series(1,?);";
+        if (logger.isDebugEnabled()) {
+            logger.debug(sql);
+        }
+        long[] ids = new long[count];
+        try (PreparedStatement preparedStatement = con.prepareStatement(sql)) {
+            preparedStatement.setInt(1, count);
+            ResultSet resultSet = preparedStatement.executeQuery();
+            int i = 0;
+            while (resultSet.next()) {
+                ids[i++] = resultSet.getLong(1);
+            }
+            resultSet.close();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        return ids;
+    }
+
+    private Writer streamSql(Connection conn, String sql) {
         PGConnection pgConnection;
         try {
             pgConnection = conn.unwrap(PGConnection.class);
             OutputStream out = new PGCopyOutputStream(pgConnection, sql);
+            if (isBinaryCopy(sql)) {
+                return new PostgresBinaryCopyWriter(out);
+            }
             return new OutputStreamWriter(out, "UTF-8");
         } catch (SQLException | UnsupportedEncodingException e) {
             throw new RuntimeException(e);
@@ -2834,6 +2983,49 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsIdArrayParameter() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsBulkWithinArrayParameter() {
+        return true;
+    }
+
+    @Override
+    public String bulkWithinArrayParameterSql(Contains contains) {
+        return contains == Contains.within ? " = ANY(?)" : " <> ALL(?)";
+    }
+
+    @Override
+    public boolean supportsSnapshotExport() {
+        return true;
+    }
+
+    @Override
+    public String exportSnapshot(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            ResultSet resultSet = statement.executeQuery("SELECT pg_export_snapshot()");
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    @Override
+    public void importSnapshot(Connection connection, String snapshot) throws SQLException {
+        //only a repeatable read transaction may import a snapshot, before its first query.
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET TRANSACTION ISOLATION LEVEL REPEATABLE READ; SET TRANSACTION SNAPSHOT '" + snapshot + "'");
+        }
+    }
+
+    @Override
+    public boolean supportsRecursiveQueries() {
+        return true;
+    }
+
     @Override
     public boolean isPostgresql() {
         return true;
@@ -3637,6 +3829,15 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
         return PARAMETER_LIMIT;
     }
 
+    /**
+     * Without a fetch size the postgres driver reads the whole result into memory before returning the first row.
+     * With one it uses a cursor, sqlg's connections are never in auto commit mode.
+     */
+    @Override
+    public Integer getDefaultFetchSize() {
+        return 1000;
+    }
+
     @Override
     public List<Triple<SqlgSqlExecutor.DROP_QUERY, String, SchemaTable>> drop(SqlgGraph sqlgGraph, String leafElementsToDelete, Optional<String> edgesToDelete, LinkedList<SchemaTableTree> distinctQueryStack) {
         List<Triple<SqlgSqlExecutor.DROP_QUERY, String, SchemaTable>> sqls = new ArrayList<>();
@@ -3811,11 +4012,16 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
         sql.append(maybeWrapInQoutes(vertexLabel.getSchema().getName() + "." + vertexLabel.getName() +
                 (out ? Topology.OUT_VERTEX_COLUMN_END : Topology.IN_VERTEX_COLUMN_END)));
         if (mutatingCallbacks) {
-            sql.append(" RETURNING\n \"ID\"");
+            sql.append(" RETURNING\n a.*");
         }
         return sql.toString();
     }
 
+    @Override
+    public boolean supportReturningDeletedRows() {
+        return true;
+    }
+
     @Override
     public boolean supportsDeferrableForeignKey() {
         return true;
@@ -3914,4 +4120,9 @@ public class PostgresDialect extends BaseSqlDialect implements SqlBulkDialect {
         return true;
     }
 
+    @Override
+    public boolean supportsGroupByString() {
+        return true;
+    }
+
 }
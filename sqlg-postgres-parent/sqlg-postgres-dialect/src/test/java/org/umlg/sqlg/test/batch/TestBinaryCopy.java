@@ -0,0 +1,106 @@
+package org.umlg.sqlg.test.batch;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.umlg.sqlg.sql.dialect.PostgresDialect;
+import org.umlg.sqlg.structure.SqlgVertex;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.beans.PropertyVetoException;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+
+/**
+ * Date: 2026/10/18
+ */
+public class TestBinaryCopy extends BaseTest {
+
+    @BeforeClass
+    public static void beforeClass() throws ClassNotFoundException, IOException, PropertyVetoException {
+        BaseTest.beforeClass();
+        configuration.setProperty(PostgresDialect.COPY_BINARY, true);
+    }
+
+    @Test
+    public void testNormalBatchMode() {
+        LocalDateTime localDateTime = LocalDateTime.of(2018, 7, 22, 10, 15, 30, 123456000);
+        LocalDate localDate = LocalDate.of(1999, 12, 31);
+        this.sqlgGraph.tx().normalBatchModeOn();
+        for (int i = 0; i < 10; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A",
+                    "name", "a" + i,
+                    "age", i,
+                    "ids", new long[]{i, i + 1},
+                    "doubles", new double[]{1.1, 2.2},
+                    "bytes", new byte[]{1, 2, 3},
+                    "names", new String[]{"x", "\"y\"\t"},
+                    "born", localDate,
+                    "created", localDateTime
+            );
+            Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b" + i);
+            a.addEdge("ab", b, "weight", 1.5D, "created", localDateTime);
+        }
+        this.sqlgGraph.tx().commit();
+
+        Vertex a = this.sqlgGraph.traversal().V().hasLabel("A").has("name", "a5").next();
+        Assert.assertEquals(5, (int) a.value("age"));
+        Assert.assertArrayEquals(new long[]{5, 6}, a.value("ids"));
+        Assert.assertArrayEquals(new double[]{1.1, 2.2}, a.value("doubles"), 0D);
+        Assert.assertArrayEquals(new byte[]{1, 2, 3}, a.value("bytes"));
+        Assert.assertArrayEquals(new String[]{"x", "\"y\"\t"}, a.value("names"));
+        Assert.assertEquals(localDate, a.value("born"));
+        Assert.assertEquals(localDateTime, a.value("created"));
+        Assert.assertEquals("b5", this.sqlgGraph.traversal().V(a).out("ab").values("name").next());
+        Assert.assertEquals(localDateTime, this.sqlgGraph.traversal().V(a).outE("ab").values("created").next());
+        Assert.assertEquals(10, this.sqlgGraph.traversal().E().hasLabel("ab").count().next(), 0);
+    }
+
+    @Test
+    public void testStreamingBatchMode() {
+        this.sqlgGraph.tx().streamingBatchModeOn();
+        for (int i = 0; i < 100; i++) {
+            this.sqlgGraph.streamVertex(T.label, "A", "name", "a" + i, "doubles", new double[]{i, i});
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(100, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+        Vertex a = this.sqlgGraph.traversal().V().hasLabel("A").has("name", "a7").next();
+        Assert.assertArrayEquals(new double[]{7, 7}, a.value("doubles"), 0D);
+    }
+
+    @Test
+    public void testStreamingIntoWiderColumns() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a", "age", 1L);
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        a1.addEdge("ab", b1, "weight", 1L);
+        this.sqlgGraph.tx().commit();
+
+        //the ints are written as the bigint columns' 8 bytes
+        this.sqlgGraph.tx().streamingBatchModeOn();
+        for (int i = 0; i < 10; i++) {
+            this.sqlgGraph.streamVertex(T.label, "A", "name", "a" + i, "age", i);
+        }
+        this.sqlgGraph.tx().flush();
+        LinkedHashMap<String, Object> edgeValues = new LinkedHashMap<>();
+        edgeValues.put("weight", 2);
+        ((SqlgVertex) a1).streamEdge("ab", b1, edgeValues);
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(7L, (long) this.sqlgGraph.traversal().V().hasLabel("A").has("name", "a7").values("age").next());
+        Assert.assertEquals(2, this.sqlgGraph.traversal().E().hasLabel("ab").count().next(), 0);
+        Assert.assertEquals(2L, (long) this.sqlgGraph.traversal().E().hasLabel("ab").has("weight", 2L).values("weight").next());
+    }
+
+    @Test
+    public void testNullValues() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a1", "surname", "s1");
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        this.sqlgGraph.tx().commit();
+        Vertex a2 = this.sqlgGraph.traversal().V().hasLabel("A").has("name", "a2").next();
+        Assert.assertFalse(a2.property("surname").isPresent());
+    }
+}
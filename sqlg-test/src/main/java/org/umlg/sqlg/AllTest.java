@@ -4,7 +4,9 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.umlg.sqlg.test.*;
 import org.umlg.sqlg.test.aggregate.TestAggregate;
+import org.umlg.sqlg.test.aggregate.TestAggregatePushdown;
 import org.umlg.sqlg.test.aggregate.TestGroupCount;
+import org.umlg.sqlg.test.aggregate.TestGroupCountPushdown;
 import org.umlg.sqlg.test.aggregate.TestMax;
 import org.umlg.sqlg.test.batch.*;
 import org.umlg.sqlg.test.branchstep.TestSqlgBranchStep;
@@ -40,11 +42,15 @@ import org.umlg.sqlg.test.localvertexstep.*;
 import org.umlg.sqlg.test.match.TestMatch;
 import org.umlg.sqlg.test.memory.TestMemoryUsage;
 import org.umlg.sqlg.test.mod.*;
+import org.umlg.sqlg.test.preparedStatement.TestPreparedStatementCache;
 import org.umlg.sqlg.test.process.dropstep.TestDropStep;
 import org.umlg.sqlg.test.process.dropstep.TestDropStepBarrier;
 import org.umlg.sqlg.test.process.dropstep.TestDropStepTruncate;
 import org.umlg.sqlg.test.properties.TestEscapedValues;
+import org.umlg.sqlg.test.properties.TestElementProperties;
 import org.umlg.sqlg.test.remove.TestRemoveEdge;
+import org.umlg.sqlg.test.repeatstep.TestRecursiveRepeatStep;
+import org.umlg.sqlg.test.repeatstep.TestShortestPath;
 import org.umlg.sqlg.test.repeatstep.TestUnoptimizedRepeatStep;
 import org.umlg.sqlg.test.rollback.TestRollback;
 import org.umlg.sqlg.test.sack.TestSack;
@@ -236,7 +242,27 @@ import org.umlg.sqlg.test.where.TestTraversalFilterStepBarrier;
         TestTopologyGraph.class,
         TestUnoptimizedRepeatStep.class,
         TestPropertyReference.class,
-        TestTopologySchemaDeleteMultipleGraphs.class
+        TestTopologySchemaDeleteMultipleGraphs.class,
+        TestPreparedStatementCache.class,
+        TestSqlPlanCache.class,
+        TestPropertyProjection.class,
+        TestElementProperties.class,
+        TestElementCache.class,
+        TestAdjacencyBatch.class,
+        TestBatchParallelFlush.class,
+        TestTopologySnapshot.class,
+        TestBatchAutoFlush.class,
+        TestBatchIdAllocation.class,
+        TestBatchRow.class,
+        TestBatchMultiRowInsert.class,
+        TestChunkedQueries.class,
+        TestParallelQueries.class,
+        TestAggregatePushdown.class,
+        TestGroupCountPushdown.class,
+        TestRecursiveRepeatStep.class,
+        TestShortestPath.class,
+        TestBulkWithinArray.class,
+        TestWriteBehind.class
 })
 public class AllTest {
 
@@ -1,14 +1,17 @@
 package org.umlg.sqlg.test;
 
+import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.junit.Assert;
 import org.junit.Test;
+import org.umlg.sqlg.structure.SqlgFullScanIterator;
 import org.umlg.sqlg.structure.SqlgGraph;
 
-import java.util.List;
+import java.util.*;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertThat;
@@ -30,6 +33,86 @@ public class TestAllVertices extends BaseTest {
         Assert.assertEquals(4L, this.sqlgGraph.traversal().V().count().next(), 0);
     }
 
+    @Test
+    public void testAllVerticesAndEdgesAcrossLabels() {
+        for (int i = 0; i < 10; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A" + i, "name", "a" + i);
+            Vertex b = this.sqlgGraph.addVertex(T.label, "B" + i, "name", "b" + i);
+            a.addEdge("ab" + i, b, "weight", i);
+        }
+        this.sqlgGraph.tx().commit();
+        Iterator<Vertex> vertices = this.sqlgGraph.vertices();
+        int count = 0;
+        while (vertices.hasNext()) {
+            Vertex vertex = vertices.next();
+            Assert.assertTrue(vertex.property("name").isPresent());
+            count++;
+        }
+        Assert.assertEquals(20, count);
+        List<Edge> edges = new ArrayList<>();
+        this.sqlgGraph.edges().forEachRemaining(edges::add);
+        Assert.assertEquals(10, edges.size());
+        //an abandoned iterator must not hold on to its statement
+        vertices = this.sqlgGraph.vertices();
+        vertices.next();
+        CloseableIterator.closeIterator(vertices);
+        Assert.assertTrue(this.sqlgGraph.tx().getPreparedStatementCache().isEmpty());
+    }
+
+    @Test
+    public void testParallelFullScan() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A" + i, "name", "a" + i);
+            for (int j = 0; j < 100; j++) {
+                Vertex b = this.sqlgGraph.addVertex(T.label, "B" + i, "name", "b" + j);
+                a.addEdge("ab" + i, b);
+            }
+        }
+        this.sqlgGraph.tx().commit();
+        configuration.setProperty(SqlgFullScanIterator.FULL_SCAN_PARALLELISM, 4);
+        try (SqlgGraph graph = SqlgGraph.open(configuration)) {
+            Set<Object> ids = new HashSet<>();
+            graph.vertices().forEachRemaining(v -> {
+                Assert.assertTrue(v.property("name").isPresent());
+                ids.add(v.id());
+            });
+            Assert.assertEquals(1010, ids.size());
+            List<Edge> edges = new ArrayList<>();
+            graph.edges().forEachRemaining(edges::add);
+            Assert.assertEquals(1000, edges.size());
+            //closing early stops the scanning threads
+            Iterator<Vertex> vertices = graph.vertices();
+            vertices.next();
+            CloseableIterator.closeIterator(vertices);
+            graph.tx().rollback();
+        } finally {
+            configuration.clearProperty(SqlgFullScanIterator.FULL_SCAN_PARALLELISM);
+        }
+    }
+
+    @Test
+    public void testParallelFullScanSeesTheTransactionsWrites() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            this.sqlgGraph.addVertex(T.label, "A" + i, "name", "a" + i);
+        }
+        this.sqlgGraph.tx().commit();
+        configuration.setProperty(SqlgFullScanIterator.FULL_SCAN_PARALLELISM, 4);
+        try (SqlgGraph graph = SqlgGraph.open(configuration)) {
+            Assert.assertEquals(10, graph.traversal().V().toList().size());
+            Vertex a0 = graph.traversal().V().hasLabel("A0").next();
+            Vertex a1 = graph.addVertex(T.label, "A1", "name", "a11");
+            a0.remove();
+            List<Vertex> vertices = graph.traversal().V().toList();
+            Assert.assertEquals(10, vertices.size());
+            Assert.assertTrue(vertices.contains(a1));
+            Assert.assertFalse(vertices.contains(a0));
+            graph.tx().rollback();
+            Assert.assertEquals(10, graph.traversal().V().toList().size());
+        } finally {
+            configuration.clearProperty(SqlgFullScanIterator.FULL_SCAN_PARALLELISM);
+        }
+    }
+
     @Test
     public void testVertexIterator() {
         Vertex a = this.sqlgGraph.addVertex();
@@ -42,6 +42,32 @@ public class TestGetById extends BaseTest {
         Assert.assertEquals(familyEdge, this.sqlgGraph.traversal().E(familyEdge.id()).next());
     }
 
+    @Test
+    public void testVerticesByIdsAboveInParameterLimit() {
+        int count = this.sqlgGraph.getSqlDialect().sqlInParameterLimit() + 10;
+        List<Object> recordIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            recordIds.add(this.sqlgGraph.addVertex(T.label, "Person", "name", "p" + i).id());
+        }
+        Vertex dog = this.sqlgGraph.addVertex(T.label, "Dog", "name", "d");
+        recordIds.add(dog.id());
+        this.sqlgGraph.tx().commit();
+        List<Vertex> vertices = new ArrayList<>();
+        this.sqlgGraph.vertices(recordIds.toArray()).forEachRemaining(vertices::add);
+        Assert.assertEquals(count + 1, vertices.size());
+        Assert.assertTrue(vertices.contains(dog));
+        for (Vertex vertex : vertices) {
+            Assert.assertTrue(vertex.property("name").isPresent());
+        }
+        //id lookups of a similar size reuse the prepared statement
+        this.sqlgGraph.vertices(recordIds.get(0), recordIds.get(1), recordIds.get(2)).forEachRemaining(v -> {});
+        long hits = this.sqlgGraph.tx().getStatementCacheStatistics().getHits();
+        List<Vertex> persons = new ArrayList<>();
+        this.sqlgGraph.vertices(recordIds.get(3), recordIds.get(4), recordIds.get(5), recordIds.get(6)).forEachRemaining(persons::add);
+        Assert.assertEquals(4, persons.size());
+        Assert.assertEquals(hits + 1, this.sqlgGraph.tx().getStatementCacheStatistics().getHits());
+    }
+
     @Test
     public void testByCollectionOfIds() {
         Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsStreamingBatchMode());
@@ -0,0 +1,90 @@
+package org.umlg.sqlg.test.aggregate;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.sql.parse.SchemaTableTree;
+import org.umlg.sqlg.step.SqlgGraphStep;
+import org.umlg.sqlg.test.BaseTest;
+
+/**
+ * Date: 2026/10/18
+ */
+public class TestAggregatePushdown extends BaseTest {
+
+    @Test
+    public void testCount() {
+        for (int i = 0; i < 10; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "status", i % 2 == 0 ? "open" : "closed");
+            this.sqlgGraph.addVertex(T.label, "B", "status", "open");
+        }
+        this.sqlgGraph.tx().commit();
+        GraphTraversal<Vertex, Long> traversal = this.sqlgGraph.traversal().V().hasLabel("A").has("status", "open").count();
+        assertAggregate(traversal, SchemaTableTree.AGGREGATE.COUNT);
+        Assert.assertEquals(5L, traversal.next(), 0);
+        //two labels, two queries
+        Assert.assertEquals(15L, this.sqlgGraph.traversal().V().has("status", "open").count().next(), 0);
+        Assert.assertEquals(20L, this.sqlgGraph.traversal().V().count().next(), 0);
+        Assert.assertEquals(0L, this.sqlgGraph.traversal().V().hasLabel("A").has("status", "unknown").count().next(), 0);
+    }
+
+    @Test
+    public void testCountEdges() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A");
+        for (int i = 0; i < 3; i++) {
+            a.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B"));
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(3L, this.sqlgGraph.traversal().E().hasLabel("ab").count().next(), 0);
+        Assert.assertEquals(3L, this.sqlgGraph.traversal().V().hasLabel("A").out("ab").count().next(), 0);
+    }
+
+    @Test
+    public void testSumMinMaxMean() {
+        for (int i = 0; i < 10; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "age", i, "weight", i + 0.5D);
+        }
+        this.sqlgGraph.addVertex(T.label, "B", "age", 100);
+        //C does not have the property
+        this.sqlgGraph.addVertex(T.label, "C", "name", "c");
+        this.sqlgGraph.tx().commit();
+
+        GraphTraversal<Vertex, Integer> sum = this.sqlgGraph.traversal().V().hasLabel("A").<Integer>values("age").sum();
+        assertAggregate(sum, SchemaTableTree.AGGREGATE.SUM);
+        Assert.assertEquals(Integer.valueOf(45), sum.next());
+        Assert.assertEquals(Integer.valueOf(145), this.sqlgGraph.traversal().V().<Integer>values("age").sum().next());
+        Assert.assertEquals(Integer.valueOf(0), this.sqlgGraph.traversal().V().hasLabel("A").has("age", 1000).<Integer>values("age").sum().next());
+        Assert.assertEquals(50D, this.sqlgGraph.traversal().V().hasLabel("A").<Double>values("weight").sum().next(), 0D);
+
+        Assert.assertEquals(Integer.valueOf(0), this.sqlgGraph.traversal().V().<Integer>values("age").min().next());
+        Assert.assertEquals(Integer.valueOf(100), this.sqlgGraph.traversal().V().<Integer>values("age").max().next());
+        Assert.assertEquals(9.5D, this.sqlgGraph.traversal().V().hasLabel("A").<Double>values("weight").max().next(), 0D);
+
+        GraphTraversal<Vertex, Double> mean = this.sqlgGraph.traversal().V().<Integer>values("age").mean();
+        assertAggregate(mean, SchemaTableTree.AGGREGATE.MEAN);
+        Assert.assertEquals(145D / 11, mean.next(), 0.000001D);
+        Assert.assertTrue(Double.isNaN(this.sqlgGraph.traversal().V().hasLabel("C").<Integer>values("age").mean().next()));
+    }
+
+    @Test
+    public void testNotPushedDown() {
+        for (int i = 0; i < 10; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "age", i);
+        }
+        this.sqlgGraph.tx().commit();
+        GraphTraversal<Vertex, Long> traversal = this.sqlgGraph.traversal().V().hasLabel("A").limit(3).count();
+        assertAggregate(traversal, null);
+        Assert.assertEquals(3L, traversal.next(), 0);
+        Assert.assertEquals(Integer.valueOf(3), this.sqlgGraph.traversal().V().hasLabel("A").order().by("age").limit(3).<Integer>values("age").sum().next());
+    }
+
+    private void assertAggregate(GraphTraversal<?, ?> traversal, SchemaTableTree.AGGREGATE aggregate) {
+        DefaultGraphTraversal<?, ?> defaultGraphTraversal = (DefaultGraphTraversal<?, ?>) traversal;
+        defaultGraphTraversal.applyStrategies();
+        Assert.assertTrue(defaultGraphTraversal.getSteps().get(0) instanceof SqlgGraphStep);
+        Assert.assertEquals(aggregate, ((SqlgGraphStep<?, ?>) defaultGraphTraversal.getSteps().get(0)).getAggregate());
+    }
+}
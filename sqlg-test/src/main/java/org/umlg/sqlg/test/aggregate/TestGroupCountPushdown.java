@@ -0,0 +1,140 @@
+package org.umlg.sqlg.test.aggregate;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.sql.parse.SchemaTableTree;
+import org.umlg.sqlg.step.SqlgGraphStep;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Date: 2026/10/18
+ */
+public class TestGroupCountPushdown extends BaseTest {
+
+    @Test
+    public void testGroupCountBy() {
+        for (int i = 0; i < 10; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "status", i % 3 == 0 ? "open" : "closed");
+            this.sqlgGraph.addVertex(T.label, "B", "status", "open");
+        }
+        this.sqlgGraph.tx().commit();
+        GraphTraversal<Vertex, Map<Object, Long>> traversal = this.sqlgGraph.traversal().V().hasLabel("A").groupCount().by("status");
+        assertAggregate(traversal, SchemaTableTree.AGGREGATE.GROUP_COUNT_BY);
+        Map<Object, Long> groupCount = traversal.next();
+        Assert.assertEquals(2, groupCount.size());
+        Assert.assertEquals(4L, groupCount.get("open"), 0);
+        Assert.assertEquals(6L, groupCount.get("closed"), 0);
+
+        //two labels, two queries with the same group
+        groupCount = this.sqlgGraph.traversal().V().groupCount().by("status").next();
+        Assert.assertEquals(14L, groupCount.get("open"), 0);
+        Assert.assertEquals(6L, groupCount.get("closed"), 0);
+    }
+
+    @Test
+    public void testGroupByCount() {
+        for (int i = 0; i < 10; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "age", i % 2);
+        }
+        this.sqlgGraph.tx().commit();
+        GraphTraversal<Vertex, Map<Integer, Long>> traversal = this.sqlgGraph.traversal().V().hasLabel("A").<Integer, Long>group().by("age").by(__.count());
+        assertAggregate(traversal, SchemaTableTree.AGGREGATE.GROUP_COUNT_BY);
+        Map<Integer, Long> group = traversal.next();
+        Assert.assertEquals(2, group.size());
+        Assert.assertEquals(5L, group.get(0), 0);
+        Assert.assertEquals(5L, group.get(1), 0);
+    }
+
+    @Test
+    public void testValuesGroupCount() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        Vertex a3 = this.sqlgGraph.addVertex(T.label, "A");
+        for (Vertex a : new Vertex[]{a1, a2, a3}) {
+            a.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B", "name", "b"));
+        }
+        //C does not have the property
+        this.sqlgGraph.addVertex(T.label, "C");
+        this.sqlgGraph.tx().commit();
+        GraphTraversal<Vertex, Map<Object, Long>> traversal = this.sqlgGraph.traversal().V().values("name").groupCount();
+        assertAggregate(traversal, SchemaTableTree.AGGREGATE.GROUP_COUNT);
+        Map<Object, Long> groupCount = traversal.next();
+        Assert.assertEquals(2, groupCount.size());
+        Assert.assertEquals(2L, groupCount.get("a"), 0);
+        Assert.assertEquals(3L, groupCount.get("b"), 0);
+
+        groupCount = this.sqlgGraph.traversal().V().hasLabel("A").out("ab").values("name").groupCount().next();
+        Assert.assertEquals(1, groupCount.size());
+        Assert.assertEquals(3L, groupCount.get("b"), 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGroupCountByMissingProperty() {
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        this.sqlgGraph.addVertex(T.label, "A");
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.traversal().V().hasLabel("A").groupCount().by("name").next();
+    }
+
+    @Test
+    public void testGroupCountInMemory() {
+        for (int i = 0; i < 10; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "born", LocalDate.of(2000 + i % 2, 1, 1));
+        }
+        this.sqlgGraph.tx().commit();
+        GraphTraversal<Vertex, Map<Object, Long>> traversal = this.sqlgGraph.traversal().V().hasLabel("A").groupCount().by("born");
+        assertAggregate(traversal, SchemaTableTree.AGGREGATE.GROUP_COUNT_BY);
+        Map<Object, Long> groupCount = traversal.next();
+        Assert.assertEquals(2, groupCount.size());
+        Assert.assertEquals(5L, groupCount.get(LocalDate.of(2000, 1, 1)), 0);
+        Assert.assertEquals(5L, groupCount.get(LocalDate.of(2001, 1, 1)), 0);
+    }
+
+    @Test
+    public void testGroupCountByCaseSensitiveStrings() {
+        for (String status : new String[]{"a", "A", "a ", "a"}) {
+            this.sqlgGraph.addVertex(T.label, "A", "status", status);
+        }
+        this.sqlgGraph.tx().commit();
+        //grouped in the database only where strings are compared as java compares them.
+        Map<Object, Long> groupCount = this.sqlgGraph.traversal().V().hasLabel("A").groupCount().by("status").next();
+        Assert.assertEquals(3, groupCount.size());
+        Assert.assertEquals(2L, groupCount.get("a"), 0);
+        Assert.assertEquals(1L, groupCount.get("A"), 0);
+        Assert.assertEquals(1L, groupCount.get("a "), 0);
+        groupCount = this.sqlgGraph.traversal().V().hasLabel("A").values("status").groupCount().next();
+        Assert.assertEquals(3, groupCount.size());
+        Assert.assertEquals(2L, groupCount.get("a"), 0);
+    }
+
+    @Test
+    public void testNotPushedDown() {
+        for (int i = 0; i < 10; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "age", i % 2);
+        }
+        this.sqlgGraph.tx().commit();
+        GraphTraversal<Vertex, Map<Object, List<Vertex>>> traversal = this.sqlgGraph.traversal().V().hasLabel("A").<Object, List<Vertex>>group().by("age");
+        assertAggregate(traversal, null);
+        Map<Object, List<Vertex>> group = traversal.next();
+        Assert.assertEquals(5, group.get(0).size());
+        Assert.assertEquals(5, group.get(1).size());
+        Map<Object, Long> groupCount = this.sqlgGraph.traversal().V().hasLabel("A").limit(3).groupCount().by("age").next();
+        Assert.assertEquals(3L, groupCount.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    private void assertAggregate(GraphTraversal<?, ?> traversal, SchemaTableTree.AGGREGATE aggregate) {
+        DefaultGraphTraversal<?, ?> defaultGraphTraversal = (DefaultGraphTraversal<?, ?>) traversal;
+        defaultGraphTraversal.applyStrategies();
+        Assert.assertTrue(defaultGraphTraversal.getSteps().get(0) instanceof SqlgGraphStep);
+        Assert.assertEquals(aggregate, ((SqlgGraphStep<?, ?>) defaultGraphTraversal.getSteps().get(0)).getAggregate());
+    }
+}
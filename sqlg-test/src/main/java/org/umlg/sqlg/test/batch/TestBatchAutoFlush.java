@@ -0,0 +1,95 @@
+package org.umlg.sqlg.test.batch;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.umlg.sqlg.sql.dialect.SqlDialect;
+import org.umlg.sqlg.structure.BatchManager;
+import org.umlg.sqlg.structure.topology.Topology;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.beans.PropertyVetoException;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Date: 2026/10/18
+ */
+public class TestBatchAutoFlush extends BaseTest {
+
+    @BeforeClass
+    public static void beforeClass() throws ClassNotFoundException, IOException, PropertyVetoException {
+        BaseTest.beforeClass();
+        configuration.setProperty(BatchManager.FLUSH_ROWS, 100);
+    }
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsBatchMode());
+    }
+
+    @Test
+    public void testVerticesAreFlushedAtTheThreshold() throws SQLException {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            vertices.add(this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i));
+        }
+        //the first 200 are flushed and have their ids.
+        Assert.assertNotNull(vertices.get(0).id());
+        Assert.assertNotNull(vertices.get(199).id());
+        Assert.assertEquals(200, countRows("A"));
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(250, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+    }
+
+    @Test
+    public void testEdgesToFlushedVertices() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        List<Vertex> bs = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            bs.add(this.sqlgGraph.addVertex(T.label, "B", "name", "b" + i));
+        }
+        for (int i = 0; i < 150; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+            a.addEdge("ab", bs.get(i), "weight", i);
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(150, this.sqlgGraph.traversal().E().hasLabel("ab").count().next(), 0);
+        Assert.assertEquals("b7", this.sqlgGraph.traversal().V().hasLabel("A").has("name", "a7").out("ab").values("name").next());
+        Assert.assertEquals("b140", this.sqlgGraph.traversal().V().hasLabel("A").has("name", "a140").out("ab").values("name").next());
+    }
+
+    @Test
+    public void testUpdateOfAFlushedVertex() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex first = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        for (int i = 0; i < 150; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+        }
+        first.property("name", "first");
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals("first", this.sqlgGraph.traversal().V(first.id()).values("name").next());
+    }
+
+    //counts the label's rows without the flush that a traversal does first.
+    private long countRows(String label) throws SQLException {
+        SqlDialect sqlDialect = this.sqlgGraph.getSqlDialect();
+        String sql = "SELECT COUNT(*) FROM " + sqlDialect.maybeWrapInQoutes(sqlDialect.getPublicSchema()) + "." +
+                sqlDialect.maybeWrapInQoutes(Topology.VERTEX_PREFIX + label);
+        try (Statement statement = this.sqlgGraph.tx().getConnection().createStatement()) {
+            try (ResultSet resultSet = statement.executeQuery(sql)) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.umlg.sqlg.test.batch;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.sql.dialect.SqlBulkDialect;
+import org.umlg.sqlg.structure.PreparedStatementCache;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Date: 2026/10/18
+ */
+public class TestBatchIdAllocation extends BaseTest {
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsBatchMode());
+        Assume.assumeTrue(((SqlBulkDialect) this.sqlgGraph.getSqlDialect()).supportsBatchIdAllocation());
+    }
+
+    @Test
+    public void testIdsAreAssignedOnAdd() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        List<Vertex> vertices = new ArrayList<>();
+        Set<Object> ids = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            Vertex v = this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+            Assert.assertNotNull(v.id());
+            Assert.assertTrue(ids.add(v.id()));
+            vertices.add(v);
+        }
+        Edge e = vertices.get(0).addEdge("aa", vertices.get(1));
+        Object edgeId = e.id();
+        Assert.assertNotNull(edgeId);
+        this.sqlgGraph.tx().commit();
+
+        for (Vertex v : vertices) {
+            Assert.assertEquals(v.value("name"), this.sqlgGraph.traversal().V(v.id()).values("name").next());
+        }
+        Assert.assertEquals(vertices.get(1), this.sqlgGraph.traversal().E(edgeId).inV().next());
+    }
+
+    @Test
+    public void testIdsAcrossFlushes() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        this.sqlgGraph.tx().flush();
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        a1.addEdge("aa", a2);
+        this.sqlgGraph.tx().commit();
+        Assert.assertNotEquals(a1.id(), a2.id());
+        Assert.assertEquals("a2", this.sqlgGraph.traversal().V(a1.id()).out("aa").values("name").next());
+    }
+
+    @Test
+    public void testNewEdgeIsNotLoaded() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Edge e = a1.addEdge("aa", a2);
+        Assert.assertNotNull(e.id());
+        PreparedStatementCache.Statistics statistics = this.sqlgGraph.tx().getStatementCacheStatistics();
+        long statements = statistics.getHits() + statistics.getMisses();
+        //the unflushed edge has all its properties, none
+        Assert.assertFalse(e.property("weight").isPresent());
+        Assert.assertFalse(e.property("weight").isPresent());
+        Assert.assertEquals(statements, statistics.getHits() + statistics.getMisses());
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(a2, this.sqlgGraph.traversal().E(e.id()).inV().next());
+    }
+}
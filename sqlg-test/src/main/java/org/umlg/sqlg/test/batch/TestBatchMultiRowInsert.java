@@ -0,0 +1,72 @@
+package org.umlg.sqlg.test.batch;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.umlg.sqlg.sql.dialect.BaseSqlDialect;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.beans.PropertyVetoException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Date: 2026/10/18
+ */
+public class TestBatchMultiRowInsert extends BaseTest {
+
+    @BeforeClass
+    public static void beforeClass() throws ClassNotFoundException, IOException, PropertyVetoException {
+        BaseTest.beforeClass();
+        //not a divisor of the number of rows so that the last insert is partial
+        configuration.setProperty(BaseSqlDialect.BATCH_INSERT_ROWS, 7);
+    }
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsBatchMode());
+    }
+
+    @Test
+    public void testIdsOfMultiRowInserts() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        List<Vertex> as = new ArrayList<>();
+        List<Vertex> bs = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            as.add(this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i, "age", i));
+            bs.add(this.sqlgGraph.addVertex(T.label, "B", "name", "b" + i));
+        }
+        for (int i = 0; i < 100; i++) {
+            as.get(i).addEdge("ab", bs.get(i), "weight", i);
+        }
+        this.sqlgGraph.tx().commit();
+
+        for (int i = 0; i < 100; i++) {
+            Vertex a = as.get(i);
+            Assert.assertEquals("a" + i, this.sqlgGraph.traversal().V(a.id()).values("name").next());
+            Assert.assertEquals(i, this.sqlgGraph.traversal().V(a.id()).values("age").next());
+            Assert.assertEquals("b" + i, this.sqlgGraph.traversal().V(a.id()).out("ab").values("name").next());
+            Assert.assertEquals(i, this.sqlgGraph.traversal().V(a.id()).outE("ab").values("weight").next());
+        }
+    }
+
+    @Test
+    public void testNullsInMultiRowInserts() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        for (int i = 0; i < 20; i++) {
+            if (i % 2 == 0) {
+                this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+            } else {
+                this.sqlgGraph.addVertex(T.label, "A", "surname", "s" + i);
+            }
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(10, this.sqlgGraph.traversal().V().hasLabel("A").has("name").count().next(), 0);
+        Assert.assertEquals(10, this.sqlgGraph.traversal().V().hasLabel("A").has("surname").count().next(), 0);
+    }
+}
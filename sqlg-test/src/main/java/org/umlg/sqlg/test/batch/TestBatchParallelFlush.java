@@ -0,0 +1,150 @@
+package org.umlg.sqlg.test.batch;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.umlg.sqlg.sql.dialect.SqlBulkDialect;
+import org.umlg.sqlg.structure.BatchManager;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.beans.PropertyVetoException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Date: 2026/10/18
+ */
+public class TestBatchParallelFlush extends BaseTest {
+
+    @BeforeClass
+    public static void beforeClass() throws ClassNotFoundException, IOException, PropertyVetoException {
+        BaseTest.beforeClass();
+        configuration.setProperty(BatchManager.FLUSH_PARALLELISM, 4);
+    }
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsBatchMode());
+    }
+
+    @Test
+    public void testParallelFlushOfCommittedLabels() {
+        for (int i = 0; i < 8; i++) {
+            Vertex v1 = this.sqlgGraph.addVertex(T.label, "A" + i, "name", "a");
+            Vertex v2 = this.sqlgGraph.addVertex(T.label, "B" + i, "name", "b");
+            v1.addEdge("ab" + i, v2, "weight", 1);
+        }
+        this.sqlgGraph.traversal().V().drop().iterate();
+        this.sqlgGraph.tx().commit();
+
+        this.sqlgGraph.tx().bulkLoadBatchModeOn();
+        for (int i = 0; i < 8; i++) {
+            List<Vertex> bs = new ArrayList<>();
+            for (int j = 0; j < 100; j++) {
+                bs.add(this.sqlgGraph.addVertex(T.label, "B" + i, "name", "b" + j));
+            }
+            for (int j = 0; j < 100; j++) {
+                Vertex a = this.sqlgGraph.addVertex(T.label, "A" + i, "name", "a" + j);
+                a.addEdge("ab" + i, bs.get(j), "weight", j);
+            }
+        }
+        this.sqlgGraph.tx().commit();
+
+        for (int i = 0; i < 8; i++) {
+            Assert.assertEquals(100, this.sqlgGraph.traversal().V().hasLabel("A" + i).count().next(), 0);
+            Assert.assertEquals(100, this.sqlgGraph.traversal().V().hasLabel("B" + i).count().next(), 0);
+            Assert.assertEquals(100, this.sqlgGraph.traversal().E().hasLabel("ab" + i).count().next(), 0);
+            Assert.assertEquals("b42", this.sqlgGraph.traversal().V().hasLabel("A" + i).has("name", "a42").out("ab" + i).values("name").next());
+        }
+    }
+
+    @Test
+    public void testNewLabelsAreFlushedOnTheTransaction() {
+        this.sqlgGraph.tx().bulkLoadBatchModeOn();
+        for (int i = 0; i < 4; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A" + i, "name", "a");
+            a.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B" + i, "name", "b"));
+        }
+        this.sqlgGraph.tx().flush();
+        //The new labels' tables only exist on the transaction's connection.
+        Assert.assertEquals(8, this.sqlgGraph.traversal().V().count().next(), 0);
+        Assert.assertEquals(4, this.sqlgGraph.traversal().E().hasLabel("ab").count().next(), 0);
+        this.sqlgGraph.tx().commit();
+        for (int i = 0; i < 4; i++) {
+            Assert.assertEquals("b", this.sqlgGraph.traversal().V().hasLabel("A" + i).out("ab").values("name").next());
+        }
+    }
+
+    @Test
+    public void testWriteBeforeBatchModeFlushesOnTheTransaction() {
+        Assume.assumeTrue(((SqlBulkDialect) this.sqlgGraph.getSqlDialect()).supportsParallelFlush());
+        createLabels();
+
+        //the edges reference a vertex that is only visible to the transaction.
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A0", "name", "a");
+        this.sqlgGraph.tx().bulkLoadBatchModeOn();
+        for (int i = 0; i < 4; i++) {
+            a.addEdge("ab0", this.sqlgGraph.addVertex(T.label, "B0", "name", "b" + i));
+        }
+        this.sqlgGraph.tx().rollback();
+        Assert.assertEquals(0, this.sqlgGraph.traversal().V().count().next(), 0);
+        Assert.assertEquals(0, this.sqlgGraph.traversal().E().count().next(), 0);
+
+        a = this.sqlgGraph.addVertex(T.label, "A0", "name", "a");
+        this.sqlgGraph.tx().bulkLoadBatchModeOn();
+        for (int i = 0; i < 4; i++) {
+            a.addEdge("ab0", this.sqlgGraph.addVertex(T.label, "B0", "name", "b" + i));
+        }
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(4, this.sqlgGraph.traversal().V(a).out("ab0").count().next(), 0);
+    }
+
+    @Test
+    public void testNormalBatchModeFlushIsRolledBack() {
+        createLabels();
+
+        this.sqlgGraph.tx().normalBatchModeOn();
+        for (int i = 0; i < 4; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A" + i, "name", "a" + i);
+            a.addEdge("ab" + i, this.sqlgGraph.addVertex(T.label, "B" + i, "name", "b" + i));
+        }
+        this.sqlgGraph.tx().flush();
+        //normal batch mode flushes on the transaction, whatever the flush parallelism.
+        this.sqlgGraph.tx().rollback();
+        Assert.assertEquals(0, this.sqlgGraph.traversal().V().count().next(), 0);
+        Assert.assertEquals(0, this.sqlgGraph.traversal().E().count().next(), 0);
+    }
+
+    @Test
+    public void testBulkLoadFlushIsNotRolledBack() {
+        Assume.assumeTrue(((SqlBulkDialect) this.sqlgGraph.getSqlDialect()).supportsParallelFlush());
+        createLabels();
+
+        this.sqlgGraph.tx().bulkLoadBatchModeOn();
+        for (int i = 0; i < 4; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A" + i, "name", "a" + i);
+            a.addEdge("ab" + i, this.sqlgGraph.addVertex(T.label, "B" + i, "name", "b" + i));
+        }
+        this.sqlgGraph.tx().flush();
+        Assert.assertTrue(this.sqlgGraph.tx().isInBulkLoadBatchMode());
+        //bulk load mode flushed them on their own connections, the elements are committed.
+        this.sqlgGraph.tx().rollback();
+        Assert.assertEquals(8, this.sqlgGraph.traversal().V().count().next(), 0);
+        Assert.assertEquals(4, this.sqlgGraph.traversal().E().count().next(), 0);
+    }
+
+    private void createLabels() {
+        for (int i = 0; i < 4; i++) {
+            Vertex v1 = this.sqlgGraph.addVertex(T.label, "A" + i, "name", "a");
+            Vertex v2 = this.sqlgGraph.addVertex(T.label, "B" + i, "name", "b");
+            v1.addEdge("ab" + i, v2, "weight", 1);
+        }
+        this.sqlgGraph.traversal().V().drop().iterate();
+        this.sqlgGraph.tx().commit();
+    }
+}
@@ -0,0 +1,50 @@
+package org.umlg.sqlg.test.batch;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.test.BaseTest;
+
+/**
+ * Date: 2026/10/18
+ */
+public class TestBatchRow extends BaseTest {
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsBatchMode());
+    }
+
+    @Test
+    public void testRowsWithDifferentKeys() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "surname", "s2", "age", 2);
+        Vertex a3 = this.sqlgGraph.addVertex(T.label, "A", "name", "a3", "age", 3);
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals("a1", this.sqlgGraph.traversal().V(a1.id()).values("name").next());
+        Assert.assertFalse(this.sqlgGraph.traversal().V(a1.id()).values("age").hasNext());
+        Assert.assertFalse(this.sqlgGraph.traversal().V(a2.id()).values("name").hasNext());
+        Assert.assertEquals("s2", this.sqlgGraph.traversal().V(a2.id()).values("surname").next());
+        Assert.assertEquals(3, this.sqlgGraph.traversal().V(a3.id()).values("age").next());
+    }
+
+    @Test
+    public void testUpdateAndRemoveCachedProperties() {
+        this.sqlgGraph.tx().normalBatchModeOn();
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a", "surname", "s");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        Edge e = a.addEdge("ab", b, "weight", 1);
+        a.property("name", "aa");
+        a.property("surname").remove();
+        e.property("weight", 2);
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals("aa", this.sqlgGraph.traversal().V(a.id()).values("name").next());
+        Assert.assertFalse(this.sqlgGraph.traversal().V(a.id()).values("surname").hasNext());
+        Assert.assertEquals(2, this.sqlgGraph.traversal().E(e.id()).values("weight").next());
+    }
+}
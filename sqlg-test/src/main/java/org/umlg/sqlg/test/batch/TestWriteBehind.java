@@ -0,0 +1,133 @@
+package org.umlg.sqlg.test.batch;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.SqlgTransaction;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.beans.PropertyVetoException;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Date: 2026/10/18
+ */
+public class TestWriteBehind extends BaseTest {
+
+    @BeforeClass
+    public static void beforeClass() throws ClassNotFoundException, IOException, PropertyVetoException {
+        BaseTest.beforeClass();
+        configuration.setProperty(SqlgTransaction.WRITE_BEHIND, true);
+    }
+
+    @Before
+    public void beforeTest() {
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsBatchMode());
+    }
+
+    @Test
+    public void testUpdatesAreWrittenAtCommit() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1", "age", 1);
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2", "age", 2);
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        Edge e1 = a1.addEdge("ab", b1, "weight", 1);
+        this.sqlgGraph.tx().commit();
+
+        a1 = this.sqlgGraph.traversal().V(a1.id()).next();
+        a1.property("name", "a11");
+        a1.property("age", 11);
+        a1.property("surname", "s1");
+        a2 = this.sqlgGraph.traversal().V(a2.id()).next();
+        a2.property("age", 22);
+        e1 = this.sqlgGraph.traversal().E(e1.id()).next();
+        e1.property("weight", 2);
+        this.sqlgGraph.tx().commit();
+
+        a1 = this.sqlgGraph.traversal().V(a1.id()).next();
+        Assert.assertEquals("a11", a1.value("name"));
+        Assert.assertEquals(11, (int) a1.value("age"));
+        Assert.assertEquals("s1", a1.value("surname"));
+        a2 = this.sqlgGraph.traversal().V(a2.id()).next();
+        Assert.assertEquals("a2", a2.value("name"));
+        Assert.assertEquals(22, (int) a2.value("age"));
+        Assert.assertEquals(2, (int) this.sqlgGraph.traversal().E(e1.id()).next().value("weight"));
+    }
+
+    @Test
+    public void testUpdatesAreWrittenBeforeAQuery() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        this.sqlgGraph.tx().commit();
+
+        a1 = this.sqlgGraph.traversal().V(a1.id()).next();
+        a1.property("name", "a3");
+        Assert.assertEquals(Arrays.asList(a1), this.sqlgGraph.traversal().V().hasLabel("A").has("name", "a3").toList());
+        Assert.assertFalse(this.sqlgGraph.traversal().V().hasLabel("A").has("name", "a1").hasNext());
+
+        //removing a vertex with a buffered update
+        a2 = this.sqlgGraph.traversal().V(a2.id()).next();
+        a2.property("name", "a4");
+        a2.remove();
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+    }
+
+    @Test
+    public void testOnlyUpdatedKeysAreWritten() throws Exception {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1", "age", 1);
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2", "age", 2);
+        this.sqlgGraph.tx().commit();
+        a1 = this.sqlgGraph.traversal().V(a1.id()).next();
+        a2 = this.sqlgGraph.traversal().V(a2.id()).next();
+        this.sqlgGraph.tx().commit();
+
+        //another connection commits to the columns this transaction does not update
+        try (SqlgGraph sqlgGraph1 = SqlgGraph.open(configuration)) {
+            sqlgGraph1.traversal().V(a1.id()).next().property("age", 11);
+            sqlgGraph1.traversal().V(a2.id()).next().property("name", "a22");
+            sqlgGraph1.tx().commit();
+        }
+        a1.property("name", "a11");
+        a2.property("age", 22);
+        this.sqlgGraph.tx().commit();
+
+        a1 = this.sqlgGraph.traversal().V(a1.id()).next();
+        Assert.assertEquals("a11", a1.value("name"));
+        Assert.assertEquals(11, (int) a1.value("age"));
+        a2 = this.sqlgGraph.traversal().V(a2.id()).next();
+        Assert.assertEquals("a22", a2.value("name"));
+        Assert.assertEquals(22, (int) a2.value("age"));
+    }
+
+    @Test
+    public void testRollbackDiscardsUpdates() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        this.sqlgGraph.tx().commit();
+
+        a1 = this.sqlgGraph.traversal().V(a1.id()).next();
+        a1.property("name", "a2");
+        this.sqlgGraph.tx().rollback();
+        Assert.assertEquals("a1", this.sqlgGraph.traversal().V(a1.id()).next().value("name"));
+    }
+
+    @Test
+    public void testBatchModeFlushesBufferedUpdates() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        this.sqlgGraph.tx().commit();
+
+        a1 = this.sqlgGraph.traversal().V(a1.id()).next();
+        a1.property("name", "a2");
+        this.sqlgGraph.tx().normalBatchModeOn();
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a3");
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals("a2", this.sqlgGraph.traversal().V(a1.id()).next().value("name"));
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+    }
+}
@@ -0,0 +1,79 @@
+package org.umlg.sqlg.test.gremlincompile;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.sql.parse.SqlPlanCache;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Date: 2026/10/18
+ */
+public class TestBulkWithinArray extends BaseTest {
+
+    @Before
+    public void before() throws Exception {
+        super.before();
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsBulkWithinArrayParameter());
+    }
+
+    @Test
+    public void testWithinIds() {
+        List<Object> ids = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Vertex v = this.sqlgGraph.addVertex(T.label, "A", "index", i);
+            if (i % 2 == 0) {
+                ids.add(v.id());
+            }
+        }
+        this.sqlgGraph.tx().commit();
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").hasId(P.within(ids)).toList();
+        Assert.assertEquals(500, vertices.size());
+        Assert.assertTrue(vertices.stream().allMatch(v -> (int) v.value("index") % 2 == 0));
+        vertices = this.sqlgGraph.traversal().V().hasLabel("A").hasId(P.without(ids)).toList();
+        Assert.assertEquals(500, vertices.size());
+        Assert.assertTrue(vertices.stream().allMatch(v -> (int) v.value("index") % 2 == 1));
+    }
+
+    @Test
+    public void testWithinProperties() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1", "age", 1, "weight", 1.5D);
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2", "age", 2, "weight", 2.5D);
+        Vertex a3 = this.sqlgGraph.addVertex(T.label, "A", "name", "a3", "age", 3, "weight", 3.5D);
+        this.sqlgGraph.tx().commit();
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").has("name", P.within("a1", "a3", "a4")).toList();
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertTrue(vertices.containsAll(Arrays.asList(a1, a3)));
+        Assert.assertEquals(Arrays.asList(a2), this.sqlgGraph.traversal().V().hasLabel("A").has("age", P.without(1, 3)).toList());
+        Assert.assertEquals(Arrays.asList(a3), this.sqlgGraph.traversal().V().hasLabel("A").has("weight", P.within(3.5D, 4.5D)).toList());
+        //values of different types are joined as a VALUES list
+        Assert.assertEquals(Arrays.asList(a1), this.sqlgGraph.traversal().V().hasLabel("A").has("age", P.within(1, 5L)).toList());
+        //the outer traversal and the vertex step both have a bulk within
+        a1.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B", "name", "b1"));
+        a2.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B", "name", "b2"));
+        this.sqlgGraph.tx().commit();
+        List<Object> names = this.sqlgGraph.traversal().V().hasLabel("A").has("name", P.within("a1", "a2")).out("ab").has("name", P.within("b2", "b3")).values("name").toList();
+        Assert.assertEquals(Arrays.asList("b2"), names);
+    }
+
+    @Test
+    public void testNumberOfValuesIsTheSameShape() {
+        this.sqlgGraph.addVertex(T.label, "Person", "name", "john");
+        this.sqlgGraph.addVertex(T.label, "Person", "name", "peter");
+        this.sqlgGraph.addVertex(T.label, "Person", "name", "joe");
+        this.sqlgGraph.tx().commit();
+        SqlPlanCache sqlPlanCache = this.sqlgGraph.getSqlPlanCache();
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V().hasLabel("Person").has("name", P.within("john", "peter")).toList().size());
+        long hits = sqlPlanCache.getHits();
+        Assert.assertEquals(3, this.sqlgGraph.traversal().V().hasLabel("Person").has("name", P.within("john", "peter", "joe")).toList().size());
+        Assert.assertEquals(hits + 1, sqlPlanCache.getHits());
+    }
+}
@@ -0,0 +1,64 @@
+package org.umlg.sqlg.test.gremlincompile;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.umlg.sqlg.structure.SqlgTransaction;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.beans.PropertyVetoException;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Date: 2026/10/18
+ */
+public class TestChunkedQueries extends BaseTest {
+
+    @BeforeClass
+    public static void beforeClass() throws ClassNotFoundException, IOException, PropertyVetoException {
+        BaseTest.beforeClass();
+        configuration.setProperty(SqlgTransaction.QUERY_CHUNK_SIZE, 10);
+    }
+
+    @Test
+    public void testChunksAcrossQueries() {
+        for (int i = 0; i < 25; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+            Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b" + i);
+            a.addEdge("ab", b);
+        }
+        this.sqlgGraph.addVertex(T.label, "C", "name", "c");
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().setLazyQueries(false);
+
+        //three labels, three queries, the chunks do not line up with them
+        Set<String> names = new HashSet<>(this.sqlgGraph.traversal().V().<String>values("name").toList());
+        Assert.assertEquals(51, names.size());
+        Assert.assertTrue(names.contains("c"));
+
+        List<Path> paths = this.sqlgGraph.traversal().V().hasLabel("A").out("ab").path().toList();
+        Assert.assertEquals(25, paths.size());
+        for (Path path : paths) {
+            String a = ((Vertex) path.get(0)).value("name");
+            String b = ((Vertex) path.get(1)).value("name");
+            Assert.assertEquals(a.substring(1), b.substring(1));
+        }
+    }
+
+    @Test
+    public void testExactMultipleOfTheChunkSize() {
+        for (int i = 0; i < 20; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+        }
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.tx().setLazyQueries(false);
+        Assert.assertEquals(20, this.sqlgGraph.traversal().V().hasLabel("A").toList().size());
+        Assert.assertFalse(this.sqlgGraph.traversal().V().hasLabel("B").hasNext());
+    }
+}
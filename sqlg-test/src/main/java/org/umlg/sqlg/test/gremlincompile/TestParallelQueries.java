@@ -0,0 +1,111 @@
+package org.umlg.sqlg.test.gremlincompile;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.umlg.sqlg.structure.SqlgTransaction;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.beans.PropertyVetoException;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Date: 2026/10/18
+ */
+public class TestParallelQueries extends BaseTest {
+
+    private static final String[] LABELS = new String[]{"A", "B", "C", "D", "E", "F"};
+
+    @BeforeClass
+    public static void beforeClass() throws ClassNotFoundException, IOException, PropertyVetoException {
+        BaseTest.beforeClass();
+        configuration.setProperty(SqlgTransaction.QUERY_PARALLELISM, 4);
+    }
+
+    @Test
+    public void testManyLabels() {
+        for (String label : LABELS) {
+            for (int i = 0; i < 10; i++) {
+                this.sqlgGraph.addVertex(T.label, label, "name", label + i, "index", i);
+            }
+        }
+        this.sqlgGraph.tx().commit();
+        assertSameAsSequential(() -> this.sqlgGraph.traversal().V().hasLabel("A", "B", "C", "D", "E", "F"), 60);
+        assertSameAsSequential(() -> this.sqlgGraph.traversal().V().has("index", 3), LABELS.length);
+    }
+
+    @Test
+    public void testOptionalAndEmit() {
+        for (int i = 0; i < 5; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+            if (i % 2 == 0) {
+                Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b" + i);
+                a.addEdge("ab", b);
+                Vertex c = this.sqlgGraph.addVertex(T.label, "C", "name", "c" + i);
+                b.addEdge("bc", c);
+            }
+        }
+        this.sqlgGraph.tx().commit();
+        assertSameAsSequential(() -> this.sqlgGraph.traversal().V().hasLabel("A").optional(__.out()), 5);
+        assertSameAsSequential(() -> this.sqlgGraph.traversal().V().hasLabel("A").repeat(__.out()).emit().times(2), 6);
+    }
+
+    @Test
+    public void testPaths() {
+        for (int i = 0; i < 10; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+            a.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B", "name", "b" + i));
+            a.addEdge("ac", this.sqlgGraph.addVertex(T.label, "C", "name", "c" + i));
+        }
+        this.sqlgGraph.tx().commit();
+        List<Path> paths = this.sqlgGraph.traversal().V().hasLabel("A").out().path().toList();
+        Assert.assertEquals(20, paths.size());
+        for (Path path : paths) {
+            String a = ((Vertex) path.get(0)).value("name");
+            String other = ((Vertex) path.get(1)).value("name");
+            Assert.assertEquals(a.substring(1), other.substring(1));
+        }
+    }
+
+    @Test
+    public void testTransactionWithWrites() {
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        //the transaction has not committed, the queries run on its own connection
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V().hasLabel("A", "B").toList().size());
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V().hasLabel("A", "B").toList().size());
+    }
+
+    @Test
+    public void testDrop() {
+        for (String label : LABELS) {
+            this.sqlgGraph.addVertex(T.label, label, "name", label);
+        }
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.traversal().V().hasLabel("A", "B", "C").drop().iterate();
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(3, this.sqlgGraph.traversal().V().toList().size());
+    }
+
+    private <E> void assertSameAsSequential(Supplier<GraphTraversal<Vertex, E>> traversal, int expectedSize) {
+        List<E> parallel = traversal.get().toList();
+        this.sqlgGraph.tx().rollback();
+        this.sqlgGraph.getConfiguration().setProperty(SqlgTransaction.QUERY_PARALLELISM, 1);
+        try {
+            List<E> sequential = traversal.get().toList();
+            this.sqlgGraph.tx().rollback();
+            Assert.assertEquals(expectedSize, parallel.size());
+            Assert.assertEquals(sequential, parallel);
+        } finally {
+            this.sqlgGraph.getConfiguration().setProperty(SqlgTransaction.QUERY_PARALLELISM, 4);
+        }
+    }
+}
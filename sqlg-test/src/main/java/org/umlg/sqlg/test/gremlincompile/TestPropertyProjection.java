@@ -0,0 +1,65 @@
+package org.umlg.sqlg.test.gremlincompile;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.*;
+
+/**
+ * Date: 2026/10/18
+ */
+public class TestPropertyProjection extends BaseTest {
+
+    @Test
+    public void testValuesOnlySelectsTheProperty() {
+        this.sqlgGraph.addVertex(T.label, "Person", "name", "john", "surname", "smith", "age", 1);
+        this.sqlgGraph.addVertex(T.label, "Person", "name", "peter", "surname", "jones", "age", 2);
+        this.sqlgGraph.tx().commit();
+        List<String> names = this.sqlgGraph.traversal().V().hasLabel("Person").<String>values("name").toList();
+        Assert.assertEquals(new HashSet<>(Arrays.asList("john", "peter")), new HashSet<>(names));
+        List<Map<String, Object>> valueMaps = this.sqlgGraph.traversal().V().hasLabel("Person").has("age", 1).valueMap("name", "age").toList();
+        Assert.assertEquals(1, valueMaps.size());
+        Assert.assertEquals(2, valueMaps.get(0).size());
+        Assert.assertEquals(Collections.singletonList("john"), valueMaps.get(0).get("name"));
+        Assert.assertEquals(Collections.singletonList(1), valueMaps.get(0).get("age"));
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V().hasLabel("Person").id().toList().size());
+        Assert.assertEquals(2L, this.sqlgGraph.traversal().V().hasLabel("Person").count().next(), 0);
+    }
+
+    @Test
+    public void testRemainingPropertiesLoadLazily() {
+        this.sqlgGraph.addVertex(T.label, "Person", "name", "john", "surname", "smith", "age", 1);
+        this.sqlgGraph.tx().commit();
+        List<Vertex> persons = this.sqlgGraph.traversal().V().hasLabel("Person").as("a").values("name").<Vertex>select("a").toList();
+        Assert.assertEquals(1, persons.size());
+        Vertex john = persons.get(0);
+        String surname = john.value("surname");
+        Assert.assertEquals("smith", surname);
+        Assert.assertEquals(1, (int) john.value("age"));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("name", "surname", "age")), john.keys());
+    }
+
+    @Test
+    public void testVertexStepAndEdges() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a", "description", "aaaa");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1", "description", "bbbb");
+        Vertex b2 = this.sqlgGraph.addVertex(T.label, "B", "name", "b2", "description", "bbbb");
+        a.addEdge("ab", b1, "weight", 1, "note", "first");
+        a.addEdge("ab", b2, "weight", 2, "note", "second");
+        this.sqlgGraph.tx().commit();
+        List<String> names = this.sqlgGraph.traversal().V(a).out("ab").<String>values("name").toList();
+        Assert.assertEquals(new HashSet<>(Arrays.asList("b1", "b2")), new HashSet<>(names));
+        List<Integer> weights = this.sqlgGraph.traversal().E().hasLabel("ab").<Integer>values("weight").toList();
+        Assert.assertEquals(new HashSet<>(Arrays.asList(1, 2)), new HashSet<>(weights));
+        List<Edge> edges = this.sqlgGraph.traversal().V(a).outE("ab").as("e").values("weight").<Edge>select("e").toList();
+        Assert.assertEquals(2, edges.size());
+        for (Edge edge : edges) {
+            Assert.assertTrue(edge.property("note").isPresent());
+            Assert.assertTrue(edge.inVertex().property("description").isPresent());
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.junit.Assert;
 import org.junit.Test;
 import org.umlg.sqlg.step.SqlgGraphStep;
+import org.umlg.sqlg.step.barrier.SqlgRecursiveRepeatStepBarrier;
 import org.umlg.sqlg.step.barrier.SqlgRepeatStepBarrier;
 import org.umlg.sqlg.step.SqlgVertexStep;
 import org.umlg.sqlg.test.BaseTest;
@@ -39,11 +40,15 @@ public class TestRepeatStepGraphOut extends BaseTest {
         printTraversalForm(traversal);
         Assert.assertEquals(2, traversal.getSteps().size());
         Assert.assertTrue(traversal.getSteps().get(0) instanceof SqlgGraphStep);
-        Assert.assertTrue(traversal.getSteps().get(1) instanceof SqlgRepeatStepBarrier);
-        SqlgRepeatStepBarrier repeatStep = (SqlgRepeatStepBarrier) traversal.getSteps().get(1);
-        DefaultGraphTraversal traversal1 = (DefaultGraphTraversal) repeatStep.getGlobalChildren().get(0);
-        Assert.assertEquals(2, traversal1.getSteps().size());
-        Assert.assertTrue(traversal1.getSteps().get(0) instanceof SqlgVertexStep);
+        if (this.sqlgGraph.getSqlDialect().supportsRecursiveQueries()) {
+            Assert.assertTrue(traversal.getSteps().get(1) instanceof SqlgRecursiveRepeatStepBarrier);
+        } else {
+            Assert.assertTrue(traversal.getSteps().get(1) instanceof SqlgRepeatStepBarrier);
+            SqlgRepeatStepBarrier repeatStep = (SqlgRepeatStepBarrier) traversal.getSteps().get(1);
+            DefaultGraphTraversal traversal1 = (DefaultGraphTraversal) repeatStep.getGlobalChildren().get(0);
+            Assert.assertEquals(2, traversal1.getSteps().size());
+            Assert.assertTrue(traversal1.getSteps().get(0) instanceof SqlgVertexStep);
+        }
         List<Vertex> vertices = traversal.toList();
         Assert.assertEquals(1, vertices.size());
     }
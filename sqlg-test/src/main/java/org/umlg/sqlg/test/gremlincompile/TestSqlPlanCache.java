@@ -0,0 +1,100 @@
+package org.umlg.sqlg.test.gremlincompile;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.sql.parse.SqlPlanCache;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Date: 2026/10/18
+ */
+public class TestSqlPlanCache extends BaseTest {
+
+    @Test
+    public void testSameShapeDifferentValues() {
+        this.sqlgGraph.addVertex(T.label, "Person", "name", "john", "age", 1);
+        this.sqlgGraph.addVertex(T.label, "Person", "name", "peter", "age", 2);
+        this.sqlgGraph.addVertex(T.label, "Person", "name", "joe", "age", 3);
+        this.sqlgGraph.tx().commit();
+        SqlPlanCache sqlPlanCache = this.sqlgGraph.getSqlPlanCache();
+        List<Vertex> persons = this.sqlgGraph.traversal().V().hasLabel("Person").has("name", "john").toList();
+        Assert.assertEquals(1, persons.size());
+        Assert.assertEquals(1, (int) persons.get(0).value("age"));
+        long hits = sqlPlanCache.getHits();
+        persons = this.sqlgGraph.traversal().V().hasLabel("Person").has("name", "peter").toList();
+        Assert.assertEquals(1, persons.size());
+        Assert.assertEquals(2, (int) persons.get(0).value("age"));
+        Assert.assertEquals(hits + 1, sqlPlanCache.getHits());
+
+        //a different number of values is a different shape
+        persons = this.sqlgGraph.traversal().V().hasLabel("Person").has("name", P.within("john", "peter")).toList();
+        Assert.assertEquals(2, persons.size());
+        persons = this.sqlgGraph.traversal().V().hasLabel("Person").has("name", P.within("john", "peter", "joe")).toList();
+        Assert.assertEquals(3, persons.size());
+        persons = this.sqlgGraph.traversal().V().hasLabel("Person").has("name", P.within("joe", "peter")).toList();
+        Assert.assertEquals(2, persons.size());
+    }
+
+    @Test
+    public void testVertexStepWithDifferentParents() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        Vertex b2 = this.sqlgGraph.addVertex(T.label, "B", "name", "b2");
+        Vertex b3 = this.sqlgGraph.addVertex(T.label, "B", "name", "b3");
+        a1.addEdge("ab", b1);
+        a2.addEdge("ab", b2);
+        a2.addEdge("ab", b3);
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(Arrays.asList(b1), this.sqlgGraph.traversal().V(a1).out("ab").toList());
+        List<Vertex> bs = this.sqlgGraph.traversal().V(a2).out("ab").toList();
+        Assert.assertEquals(2, bs.size());
+        Assert.assertTrue(bs.containsAll(Arrays.asList(b2, b3)));
+        Assert.assertEquals(Arrays.asList(b1), this.sqlgGraph.traversal().V(a1).out("ab").toList());
+        Assert.assertEquals(b3, this.sqlgGraph.traversal().V().hasLabel("A").out("ab").has("name", "b3").next());
+        Assert.assertEquals(b2, this.sqlgGraph.traversal().V().hasLabel("A").out("ab").has("name", "b2").next());
+    }
+
+    @Test
+    public void testVertexStepParentIdsAreNotCached() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        Vertex b2 = this.sqlgGraph.addVertex(T.label, "B", "name", "b2");
+        a1.addEdge("ab", b1);
+        a2.addEdge("ab", b2);
+        this.sqlgGraph.tx().commit();
+        SqlPlanCache sqlPlanCache = this.sqlgGraph.getSqlPlanCache();
+        int size = sqlPlanCache.size();
+        List<Vertex> bs = this.sqlgGraph.traversal().V(a1, a2).local(__.out("ab")).toList();
+        Assert.assertEquals(2, bs.size());
+        Assert.assertTrue(bs.containsAll(Arrays.asList(b1, b2)));
+        Assert.assertEquals(Arrays.asList(b1), this.sqlgGraph.traversal().V(a1).local(__.out("ab")).toList());
+        //only the graph step's plans are cached, not the vertex step's that are keyed on its parents
+        int sizeAfter = sqlPlanCache.size();
+        Assert.assertEquals(Arrays.asList(b2), this.sqlgGraph.traversal().V(a2).local(__.out("ab")).toList());
+        Assert.assertTrue(sizeAfter - size <= 2);
+        Assert.assertEquals(sizeAfter, sqlPlanCache.size());
+    }
+
+    @Test
+    public void testTopologyChangeInvalidatesPlan() {
+        this.sqlgGraph.addVertex(T.label, "Person", "name", "john");
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("Person").has("name", "john").toList().size());
+        long version = this.sqlgGraph.getTopology().getVersion();
+        this.sqlgGraph.addVertex(T.label, "Person", "name", "peter", "surname", "smith");
+        this.sqlgGraph.tx().commit();
+        Assert.assertNotEquals(version, this.sqlgGraph.getTopology().getVersion());
+        List<Vertex> persons = this.sqlgGraph.traversal().V().hasLabel("Person").has("name", "peter").toList();
+        Assert.assertEquals(1, persons.size());
+        Assert.assertEquals("smith", persons.get(0).value("surname"));
+    }
+}
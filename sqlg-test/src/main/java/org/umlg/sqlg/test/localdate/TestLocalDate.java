@@ -402,4 +402,43 @@ public class TestLocalDate extends BaseTest {
             Assert.assertEquals(duration, v.value("duration"));
         }
     }
+
+    @Test
+    public void testLoadDateTypesManyRows() {
+        List<Object> ids = new ArrayList<>();
+        Vertex root = this.sqlgGraph.addVertex(T.label, "Root");
+        for (int i = 0; i < 10; i++) {
+            Vertex v = this.sqlgGraph.addVertex(T.label, "Person",
+                    "index", i,
+                    "zonedDateTime", ZonedDateTime.of(LocalDateTime.of(2018, 1, 1, 0, 0).plusDays(i), ZoneId.of(i % 2 == 0 ? "Africa/Harare" : "Asia/Tokyo")),
+                    "period", Period.of(i, i + 1, i + 2),
+                    "duration", Duration.ofSeconds(i, i * 1000)
+            );
+            root.addEdge("person", v, "since", Period.of(1, 2, i));
+            ids.add(v.id());
+        }
+        this.sqlgGraph.tx().commit();
+        List<List<Vertex>> loaded = Arrays.asList(
+                this.sqlgGraph.traversal().V().hasLabel("Person").toList(),
+                this.sqlgGraph.traversal().V(ids.toArray()).toList(),
+                this.sqlgGraph.traversal().V(root).out("person").toList()
+        );
+        for (List<Vertex> vertices : loaded) {
+            Assert.assertEquals(10, vertices.size());
+            for (Vertex v : vertices) {
+                int i = v.value("index");
+                Assert.assertEquals(ZonedDateTime.of(LocalDateTime.of(2018, 1, 1, 0, 0).plusDays(i), ZoneId.of(i % 2 == 0 ? "Africa/Harare" : "Asia/Tokyo")), v.value("zonedDateTime"));
+                Assert.assertEquals(Period.of(i, i + 1, i + 2), v.value("period"));
+                Assert.assertEquals(Duration.ofSeconds(i, i * 1000), v.value("duration"));
+            }
+        }
+        List<Edge> edges = this.sqlgGraph.traversal().E().hasLabel("person").toList();
+        Assert.assertEquals(10, edges.size());
+        Set<Period> periods = new HashSet<>();
+        for (Edge edge : edges) {
+            Assert.assertEquals(root, edge.outVertex());
+            periods.add(edge.value("since"));
+        }
+        Assert.assertEquals(10, periods.size());
+    }
 }
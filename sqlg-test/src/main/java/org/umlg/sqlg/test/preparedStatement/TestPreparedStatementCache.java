@@ -0,0 +1,129 @@
+package org.umlg.sqlg.test.preparedStatement;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.structure.PreparedStatementCache;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Date: 2026/10/18
+ */
+public class TestPreparedStatementCache extends BaseTest {
+
+    @Test
+    public void testStatementReusedForSameQuery() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        this.sqlgGraph.tx().commit();
+        PreparedStatementCache.Statistics statistics = this.sqlgGraph.tx().getStatementCacheStatistics();
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").has("name", "a").toList();
+        Assert.assertEquals(1, vertices.size());
+        long hits = statistics.getHits();
+        long misses = statistics.getMisses();
+        vertices = this.sqlgGraph.traversal().V().hasLabel("A").has("name", "b").toList();
+        Assert.assertEquals(0, vertices.size());
+        Assert.assertEquals(hits + 1, statistics.getHits());
+        Assert.assertEquals(misses, statistics.getMisses());
+        Assert.assertTrue(this.sqlgGraph.tx().getPreparedStatementCache().isEmpty());
+        Assert.assertTrue(this.sqlgGraph.tx().getPreparedStatementCache().idleSize() > 0);
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(a, this.sqlgGraph.traversal().V().hasLabel("A").has("name", "a").next());
+    }
+
+    @Test
+    public void testStatementReusedAcrossTransactions() {
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        this.sqlgGraph.tx().commit();
+        PreparedStatementCache.Statistics statistics = this.sqlgGraph.tx().getStatementCacheStatistics();
+        long hits = statistics.getHits();
+        //one query per transaction, a hit can only come from a statement kept by an earlier transaction on the same connection.
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("A").toList().size());
+            Assert.assertTrue(this.sqlgGraph.tx().getPreparedStatementCache().isEmpty());
+            this.sqlgGraph.tx().commit();
+        }
+        Assert.assertTrue(statistics.getHits() > hits);
+    }
+
+    @Test
+    public void testNestedSameQueryDoesNotShareStatement() {
+        for (int i = 0; i < 10; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+        }
+        this.sqlgGraph.tx().commit();
+        int count = 0;
+        Iterator<Vertex> outer = this.sqlgGraph.traversal().V().hasLabel("A");
+        while (outer.hasNext()) {
+            Vertex v = outer.next();
+            //the inner traversal executes the same sql while the outer ResultSet is still open.
+            Assert.assertEquals(10, this.sqlgGraph.traversal().V().hasLabel("A").toList().size());
+            String name = v.value("name");
+            Assert.assertEquals(name, this.sqlgGraph.traversal().V(v.id()).next().value("name"));
+            count++;
+        }
+        Assert.assertEquals(10, count);
+        this.sqlgGraph.tx().rollback();
+    }
+
+    @Test
+    public void testUpdateAndRemoveReuseStatement() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex a3 = this.sqlgGraph.addVertex(T.label, "A", "name", "a3");
+        this.sqlgGraph.tx().commit();
+        PreparedStatementCache.Statistics statistics = this.sqlgGraph.tx().getStatementCacheStatistics();
+        a1.property("name", "aa1");
+        long hits = statistics.getHits();
+        a2.property("name", "aa2");
+        Assert.assertEquals(hits + 1, statistics.getHits());
+        a1.remove();
+        hits = statistics.getHits();
+        a2.remove();
+        Assert.assertEquals(hits + 1, statistics.getHits());
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("A").count().next().intValue());
+        Assert.assertEquals("a3", this.sqlgGraph.traversal().V(a3.id()).next().value("name"));
+    }
+
+    @Test
+    public void testTopologyChangeClearsCache() {
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        this.sqlgGraph.tx().commit();
+        PreparedStatementCache.Statistics statistics = this.sqlgGraph.tx().getStatementCacheStatistics();
+        this.sqlgGraph.traversal().V().hasLabel("A").toList();
+        Assert.assertTrue(this.sqlgGraph.tx().getPreparedStatementCache().idleSize() > 0);
+        this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        long hits = statistics.getHits();
+        long misses = statistics.getMisses();
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("A").toList().size());
+        Assert.assertEquals(hits, statistics.getHits());
+        Assert.assertEquals(misses + 1, statistics.getMisses());
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("B").count().next().intValue());
+    }
+
+    @Test
+    public void testTopologyChangeOnAnotherThreadClearsCache() throws InterruptedException {
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        this.sqlgGraph.tx().commit();
+        PreparedStatementCache.Statistics statistics = this.sqlgGraph.tx().getStatementCacheStatistics();
+        this.sqlgGraph.traversal().V().hasLabel("A").toList();
+        Assert.assertTrue(this.sqlgGraph.tx().getPreparedStatementCache().idleSize() > 0);
+        Thread thread = new Thread(() -> {
+            this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+            this.sqlgGraph.tx().commit();
+        });
+        thread.start();
+        thread.join();
+        long hits = statistics.getHits();
+        long misses = statistics.getMisses();
+        Assert.assertEquals(1, this.sqlgGraph.traversal().V().hasLabel("A").toList().size());
+        Assert.assertEquals(hits, statistics.getHits());
+        Assert.assertEquals(misses + 1, statistics.getMisses());
+        this.sqlgGraph.tx().rollback();
+    }
+}
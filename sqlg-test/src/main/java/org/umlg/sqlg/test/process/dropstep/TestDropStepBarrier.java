@@ -295,6 +295,58 @@ public class TestDropStepBarrier extends BaseTest {
         }
     }
 
+    @Test
+    public void testDropManyInChunks() {
+        int count = this.sqlgGraph.getSqlDialect().sqlInParameterLimit() + 10;
+        if (this.sqlgGraph.getSqlDialect().supportsBatchMode()) {
+            this.sqlgGraph.tx().normalBatchModeOn();
+        }
+        Vertex c1 = this.sqlgGraph.addVertex(T.label, "C");
+        for (int i = 0; i < count; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A");
+            Vertex b = this.sqlgGraph.addVertex(T.label, "B");
+            a.addEdge("ab", b);
+            c1.addEdge("ca", a);
+        }
+        this.sqlgGraph.tx().commit();
+
+        this.dropTraversal.V().local(__.hasLabel("A")).drop().iterate();
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(0, this.sqlgGraph.traversal().V().hasLabel("A").count().next(), 0);
+        Assert.assertEquals(0, this.sqlgGraph.traversal().E().count().next(), 0);
+        Assert.assertEquals(count, this.sqlgGraph.traversal().V().hasLabel("B").count().next(), 0);
+        if (this.mutatingCallback) {
+            Assert.assertEquals(count, this.removedVertices.size());
+            Assert.assertEquals(2 * count, this.removedEdges.size());
+        }
+    }
+
+    @Test
+    public void testDropVertexAndItsEdgeNotifiesTheEdgeOnce() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        Vertex b2 = this.sqlgGraph.addVertex(T.label, "B", "name", "b2");
+        Edge e1 = a1.addEdge("ab", b1, "weight", 1);
+        Edge e2 = a1.addEdge("ab", b2, "weight", 2);
+        this.sqlgGraph.tx().commit();
+
+        this.dropTraversal.V(a1.id()).union(__.identity(), __.outE("ab").has("weight", 1)).drop().iterate();
+        this.sqlgGraph.tx().commit();
+        Assert.assertFalse(this.sqlgGraph.traversal().V().hasLabel("A").hasNext());
+        Assert.assertFalse(this.sqlgGraph.traversal().E().hasLabel("ab").hasNext());
+        Assert.assertEquals(2, this.sqlgGraph.traversal().V().hasLabel("B").count().next(), 0);
+        if (this.mutatingCallback) {
+            Assert.assertEquals(1, this.removedVertices.size());
+            Assert.assertEquals(2, this.removedEdges.size());
+            for (Edge removedEdge : this.removedEdges) {
+                Assert.assertTrue(removedEdge.id().equals(e1.id()) || removedEdge.id().equals(e2.id()));
+                Assert.assertEquals(removedEdge.id().equals(e1.id()) ? 1 : 2, (int) removedEdge.value("weight"));
+                Assert.assertEquals(a1.id(), removedEdge.outVertex().id());
+                Assert.assertEquals(removedEdge.id().equals(e1.id()) ? b1.id() : b2.id(), removedEdge.inVertex().id());
+            }
+        }
+    }
+
     static abstract class AbstractMutationListener implements MutationListener {
         @Override
         public void vertexAdded(final Vertex vertex) {
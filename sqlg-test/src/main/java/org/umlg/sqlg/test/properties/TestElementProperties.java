@@ -0,0 +1,55 @@
+package org.umlg.sqlg.test.properties;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Date: 2026/10/18
+ */
+public class TestElementProperties extends BaseTest {
+
+    @Test
+    public void testPropertiesAddedToAnExistingLabel() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        this.sqlgGraph.tx().commit();
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "surname", "s2", "age", 2);
+        a1.property("age", 1);
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(new HashSet<>(Arrays.asList("name", "age")), a1.keys());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("surname", "age")), a2.keys());
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").order().by("age").toList();
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertEquals("a1", vertices.get(0).value("name"));
+        Assert.assertFalse(vertices.get(0).property("surname").isPresent());
+        Assert.assertEquals("s2", vertices.get(1).value("surname"));
+        Assert.assertFalse(vertices.get(1).property("name").isPresent());
+        Assert.assertEquals(2, (int) vertices.get(1).value("age"));
+    }
+
+    @Test
+    public void testRemoveAndRollbackProperties() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a", "surname", "s");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        Edge e = a.addEdge("ab", b, "weight", 1.5D, "note", "n");
+        this.sqlgGraph.tx().commit();
+        a.property("surname").remove();
+        e.property("note").remove();
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(new HashSet<>(Arrays.asList("name")), this.sqlgGraph.traversal().V(a.id()).next().keys());
+        Edge edge = this.sqlgGraph.traversal().E(e.id()).next();
+        Assert.assertEquals(new HashSet<>(Arrays.asList("weight")), edge.keys());
+        Assert.assertEquals(1.5D, edge.value("weight"), 0D);
+
+        a.property("name", "changed");
+        this.sqlgGraph.tx().rollback();
+        Assert.assertEquals("a", this.sqlgGraph.traversal().V(a.id()).next().value("name"));
+    }
+}
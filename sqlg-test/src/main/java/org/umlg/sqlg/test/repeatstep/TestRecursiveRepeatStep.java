@@ -0,0 +1,130 @@
+package org.umlg.sqlg.test.repeatstep;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.umlg.sqlg.step.barrier.SqlgRecursiveRepeatStepBarrier;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Date: 2026/10/18
+ */
+public class TestRecursiveRepeatStep extends BaseTest {
+
+    @Before
+    public void before() throws Exception {
+        super.before();
+        Assume.assumeTrue(this.sqlgGraph.getSqlDialect().supportsRecursiveQueries());
+    }
+
+    @Test
+    public void testUntilHas() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "Person", "name", "a1", "manager", false);
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "Person", "name", "a2", "manager", false);
+        Vertex a3 = this.sqlgGraph.addVertex(T.label, "Person", "name", "a3", "manager", true);
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "Board", "name", "b1");
+        a1.addEdge("reportsTo", a2);
+        a2.addEdge("reportsTo", a3);
+        a3.addEdge("reportsTo", b1);
+        this.sqlgGraph.tx().commit();
+
+        GraphTraversal<Vertex, Vertex> traversal = this.sqlgGraph.traversal().V(a1).repeat(__.out("reportsTo")).until(__.has("manager", true));
+        assertRecursive(traversal);
+        Assert.assertEquals(Arrays.asList(a3), traversal.toList());
+
+        Assert.assertEquals(
+                Arrays.asList(a3),
+                this.sqlgGraph.traversal().V(a1).repeat(__.out("reportsTo")).until(__.has("manager", true).has("name", P.within("a3", "a4"))).toList()
+        );
+        Assert.assertEquals(
+                Arrays.asList(b1),
+                this.sqlgGraph.traversal().V(a1).repeat(__.out()).until(__.hasLabel("Board")).toList()
+        );
+        //until before the repeat tests the start
+        Assert.assertEquals(
+                Arrays.asList(a3),
+                this.sqlgGraph.traversal().V(a3).until(__.has("manager", true)).repeat(__.out()).toList()
+        );
+    }
+
+    @Test
+    public void testEmit() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        Vertex b2 = this.sqlgGraph.addVertex(T.label, "B", "name", "b2");
+        Vertex c1 = this.sqlgGraph.addVertex(T.label, "C", "name", "c1");
+        a1.addEdge("ab", b1);
+        a1.addEdge("ab", b2);
+        b1.addEdge("bc", c1);
+        this.sqlgGraph.tx().commit();
+
+        GraphTraversal<Vertex, Vertex> traversal = this.sqlgGraph.traversal().V().hasLabel("A").repeat(__.out()).emit();
+        assertRecursive(traversal);
+        List<Vertex> vertices = traversal.toList();
+        Assert.assertEquals(3, vertices.size());
+        Assert.assertTrue(vertices.containsAll(Arrays.asList(b1, b2, c1)));
+
+        vertices = this.sqlgGraph.traversal().V().hasLabel("A").emit().repeat(__.out()).toList();
+        Assert.assertEquals(4, vertices.size());
+        Assert.assertTrue(vertices.containsAll(Arrays.asList(a1, b1, b2, c1)));
+
+        vertices = this.sqlgGraph.traversal().V().hasLabel("A").repeat(__.out()).emit().until(__.hasLabel("B")).toList();
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertTrue(vertices.containsAll(Arrays.asList(b1, b2)));
+    }
+
+    @Test
+    public void testInAndPath() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        Vertex c1 = this.sqlgGraph.addVertex(T.label, "C", "name", "c1");
+        a1.addEdge("ab", b1);
+        b1.addEdge("bc", c1);
+        this.sqlgGraph.tx().commit();
+
+        GraphTraversal<Vertex, Path> traversal = this.sqlgGraph.traversal().V(c1).repeat(__.in()).until(__.has("name", "a1")).path();
+        assertRecursive(traversal);
+        List<Path> paths = traversal.toList();
+        Assert.assertEquals(1, paths.size());
+        Assert.assertEquals(Arrays.asList(c1, b1, a1), paths.get(0).objects());
+        Assert.assertEquals("b1", ((Vertex) paths.get(0).get(1)).value("name"));
+    }
+
+    @Test
+    public void testCycle() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex a3 = this.sqlgGraph.addVertex(T.label, "A", "name", "a3");
+        Vertex x = this.sqlgGraph.addVertex(T.label, "X", "name", "x");
+        a1.addEdge("aa", a2);
+        a2.addEdge("aa", a3);
+        a3.addEdge("aa", a1);
+        a3.addEdge("ax", x);
+        this.sqlgGraph.tx().commit();
+
+        GraphTraversal<Vertex, Vertex> traversal = this.sqlgGraph.traversal().V().hasLabel("A").repeat(__.both()).until(__.hasLabel("X"));
+        assertRecursive(traversal);
+        List<Vertex> vertices = traversal.toList();
+        //a traverser does not revisit a vertex on its path, a1 and a2 reach x in two ways, a3 in one
+        Assert.assertEquals(5, vertices.size());
+        Assert.assertTrue(vertices.stream().allMatch(v -> v.equals(x)));
+    }
+
+    private void assertRecursive(GraphTraversal<?, ?> traversal) {
+        DefaultGraphTraversal<?, ?> defaultGraphTraversal = (DefaultGraphTraversal<?, ?>) traversal;
+        defaultGraphTraversal.applyStrategies();
+        Assert.assertEquals(1, TraversalHelper.getStepsOfAssignableClassRecursively(SqlgRecursiveRepeatStepBarrier.class, defaultGraphTraversal).size());
+    }
+}
@@ -0,0 +1,98 @@
+package org.umlg.sqlg.test.repeatstep;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.step.barrier.SqlgShortestPathStepBarrier;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Date: 2026/10/18
+ */
+public class TestShortestPath extends BaseTest {
+
+    @Test
+    public void testShortestPath() {
+        //a1 - b1 - b2 - b3 - c1 and a1 - b4 - c1
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        Vertex b2 = this.sqlgGraph.addVertex(T.label, "B", "name", "b2");
+        Vertex b3 = this.sqlgGraph.addVertex(T.label, "B", "name", "b3");
+        Vertex b4 = this.sqlgGraph.addVertex(T.label, "B", "name", "b4");
+        Vertex c1 = this.sqlgGraph.addVertex(T.label, "C", "name", "c1");
+        a1.addEdge("ab", b1);
+        b1.addEdge("bb", b2);
+        b2.addEdge("bb", b3);
+        b3.addEdge("bc", c1);
+        a1.addEdge("ab", b4);
+        c1.addEdge("cb", b4);
+        this.sqlgGraph.tx().commit();
+
+        GraphTraversal<Vertex, Path> traversal = this.sqlgGraph.traversal().V(a1)
+                .repeat(__.both().simplePath()).until(__.hasId(c1.id())).limit(1).path();
+        assertShortestPath(traversal);
+        List<Path> paths = traversal.toList();
+        Assert.assertEquals(1, paths.size());
+        Assert.assertEquals(Arrays.asList(a1, b4, c1), paths.get(0).objects());
+
+        //c1 - b4 is against the direction
+        paths = this.sqlgGraph.traversal().V(a1)
+                .repeat(__.out().simplePath()).until(__.hasId(c1.id())).limit(1).path().toList();
+        Assert.assertEquals(1, paths.size());
+        Assert.assertEquals(Arrays.asList(a1, b1, b2, b3, c1), paths.get(0).objects());
+
+        paths = this.sqlgGraph.traversal().V(c1)
+                .repeat(__.in("bc", "bb", "ab").simplePath()).until(__.hasId(a1.id())).limit(1).path().toList();
+        Assert.assertEquals(1, paths.size());
+        Assert.assertEquals(Arrays.asList(c1, b3, b2, b1, a1), paths.get(0).objects());
+        Assert.assertEquals("b3", ((Vertex) paths.get(0).get(1)).value("name"));
+    }
+
+    @Test
+    public void testShortestPathFromManyStarts() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex b1 = this.sqlgGraph.addVertex(T.label, "B", "name", "b1");
+        Vertex b2 = this.sqlgGraph.addVertex(T.label, "B", "name", "b2");
+        Vertex c1 = this.sqlgGraph.addVertex(T.label, "C", "name", "c1");
+        Vertex c2 = this.sqlgGraph.addVertex(T.label, "C", "name", "c2");
+        a1.addEdge("ab", b1);
+        b1.addEdge("bb", b2);
+        b2.addEdge("bc", c1);
+        a2.addEdge("ab", b2);
+        this.sqlgGraph.tx().commit();
+
+        GraphTraversal<Vertex, Vertex> traversal = this.sqlgGraph.traversal().V().hasLabel("A")
+                .repeat(__.out().simplePath()).until(__.hasId(c1.id(), c2.id())).limit(1);
+        assertShortestPath(traversal);
+        Assert.assertEquals(Arrays.asList(c1), traversal.toList());
+        List<Path> paths = this.sqlgGraph.traversal().V().hasLabel("A")
+                .repeat(__.out().simplePath()).until(__.hasId(c1.id(), c2.id())).limit(1).path().toList();
+        Assert.assertEquals(Arrays.asList(a2, b2, c1), paths.get(0).objects());
+
+        //no path
+        Assert.assertTrue(this.sqlgGraph.traversal().V(c1)
+                .repeat(__.out().simplePath()).until(__.hasId(a1.id())).limit(1).toList().isEmpty());
+        //until before the repeat tests the start
+        Assert.assertEquals(Arrays.asList(a1), this.sqlgGraph.traversal().V(a1)
+                .until(__.hasId(a1.id())).repeat(__.both().simplePath()).limit(1).toList());
+        //until after the repeat, a simple path does not return to the start
+        Assert.assertTrue(this.sqlgGraph.traversal().V(a1)
+                .repeat(__.both().simplePath()).until(__.hasId(a1.id())).limit(1).toList().isEmpty());
+    }
+
+    private void assertShortestPath(GraphTraversal<?, ?> traversal) {
+        DefaultGraphTraversal<?, ?> defaultGraphTraversal = (DefaultGraphTraversal<?, ?>) traversal;
+        defaultGraphTraversal.applyStrategies();
+        Assert.assertEquals(1, TraversalHelper.getStepsOfAssignableClassRecursively(SqlgShortestPathStepBarrier.class, defaultGraphTraversal).size());
+    }
+}
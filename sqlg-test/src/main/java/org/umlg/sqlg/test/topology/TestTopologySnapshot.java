@@ -0,0 +1,66 @@
+package org.umlg.sqlg.test.topology;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.junit.Assert;
+import org.junit.Test;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.topology.Topology;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Date: 2026/10/18
+ */
+public class TestTopologySnapshot extends BaseTest {
+
+    @Test
+    public void testCommittedSnapshotIsSharedAndImmutable() {
+        this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        this.sqlgGraph.tx().commit();
+        Map<String, Map<String, PropertyType>> allTables = this.sqlgGraph.getTopology().getAllTables();
+        Assert.assertSame(allTables, this.sqlgGraph.getTopology().getAllTables());
+        Assert.assertSame(this.sqlgGraph.getTopology().getTableLabels(), this.sqlgGraph.getTopology().getTableLabels());
+        Assert.assertSame(this.sqlgGraph.getTopology().getAllEdgeForeignKeys(), this.sqlgGraph.getTopology().getAllEdgeForeignKeys());
+        Assert.assertTrue(allTables.containsKey(this.sqlgGraph.getSqlDialect().getPublicSchema() + "." + Topology.VERTEX_PREFIX + "A"));
+        Assert.assertFalse(allTables.containsKey(Topology.SQLG_SCHEMA + "." + Topology.VERTEX_PREFIX + Topology.SQLG_SCHEMA_VERTEX_LABEL));
+        Assert.assertTrue(this.sqlgGraph.getTopology().getAllTables(true).containsKey(Topology.SQLG_SCHEMA + "." + Topology.VERTEX_PREFIX + Topology.SQLG_SCHEMA_VERTEX_LABEL));
+        try {
+            allTables.get(this.sqlgGraph.getSqlDialect().getPublicSchema() + "." + Topology.VERTEX_PREFIX + "A").put("surname", PropertyType.STRING);
+            Assert.fail("the committed snapshot may not be modified");
+        } catch (UnsupportedOperationException ignore) {
+        }
+    }
+
+    @Test
+    public void testUncommittedTopologyIsOnlyVisibleToTheWriter() throws InterruptedException, ExecutionException {
+        String table = this.sqlgGraph.getSqlDialect().getPublicSchema() + "." + Topology.VERTEX_PREFIX + "A";
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            long committedVersion = this.sqlgGraph.getTopology().getCommittedVersion();
+            this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+            Assert.assertTrue(this.sqlgGraph.getTopology().getAllTables().containsKey(table));
+            Assert.assertFalse(executorService.submit(() -> this.sqlgGraph.getTopology().getAllTables().containsKey(table)).get());
+            Assert.assertFalse(executorService.submit(() -> this.sqlgGraph.getTopology().getVertexLabel(this.sqlgGraph.getSqlDialect().getPublicSchema(), "A").isPresent()).get());
+            Assert.assertEquals(committedVersion, this.sqlgGraph.getTopology().getCommittedVersion());
+            this.sqlgGraph.tx().commit();
+            Assert.assertTrue(executorService.submit(() -> this.sqlgGraph.getTopology().getAllTables().containsKey(table)).get());
+            Assert.assertTrue(this.sqlgGraph.getTopology().getCommittedVersion() > committedVersion);
+
+            this.sqlgGraph.addVertex(T.label, "A", "surname", "b");
+            Assert.assertTrue(this.sqlgGraph.getTopology().getAllTables().get(table).containsKey("surname"));
+            Assert.assertFalse(executorService.submit(() -> this.sqlgGraph.getTopology().getAllTables().get(table).containsKey("surname")).get());
+            this.sqlgGraph.tx().rollback();
+            //Without transactional schema creation a rollback commits the topology.
+            Assert.assertEquals(
+                    !this.sqlgGraph.getSqlDialect().supportsTransactionalSchema(),
+                    this.sqlgGraph.getTopology().getAllTables().get(table).containsKey("surname")
+            );
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.umlg.sqlg.test.vertex;
+
+import org.apache.commons.configuration.ConfigurationException;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.umlg.sqlg.structure.PreparedStatementCache;
+import org.umlg.sqlg.structure.SqlgTransaction;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.beans.PropertyVetoException;
+import java.io.IOException;
+import java.net.URL;
+import java.util.*;
+
+/**
+ * Date: 2026/10/18
+ */
+public class TestAdjacencyBatch extends BaseTest {
+
+    @BeforeClass
+    public static void beforeClass() throws ClassNotFoundException, IOException, PropertyVetoException {
+        URL sqlProperties = Thread.currentThread().getContextClassLoader().getResource("sqlg.properties");
+        try {
+            configuration = new PropertiesConfiguration(sqlProperties);
+            configuration.setProperty(SqlgTransaction.ADJACENCY_BATCH_SIZE, 100);
+            if (!configuration.containsKey("jdbc.url")) {
+                throw new IllegalArgumentException(String.format("SqlGraph configuration requires that the %s be set", "jdbc.url"));
+            }
+        } catch (ConfigurationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    public void testVerticesAreFetchedInOneBatch() {
+        for (int i = 0; i < 10; i++) {
+            Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a" + i);
+            a.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B", "name", "b" + i + "_1"));
+            a.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B", "name", "b" + i + "_2"));
+        }
+        this.sqlgGraph.addVertex(T.label, "A", "name", "lonely");
+        this.sqlgGraph.tx().commit();
+
+        PreparedStatementCache.Statistics statistics = this.sqlgGraph.tx().getStatementCacheStatistics();
+        List<Vertex> as = this.sqlgGraph.traversal().V().hasLabel("A").toList();
+        Assert.assertEquals(11, as.size());
+        long first = statistics.getHits() + statistics.getMisses();
+        Map<String, Set<String>> names = new HashMap<>();
+        names.put(as.get(0).value("name"), names(as.get(0).vertices(Direction.OUT, "ab")));
+        long afterFirst = statistics.getHits() + statistics.getMisses();
+        Assert.assertTrue(afterFirst > first);
+        for (Vertex a : as.subList(1, as.size())) {
+            names.put(a.value("name"), names(a.vertices(Direction.OUT, "ab")));
+        }
+        Assert.assertEquals(afterFirst, statistics.getHits() + statistics.getMisses());
+        Assert.assertEquals(11, names.size());
+        Assert.assertTrue(names.get("lonely").isEmpty());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(new HashSet<>(Arrays.asList("b" + i + "_1", "b" + i + "_2")), names.get("a" + i));
+        }
+        this.sqlgGraph.tx().rollback();
+    }
+
+    @Test
+    public void testEdgesAndDirections() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        a1.addEdge("ab", b, "weight", 1);
+        a2.addEdge("ab", b, "weight", 2);
+        a1.addEdge("aa", a2);
+        this.sqlgGraph.tx().commit();
+
+        List<Vertex> as = this.sqlgGraph.traversal().V().hasLabel("A").order().by("name").toList();
+        Assert.assertEquals(1, IteratorUtils.count(as.get(0).edges(Direction.OUT, "ab")));
+        Assert.assertEquals(2, (int) as.get(1).edges(Direction.OUT, "ab").next().value("weight"));
+        Assert.assertEquals(2, IteratorUtils.count(as.get(0).edges(Direction.OUT)));
+        Assert.assertEquals(0, IteratorUtils.count(as.get(0).vertices(Direction.IN)));
+        Assert.assertEquals(a1, as.get(1).vertices(Direction.IN).next());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a2", "b")), names(as.get(0).vertices(Direction.BOTH)));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("a1", "b")), names(as.get(1).vertices(Direction.BOTH)));
+        this.sqlgGraph.tx().rollback();
+    }
+
+    @Test
+    public void testWritesAreSeen() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        a1.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B", "name", "b1"));
+        a2.addEdge("ab", this.sqlgGraph.addVertex(T.label, "B", "name", "b2"));
+        this.sqlgGraph.tx().commit();
+
+        List<Vertex> as = this.sqlgGraph.traversal().V().hasLabel("A").order().by("name").toList();
+        Assert.assertEquals(1, IteratorUtils.count(as.get(0).vertices(Direction.OUT, "ab")));
+        as.get(1).addEdge("ab", this.sqlgGraph.addVertex(T.label, "B", "name", "b3"));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("b2", "b3")), names(as.get(1).vertices(Direction.OUT, "ab")));
+
+        Assert.assertEquals(1, IteratorUtils.count(as.get(0).edges(Direction.OUT, "ab")));
+        Edge edge = as.get(1).edges(Direction.OUT, "ab").next();
+        edge.remove();
+        Assert.assertEquals(1, IteratorUtils.count(as.get(1).edges(Direction.OUT, "ab")));
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(1, IteratorUtils.count(this.sqlgGraph.traversal().V(a2.id()).out("ab")));
+    }
+
+    private static Set<String> names(Iterator<Vertex> vertices) {
+        Set<String> result = new HashSet<>();
+        vertices.forEachRemaining(v -> result.add(v.value("name")));
+        return result;
+    }
+}
@@ -0,0 +1,188 @@
+package org.umlg.sqlg.test.vertex;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.ConfigurationException;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.umlg.sqlg.structure.PropertyCache;
+import org.umlg.sqlg.structure.PropertyType;
+import org.umlg.sqlg.structure.SqlgGraph;
+import org.umlg.sqlg.structure.SqlgTransaction;
+import org.umlg.sqlg.test.BaseTest;
+
+import java.beans.PropertyVetoException;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Date: 2026/10/18
+ */
+public class TestElementCache extends BaseTest {
+
+    @BeforeClass
+    public static void beforeClass() throws ClassNotFoundException, IOException, PropertyVetoException {
+        URL sqlProperties = Thread.currentThread().getContextClassLoader().getResource("sqlg.properties");
+        try {
+            configuration = new PropertiesConfiguration(sqlProperties);
+            configuration.setProperty("cache.vertices", true);
+            configuration.setProperty(SqlgTransaction.CACHE_EDGES, true);
+            configuration.setProperty(SqlgTransaction.ELEMENT_CACHE_SIZE, 10);
+            configuration.setProperty(PropertyCache.PROPERTY_CACHE_SIZE, 100);
+            if (!configuration.containsKey("jdbc.url")) {
+                throw new IllegalArgumentException(String.format("SqlGraph configuration requires that the %s be set", "jdbc.url"));
+            }
+        } catch (ConfigurationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    public void testEdgeIdentity() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B");
+        Edge e = a.addEdge("ab", b, "weight", 1);
+        Assert.assertSame(e, this.sqlgGraph.traversal().E(e.id()).next());
+        this.sqlgGraph.tx().commit();
+        Edge e1 = this.sqlgGraph.traversal().E(e.id()).next();
+        Edge e2 = this.sqlgGraph.traversal().V(a.id()).outE("ab").next();
+        Assert.assertSame(e1, e2);
+        Assert.assertSame(e1.inVertex(), this.sqlgGraph.traversal().V(b.id()).next());
+        this.sqlgGraph.tx().rollback();
+    }
+
+    @Test
+    public void testElementCacheIsBounded() {
+        for (int i = 0; i < 20; i++) {
+            this.sqlgGraph.addVertex(T.label, "A", "index", i);
+        }
+        this.sqlgGraph.tx().commit();
+        long evictions = this.sqlgGraph.tx().getElementCacheStatistics().getEvictions();
+        List<Vertex> vertices = this.sqlgGraph.traversal().V().hasLabel("A").toList();
+        Assert.assertEquals(20, vertices.size());
+        Assert.assertEquals(10, this.sqlgGraph.tx().getElementCacheStatistics().getEvictions() - evictions);
+        //evicted vertices that are still referenced keep their identity
+        for (Vertex vertex : vertices) {
+            Assert.assertSame(vertex, this.sqlgGraph.traversal().V(vertex.id()).next());
+        }
+        this.sqlgGraph.tx().rollback();
+    }
+
+    @Test
+    public void testPropertyCacheHit() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        Edge e = a.addEdge("ab", b, "weight", 1);
+        this.sqlgGraph.tx().commit();
+        PropertyCache propertyCache = this.sqlgGraph.getPropertyCache();
+        Assert.assertEquals("a", this.sqlgGraph.vertices(a.id()).next().value("name"));
+        Assert.assertEquals(1, (int) this.sqlgGraph.edges(e.id()).next().value("weight"));
+        this.sqlgGraph.tx().commit();
+        long hits = propertyCache.getStatistics().getHits();
+        Vertex vertex = this.sqlgGraph.vertices(a.id()).next();
+        Edge edge = this.sqlgGraph.edges(e.id()).next();
+        Assert.assertEquals(2, propertyCache.getStatistics().getHits() - hits);
+        Assert.assertEquals("a", vertex.value("name"));
+        Assert.assertEquals(1, (int) edge.value("weight"));
+        Assert.assertEquals(b.id(), edge.inVertex().id());
+        Assert.assertEquals(a.id(), edge.outVertex().id());
+        this.sqlgGraph.tx().rollback();
+    }
+
+    @Test
+    public void testPropertyCacheLazyLoad() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        a.addEdge("ab", b);
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals("b", this.sqlgGraph.traversal().V(a.id()).outE("ab").next().inVertex().value("name"));
+        this.sqlgGraph.tx().commit();
+        long hits = this.sqlgGraph.getPropertyCache().getStatistics().getHits();
+        Assert.assertEquals("b", this.sqlgGraph.traversal().V(a.id()).outE("ab").next().inVertex().value("name"));
+        Assert.assertEquals(1, this.sqlgGraph.getPropertyCache().getStatistics().getHits() - hits);
+        this.sqlgGraph.tx().rollback();
+    }
+
+    @Test
+    public void testPropertyCacheInvalidatedOnWrite() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals("a", this.sqlgGraph.vertices(a.id()).next().value("name"));
+        this.sqlgGraph.tx().commit();
+        a.property("name", "changed");
+        //A transaction that wrote does not read from the cache.
+        Assert.assertEquals("changed", this.sqlgGraph.vertices(a.id()).next().value("name"));
+        this.sqlgGraph.tx().rollback();
+        Assert.assertEquals("a", this.sqlgGraph.vertices(a.id()).next().value("name"));
+        this.sqlgGraph.tx().commit();
+        a.property("name", "changed");
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals("changed", this.sqlgGraph.vertices(a.id()).next().value("name"));
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.traversal().V(a.id()).drop().iterate();
+        this.sqlgGraph.tx().commit();
+        Assert.assertFalse(this.sqlgGraph.vertices(a.id()).hasNext());
+        this.sqlgGraph.tx().rollback();
+    }
+
+    @Test
+    public void testPropertyCacheInvalidatedOnVertexRemove() {
+        Vertex a1 = this.sqlgGraph.addVertex(T.label, "A", "name", "a1");
+        Vertex a2 = this.sqlgGraph.addVertex(T.label, "A", "name", "a2");
+        Vertex b = this.sqlgGraph.addVertex(T.label, "B", "name", "b");
+        Edge e = a1.addEdge("ab", b);
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.vertices(a1.id(), a2.id(), b.id()).forEachRemaining(v -> {});
+        this.sqlgGraph.edges(e.id()).next();
+        this.sqlgGraph.tx().commit();
+        Assert.assertEquals(4, this.sqlgGraph.getPropertyCache().size());
+        this.sqlgGraph.vertices(b.id()).next().remove();
+        this.sqlgGraph.tx().commit();
+        //only the removed vertex and its edge are invalidated
+        Assert.assertEquals(2, this.sqlgGraph.getPropertyCache().size());
+        Assert.assertFalse(this.sqlgGraph.vertices(b.id()).hasNext());
+        Assert.assertFalse(this.sqlgGraph.edges(e.id()).hasNext());
+        long hits = this.sqlgGraph.getPropertyCache().getStatistics().getHits();
+        Assert.assertEquals("a2", this.sqlgGraph.vertices(a2.id()).next().value("name"));
+        Assert.assertEquals(1, this.sqlgGraph.getPropertyCache().getStatistics().getHits() - hits);
+        this.sqlgGraph.tx().rollback();
+    }
+
+    @Test
+    public void testPropertyCacheInvalidatedOnTopologyChange() {
+        Vertex a = this.sqlgGraph.addVertex(T.label, "A", "name", "a");
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.vertices(a.id()).next();
+        this.sqlgGraph.tx().commit();
+        this.sqlgGraph.getTopology().ensureVertexLabelPropertiesExist("A", Collections.singletonMap("surname", PropertyType.STRING));
+        this.sqlgGraph.tx().commit();
+        long misses = this.sqlgGraph.getPropertyCache().getStatistics().getMisses();
+        Assert.assertEquals("a", this.sqlgGraph.vertices(a.id()).next().value("name"));
+        Assert.assertEquals(1, this.sqlgGraph.getPropertyCache().getStatistics().getMisses() - misses);
+        this.sqlgGraph.tx().rollback();
+    }
+
+    @Test
+    public void testPropertyCacheExpires() throws Exception {
+        Configuration conf = getConfigurationClone();
+        conf.setProperty(PropertyCache.PROPERTY_CACHE_TTL, 1);
+        try (SqlgGraph sqlgGraph1 = SqlgGraph.open(conf)) {
+            Vertex a = sqlgGraph1.addVertex(T.label, "A", "name", "a");
+            sqlgGraph1.tx().commit();
+            sqlgGraph1.vertices(a.id()).next();
+            sqlgGraph1.tx().commit();
+            Thread.sleep(10);
+            long misses = sqlgGraph1.getPropertyCache().getStatistics().getMisses();
+            Assert.assertEquals("a", sqlgGraph1.vertices(a.id()).next().value("name"));
+            Assert.assertEquals(1, sqlgGraph1.getPropertyCache().getStatistics().getMisses() - misses);
+            Assert.assertEquals(1, sqlgGraph1.getPropertyCache().size());
+            sqlgGraph1.tx().rollback();
+        }
+    }
+}